@@ -0,0 +1,216 @@
+package de.sb.toolbox.math;
+
+import de.sb.toolbox.Copyright;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+
+/**
+ * Butterfly backend for split layout FFTs based on the <i>Vector API</i> incubator module, which
+ * processes as many butterflies per instruction as the preferred vector species has lanes. Braided
+ * vectors are processed at half that rate, as each lane pair holds one complex number: the twiddle
+ * factors are shuffled into both lanes of each pair, and the complex multiplication swaps the real
+ * and imaginary lanes of the right operands instead of separating them. This class resides within
+ * a separate source folder, as it requires JDK 16 or later; it must be compiled using {@code javac --add-modules jdk.incubator.vector}, and is only used by
+ * {@link FftPlan} if the module is resolved at runtime as well. Otherwise, plans fall back to their
+ * scalar butterfly loops.
+ */
+@Copyright(year = 2026, holders = "Sascha Baumeister")
+final class VectorFftBackend implements FftPlan.Backend {
+	static private final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_PREFERRED;
+	static private final VectorSpecies<Double> DOUBLE_SPECIES = DoubleVector.SPECIES_PREFERRED;
+	static private final VectorShuffle<Float> FLOAT_SWAP = VectorShuffle.fromOp(FLOAT_SPECIES, lane -> lane ^ 1);
+	static private final VectorShuffle<Double> DOUBLE_SWAP = VectorShuffle.fromOp(DOUBLE_SPECIES, lane -> lane ^ 1);
+	static private final VectorMask<Float> FLOAT_EVEN_LANES = VectorMask.fromValues(FLOAT_SPECIES, evenLanes(FLOAT_SPECIES.length()));
+	static private final VectorMask<Double> DOUBLE_EVEN_LANES = VectorMask.fromValues(DOUBLE_SPECIES, evenLanes(DOUBLE_SPECIES.length()));
+	static private final VectorShuffle<Float> FLOAT_LOWER_PAIRS = VectorShuffle.fromOp(FLOAT_SPECIES, lane -> lane >> 1);
+	static private final VectorShuffle<Float> FLOAT_UPPER_PAIRS = VectorShuffle.fromOp(FLOAT_SPECIES, lane -> (lane + FLOAT_SPECIES.length()) >> 1);
+	static private final VectorShuffle<Double> DOUBLE_LOWER_PAIRS = VectorShuffle.fromOp(DOUBLE_SPECIES, lane -> lane >> 1);
+	static private final VectorShuffle<Double> DOUBLE_UPPER_PAIRS = VectorShuffle.fromOp(DOUBLE_SPECIES, lane -> (lane + DOUBLE_SPECIES.length()) >> 1);
+
+
+	/**
+	 * Creates a new instance.
+	 * @throws UnsupportedOperationException if the preferred vector species have less than two
+	 *         lanes, i.e. if the platform offers no SIMD support
+	 */
+	public VectorFftBackend () throws UnsupportedOperationException {
+		if (DOUBLE_SPECIES.length() < 2) throw new UnsupportedOperationException();
+	}
+
+
+	/**
+	 * Returns which lanes of a vector hold the real parts of braided complex numbers.
+	 * @param lanes the lane count
+	 * @return {@code true} for every even lane, {@code false} for every odd one
+	 */
+	static private boolean[] evenLanes (final int lanes) {
+		final boolean[] evenLanes = new boolean[lanes];
+		for (int lane = 0; lane < lanes; lane += 2) evenLanes[lane] = true;
+		return evenLanes;
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int floatLanes () {
+		return FLOAT_SPECIES.length();
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int doubleLanes () {
+		return DOUBLE_SPECIES.length();
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void butterflies (final boolean inverse, final int depth, final float[] cos, final float[] sin, final float[] real, final float[] imag) {
+		final int lanes = FLOAT_SPECIES.length();
+
+		// inverse transforms conjugate the twiddles by swapping the roles of both sine products
+		for (int stage = depth; 1 << stage < real.length; ++stage) {
+			final int half = 1 << stage, twiddleBase = FftPlan.twiddleIndex(stage, 0);
+
+			for (int base = 0; base < real.length; base += half << 1) {
+				for (int offset = 0; offset < half; offset += lanes) {
+					final int left = base + offset, right = left + half;
+					final FloatVector cosine = FloatVector.fromArray(FLOAT_SPECIES, cos, twiddleBase + offset);
+					final FloatVector sine = FloatVector.fromArray(FLOAT_SPECIES, sin, twiddleBase + offset);
+					final FloatVector re = FloatVector.fromArray(FLOAT_SPECIES, real, right);
+					final FloatVector im = FloatVector.fromArray(FLOAT_SPECIES, imag, right);
+					final FloatVector twidRe = inverse ? cosine.mul(re).add(sine.mul(im)) : cosine.mul(re).sub(sine.mul(im));
+					final FloatVector twidIm = inverse ? cosine.mul(im).sub(sine.mul(re)) : cosine.mul(im).add(sine.mul(re));
+					final FloatVector leftRe = FloatVector.fromArray(FLOAT_SPECIES, real, left);
+					final FloatVector leftIm = FloatVector.fromArray(FLOAT_SPECIES, imag, left);
+					leftRe.sub(twidRe).intoArray(real, right);
+					leftIm.sub(twidIm).intoArray(imag, right);
+					leftRe.add(twidRe).intoArray(real, left);
+					leftIm.add(twidIm).intoArray(imag, left);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void butterflies (final boolean inverse, final float scale, final float[] cos, final float[] sin, final int twiddleIndex, final float[] vector, final int left, final int right, final int count) {
+		final int lanes = FLOAT_SPECIES.length();
+
+		// every vector of twiddle factors is spread into the lane pairs of two vectors of values; the
+		// sines change sign within the real lanes, or within the imaginary lanes if conjugated
+		final VectorMask<Float> negativeLanes = inverse ? FLOAT_EVEN_LANES.not() : FLOAT_EVEN_LANES;
+		for (int offset = 0; offset < count; offset += lanes) {
+			final int lower = offset << 1, upper = lower + lanes;
+			final FloatVector cosines = FloatVector.fromArray(FLOAT_SPECIES, cos, twiddleIndex + offset).mul(scale);
+			final FloatVector sines = FloatVector.fromArray(FLOAT_SPECIES, sin, twiddleIndex + offset).mul(scale);
+			butterflies(cosines.rearrange(FLOAT_LOWER_PAIRS), sines.rearrange(FLOAT_LOWER_PAIRS).lanewise(VectorOperators.NEG, negativeLanes), scale, vector, left + lower, right + lower);
+			butterflies(cosines.rearrange(FLOAT_UPPER_PAIRS), sines.rearrange(FLOAT_UPPER_PAIRS).lanewise(VectorOperators.NEG, negativeLanes), scale, vector, left + upper, right + upper);
+		}
+	}
+
+
+	/**
+	 * Performs the braided butterflies covered by a single vector of values.
+	 * @param cosines the twiddle cosines, each within both lanes of a lane pair
+	 * @param sines the twiddle sines, each within both lanes of a lane pair and signed for the
+	 *        complex multiplication
+	 * @param scale the factor the results are scaled with
+	 * @param vector an array of braided complex numbers
+	 * @param left the braided index of the first left operand
+	 * @param right the braided index of the first right operand
+	 */
+	static private void butterflies (final FloatVector cosines, final FloatVector sines, final float scale, final float[] vector, final int left, final int right) {
+		final FloatVector rightValues = FloatVector.fromArray(FLOAT_SPECIES, vector, right);
+		final FloatVector twid = rightValues.mul(cosines).add(rightValues.rearrange(FLOAT_SWAP).mul(sines));
+		final FloatVector leftValues = FloatVector.fromArray(FLOAT_SPECIES, vector, left).mul(scale);
+		leftValues.sub(twid).intoArray(vector, right);
+		leftValues.add(twid).intoArray(vector, left);
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void butterflies (final boolean inverse, final int depth, final double[] cos, final double[] sin, final double[] real, final double[] imag) {
+		final int lanes = DOUBLE_SPECIES.length();
+
+		// inverse transforms conjugate the twiddles by swapping the roles of both sine products
+		for (int stage = depth; 1 << stage < real.length; ++stage) {
+			final int half = 1 << stage, twiddleBase = FftPlan.twiddleIndex(stage, 0);
+
+			for (int base = 0; base < real.length; base += half << 1) {
+				for (int offset = 0; offset < half; offset += lanes) {
+					final int left = base + offset, right = left + half;
+					final DoubleVector cosine = DoubleVector.fromArray(DOUBLE_SPECIES, cos, twiddleBase + offset);
+					final DoubleVector sine = DoubleVector.fromArray(DOUBLE_SPECIES, sin, twiddleBase + offset);
+					final DoubleVector re = DoubleVector.fromArray(DOUBLE_SPECIES, real, right);
+					final DoubleVector im = DoubleVector.fromArray(DOUBLE_SPECIES, imag, right);
+					final DoubleVector twidRe = inverse ? cosine.mul(re).add(sine.mul(im)) : cosine.mul(re).sub(sine.mul(im));
+					final DoubleVector twidIm = inverse ? cosine.mul(im).sub(sine.mul(re)) : cosine.mul(im).add(sine.mul(re));
+					final DoubleVector leftRe = DoubleVector.fromArray(DOUBLE_SPECIES, real, left);
+					final DoubleVector leftIm = DoubleVector.fromArray(DOUBLE_SPECIES, imag, left);
+					leftRe.sub(twidRe).intoArray(real, right);
+					leftIm.sub(twidIm).intoArray(imag, right);
+					leftRe.add(twidRe).intoArray(real, left);
+					leftIm.add(twidIm).intoArray(imag, left);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void butterflies (final boolean inverse, final double scale, final double[] cos, final double[] sin, final int twiddleIndex, final double[] vector, final int left, final int right, final int count) {
+		final int lanes = DOUBLE_SPECIES.length();
+
+		// every vector of twiddle factors is spread into the lane pairs of two vectors of values; the
+		// sines change sign within the real lanes, or within the imaginary lanes if conjugated
+		final VectorMask<Double> negativeLanes = inverse ? DOUBLE_EVEN_LANES.not() : DOUBLE_EVEN_LANES;
+		for (int offset = 0; offset < count; offset += lanes) {
+			final int lower = offset << 1, upper = lower + lanes;
+			final DoubleVector cosines = DoubleVector.fromArray(DOUBLE_SPECIES, cos, twiddleIndex + offset).mul(scale);
+			final DoubleVector sines = DoubleVector.fromArray(DOUBLE_SPECIES, sin, twiddleIndex + offset).mul(scale);
+			butterflies(cosines.rearrange(DOUBLE_LOWER_PAIRS), sines.rearrange(DOUBLE_LOWER_PAIRS).lanewise(VectorOperators.NEG, negativeLanes), scale, vector, left + lower, right + lower);
+			butterflies(cosines.rearrange(DOUBLE_UPPER_PAIRS), sines.rearrange(DOUBLE_UPPER_PAIRS).lanewise(VectorOperators.NEG, negativeLanes), scale, vector, left + upper, right + upper);
+		}
+	}
+
+
+	/**
+	 * Performs the braided butterflies covered by a single vector of values.
+	 * @param cosines the twiddle cosines, each within both lanes of a lane pair
+	 * @param sines the twiddle sines, each within both lanes of a lane pair and signed for the
+	 *        complex multiplication
+	 * @param scale the factor the results are scaled with
+	 * @param vector an array of braided complex numbers
+	 * @param left the braided index of the first left operand
+	 * @param right the braided index of the first right operand
+	 */
+	static private void butterflies (final DoubleVector cosines, final DoubleVector sines, final double scale, final double[] vector, final int left, final int right) {
+		final DoubleVector rightValues = DoubleVector.fromArray(DOUBLE_SPECIES, vector, right);
+		final DoubleVector twid = rightValues.mul(cosines).add(rightValues.rearrange(DOUBLE_SWAP).mul(sines));
+		final DoubleVector leftValues = DoubleVector.fromArray(DOUBLE_SPECIES, vector, left).mul(scale);
+		leftValues.sub(twid).intoArray(vector, right);
+		leftValues.add(twid).intoArray(vector, left);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,271 @@
+package de.sb.toolbox.math;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import de.sb.toolbox.Copyright;
+
+
+/**
+ * Batched FFT engine for many independent vectors of the same length <tt>N</tt>, stored
+ * consecutively within a single array. Instead of transforming one vector after another, the batch
+ * is divided into chunks of members that fit into the L1/L2 caches together. Within each chunk,
+ * every butterfly stage is performed across all members before the next stage is started, which
+ * loads every twiddle factor once per chunk instead of once per member, and turns the short
+ * butterfly loops of small transforms into long ones. Independent chunks are distributed among the
+ * threads of a fork/join pool.
+ * <p>
+ * Batched transforms follow the conventions of {@link FftPlan}: forward transforms are unscaled,
+ * while inverse transforms are scaled by <tt>1/N</tt>.
+ */
+@Copyright(year = 2026, holders = "Sascha Baumeister")
+public final class BatchFft {
+	static private final int CHUNK_MAGNITUDE = 11;
+	static private final int TASK_MAGNITUDE = 15;
+
+
+	/**
+	 * Prevents external instantiation.
+	 */
+	private BatchFft () {}
+
+
+
+	/**
+	 * Performs <i>in-place Fast Fourier Transforms</i> of the given batch of vectors, using the
+	 * common fork/join pool.
+	 * @param plan the FFT plan
+	 * @param inverse whether or not {@code inverse} fourier transforms shall be performed
+	 * @param vectors an array of <tt>B</tt> consecutive vectors, each consisting of <tt>N</tt>
+	 *        complex numbers in Cartesian form, alternating even indexed real parts with odd
+	 *        indexed imaginary ones
+	 * @throws NullPointerException if any of the given arguments is {@code null}
+	 * @throws IllegalArgumentException if the given array's length is not a multiple of <tt>2N</tt>
+	 */
+	static public void fft (final FftPlan.SinglePrecision plan, final boolean inverse, final float[] vectors) throws NullPointerException, IllegalArgumentException {
+		fft(ForkJoinPool.commonPool(), plan, inverse, vectors);
+	}
+
+
+	/**
+	 * Performs <i>in-place Fast Fourier Transforms</i> of the given batch of vectors, using the
+	 * given fork/join pool. The number of threads working on the batch is limited by the pool's
+	 * parallelism; a pool with parallelism {@code 1} performs the transforms sequentially.
+	 * @param pool the fork/join pool
+	 * @param plan the FFT plan
+	 * @param inverse whether or not {@code inverse} fourier transforms shall be performed
+	 * @param vectors an array of <tt>B</tt> consecutive vectors, each consisting of <tt>N</tt>
+	 *        complex numbers in Cartesian form, alternating even indexed real parts with odd
+	 *        indexed imaginary ones
+	 * @throws NullPointerException if any of the given arguments is {@code null}
+	 * @throws IllegalArgumentException if the given array's length is not a multiple of <tt>2N</tt>
+	 */
+	static public void fft (final ForkJoinPool pool, final FftPlan.SinglePrecision plan, final boolean inverse, final float[] vectors) throws NullPointerException, IllegalArgumentException {
+		if (pool == null) throw new NullPointerException();
+		if (vectors.length % (2 << plan.magnitude) != 0) throw new IllegalArgumentException();
+
+		final int batchSize = vectors.length >> plan.magnitude + 1;
+		final SinglePrecisionBatchAction action = new SinglePrecisionBatchAction(plan, inverse, vectors, 0, batchSize);
+		if (batchSize << plan.magnitude <= 1 << TASK_MAGNITUDE) {
+			action.compute();
+		} else {
+			pool.invoke(action);
+		}
+	}
+
+
+	/**
+	 * Performs <i>in-place Fast Fourier Transforms</i> of the given batch of vectors, using the
+	 * common fork/join pool.
+	 * @param plan the FFT plan
+	 * @param inverse whether or not {@code inverse} fourier transforms shall be performed
+	 * @param vectors an array of <tt>B</tt> consecutive vectors, each consisting of <tt>N</tt>
+	 *        complex numbers in Cartesian form, alternating even indexed real parts with odd
+	 *        indexed imaginary ones
+	 * @throws NullPointerException if any of the given arguments is {@code null}
+	 * @throws IllegalArgumentException if the given array's length is not a multiple of <tt>2N</tt>
+	 */
+	static public void fft (final FftPlan.DoublePrecision plan, final boolean inverse, final double[] vectors) throws NullPointerException, IllegalArgumentException {
+		fft(ForkJoinPool.commonPool(), plan, inverse, vectors);
+	}
+
+
+	/**
+	 * Performs <i>in-place Fast Fourier Transforms</i> of the given batch of vectors, using the
+	 * given fork/join pool. The number of threads working on the batch is limited by the pool's
+	 * parallelism; a pool with parallelism {@code 1} performs the transforms sequentially.
+	 * @param pool the fork/join pool
+	 * @param plan the FFT plan
+	 * @param inverse whether or not {@code inverse} fourier transforms shall be performed
+	 * @param vectors an array of <tt>B</tt> consecutive vectors, each consisting of <tt>N</tt>
+	 *        complex numbers in Cartesian form, alternating even indexed real parts with odd
+	 *        indexed imaginary ones
+	 * @throws NullPointerException if any of the given arguments is {@code null}
+	 * @throws IllegalArgumentException if the given array's length is not a multiple of <tt>2N</tt>
+	 */
+	static public void fft (final ForkJoinPool pool, final FftPlan.DoublePrecision plan, final boolean inverse, final double[] vectors) throws NullPointerException, IllegalArgumentException {
+		if (pool == null) throw new NullPointerException();
+		if (vectors.length % (2 << plan.magnitude) != 0) throw new IllegalArgumentException();
+
+		final int batchSize = vectors.length >> plan.magnitude + 1;
+		final DoublePrecisionBatchAction action = new DoublePrecisionBatchAction(plan, inverse, vectors, 0, batchSize);
+		if (batchSize << plan.magnitude <= 1 << TASK_MAGNITUDE) {
+			action.compute();
+		} else {
+			pool.invoke(action);
+		}
+	}
+
+
+
+
+	/**
+	 * Fork/join action transforming a range of batch members.
+	 */
+	@SuppressWarnings("serial")
+	static private final class SinglePrecisionBatchAction extends RecursiveAction {
+		private final FftPlan.SinglePrecision plan;
+		private final boolean inverse;
+		private final float[] vectors;
+		private final int fromMember, toMember;
+
+		public SinglePrecisionBatchAction (final FftPlan.SinglePrecision plan, final boolean inverse, final float[] vectors, final int fromMember, final int toMember) {
+			this.plan = plan;
+			this.inverse = inverse;
+			this.vectors = vectors;
+			this.fromMember = fromMember;
+			this.toMember = toMember;
+		}
+
+		protected void compute () {
+			final int magnitude = this.plan.magnitude;
+			if (this.toMember - this.fromMember > Math.max(1, 1 << TASK_MAGNITUDE - magnitude)) {
+				final int midMember = (this.fromMember + this.toMember) >>> 1;
+				invokeAll(
+					new SinglePrecisionBatchAction(this.plan, this.inverse, this.vectors, this.fromMember, midMember),
+					new SinglePrecisionBatchAction(this.plan, this.inverse, this.vectors, midMember, this.toMember)
+				);
+				return;
+			}
+
+			final int chunkSize = Math.max(1, 1 << CHUNK_MAGNITUDE - magnitude);
+			for (int fromMember = this.fromMember; fromMember < this.toMember; fromMember += chunkSize) {
+				this.transform(fromMember << magnitude + 1, Math.min(this.toMember, fromMember + chunkSize) << magnitude + 1);
+			}
+		}
+
+		/**
+		 * Transforms the batch members within the given array range, performing each butterfly
+		 * stage across all of them before the next stage is started.
+		 * @param fromIndex the array index of the first member, inclusive
+		 * @param toIndex the array index of the last member, exclusive
+		 */
+		private void transform (final int fromIndex, final int toIndex) {
+			final int magnitude = this.plan.magnitude;
+			final float[] vectors = this.vectors, cosTable = this.plan.cos, sinTable = this.plan.sin;
+			final BitReversal bitReversal = this.plan.bitReversal;
+
+			for (int index = fromIndex; index < toIndex; index += 2 << magnitude) {
+				bitReversal.permute(vectors, index, 1, 0, bitReversal.segmentCount);
+			}
+
+			// vector lengths are multiples of each stage's block length, which renders member boundaries transparent;
+			// the last stage of inverse transforms applies the norm by scaling its twiddle factors and left operands
+			final float norm = this.inverse ? Math.scalb(1f, -magnitude) : 1f;
+			for (int depth = 0; depth < magnitude; ++depth) {
+				final float scale = depth == magnitude - 1 ? norm : 1f;
+				for (int offset = 0; offset < 1 << depth; ++offset) {
+					final float cos = scale * cosTable[FftPlan.twiddleIndex(depth, offset)];
+					final float sin = scale * (this.inverse ? -sinTable[FftPlan.twiddleIndex(depth, offset)] : sinTable[FftPlan.twiddleIndex(depth, offset)]);
+
+					for (int left = fromIndex + (offset << 1), right = left + (2 << depth); left < toIndex; left += 4 << depth, right += 4 << depth) {
+						float re = vectors[right], im = vectors[right + 1];
+						final float twidRe = cos * re - sin * im;
+						final float twidIm = cos * im + sin * re;
+						re = scale * vectors[left]; im = scale * vectors[left + 1];
+						vectors[right]     = re - twidRe;
+						vectors[right + 1] = im - twidIm;
+						vectors[left]      = re + twidRe;
+						vectors[left + 1]  = im + twidIm;
+					}
+				}
+			}
+		}
+	}
+
+
+
+
+	/**
+	 * Fork/join action transforming a range of batch members.
+	 */
+	@SuppressWarnings("serial")
+	static private final class DoublePrecisionBatchAction extends RecursiveAction {
+		private final FftPlan.DoublePrecision plan;
+		private final boolean inverse;
+		private final double[] vectors;
+		private final int fromMember, toMember;
+
+		public DoublePrecisionBatchAction (final FftPlan.DoublePrecision plan, final boolean inverse, final double[] vectors, final int fromMember, final int toMember) {
+			this.plan = plan;
+			this.inverse = inverse;
+			this.vectors = vectors;
+			this.fromMember = fromMember;
+			this.toMember = toMember;
+		}
+
+		protected void compute () {
+			final int magnitude = this.plan.magnitude;
+			if (this.toMember - this.fromMember > Math.max(1, 1 << TASK_MAGNITUDE - magnitude)) {
+				final int midMember = (this.fromMember + this.toMember) >>> 1;
+				invokeAll(
+					new DoublePrecisionBatchAction(this.plan, this.inverse, this.vectors, this.fromMember, midMember),
+					new DoublePrecisionBatchAction(this.plan, this.inverse, this.vectors, midMember, this.toMember)
+				);
+				return;
+			}
+
+			final int chunkSize = Math.max(1, 1 << CHUNK_MAGNITUDE - magnitude);
+			for (int fromMember = this.fromMember; fromMember < this.toMember; fromMember += chunkSize) {
+				this.transform(fromMember << magnitude + 1, Math.min(this.toMember, fromMember + chunkSize) << magnitude + 1);
+			}
+		}
+
+		/**
+		 * Transforms the batch members within the given array range, performing each butterfly
+		 * stage across all of them before the next stage is started.
+		 * @param fromIndex the array index of the first member, inclusive
+		 * @param toIndex the array index of the last member, exclusive
+		 */
+		private void transform (final int fromIndex, final int toIndex) {
+			final int magnitude = this.plan.magnitude;
+			final double[] vectors = this.vectors, cosTable = this.plan.cos, sinTable = this.plan.sin;
+			final BitReversal bitReversal = this.plan.bitReversal;
+
+			for (int index = fromIndex; index < toIndex; index += 2 << magnitude) {
+				bitReversal.permute(vectors, index, 1, 0, bitReversal.segmentCount);
+			}
+
+			// vector lengths are multiples of each stage's block length, which renders member boundaries transparent;
+			// the last stage of inverse transforms applies the norm by scaling its twiddle factors and left operands
+			final double norm = this.inverse ? Math.scalb(1d, -magnitude) : 1d;
+			for (int depth = 0; depth < magnitude; ++depth) {
+				final double scale = depth == magnitude - 1 ? norm : 1d;
+				for (int offset = 0; offset < 1 << depth; ++offset) {
+					final double cos = scale * cosTable[FftPlan.twiddleIndex(depth, offset)];
+					final double sin = scale * (this.inverse ? -sinTable[FftPlan.twiddleIndex(depth, offset)] : sinTable[FftPlan.twiddleIndex(depth, offset)]);
+
+					for (int left = fromIndex + (offset << 1), right = left + (2 << depth); left < toIndex; left += 4 << depth, right += 4 << depth) {
+						double re = vectors[right], im = vectors[right + 1];
+						final double twidRe = cos * re - sin * im;
+						final double twidIm = cos * im + sin * re;
+						re = scale * vectors[left]; im = scale * vectors[left + 1];
+						vectors[right]     = re - twidRe;
+						vectors[right + 1] = im - twidIm;
+						vectors[left]      = re + twidRe;
+						vectors[left + 1]  = im + twidIm;
+					}
+				}
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package de.sb.toolbox.math;
+
+import static de.sb.toolbox.math.FftTestSupport.randomDoubleVector;
+import static de.sb.toolbox.math.FftTestSupport.randomFloatVector;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.fail;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+
+public class BatchFftTest {
+	static private final byte MAGNITUDE = 12;
+	static private final int[] BATCH_SIZES = { 0, 1, 7, 300 };
+	static private final float SINGLE_PRECISION = 0;
+	static private final double DOUBLE_PRECISION = 0;
+
+
+	@Test
+	public void testFloatBatch() {
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+				final FftPlan.SinglePrecision plan = new FftPlan.SinglePrecision(magnitude);
+				for (final int batchSize : BATCH_SIZES) {
+					final float[] values = randomFloatVector(batchSize << magnitude + 1);
+
+					for (final boolean inverse : new boolean[] { false, true }) {
+						final float[] fft1 = values.clone(), fft2 = values.clone();
+						for (int member = 0; member < batchSize; ++member) {
+							final float[] vector = new float[2 << magnitude];
+							System.arraycopy(fft1, member * vector.length, vector, 0, vector.length);
+							plan.fft(inverse, vector);
+							System.arraycopy(vector, 0, fft1, member * vector.length, vector.length);
+						}
+						BatchFft.fft(pool, plan, inverse, fft2);
+						assertArrayEquals(fft1, fft2, SINGLE_PRECISION);
+					}
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+
+	@Test
+	public void testDoubleBatch() {
+		for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+			final FftPlan.DoublePrecision plan = new FftPlan.DoublePrecision(magnitude);
+			for (final int batchSize : BATCH_SIZES) {
+				final double[] values = randomDoubleVector(batchSize << magnitude + 1);
+
+				for (final boolean inverse : new boolean[] { false, true }) {
+					final double[] fft1 = values.clone(), fft2 = values.clone();
+					for (int member = 0; member < batchSize; ++member) {
+						final double[] vector = new double[2 << magnitude];
+						System.arraycopy(fft1, member * vector.length, vector, 0, vector.length);
+						plan.fft(inverse, vector);
+						System.arraycopy(vector, 0, fft1, member * vector.length, vector.length);
+					}
+					BatchFft.fft(plan, inverse, fft2);
+					assertArrayEquals(fft1, fft2, DOUBLE_PRECISION);
+				}
+			}
+		}
+	}
+
+
+	@Test
+	public void testIllegalLength() {
+		try { BatchFft.fft(new FftPlan.DoublePrecision(4), false, new double[48]); fail(); } catch (final IllegalArgumentException exception) {}
+		try { BatchFft.fft(new FftPlan.SinglePrecision(6), false, new float[64]); fail(); } catch (final IllegalArgumentException exception) {}
+	}
+}
\ No newline at end of file
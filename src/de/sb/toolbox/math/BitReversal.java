@@ -0,0 +1,458 @@
+package de.sb.toolbox.math;
+
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import de.sb.toolbox.Copyright;
+
+
+/**
+ * Bit-reversal permutations of <tt>N = 2<sup>magnitude</sup></tt> values, as required by radix-2
+ * FFTs. In contrast to {@link FunctionTables#getPerfectShuffleTable(int)}, which holds one
+ * {@code SwapEntry} object per swap pair, small permutations store their swap pairs as consecutive
+ * left and right indices within a single packed {@code int} array. Large permutations require no
+ * table at all, and are performed using a cache blocked (<i>COBRA</i>) algorithm instead: the index
+ * bits are split into <tt>[row|segment|column]</tt>, and each segment is swapped with its
+ * bit-reversed counterpart one pair at a time. As both segments consist of a few short sequential
+ * runs that fit together into the first level cache, this avoids the scattered swaps that miss the
+ * cache on almost every access once a vector exceeds the caches, without requiring the tile buffers
+ * of the classic algorithm.
+ * <p>
+ * Permutations are immutable, may be shared among threads, and never allocate memory.
+ */
+@Copyright(year = 2026, holders = "Sascha Baumeister")
+public final class BitReversal {
+	static private final AtomicReferenceArray<BitReversal> INSTANCES = new AtomicReferenceArray<>(30);
+	static private final int TILE_MAGNITUDE = 4;
+	static private final int BLOCKED_MAGNITUDE = 16;
+	static private final int[] TILE_REVERSAL = new int[1 << TILE_MAGNITUDE];
+	static final int SEGMENT_MAGNITUDE = 2 * TILE_MAGNITUDE;
+
+	static {
+		for (int index = 0; index < TILE_REVERSAL.length; ++index) {
+			TILE_REVERSAL[index] = IntMath.perfectShuffle(index, TILE_MAGNITUDE);
+		}
+	}
+
+	private final int magnitude;
+	private final int[] swapIndices;
+	final int segmentCount;
+
+
+	/**
+	 * Creates a new instance.
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @throws IllegalArgumentException if the given magnitude is negative or exceeds {@code 29}
+	 */
+	public BitReversal (final int magnitude) throws IllegalArgumentException {
+		if (magnitude < 0 | magnitude > 29) throw new IllegalArgumentException();
+		this.magnitude = magnitude;
+
+		if (magnitude >= BLOCKED_MAGNITUDE) {
+			this.swapIndices = null;
+			this.segmentCount = 1 << magnitude - 2 * TILE_MAGNITUDE;
+			return;
+		}
+
+		int swapCount = 0;
+		for (int index = 0; index < 1 << magnitude; ++index) {
+			if (IntMath.perfectShuffle(index, magnitude) > index) swapCount += 1;
+		}
+
+		this.swapIndices = new int[swapCount << 1];
+		this.segmentCount = (swapCount + (1 << SEGMENT_MAGNITUDE) - 1) >> SEGMENT_MAGNITUDE;
+		for (int index = 0, position = 0; index < 1 << magnitude; ++index) {
+			final int shuffle = IntMath.perfectShuffle(index, magnitude);
+			if (shuffle > index) {
+				this.swapIndices[position++] = index;
+				this.swapIndices[position++] = shuffle;
+			}
+		}
+	}
+
+
+	/**
+	 * Returns a shared instance for the given magnitude, which is created on first request.
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @return the shared instance
+	 * @throws IllegalArgumentException if the given magnitude is negative or exceeds {@code 29}
+	 */
+	static public BitReversal getInstance (final int magnitude) throws IllegalArgumentException {
+		if (magnitude < 0 | magnitude > 29) throw new IllegalArgumentException();
+
+		BitReversal instance = INSTANCES.get(magnitude);
+		if (instance == null) {
+			INSTANCES.compareAndSet(magnitude, null, new BitReversal(magnitude));
+			instance = INSTANCES.get(magnitude);
+		}
+		return instance;
+	}
+
+
+	/**
+	 * Returns the magnitude.
+	 * @return the value <tt>log<sub>2</sub>(N)</tt>
+	 */
+	public int magnitude () {
+		return this.magnitude;
+	}
+
+
+	/**
+	 * Performs the bit-reversal permutation of the given vector of <tt>N = 2<sup>magnitude</sup></tt>
+	 * braided complex numbers.
+	 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+	 *        indexed real parts with odd indexed imaginary ones
+	 * @throws NullPointerException if the given vector is {@code null}
+	 * @throws IllegalArgumentException if the given vector's length is not <tt>2N</tt>
+	 */
+	public void permute (final float[] vector) throws NullPointerException, IllegalArgumentException {
+		if (vector.length != 2 << this.magnitude) throw new IllegalArgumentException();
+		this.permute(vector, 0, 1, 0, this.segmentCount);
+	}
+
+
+	/**
+	 * Performs the bit-reversal permutation of the given vectors of <tt>N = 2<sup>magnitude</sup></tt>
+	 * separated real and imaginary parts.
+	 * @param real an array of <tt>N</tt> real parts
+	 * @param imag an array of <tt>N</tt> imaginary parts
+	 * @throws NullPointerException if any of the given vectors is {@code null}
+	 * @throws IllegalArgumentException if any of the given vector's lengths is not <tt>N</tt>
+	 */
+	public void permute (final float[] real, final float[] imag) throws NullPointerException, IllegalArgumentException {
+		if (real.length != 1 << this.magnitude | imag.length != 1 << this.magnitude) throw new IllegalArgumentException();
+		this.permute(real, 0, 0, 0, this.segmentCount);
+		this.permute(imag, 0, 0, 0, this.segmentCount);
+	}
+
+
+	/**
+	 * Performs the bit-reversal permutation for the given range of segments. Segments are
+	 * independent of each other, and may therefore be processed concurrently.
+	 * @param vector the vector
+	 * @param offset the array index of the first element to be permuted
+	 * @param shift the value <tt>log<sub>2</sub></tt> of the number of array elements per value,
+	 *        {@code 1} for braided complex numbers, or {@code 0} for separated parts
+	 * @param fromSegment the index of the first segment, inclusive
+	 * @param toSegment the index of the last segment, exclusive
+	 */
+	void permute (final float[] vector, final int offset, final int shift, final int fromSegment, final int toSegment) {
+		final int[] swapIndices = this.swapIndices;
+		if (swapIndices != null) {
+			for (int index = fromSegment << SEGMENT_MAGNITUDE + 1, stop = Math.min(swapIndices.length, toSegment << SEGMENT_MAGNITUDE + 1); index < stop; index += 2) {
+				final int left = offset + (swapIndices[index] << shift), right = offset + (swapIndices[index + 1] << shift);
+				float swap = vector[left];
+				vector[left] = vector[right];
+				vector[right] = swap;
+				if (shift != 0) {
+					swap = vector[left + 1];
+					vector[left + 1] = vector[right + 1];
+					vector[right + 1] = swap;
+				}
+			}
+			return;
+		}
+
+		// index bits are split into [row|segment|column], with rows and columns of TILE_MAGNITUDE bits
+		final int[] tileReversal = TILE_REVERSAL;
+		final int segmentMagnitude = this.magnitude - 2 * TILE_MAGNITUDE, rowShift = this.magnitude - TILE_MAGNITUDE;
+
+		for (int leftSegment = fromSegment; leftSegment < toSegment; ++leftSegment) {
+			final int rightSegment = Integer.reverse(leftSegment) >>> Integer.SIZE - segmentMagnitude;
+			if (rightSegment < leftSegment) continue;
+
+			for (int row = 0; row < 1 << TILE_MAGNITUDE; ++row) {
+				final int leftBase = row << rowShift | leftSegment << TILE_MAGNITUDE, rightBase = rightSegment << TILE_MAGNITUDE | tileReversal[row];
+				for (int column = 0; column < 1 << TILE_MAGNITUDE; ++column) {
+					if (rightSegment == leftSegment & tileReversal[column] <= row) continue;
+					final int left = offset + ((leftBase | column) << shift), right = offset + ((tileReversal[column] << rowShift | rightBase) << shift);
+					float swap = vector[left];
+					vector[left] = vector[right];
+					vector[right] = swap;
+					if (shift != 0) {
+						swap = vector[left + 1];
+						vector[left + 1] = vector[right + 1];
+						vector[right + 1] = swap;
+					}
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Performs the bit-reversal permutation of the <tt>N = 2<sup>magnitude</sup></tt> braided
+	 * complex numbers between the given buffer's position and limit, using absolute access. The
+	 * buffer's position and limit remain unchanged, which allows direct buffers to be permuted
+	 * off-heap without being copied.
+	 * @param vector a buffer of <tt>N</tt> remaining complex numbers in Cartesian form, alternating
+	 *        even indexed real parts with odd indexed imaginary ones
+	 * @throws NullPointerException if the given vector is {@code null}
+	 * @throws IllegalArgumentException if the given vector's remaining length is not <tt>2N</tt>
+	 * @throws ReadOnlyBufferException if the given vector is read-only
+	 */
+	public void permute (final FloatBuffer vector) throws NullPointerException, IllegalArgumentException, ReadOnlyBufferException {
+		if (vector.remaining() != 2 << this.magnitude) throw new IllegalArgumentException();
+		if (vector.isReadOnly()) throw new ReadOnlyBufferException();
+		final int offset = vector.position();
+
+		final int[] swapIndices = this.swapIndices;
+		if (swapIndices != null) {
+			for (int index = 0; index < swapIndices.length; index += 2) {
+				final int left = offset + (swapIndices[index] << 1), right = offset + (swapIndices[index + 1] << 1);
+				final float re = vector.get(left), im = vector.get(left + 1);
+				vector.put(left, vector.get(right));
+				vector.put(left + 1, vector.get(right + 1));
+				vector.put(right, re);
+				vector.put(right + 1, im);
+			}
+			return;
+		}
+
+		// index bits are split into [row|segment|column], with rows and columns of TILE_MAGNITUDE bits
+		final int[] tileReversal = TILE_REVERSAL;
+		final int segmentMagnitude = this.magnitude - 2 * TILE_MAGNITUDE, rowShift = this.magnitude - TILE_MAGNITUDE;
+
+		for (int leftSegment = 0; leftSegment < this.segmentCount; ++leftSegment) {
+			final int rightSegment = Integer.reverse(leftSegment) >>> Integer.SIZE - segmentMagnitude;
+			if (rightSegment < leftSegment) continue;
+
+			for (int row = 0; row < 1 << TILE_MAGNITUDE; ++row) {
+				final int leftBase = row << rowShift | leftSegment << TILE_MAGNITUDE, rightBase = rightSegment << TILE_MAGNITUDE | tileReversal[row];
+				for (int column = 0; column < 1 << TILE_MAGNITUDE; ++column) {
+					if (rightSegment == leftSegment & tileReversal[column] <= row) continue;
+					final int left = offset + ((leftBase | column) << 1), right = offset + ((tileReversal[column] << rowShift | rightBase) << 1);
+					final float re = vector.get(left), im = vector.get(left + 1);
+					vector.put(left, vector.get(right));
+					vector.put(left + 1, vector.get(right + 1));
+					vector.put(right, re);
+					vector.put(right + 1, im);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Performs the bit-reversal permutation of the given vector of <tt>N = 2<sup>magnitude</sup></tt>
+	 * braided complex numbers.
+	 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+	 *        indexed real parts with odd indexed imaginary ones
+	 * @throws NullPointerException if the given vector is {@code null}
+	 * @throws IllegalArgumentException if the given vector's length is not <tt>2N</tt>
+	 */
+	public void permute (final double[] vector) throws NullPointerException, IllegalArgumentException {
+		if (vector.length != 2 << this.magnitude) throw new IllegalArgumentException();
+		this.permute(vector, 0, 1, 0, this.segmentCount);
+	}
+
+
+	/**
+	 * Performs the bit-reversal permutation of the given vectors of <tt>N = 2<sup>magnitude</sup></tt>
+	 * separated real and imaginary parts.
+	 * @param real an array of <tt>N</tt> real parts
+	 * @param imag an array of <tt>N</tt> imaginary parts
+	 * @throws NullPointerException if any of the given vectors is {@code null}
+	 * @throws IllegalArgumentException if any of the given vector's lengths is not <tt>N</tt>
+	 */
+	public void permute (final double[] real, final double[] imag) throws NullPointerException, IllegalArgumentException {
+		if (real.length != 1 << this.magnitude | imag.length != 1 << this.magnitude) throw new IllegalArgumentException();
+		this.permute(real, 0, 0, 0, this.segmentCount);
+		this.permute(imag, 0, 0, 0, this.segmentCount);
+	}
+
+
+	/**
+	 * Performs the bit-reversal permutation for the given range of segments. Segments are
+	 * independent of each other, and may therefore be processed concurrently.
+	 * @param vector the vector
+	 * @param offset the array index of the first element to be permuted
+	 * @param shift the value <tt>log<sub>2</sub></tt> of the number of array elements per value,
+	 *        {@code 1} for braided complex numbers, or {@code 0} for separated parts
+	 * @param fromSegment the index of the first segment, inclusive
+	 * @param toSegment the index of the last segment, exclusive
+	 */
+	void permute (final double[] vector, final int offset, final int shift, final int fromSegment, final int toSegment) {
+		final int[] swapIndices = this.swapIndices;
+		if (swapIndices != null) {
+			for (int index = fromSegment << SEGMENT_MAGNITUDE + 1, stop = Math.min(swapIndices.length, toSegment << SEGMENT_MAGNITUDE + 1); index < stop; index += 2) {
+				final int left = offset + (swapIndices[index] << shift), right = offset + (swapIndices[index + 1] << shift);
+				double swap = vector[left];
+				vector[left] = vector[right];
+				vector[right] = swap;
+				if (shift != 0) {
+					swap = vector[left + 1];
+					vector[left + 1] = vector[right + 1];
+					vector[right + 1] = swap;
+				}
+			}
+			return;
+		}
+
+		// index bits are split into [row|segment|column], with rows and columns of TILE_MAGNITUDE bits
+		final int[] tileReversal = TILE_REVERSAL;
+		final int segmentMagnitude = this.magnitude - 2 * TILE_MAGNITUDE, rowShift = this.magnitude - TILE_MAGNITUDE;
+
+		for (int leftSegment = fromSegment; leftSegment < toSegment; ++leftSegment) {
+			final int rightSegment = Integer.reverse(leftSegment) >>> Integer.SIZE - segmentMagnitude;
+			if (rightSegment < leftSegment) continue;
+
+			for (int row = 0; row < 1 << TILE_MAGNITUDE; ++row) {
+				final int leftBase = row << rowShift | leftSegment << TILE_MAGNITUDE, rightBase = rightSegment << TILE_MAGNITUDE | tileReversal[row];
+				for (int column = 0; column < 1 << TILE_MAGNITUDE; ++column) {
+					if (rightSegment == leftSegment & tileReversal[column] <= row) continue;
+					final int left = offset + ((leftBase | column) << shift), right = offset + ((tileReversal[column] << rowShift | rightBase) << shift);
+					double swap = vector[left];
+					vector[left] = vector[right];
+					vector[right] = swap;
+					if (shift != 0) {
+						swap = vector[left + 1];
+						vector[left + 1] = vector[right + 1];
+						vector[right + 1] = swap;
+					}
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Performs the bit-reversal permutation of the <tt>N = 2<sup>magnitude</sup></tt> braided
+	 * complex numbers between the given buffer's position and limit, using absolute access. The
+	 * buffer's position and limit remain unchanged, which allows direct buffers to be permuted
+	 * off-heap without being copied.
+	 * @param vector a buffer of <tt>N</tt> remaining complex numbers in Cartesian form, alternating
+	 *        even indexed real parts with odd indexed imaginary ones
+	 * @throws NullPointerException if the given vector is {@code null}
+	 * @throws IllegalArgumentException if the given vector's remaining length is not <tt>2N</tt>
+	 * @throws ReadOnlyBufferException if the given vector is read-only
+	 */
+	public void permute (final DoubleBuffer vector) throws NullPointerException, IllegalArgumentException, ReadOnlyBufferException {
+		if (vector.remaining() != 2 << this.magnitude) throw new IllegalArgumentException();
+		if (vector.isReadOnly()) throw new ReadOnlyBufferException();
+		final int offset = vector.position();
+
+		final int[] swapIndices = this.swapIndices;
+		if (swapIndices != null) {
+			for (int index = 0; index < swapIndices.length; index += 2) {
+				final int left = offset + (swapIndices[index] << 1), right = offset + (swapIndices[index + 1] << 1);
+				final double re = vector.get(left), im = vector.get(left + 1);
+				vector.put(left, vector.get(right));
+				vector.put(left + 1, vector.get(right + 1));
+				vector.put(right, re);
+				vector.put(right + 1, im);
+			}
+			return;
+		}
+
+		// index bits are split into [row|segment|column], with rows and columns of TILE_MAGNITUDE bits
+		final int[] tileReversal = TILE_REVERSAL;
+		final int segmentMagnitude = this.magnitude - 2 * TILE_MAGNITUDE, rowShift = this.magnitude - TILE_MAGNITUDE;
+
+		for (int leftSegment = 0; leftSegment < this.segmentCount; ++leftSegment) {
+			final int rightSegment = Integer.reverse(leftSegment) >>> Integer.SIZE - segmentMagnitude;
+			if (rightSegment < leftSegment) continue;
+
+			for (int row = 0; row < 1 << TILE_MAGNITUDE; ++row) {
+				final int leftBase = row << rowShift | leftSegment << TILE_MAGNITUDE, rightBase = rightSegment << TILE_MAGNITUDE | tileReversal[row];
+				for (int column = 0; column < 1 << TILE_MAGNITUDE; ++column) {
+					if (rightSegment == leftSegment & tileReversal[column] <= row) continue;
+					final int left = offset + ((leftBase | column) << 1), right = offset + ((tileReversal[column] << rowShift | rightBase) << 1);
+					final double re = vector.get(left), im = vector.get(left + 1);
+					vector.put(left, vector.get(right));
+					vector.put(left + 1, vector.get(right + 1));
+					vector.put(right, re);
+					vector.put(right + 1, im);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Performs the bit-reversal permutation of the given vector of <tt>N = 2<sup>magnitude</sup></tt>
+	 * integer residues, as required by number-theoretic transforms.
+	 * @param vector an array of <tt>N</tt> residues
+	 * @throws NullPointerException if the given vector is {@code null}
+	 * @throws IllegalArgumentException if the given vector's length is not <tt>N</tt>
+	 */
+	public void permute (final long[] vector) throws NullPointerException, IllegalArgumentException {
+		if (vector.length != 1 << this.magnitude) throw new IllegalArgumentException();
+
+		final int[] swapIndices = this.swapIndices;
+		if (swapIndices != null) {
+			for (int index = 0; index < swapIndices.length; index += 2) {
+				final int left = swapIndices[index], right = swapIndices[index + 1];
+				final long swap = vector[left];
+				vector[left] = vector[right];
+				vector[right] = swap;
+			}
+			return;
+		}
+
+		// index bits are split into [row|segment|column], with rows and columns of TILE_MAGNITUDE bits
+		final int[] tileReversal = TILE_REVERSAL;
+		final int segmentMagnitude = this.magnitude - 2 * TILE_MAGNITUDE, rowShift = this.magnitude - TILE_MAGNITUDE;
+
+		for (int leftSegment = 0; leftSegment < this.segmentCount; ++leftSegment) {
+			final int rightSegment = Integer.reverse(leftSegment) >>> Integer.SIZE - segmentMagnitude;
+			if (rightSegment < leftSegment) continue;
+
+			for (int row = 0; row < 1 << TILE_MAGNITUDE; ++row) {
+				final int leftBase = row << rowShift | leftSegment << TILE_MAGNITUDE, rightBase = rightSegment << TILE_MAGNITUDE | tileReversal[row];
+				for (int column = 0; column < 1 << TILE_MAGNITUDE; ++column) {
+					if (rightSegment == leftSegment & tileReversal[column] <= row) continue;
+					final int left = leftBase | column, right = tileReversal[column] << rowShift | rightBase;
+					final long swap = vector[left];
+					vector[left] = vector[right];
+					vector[right] = swap;
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Performs the bit-reversal permutation of the given vector of <tt>N = 2<sup>magnitude</sup></tt>
+	 * elements, as required by FFTs operating on complex number objects.
+	 * @param vector an array of <tt>N</tt> elements
+	 * @throws NullPointerException if the given vector is {@code null}
+	 * @throws IllegalArgumentException if the given vector's length is not <tt>N</tt>
+	 */
+	public void permute (final Object[] vector) throws NullPointerException, IllegalArgumentException {
+		if (vector.length != 1 << this.magnitude) throw new IllegalArgumentException();
+
+		final int[] swapIndices = this.swapIndices;
+		if (swapIndices != null) {
+			for (int index = 0; index < swapIndices.length; index += 2) {
+				final int left = swapIndices[index], right = swapIndices[index + 1];
+				final Object swap = vector[left];
+				vector[left] = vector[right];
+				vector[right] = swap;
+			}
+			return;
+		}
+
+		// index bits are split into [row|segment|column], with rows and columns of TILE_MAGNITUDE bits
+		final int[] tileReversal = TILE_REVERSAL;
+		final int segmentMagnitude = this.magnitude - 2 * TILE_MAGNITUDE, rowShift = this.magnitude - TILE_MAGNITUDE;
+
+		for (int leftSegment = 0; leftSegment < this.segmentCount; ++leftSegment) {
+			final int rightSegment = Integer.reverse(leftSegment) >>> Integer.SIZE - segmentMagnitude;
+			if (rightSegment < leftSegment) continue;
+
+			for (int row = 0; row < 1 << TILE_MAGNITUDE; ++row) {
+				final int leftBase = row << rowShift | leftSegment << TILE_MAGNITUDE, rightBase = rightSegment << TILE_MAGNITUDE | tileReversal[row];
+				for (int column = 0; column < 1 << TILE_MAGNITUDE; ++column) {
+					if (rightSegment == leftSegment & tileReversal[column] <= row) continue;
+					final int left = leftBase | column, right = tileReversal[column] << rowShift | rightBase;
+					final Object swap = vector[left];
+					vector[left] = vector[right];
+					vector[right] = swap;
+				}
+			}
+		}
+	}
+}
\ No newline at end of file
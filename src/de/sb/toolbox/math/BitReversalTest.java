@@ -0,0 +1,135 @@
+package de.sb.toolbox.math;
+
+import static de.sb.toolbox.math.FftTestSupport.randomDoubleVector;
+import static de.sb.toolbox.math.FftTestSupport.randomFloatVector;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.Test;
+
+
+public class BitReversalTest {
+	static private final byte MAGNITUDE = 18;
+
+
+	@Test
+	public void testFloatPermutation() {
+		for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+			final BitReversal permutation = new BitReversal(magnitude);
+			final float[] vector = randomFloatVector(2 << magnitude), real = new float[1 << magnitude], imag = new float[1 << magnitude];
+			final float[] expected = new float[vector.length], actual = vector.clone();
+			for (int index = 0; index < 1 << magnitude; ++index) {
+				final int shuffle = IntMath.perfectShuffle(index, magnitude);
+				expected[2 * shuffle] = vector[2 * index];
+				expected[2 * shuffle + 1] = vector[2 * index + 1];
+				real[index] = vector[2 * index];
+				imag[index] = vector[2 * index + 1];
+			}
+
+			permutation.permute(actual);
+			assertArrayEquals(expected, actual, 0);
+
+			permutation.permute(real, imag);
+			for (int index = 0; index < 1 << magnitude; ++index) {
+				actual[2 * index] = real[index];
+				actual[2 * index + 1] = imag[index];
+			}
+			assertArrayEquals(expected, actual, 0);
+		}
+	}
+
+
+	@Test
+	public void testDoublePermutation() {
+		for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+			final BitReversal permutation = BitReversal.getInstance(magnitude);
+			final double[] vector = randomDoubleVector(2 << magnitude);
+			final double[] expected = new double[vector.length], actual = vector.clone();
+			for (int index = 0; index < 1 << magnitude; ++index) {
+				final int shuffle = IntMath.perfectShuffle(index, magnitude);
+				expected[2 * shuffle] = vector[2 * index];
+				expected[2 * shuffle + 1] = vector[2 * index + 1];
+			}
+
+			permutation.permute(actual);
+			assertArrayEquals(expected, actual, 0);
+			permutation.permute(actual);
+			assertArrayEquals(vector, actual, 0);
+		}
+	}
+
+
+	@Test
+	public void testBufferPermutation() {
+		for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+			final BitReversal permutation = BitReversal.getInstance(magnitude);
+			final double[] vector = randomDoubleVector(2 << magnitude), expected = vector.clone(), actual = new double[vector.length];
+			permutation.permute(expected);
+
+			final DoubleBuffer doubleBuffer = ByteBuffer.allocateDirect((vector.length + 2) << 3).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+			doubleBuffer.position(2);
+			doubleBuffer.slice().put(vector);
+			permutation.permute(doubleBuffer);
+			assertEquals(2, doubleBuffer.position());
+			doubleBuffer.get(actual);
+			assertArrayEquals(expected, actual, 0);
+
+			final FloatBuffer floatBuffer = FloatBuffer.allocate(vector.length);
+			for (final double value : vector) floatBuffer.put((float) value);
+			floatBuffer.flip();
+			permutation.permute(floatBuffer);
+			for (int index = 0; index < actual.length; ++index) {
+				assertEquals((float) expected[index], floatBuffer.get(index), 0);
+			}
+		}
+	}
+
+
+	@Test
+	public void testLongPermutation() {
+		for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+			final BitReversal permutation = BitReversal.getInstance(magnitude);
+			final long[] vector = new long[1 << magnitude], expected = new long[vector.length];
+			for (int index = 0; index < vector.length; ++index) {
+				vector[index] = ThreadLocalRandom.current().nextLong();
+				expected[IntMath.perfectShuffle(index, magnitude)] = vector[index];
+			}
+
+			final long[] actual = vector.clone();
+			permutation.permute(actual);
+			assertArrayEquals(expected, actual);
+		}
+	}
+
+
+	@Test
+	public void testObjectPermutation() {
+		for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+			final BitReversal permutation = BitReversal.getInstance(magnitude);
+			final Integer[] vector = new Integer[1 << magnitude], expected = new Integer[vector.length];
+			for (int index = 0; index < vector.length; ++index) {
+				vector[index] = index;
+				expected[IntMath.perfectShuffle(index, magnitude)] = vector[index];
+			}
+
+			final Integer[] actual = vector.clone();
+			permutation.permute(actual);
+			assertArrayEquals(expected, actual);
+		}
+	}
+
+
+	@Test
+	public void testIllegalLength() {
+		try { new BitReversal(30); fail(); } catch (final IllegalArgumentException exception) {}
+		try { BitReversal.getInstance(-1); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new BitReversal(4).permute(new double[16]); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new BitReversal(14).permute(new float[1 << 14], new float[1 << 13]); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new BitReversal(4).permute(DoubleBuffer.allocate(16)); fail(); } catch (final IllegalArgumentException exception) {}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,275 @@
+package de.sb.toolbox.math;
+
+import de.sb.toolbox.Copyright;
+
+
+/**
+ * Reusable plans for FFTs of <tt>N</tt> braided complex numbers of arbitrary length, including
+ * prime lengths. Plans use <i>Bluestein's</i> chirp-z algorithm, which rewrites the products
+ * <tt>nk = (n<sup>2</sup> + k<sup>2</sup> - (k-n)<sup>2</sup>)/2</tt> within the DFT's exponents,
+ * and therefore turns the transform into a convolution with the chirp sequence
+ * <tt>c<sub>n</sub> = e<sup>i&pi;n<sup>2</sup>/N</sup></tt>. The convolution is evaluated using
+ * power of two FFTs of length <tt>M &ge; 2N-1</tt>, resulting in <tt>O(N log N)</tt> complexity.
+ * <p>
+ * The chirp sequence and the spectrum of its conjugate are precomputed once per plan, which
+ * reduces each transform to two power of two FFTs and one pointwise multiplication. Inverse
+ * transforms require no separate normalization pass: their <tt>1/N</tt> is folded into the final
+ * chirp multiplication, while the inner inverse FFT applies its <tt>1/M</tt> within its last
+ * butterfly stage. Plans are immutable, and may be shared among threads. They follow the conventions of {@link FftPlan}:
+ * forward transforms are unscaled, while inverse transforms are scaled by <tt>1/N</tt>.
+ */
+@Copyright(year = 2026, holders = "Sascha Baumeister")
+public abstract class BluesteinFftPlan {
+
+	/**
+	 * The number <tt>N</tt> of complex numbers to be transformed.
+	 */
+	protected final int size;
+
+	/**
+	 * The value <tt>log<sub>2</sub>(M)</tt>.
+	 */
+	protected final int magnitude;
+
+
+	/**
+	 * Initializes a new instance.
+	 * @param size the number <tt>N</tt> of complex numbers to be transformed
+	 * @throws IllegalArgumentException if the given size is not positive, or exceeds
+	 *         <tt>2<sup>28</sup></tt>
+	 */
+	protected BluesteinFftPlan (final int size) throws IllegalArgumentException {
+		if (size <= 0 | size > 1 << 28) throw new IllegalArgumentException();
+
+		this.size = size;
+		this.magnitude = IntMath.ceilLog2((size << 1) - 1);
+	}
+
+
+	/**
+	 * Returns the size.
+	 * @return the number <tt>N</tt> of complex numbers to be transformed
+	 */
+	public int size () {
+		return this.size;
+	}
+
+
+	/**
+	 * Returns the padded size.
+	 * @return the number <tt>M</tt> of complex numbers processed by the inner power of two FFTs
+	 */
+	public int paddedSize () {
+		return 1 << this.magnitude;
+	}
+
+
+	/**
+	 * Returns the chirp sequence <tt>c<sub>n</sub> = e<sup>i&pi;n<sup>2</sup>/N</sup></tt> as
+	 * braided complex numbers. Note that <tt>n<sup>2</sup></tt> is reduced modulo <tt>2N</tt>
+	 * beforehand, in order to avoid loss of precision for large indices.
+	 * @param size the number <tt>N</tt> of complex numbers
+	 * @return the chirp sequence
+	 */
+	static private double[] chirp (final int size) {
+		final double[] chirp = new double[size << 1];
+		for (int index = 0; index < size; ++index) {
+			final double angle = Math.PI * (((long) index * index) % (size << 1)) / size;
+			chirp[(index << 1)]     = Math.cos(angle);
+			chirp[(index << 1) + 1] = Math.sin(angle);
+		}
+		return chirp;
+	}
+
+
+	/**
+	 * Returns the spectrum of the conjugated chirp sequence, which is arranged cyclically so that
+	 * negative indices <tt>-n</tt> map to <tt>M-n</tt>.
+	 * @param magnitude the value <tt>log<sub>2</sub>(M)</tt>
+	 * @param chirp the chirp sequence
+	 * @return the spectrum as braided complex numbers
+	 */
+	static private double[] spectrum (final int magnitude, final double[] chirp) {
+		final double[] spectrum = new double[2 << magnitude];
+		for (int index = 0; index < chirp.length >> 1; ++index) {
+			spectrum[(index << 1)]     = chirp[(index << 1)];
+			spectrum[(index << 1) + 1] = -chirp[(index << 1) + 1];
+			if (index > 0) {
+				spectrum[spectrum.length - (index << 1)]     = chirp[(index << 1)];
+				spectrum[spectrum.length - (index << 1) + 1] = -chirp[(index << 1) + 1];
+			}
+		}
+
+		FftPlan.getDoublePrecisionPlan(magnitude).fft(false, spectrum);
+		return spectrum;
+	}
+
+
+
+	/**
+	 * Plans for {@code 32-bit} floating-point Bluestein FFTs.
+	 */
+	static public final class SinglePrecision extends BluesteinFftPlan {
+		private final FftPlan.SinglePrecision plan;
+		private final float[] chirp, spectrum;
+
+
+		/**
+		 * Creates a new instance.
+		 * @param size the number <tt>N</tt> of complex numbers to be transformed
+		 * @throws IllegalArgumentException if the given size is not positive, or exceeds
+		 *         <tt>2<sup>28</sup></tt>
+		 */
+		public SinglePrecision (final int size) throws IllegalArgumentException {
+			super(size);
+
+			final double[] chirp = chirp(size), spectrum = spectrum(this.magnitude, chirp);
+			this.plan = FftPlan.getSinglePrecisionPlan(this.magnitude);
+			this.chirp = new float[chirp.length];
+			this.spectrum = new float[spectrum.length];
+			for (int index = 0; index < chirp.length; ++index) this.chirp[index] = (float) chirp[index];
+			for (int index = 0; index < spectrum.length; ++index) this.spectrum[index] = (float) spectrum[index];
+		}
+
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of <tt>N</tt>
+		 * braided complex numbers, using a temporary buffer.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+		 *        indexed real parts with odd indexed imaginary ones
+		 * @throws NullPointerException if the given vector is {@code null}
+		 * @throws IllegalArgumentException if the given vector's length is not <tt>2N</tt>
+		 */
+		public void fft (final boolean inverse, final float[] vector) throws NullPointerException, IllegalArgumentException {
+			if (vector.length != this.size << 1) throw new IllegalArgumentException();
+			this.fft(inverse, vector, new float[2 << this.magnitude]);
+		}
+
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of <tt>N</tt>
+		 * braided complex numbers, using the given buffer for the convolution. Note that reusing
+		 * buffers avoids memory allocation, but that a buffer must not be shared among concurrent
+		 * transforms.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+		 *        indexed real parts with odd indexed imaginary ones
+		 * @param buffer an array of <tt>2M</tt> elements
+		 * @throws NullPointerException if any of the given arrays is {@code null}
+		 * @throws IllegalArgumentException if the given vector's length is not <tt>2N</tt>, or the
+		 *         given buffer's length is not <tt>2M</tt>
+		 */
+		public void fft (final boolean inverse, final float[] vector, final float[] buffer) throws NullPointerException, IllegalArgumentException {
+			if (vector.length != this.size << 1 | buffer.length != this.spectrum.length) throw new IllegalArgumentException();
+			final float[] chirp = this.chirp, spectrum = this.spectrum;
+
+			// an inverse transform conjugates both its input and its output
+			final float sign = inverse ? -1 : 1;
+			for (int index = 0; index < vector.length; index += 2) {
+				final float re = vector[index], im = sign * vector[index + 1];
+				buffer[index]     = re * chirp[index] - im * chirp[index + 1];
+				buffer[index + 1] = re * chirp[index + 1] + im * chirp[index];
+			}
+			for (int index = vector.length; index < spectrum.length; ++index) buffer[index] = 0;
+
+			this.plan.fft(false, buffer);
+			for (int index = 0; index < spectrum.length; index += 2) {
+				final float re = buffer[index], im = buffer[index + 1];
+				buffer[index]     = re * spectrum[index] - im * spectrum[index + 1];
+				buffer[index + 1] = re * spectrum[index + 1] + im * spectrum[index];
+			}
+			this.plan.fft(true, buffer);
+
+			final float norm = inverse ? 1f / this.size : 1f;
+			for (int index = 0; index < vector.length; index += 2) {
+				final float re = buffer[index], im = buffer[index + 1];
+				vector[index]     = norm * (re * chirp[index] - im * chirp[index + 1]);
+				vector[index + 1] = sign * norm * (re * chirp[index + 1] + im * chirp[index]);
+			}
+		}
+	}
+
+
+
+	/**
+	 * Plans for {@code 64-bit} floating-point Bluestein FFTs.
+	 */
+	static public final class DoublePrecision extends BluesteinFftPlan {
+		private final FftPlan.DoublePrecision plan;
+		private final double[] chirp, spectrum;
+
+
+		/**
+		 * Creates a new instance.
+		 * @param size the number <tt>N</tt> of complex numbers to be transformed
+		 * @throws IllegalArgumentException if the given size is not positive, or exceeds
+		 *         <tt>2<sup>28</sup></tt>
+		 */
+		public DoublePrecision (final int size) throws IllegalArgumentException {
+			super(size);
+
+			this.plan = FftPlan.getDoublePrecisionPlan(this.magnitude);
+			this.chirp = chirp(size);
+			this.spectrum = spectrum(this.magnitude, this.chirp);
+		}
+
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of <tt>N</tt>
+		 * braided complex numbers, using a temporary buffer.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+		 *        indexed real parts with odd indexed imaginary ones
+		 * @throws NullPointerException if the given vector is {@code null}
+		 * @throws IllegalArgumentException if the given vector's length is not <tt>2N</tt>
+		 */
+		public void fft (final boolean inverse, final double[] vector) throws NullPointerException, IllegalArgumentException {
+			if (vector.length != this.size << 1) throw new IllegalArgumentException();
+			this.fft(inverse, vector, new double[2 << this.magnitude]);
+		}
+
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of <tt>N</tt>
+		 * braided complex numbers, using the given buffer for the convolution. Note that reusing
+		 * buffers avoids memory allocation, but that a buffer must not be shared among concurrent
+		 * transforms.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+		 *        indexed real parts with odd indexed imaginary ones
+		 * @param buffer an array of <tt>2M</tt> elements
+		 * @throws NullPointerException if any of the given arrays is {@code null}
+		 * @throws IllegalArgumentException if the given vector's length is not <tt>2N</tt>, or the
+		 *         given buffer's length is not <tt>2M</tt>
+		 */
+		public void fft (final boolean inverse, final double[] vector, final double[] buffer) throws NullPointerException, IllegalArgumentException {
+			if (vector.length != this.size << 1 | buffer.length != this.spectrum.length) throw new IllegalArgumentException();
+			final double[] chirp = this.chirp, spectrum = this.spectrum;
+
+			// an inverse transform conjugates both its input and its output
+			final double sign = inverse ? -1 : 1;
+			for (int index = 0; index < vector.length; index += 2) {
+				final double re = vector[index], im = sign * vector[index + 1];
+				buffer[index]     = re * chirp[index] - im * chirp[index + 1];
+				buffer[index + 1] = re * chirp[index + 1] + im * chirp[index];
+			}
+			for (int index = vector.length; index < spectrum.length; ++index) buffer[index] = 0;
+
+			this.plan.fft(false, buffer);
+			for (int index = 0; index < spectrum.length; index += 2) {
+				final double re = buffer[index], im = buffer[index + 1];
+				buffer[index]     = re * spectrum[index] - im * spectrum[index + 1];
+				buffer[index + 1] = re * spectrum[index + 1] + im * spectrum[index];
+			}
+			this.plan.fft(true, buffer);
+
+			final double norm = inverse ? 1d / this.size : 1d;
+			for (int index = 0; index < vector.length; index += 2) {
+				final double re = buffer[index], im = buffer[index + 1];
+				vector[index]     = norm * (re * chirp[index] - im * chirp[index + 1]);
+				vector[index + 1] = sign * norm * (re * chirp[index + 1] + im * chirp[index]);
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package de.sb.toolbox.math;
+
+import static de.sb.toolbox.math.FftTestSupport.dft;
+import static de.sb.toolbox.math.FftTestSupport.randomDoubleVector;
+import static de.sb.toolbox.math.FftTestSupport.randomFloatVector;
+import static de.sb.toolbox.math.FftTestSupport.toDouble;
+import static de.sb.toolbox.math.FftTestSupport.toFloat;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+
+public class BluesteinFftPlanTest {
+	static private final int[] SIZES = { 1, 2, 3, 5, 11, 13, 17, 64, 97, 127, 960, 1009, 1021, 2053 };
+	static private final double DOUBLE_PRECISION = 1E-11f;
+	static private final float SINGLE_PRECISION = 1E-4f;
+
+
+	@Test
+	public void testFloatPlan() {
+		for (final int size : SIZES) {
+			final BluesteinFftPlan.SinglePrecision plan = new BluesteinFftPlan.SinglePrecision(size);
+			assertEquals(size, plan.size());
+
+			final float[] values = randomFloatVector(size << 1);
+			for (final boolean inverse : new boolean[] { false, true }) {
+				final double[] dft = dft(inverse, toDouble(values));
+				final float[] fft = values.clone();
+				plan.fft(inverse, fft, new float[plan.paddedSize() << 1]);
+				assertArrayEquals(toFloat(dft), fft, SINGLE_PRECISION * (inverse ? 1 : (float) Math.sqrt(size)));
+			}
+		}
+	}
+
+
+	@Test
+	public void testDoublePlan() {
+		for (final int size : SIZES) {
+			final BluesteinFftPlan.DoublePrecision plan = new BluesteinFftPlan.DoublePrecision(size);
+			assertEquals(size, plan.size());
+			assertEquals(Integer.highestOneBit(4 * size - 3), plan.paddedSize());
+
+			final double[] values = randomDoubleVector(size << 1);
+			for (final boolean inverse : new boolean[] { false, true }) {
+				final double[] dft = dft(inverse, values);
+				final double[] fft = values.clone();
+				plan.fft(inverse, fft);
+				assertArrayEquals(dft, fft, DOUBLE_PRECISION * size);
+			}
+
+			final double[] roundtrip = values.clone();
+			plan.fft(false, roundtrip);
+			plan.fft(true, roundtrip);
+			assertArrayEquals(values, roundtrip, DOUBLE_PRECISION);
+		}
+	}
+
+
+	@Test
+	public void testIllegalSize() {
+		try { new BluesteinFftPlan.DoublePrecision(0); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new BluesteinFftPlan.SinglePrecision(-3); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new BluesteinFftPlan.DoublePrecision(1009).fft(false, new double[2016]); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new BluesteinFftPlan.SinglePrecision(1009).fft(false, new float[2018], new float[2018]); fail(); } catch (final IllegalArgumentException exception) {}
+	}
+}
\ No newline at end of file
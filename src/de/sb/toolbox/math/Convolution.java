@@ -0,0 +1,490 @@
+package de.sb.toolbox.math;
+
+import java.util.Arrays;
+import de.sb.toolbox.Copyright;
+
+
+/**
+ * FFT based fast convolutions and cross-correlations of real signals. Instances wrap a kernel of
+ * <tt>M</tt> real values, and cache its packed half spectrum for a block size of <tt>L =
+ * 2<sup>magnitude</sup></tt>. Linear convolutions and correlations of signals of arbitrary length
+ * <tt>N</tt> are then performed by <i>overlap-save</i> block processing: each block of <tt>L</tt>
+ * consecutive signal values costs one forward real FFT, one spectral multiplication and one inverse
+ * real FFT, and yields <tt>L-M+1</tt> result values. Compared to the direct evaluation costing
+ * <tt>O(N&middot;M)</tt>, this reduces the effort to <tt>O(N&middot;log(L))</tt>.
+ * <p>
+ * The linear convolution of a signal <tt>x</tt> with a kernel <tt>h</tt> consists of the
+ * <tt>N+M-1</tt> values <tt>y<sub>k</sub> = &sum;<sub>n</sub> x<sub>k-n</sub>&middot;h<sub>n</sub></tt>
+ * with <tt>0 &le; k &lt; N+M-1</tt>. Their linear correlation consists of the <tt>N+M-1</tt> values
+ * <tt>c<sub>k</sub> = &sum;<sub>n</sub> x<sub>k-M+1+n</sub>&middot;h<sub>n</sub></tt>, i.e. index
+ * <tt>k</tt> contains the correlation for lag <tt>k-M+1</tt>. In both cases, signal values outside
+ * of range <tt>[0, N[</tt> are considered zero. Instances are immutable, and may be shared among
+ * threads.
+ */
+@Copyright(year = 2026, holders = "Sascha Baumeister")
+public abstract class Convolution {
+
+	/**
+	 * The value <tt>log<sub>2</sub>(L)</tt>.
+	 */
+	protected final int magnitude;
+
+	/**
+	 * The kernel length <tt>M</tt>.
+	 */
+	protected final int kernelLength;
+
+
+	/**
+	 * Initializes a new instance.
+	 * @param magnitude the value <tt>log<sub>2</sub>(L)</tt>
+	 * @param kernelLength the kernel length <tt>M</tt>
+	 * @throws IllegalArgumentException if the given magnitude is not positive or exceeds {@code 30},
+	 *         or if the given kernel length is not within range <tt>[1, L]</tt>
+	 */
+	protected Convolution (final int magnitude, final int kernelLength) throws IllegalArgumentException {
+		if (magnitude < 1 | magnitude > 30 || kernelLength < 1 | kernelLength > 1 << magnitude) throw new IllegalArgumentException();
+		this.magnitude = magnitude;
+		this.kernelLength = kernelLength;
+	}
+
+
+	/**
+	 * Returns the magnitude.
+	 * @return the value <tt>log<sub>2</sub>(L)</tt>
+	 */
+	public int magnitude () {
+		return this.magnitude;
+	}
+
+
+	/**
+	 * Returns the kernel length.
+	 * @return the number of kernel values <tt>M</tt>
+	 */
+	public int kernelLength () {
+		return this.kernelLength;
+	}
+
+
+	/**
+	 * Returns the default block magnitude for the given kernel length, which is chosen so that
+	 * every block yields at least <tt>3L/4</tt> result values.
+	 * @param kernelLength the kernel length <tt>M</tt>
+	 * @return the value <tt>log<sub>2</sub>(L)</tt>
+	 * @throws IllegalArgumentException if the given kernel length is not within range
+	 *         <tt>[1, 2<sup>28</sup>]</tt>
+	 */
+	static int defaultMagnitude (final int kernelLength) throws IllegalArgumentException {
+		if (kernelLength < 1 | kernelLength > 1 << 28) throw new IllegalArgumentException();
+		return IntMath.ceilLog2(kernelLength) + 2;
+	}
+
+
+
+	/**
+	 * Convolutions for {@code 32-bit} floating-point values.
+	 */
+	static public final class SinglePrecision extends Convolution {
+		private final RealFftPlan.SinglePrecision plan;
+		private final float[] spectrum;
+
+
+		/**
+		 * Creates a new instance with a default block size.
+		 * @param kernel the kernel of <tt>M</tt> values
+		 * @throws NullPointerException if the given kernel is {@code null}
+		 * @throws IllegalArgumentException if the given kernel's length is not within range
+		 *         <tt>[1, 2<sup>28</sup>]</tt>
+		 */
+		public SinglePrecision (final float[] kernel) throws NullPointerException, IllegalArgumentException {
+			this(kernel, defaultMagnitude(kernel.length));
+		}
+
+
+		/**
+		 * Creates a new instance.
+		 * @param kernel the kernel of <tt>M</tt> values
+		 * @param magnitude the value <tt>log<sub>2</sub>(L)</tt>
+		 * @throws NullPointerException if the given kernel is {@code null}
+		 * @throws IllegalArgumentException if the given magnitude is not positive or exceeds
+		 *         {@code 30}, or if the given kernel's length is not within range <tt>[1, L]</tt>
+		 */
+		public SinglePrecision (final float[] kernel, final int magnitude) throws NullPointerException, IllegalArgumentException {
+			super(magnitude, kernel.length);
+
+			this.plan = new RealFftPlan.SinglePrecision(magnitude);
+			this.spectrum = new float[1 << magnitude];
+			System.arraycopy(kernel, 0, this.spectrum, 0, kernel.length);
+			this.plan.fft(false, this.spectrum);
+		}
+
+
+		/**
+		 * Returns the linear convolution of the given signal with this instance's kernel.
+		 * @param signal the signal of <tt>N</tt> values
+		 * @return the <tt>N+M-1</tt> convolution values, or an empty array if the given signal is
+		 *         empty
+		 * @throws NullPointerException if the given signal is {@code null}
+		 */
+		public float[] convolve (final float[] signal) throws NullPointerException {
+			return this.filter(false, signal);
+		}
+
+
+		/**
+		 * Returns the linear correlation of the given signal with this instance's kernel.
+		 * @param signal the signal of <tt>N</tt> values
+		 * @return the <tt>N+M-1</tt> correlation values for the lags <tt>[-M+1, N[</tt>, or an empty
+		 *         array if the given signal is empty
+		 * @throws NullPointerException if the given signal is {@code null}
+		 */
+		public float[] correlate (final float[] signal) throws NullPointerException {
+			return this.filter(true, signal);
+		}
+
+
+		/**
+		 * Performs overlap-save block processing of the given signal. Every block covers
+		 * <tt>L</tt> consecutive values of the signal, preceded by <tt>M-1</tt> zeros. After the
+		 * circular convolution of a block, its first <tt>M-1</tt> values are polluted by
+		 * wrap-around and discarded; after the circular correlation of a block, its last
+		 * <tt>M-1</tt> values are discarded instead.
+		 * @param correlate whether a correlation or a convolution shall be performed
+		 * @param signal the signal of <tt>N</tt> values
+		 * @return the <tt>N+M-1</tt> result values, or an empty array if the given signal is empty
+		 * @throws NullPointerException if the given signal is {@code null}
+		 */
+		private float[] filter (final boolean correlate, final float[] signal) throws NullPointerException {
+			if (signal.length == 0) return new float[0];
+
+			final float[] block = new float[this.spectrum.length];
+			final float[] result = new float[signal.length + this.kernelLength - 1];
+			final int step = block.length - this.kernelLength + 1;
+			for (int position = 0; position < result.length; position += step) {
+				final int origin = position - this.kernelLength + 1;
+				final int from = Math.max(0, origin), to = Math.min(signal.length, origin + block.length);
+				Arrays.fill(block, 0);
+				if (from < to) System.arraycopy(signal, from, block, from - origin, to - from);
+
+				this.plan.fft(false, block);
+				multiply(correlate, block, this.spectrum);
+				this.plan.fft(true, block);
+				System.arraycopy(block, correlate ? 0 : this.kernelLength - 1, result, position, Math.min(step, result.length - position));
+			}
+			return result;
+		}
+
+
+		/**
+		 * Returns the linear convolution of the given vectors.
+		 * @param left the first vector
+		 * @param right the second vector
+		 * @return the <tt>|left|+|right|-1</tt> convolution values, or an empty array if any of the
+		 *         given vectors is empty
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IllegalArgumentException if the length of both vectors exceeds
+		 *         <tt>2<sup>28</sup></tt>
+		 */
+		static public float[] convolve (final float[] left, final float[] right) throws NullPointerException, IllegalArgumentException {
+			if (left.length == 0 | right.length == 0) return new float[0];
+			return left.length <= right.length
+				? new SinglePrecision(left).convolve(right)
+				: new SinglePrecision(right).convolve(left);
+		}
+
+
+		/**
+		 * Returns the linear correlation of the given signal with the given template.
+		 * @param signal the signal of <tt>N</tt> values
+		 * @param template the template of <tt>M</tt> values
+		 * @return the <tt>N+M-1</tt> correlation values for the lags <tt>[-M+1, N[</tt>, or an empty
+		 *         array if any of the given arguments is empty
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IllegalArgumentException if the given template's length exceeds
+		 *         <tt>2<sup>28</sup></tt>
+		 */
+		static public float[] correlate (final float[] signal, final float[] template) throws NullPointerException, IllegalArgumentException {
+			if (signal.length == 0 | template.length == 0) return new float[0];
+			return new SinglePrecision(template).correlate(signal);
+		}
+
+
+		/**
+		 * Returns the circular convolution <tt>y<sub>k</sub> = &sum;<sub>n</sub>
+		 * x<sub>(k-n) mod N</sub>&middot;h<sub>n</sub></tt> of the given vectors.
+		 * @param left the first vector <tt>x</tt> of <tt>N</tt> values
+		 * @param right the second vector <tt>h</tt> of <tt>N</tt> values
+		 * @return the <tt>N</tt> convolution values
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IllegalArgumentException if the given vectors differ in length, or if their
+		 *         length is not a power of two
+		 */
+		static public float[] convolveCircular (final float[] left, final float[] right) throws NullPointerException, IllegalArgumentException {
+			return filterCircular(false, left, right);
+		}
+
+
+		/**
+		 * Returns the circular correlation <tt>c<sub>k</sub> = &sum;<sub>n</sub>
+		 * x<sub>(n+k) mod N</sub>&middot;h<sub>n</sub></tt> of the given signal with the given
+		 * template.
+		 * @param signal the signal <tt>x</tt> of <tt>N</tt> values
+		 * @param template the template <tt>h</tt> of <tt>N</tt> values
+		 * @return the <tt>N</tt> correlation values
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IllegalArgumentException if the given vectors differ in length, or if their
+		 *         length is not a power of two
+		 */
+		static public float[] correlateCircular (final float[] signal, final float[] template) throws NullPointerException, IllegalArgumentException {
+			return filterCircular(true, signal, template);
+		}
+
+
+		/**
+		 * Returns the circular convolution or correlation of the given vectors.
+		 * @param correlate whether a correlation or a convolution shall be performed
+		 * @param signal the signal of <tt>N</tt> values
+		 * @param kernel the kernel of <tt>N</tt> values
+		 * @return the <tt>N</tt> result values
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IllegalArgumentException if the given vectors differ in length, or if their
+		 *         length is not a power of two
+		 */
+		static private float[] filterCircular (final boolean correlate, final float[] signal, final float[] kernel) throws NullPointerException, IllegalArgumentException {
+			if (signal.length != kernel.length || Integer.bitCount(signal.length) != 1) throw new IllegalArgumentException();
+			if (signal.length == 1) return new float[] { signal[0] * kernel[0] };
+
+			final RealFftPlan.SinglePrecision plan = new RealFftPlan.SinglePrecision(IntMath.floorLog2(signal.length));
+			final float[] result = signal.clone(), spectrum = kernel.clone();
+			plan.fft(false, result);
+			plan.fft(false, spectrum);
+			multiply(correlate, result, spectrum);
+			plan.fft(true, result);
+			return result;
+		}
+
+
+		/**
+		 * Multiplies the given packed half spectra element-wise, storing the result in the first
+		 * one. Note that conjugating the second spectrum turns the convolution into a correlation.
+		 * @param conjugate whether or not the second spectrum shall be conjugated
+		 * @param vector the first packed half spectrum
+		 * @param spectrum the second packed half spectrum
+		 */
+		static private void multiply (final boolean conjugate, final float[] vector, final float[] spectrum) {
+			vector[0] *= spectrum[0];
+			vector[1] *= spectrum[1];
+			for (int index = 2; index < vector.length; index += 2) {
+				final float re = vector[index], im = vector[index + 1];
+				final float spectrumRe = spectrum[index], spectrumIm = conjugate ? -spectrum[index + 1] : spectrum[index + 1];
+				vector[index]     = re * spectrumRe - im * spectrumIm;
+				vector[index + 1] = re * spectrumIm + im * spectrumRe;
+			}
+		}
+	}
+
+
+
+	/**
+	 * Convolutions for {@code 64-bit} floating-point values.
+	 */
+	static public final class DoublePrecision extends Convolution {
+		private final RealFftPlan.DoublePrecision plan;
+		private final double[] spectrum;
+
+
+		/**
+		 * Creates a new instance with a default block size.
+		 * @param kernel the kernel of <tt>M</tt> values
+		 * @throws NullPointerException if the given kernel is {@code null}
+		 * @throws IllegalArgumentException if the given kernel's length is not within range
+		 *         <tt>[1, 2<sup>28</sup>]</tt>
+		 */
+		public DoublePrecision (final double[] kernel) throws NullPointerException, IllegalArgumentException {
+			this(kernel, defaultMagnitude(kernel.length));
+		}
+
+
+		/**
+		 * Creates a new instance.
+		 * @param kernel the kernel of <tt>M</tt> values
+		 * @param magnitude the value <tt>log<sub>2</sub>(L)</tt>
+		 * @throws NullPointerException if the given kernel is {@code null}
+		 * @throws IllegalArgumentException if the given magnitude is not positive or exceeds
+		 *         {@code 30}, or if the given kernel's length is not within range <tt>[1, L]</tt>
+		 */
+		public DoublePrecision (final double[] kernel, final int magnitude) throws NullPointerException, IllegalArgumentException {
+			super(magnitude, kernel.length);
+
+			this.plan = new RealFftPlan.DoublePrecision(magnitude);
+			this.spectrum = new double[1 << magnitude];
+			System.arraycopy(kernel, 0, this.spectrum, 0, kernel.length);
+			this.plan.fft(false, this.spectrum);
+		}
+
+
+		/**
+		 * Returns the linear convolution of the given signal with this instance's kernel.
+		 * @param signal the signal of <tt>N</tt> values
+		 * @return the <tt>N+M-1</tt> convolution values, or an empty array if the given signal is
+		 *         empty
+		 * @throws NullPointerException if the given signal is {@code null}
+		 */
+		public double[] convolve (final double[] signal) throws NullPointerException {
+			return this.filter(false, signal);
+		}
+
+
+		/**
+		 * Returns the linear correlation of the given signal with this instance's kernel.
+		 * @param signal the signal of <tt>N</tt> values
+		 * @return the <tt>N+M-1</tt> correlation values for the lags <tt>[-M+1, N[</tt>, or an empty
+		 *         array if the given signal is empty
+		 * @throws NullPointerException if the given signal is {@code null}
+		 */
+		public double[] correlate (final double[] signal) throws NullPointerException {
+			return this.filter(true, signal);
+		}
+
+
+		/**
+		 * Performs overlap-save block processing of the given signal. Every block covers
+		 * <tt>L</tt> consecutive values of the signal, preceded by <tt>M-1</tt> zeros. After the
+		 * circular convolution of a block, its first <tt>M-1</tt> values are polluted by
+		 * wrap-around and discarded; after the circular correlation of a block, its last
+		 * <tt>M-1</tt> values are discarded instead.
+		 * @param correlate whether a correlation or a convolution shall be performed
+		 * @param signal the signal of <tt>N</tt> values
+		 * @return the <tt>N+M-1</tt> result values, or an empty array if the given signal is empty
+		 * @throws NullPointerException if the given signal is {@code null}
+		 */
+		private double[] filter (final boolean correlate, final double[] signal) throws NullPointerException {
+			if (signal.length == 0) return new double[0];
+
+			final double[] block = new double[this.spectrum.length];
+			final double[] result = new double[signal.length + this.kernelLength - 1];
+			final int step = block.length - this.kernelLength + 1;
+			for (int position = 0; position < result.length; position += step) {
+				final int origin = position - this.kernelLength + 1;
+				final int from = Math.max(0, origin), to = Math.min(signal.length, origin + block.length);
+				Arrays.fill(block, 0);
+				if (from < to) System.arraycopy(signal, from, block, from - origin, to - from);
+
+				this.plan.fft(false, block);
+				multiply(correlate, block, this.spectrum);
+				this.plan.fft(true, block);
+				System.arraycopy(block, correlate ? 0 : this.kernelLength - 1, result, position, Math.min(step, result.length - position));
+			}
+			return result;
+		}
+
+
+		/**
+		 * Returns the linear convolution of the given vectors.
+		 * @param left the first vector
+		 * @param right the second vector
+		 * @return the <tt>|left|+|right|-1</tt> convolution values, or an empty array if any of the
+		 *         given vectors is empty
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IllegalArgumentException if the length of both vectors exceeds
+		 *         <tt>2<sup>28</sup></tt>
+		 */
+		static public double[] convolve (final double[] left, final double[] right) throws NullPointerException, IllegalArgumentException {
+			if (left.length == 0 | right.length == 0) return new double[0];
+			return left.length <= right.length
+				? new DoublePrecision(left).convolve(right)
+				: new DoublePrecision(right).convolve(left);
+		}
+
+
+		/**
+		 * Returns the linear correlation of the given signal with the given template.
+		 * @param signal the signal of <tt>N</tt> values
+		 * @param template the template of <tt>M</tt> values
+		 * @return the <tt>N+M-1</tt> correlation values for the lags <tt>[-M+1, N[</tt>, or an empty
+		 *         array if any of the given arguments is empty
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IllegalArgumentException if the given template's length exceeds
+		 *         <tt>2<sup>28</sup></tt>
+		 */
+		static public double[] correlate (final double[] signal, final double[] template) throws NullPointerException, IllegalArgumentException {
+			if (signal.length == 0 | template.length == 0) return new double[0];
+			return new DoublePrecision(template).correlate(signal);
+		}
+
+
+		/**
+		 * Returns the circular convolution <tt>y<sub>k</sub> = &sum;<sub>n</sub>
+		 * x<sub>(k-n) mod N</sub>&middot;h<sub>n</sub></tt> of the given vectors.
+		 * @param left the first vector <tt>x</tt> of <tt>N</tt> values
+		 * @param right the second vector <tt>h</tt> of <tt>N</tt> values
+		 * @return the <tt>N</tt> convolution values
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IllegalArgumentException if the given vectors differ in length, or if their
+		 *         length is not a power of two
+		 */
+		static public double[] convolveCircular (final double[] left, final double[] right) throws NullPointerException, IllegalArgumentException {
+			return filterCircular(false, left, right);
+		}
+
+
+		/**
+		 * Returns the circular correlation <tt>c<sub>k</sub> = &sum;<sub>n</sub>
+		 * x<sub>(n+k) mod N</sub>&middot;h<sub>n</sub></tt> of the given signal with the given
+		 * template.
+		 * @param signal the signal <tt>x</tt> of <tt>N</tt> values
+		 * @param template the template <tt>h</tt> of <tt>N</tt> values
+		 * @return the <tt>N</tt> correlation values
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IllegalArgumentException if the given vectors differ in length, or if their
+		 *         length is not a power of two
+		 */
+		static public double[] correlateCircular (final double[] signal, final double[] template) throws NullPointerException, IllegalArgumentException {
+			return filterCircular(true, signal, template);
+		}
+
+
+		/**
+		 * Returns the circular convolution or correlation of the given vectors.
+		 * @param correlate whether a correlation or a convolution shall be performed
+		 * @param signal the signal of <tt>N</tt> values
+		 * @param kernel the kernel of <tt>N</tt> values
+		 * @return the <tt>N</tt> result values
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IllegalArgumentException if the given vectors differ in length, or if their
+		 *         length is not a power of two
+		 */
+		static private double[] filterCircular (final boolean correlate, final double[] signal, final double[] kernel) throws NullPointerException, IllegalArgumentException {
+			if (signal.length != kernel.length || Integer.bitCount(signal.length) != 1) throw new IllegalArgumentException();
+			if (signal.length == 1) return new double[] { signal[0] * kernel[0] };
+
+			final RealFftPlan.DoublePrecision plan = new RealFftPlan.DoublePrecision(IntMath.floorLog2(signal.length));
+			final double[] result = signal.clone(), spectrum = kernel.clone();
+			plan.fft(false, result);
+			plan.fft(false, spectrum);
+			multiply(correlate, result, spectrum);
+			plan.fft(true, result);
+			return result;
+		}
+
+
+		/**
+		 * Multiplies the given packed half spectra element-wise, storing the result in the first
+		 * one. Note that conjugating the second spectrum turns the convolution into a correlation.
+		 * @param conjugate whether or not the second spectrum shall be conjugated
+		 * @param vector the first packed half spectrum
+		 * @param spectrum the second packed half spectrum
+		 */
+		static private void multiply (final boolean conjugate, final double[] vector, final double[] spectrum) {
+			vector[0] *= spectrum[0];
+			vector[1] *= spectrum[1];
+			for (int index = 2; index < vector.length; index += 2) {
+				final double re = vector[index], im = vector[index + 1];
+				final double spectrumRe = spectrum[index], spectrumIm = conjugate ? -spectrum[index + 1] : spectrum[index + 1];
+				vector[index]     = re * spectrumRe - im * spectrumIm;
+				vector[index + 1] = re * spectrumIm + im * spectrumRe;
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+package de.sb.toolbox.math;
+
+import static de.sb.toolbox.math.FftTestSupport.randomDoubleVector;
+import static de.sb.toolbox.math.FftTestSupport.randomFloatVector;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+
+public class ConvolutionTest {
+	static private final int[][] LENGTHS = { {1, 1}, {1, 7}, {7, 1}, {100, 13}, {13, 100}, {1000, 64}, {3000, 257}, {5000, 1000} };
+	static private final double DOUBLE_PRECISION = 1E-11f;
+	static private final float SINGLE_PRECISION = 1E-3f;
+
+
+	@Test
+	public void testFloatLinear() {
+		for (final int[] lengths : LENGTHS) {
+			final float[] signal = randomFloatVector(lengths[0]), kernel = randomFloatVector(lengths[1]);
+			final float[] convolution = new float[signal.length + kernel.length - 1], correlation = convolution.clone();
+			for (int index = 0; index < signal.length; ++index) {
+				for (int offset = 0; offset < kernel.length; ++offset) {
+					convolution[index + offset] += signal[index] * kernel[offset];
+					correlation[index - offset + kernel.length - 1] += signal[index] * kernel[offset];
+				}
+			}
+
+			assertArrayEquals(convolution, Convolution.SinglePrecision.convolve(signal, kernel), SINGLE_PRECISION);
+			assertArrayEquals(correlation, Convolution.SinglePrecision.correlate(signal, kernel), SINGLE_PRECISION);
+
+			final Convolution.SinglePrecision filter = new Convolution.SinglePrecision(kernel, IntMath.ceilLog2(kernel.length) + 1);
+			assertArrayEquals(convolution, filter.convolve(signal), SINGLE_PRECISION);
+			assertArrayEquals(correlation, filter.correlate(signal), SINGLE_PRECISION);
+		}
+	}
+
+
+	@Test
+	public void testDoubleLinear() {
+		for (final int[] lengths : LENGTHS) {
+			final double[] signal = randomDoubleVector(lengths[0]), kernel = randomDoubleVector(lengths[1]);
+			final double[] convolution = new double[signal.length + kernel.length - 1], correlation = convolution.clone();
+			for (int index = 0; index < signal.length; ++index) {
+				for (int offset = 0; offset < kernel.length; ++offset) {
+					convolution[index + offset] += signal[index] * kernel[offset];
+					correlation[index - offset + kernel.length - 1] += signal[index] * kernel[offset];
+				}
+			}
+
+			assertArrayEquals(convolution, Convolution.DoublePrecision.convolve(signal, kernel), DOUBLE_PRECISION);
+			assertArrayEquals(correlation, Convolution.DoublePrecision.correlate(signal, kernel), DOUBLE_PRECISION);
+
+			final Convolution.DoublePrecision filter = new Convolution.DoublePrecision(kernel, IntMath.ceilLog2(kernel.length) + 1);
+			assertArrayEquals(convolution, filter.convolve(signal), DOUBLE_PRECISION);
+			assertArrayEquals(correlation, filter.correlate(signal), DOUBLE_PRECISION);
+		}
+	}
+
+
+	@Test
+	public void testCircular() {
+		for (int magnitude = 0; magnitude <= 10; ++magnitude) {
+			final double[] signal = randomDoubleVector(1 << magnitude), kernel = randomDoubleVector(1 << magnitude);
+			final double[] convolution = new double[signal.length], correlation = new double[signal.length];
+			for (int index = 0; index < signal.length; ++index) {
+				for (int offset = 0; offset < kernel.length; ++offset) {
+					convolution[(index + offset) & (signal.length - 1)] += signal[index] * kernel[offset];
+					correlation[(index - offset) & (signal.length - 1)] += signal[index] * kernel[offset];
+				}
+			}
+
+			assertArrayEquals(convolution, Convolution.DoublePrecision.convolveCircular(signal, kernel), DOUBLE_PRECISION);
+			assertArrayEquals(correlation, Convolution.DoublePrecision.correlateCircular(signal, kernel), DOUBLE_PRECISION);
+
+			final float[] floatSignal = new float[signal.length], floatKernel = new float[signal.length], floatConvolution = new float[signal.length];
+			for (int index = 0; index < signal.length; ++index) {
+				floatSignal[index] = (float) signal[index];
+				floatKernel[index] = (float) kernel[index];
+				floatConvolution[index] = (float) convolution[index];
+			}
+			assertArrayEquals(floatConvolution, Convolution.SinglePrecision.convolveCircular(floatSignal, floatKernel), SINGLE_PRECISION);
+		}
+	}
+
+
+	@Test
+	public void testIllegalArguments() {
+		assertEquals(0, Convolution.DoublePrecision.convolve(new double[0], new double[5]).length);
+		assertEquals(0, new Convolution.DoublePrecision(new double[5]).correlate(new double[0]).length);
+		assertEquals(5, new Convolution.DoublePrecision(new double[5]).magnitude());
+
+		try { new Convolution.DoublePrecision(new double[0]); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new Convolution.DoublePrecision(new double[5], 2); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new Convolution.SinglePrecision(new float[5], 31); fail(); } catch (final IllegalArgumentException exception) {}
+		try { Convolution.DoublePrecision.convolveCircular(new double[4], new double[8]); fail(); } catch (final IllegalArgumentException exception) {}
+		try { Convolution.SinglePrecision.correlateCircular(new float[6], new float[6]); fail(); } catch (final IllegalArgumentException exception) {}
+	}
+}
\ No newline at end of file
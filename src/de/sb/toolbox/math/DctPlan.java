@@ -0,0 +1,419 @@
+package de.sb.toolbox.math;
+
+import de.sb.toolbox.Copyright;
+
+
+/**
+ * Reusable plans for fast <i>Discrete Cosine and Sine Transforms</i> of <tt>N =
+ * 2<sup>magnitude</sup></tt> real values. The forward transforms are the unscaled type-II
+ * transforms
+ * <ul>
+ * <li>DCT-II: <tt>X<sub>k</sub> = &sum;<sub>n</sub> x<sub>n</sub>&middot;cos(&pi;(2n+1)k/2N)</tt></li>
+ * <li>DST-II: <tt>X<sub>k</sub> = &sum;<sub>n</sub> x<sub>n</sub>&middot;sin(&pi;(2n+1)(k+1)/2N)</tt></li>
+ * </ul>
+ * while the inverse transforms are the corresponding type-III transforms, scaled so that they
+ * restore the original values exactly; this matches the conventions of {@link FastFourierTransform}.
+ * <p>
+ * Following Makhoul (1980), the values are reordered into <tt>v<sub>n</sub> = x<sub>2n</sub></tt>
+ * and <tt>v<sub>N-1-n</sub> = x<sub>2n+1</sub></tt>, whose real FFT costs a complex FFT of half
+ * length, and whose spectrum is rotated by the twiddle factors <tt>e<sup>i&pi;k/2N</sup></tt>
+ * taken from the shared {@link SineTable} of magnitude <tt>log<sub>2</sub>(4N)</tt>. As
+ * <tt>sin(&pi;(2n+1)(k+1)/2N) = (-1)<sup>n</sup>&middot;cos(&pi;(2n+1)(N-1-k)/2N)</tt>, sine
+ * transforms alternate the signs of the reordered values, and reverse the order of the spectrum.
+ * Both steps are fused into the reordering and rotation passes, which each require a buffer of
+ * <tt>N</tt> values. Batch operations transform consecutive blocks using a caller supplied buffer,
+ * which avoids memory allocation; this includes two-dimensional transforms of <tt>N&times;N</tt>
+ * tiles, as used by image compression. Plans are immutable, and may be shared among threads.
+ */
+@Copyright(year = 2026, holders = "Sascha Baumeister")
+public abstract class DctPlan {
+
+	/**
+	 * The value <tt>log<sub>2</sub>(N)</tt>.
+	 */
+	protected final int magnitude;
+
+
+	/**
+	 * Initializes a new instance.
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @throws IllegalArgumentException if the given magnitude is not positive, or exceeds {@code 28}
+	 */
+	protected DctPlan (final int magnitude) throws IllegalArgumentException {
+		if (magnitude < 1 | magnitude > 28) throw new IllegalArgumentException();
+		this.magnitude = magnitude;
+	}
+
+
+	/**
+	 * Returns the magnitude.
+	 * @return the value <tt>log<sub>2</sub>(N)</tt>
+	 */
+	public int magnitude () {
+		return this.magnitude;
+	}
+
+
+
+	/**
+	 * Plans for {@code 32-bit} floating-point cosine and sine transforms.
+	 */
+	static public final class SinglePrecision extends DctPlan {
+		private final RealFftPlan.SinglePrecision plan;
+		private final float[] cos, sin;
+		private final float diagonal;
+
+
+		/**
+		 * Creates a new instance.
+		 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+		 * @throws IllegalArgumentException if the given magnitude is not positive, or exceeds
+		 *         {@code 28}
+		 */
+		public SinglePrecision (final int magnitude) throws IllegalArgumentException {
+			super(magnitude);
+
+			final SineTable trigonometricTable = SineTable.getInstance(magnitude + 2);
+			this.plan = new RealFftPlan.SinglePrecision(magnitude);
+			this.cos = new float[1 << magnitude >> 1];
+			this.sin = new float[1 << magnitude >> 1];
+			for (int index = 0; index < this.cos.length; ++index) {
+				this.cos[index] = (float) trigonometricTable.cos(index);
+				this.sin[index] = (float) trigonometricTable.sin(index);
+			}
+			this.diagonal = (float) trigonometricTable.cos(1 << magnitude >> 1);
+		}
+
+
+		/**
+		 * Performs <i>in-place Discrete Cosine Transforms</i> of the given consecutive blocks,
+		 * allocating a temporary buffer.
+		 * @param inverse whether a DCT-III ({@code true}) or a DCT-II ({@code false}) shall be
+		 *        performed
+		 * @param vectors an array of consecutive blocks of <tt>N</tt> values each
+		 * @throws NullPointerException if the given array is {@code null}
+		 * @throws IllegalArgumentException if the given array's length is not a multiple of
+		 *         <tt>N</tt>
+		 */
+		public void dct (final boolean inverse, final float[] vectors) throws NullPointerException, IllegalArgumentException {
+			this.dct(inverse, vectors, new float[1 << this.magnitude]);
+		}
+
+
+		/**
+		 * Performs <i>in-place Discrete Cosine Transforms</i> of the given consecutive blocks,
+		 * using the given buffer. Note that a buffer must not be shared among concurrent
+		 * transforms.
+		 * @param inverse whether a DCT-III ({@code true}) or a DCT-II ({@code false}) shall be
+		 *        performed
+		 * @param vectors an array of consecutive blocks of <tt>N</tt> values each
+		 * @param buffer a buffer of at least <tt>N</tt> values
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IllegalArgumentException if the given array's length is not a multiple of
+		 *         <tt>N</tt>, or if the given buffer is too short
+		 */
+		public void dct (final boolean inverse, final float[] vectors, final float[] buffer) throws NullPointerException, IllegalArgumentException {
+			if ((vectors.length & ((1 << this.magnitude) - 1)) != 0 | buffer.length < 1 << this.magnitude) throw new IllegalArgumentException();
+			for (int offset = 0; offset < vectors.length; offset += 1 << this.magnitude) {
+				this.transform(inverse, false, vectors, offset, 1, buffer);
+			}
+		}
+
+
+		/**
+		 * Performs <i>in-place Discrete Sine Transforms</i> of the given consecutive blocks,
+		 * allocating a temporary buffer.
+		 * @param inverse whether a DST-III ({@code true}) or a DST-II ({@code false}) shall be
+		 *        performed
+		 * @param vectors an array of consecutive blocks of <tt>N</tt> values each
+		 * @throws NullPointerException if the given array is {@code null}
+		 * @throws IllegalArgumentException if the given array's length is not a multiple of
+		 *         <tt>N</tt>
+		 */
+		public void dst (final boolean inverse, final float[] vectors) throws NullPointerException, IllegalArgumentException {
+			this.dst(inverse, vectors, new float[1 << this.magnitude]);
+		}
+
+
+		/**
+		 * Performs <i>in-place Discrete Sine Transforms</i> of the given consecutive blocks,
+		 * using the given buffer. Note that a buffer must not be shared among concurrent
+		 * transforms.
+		 * @param inverse whether a DST-III ({@code true}) or a DST-II ({@code false}) shall be
+		 *        performed
+		 * @param vectors an array of consecutive blocks of <tt>N</tt> values each
+		 * @param buffer a buffer of at least <tt>N</tt> values
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IllegalArgumentException if the given array's length is not a multiple of
+		 *         <tt>N</tt>, or if the given buffer is too short
+		 */
+		public void dst (final boolean inverse, final float[] vectors, final float[] buffer) throws NullPointerException, IllegalArgumentException {
+			if ((vectors.length & ((1 << this.magnitude) - 1)) != 0 | buffer.length < 1 << this.magnitude) throw new IllegalArgumentException();
+			for (int offset = 0; offset < vectors.length; offset += 1 << this.magnitude) {
+				this.transform(inverse, true, vectors, offset, 1, buffer);
+			}
+		}
+
+
+		/**
+		 * Performs <i>in-place two-dimensional Discrete Cosine Transforms</i> of the given
+		 * consecutive tiles of <tt>N&times;N</tt> values in row-major order, using the given
+		 * buffer. Each tile's rows are transformed first, followed by its columns.
+		 * @param inverse whether DCT-III ({@code true}) or DCT-II ({@code false}) transforms shall
+		 *        be performed
+		 * @param tiles an array of consecutive tiles of <tt>N&times;N</tt> values each
+		 * @param buffer a buffer of at least <tt>N</tt> values
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IllegalArgumentException if the given array's length is not a multiple of
+		 *         <tt>N&times;N</tt>, or if the given buffer is too short
+		 */
+		public void dctTiles (final boolean inverse, final float[] tiles, final float[] buffer) throws NullPointerException, IllegalArgumentException {
+			if (this.magnitude > 15 || (tiles.length & ((1 << 2 * this.magnitude) - 1)) != 0 | buffer.length < 1 << this.magnitude) throw new IllegalArgumentException();
+			for (int tile = 0; tile < tiles.length; tile += 1 << 2 * this.magnitude) {
+				for (int row = 0; row < 1 << this.magnitude; ++row) {
+					this.transform(inverse, false, tiles, tile + (row << this.magnitude), 1, buffer);
+				}
+				for (int column = 0; column < 1 << this.magnitude; ++column) {
+					this.transform(inverse, false, tiles, tile + column, 1 << this.magnitude, buffer);
+				}
+			}
+		}
+
+
+		/**
+		 * Performs an <i>in-place</i> cosine or sine transform of the <tt>N</tt> values of the
+		 * given vector that start at the given offset, and are separated by the given stride.
+		 * @param inverse whether a type-III or a type-II transform shall be performed
+		 * @param sine whether a sine or a cosine transform shall be performed
+		 * @param vector the vector
+		 * @param offset the index of the first value
+		 * @param stride the index distance of consecutive values
+		 * @param buffer a buffer of at least <tt>N</tt> values
+		 */
+		private void transform (final boolean inverse, final boolean sine, final float[] vector, final int offset, final int stride, final float[] buffer) {
+			final int size = 1 << this.magnitude, half = size >> 1, last = offset + (size - 1) * stride;
+			final float[] cos = this.cos, sin = this.sin;
+			final float sign = sine ? -1 : 1;
+
+			if (inverse) {
+				// rotate X_k - i*X_(N-k) by the inverse twiddles, where sine transforms read X reversed
+				final float first = sine ? vector[last] : vector[offset], middle = vector[offset + (sine ? half - 1 : half) * stride];
+				buffer[0] = first;
+				buffer[1] = middle / this.diagonal;
+				for (int index = 1; index < half; ++index) {
+					final float left = sine ? vector[last - index * stride] : vector[offset + index * stride];
+					final float right = sine ? vector[offset + (index - 1) * stride] : vector[last - (index - 1) * stride];
+					buffer[index << 1]       = cos[index] * left + sin[index] * right;
+					buffer[(index << 1) + 1] = cos[index] * right - sin[index] * left;
+				}
+
+				this.plan.fft(true, buffer);
+
+				for (int index = 0; index < half; ++index) {
+					vector[offset + (index << 1) * stride] = buffer[index];
+					vector[offset + ((index << 1) + 1) * stride] = sign * buffer[size - 1 - index];
+				}
+			} else {
+				for (int index = 0; index < half; ++index) {
+					buffer[index] = vector[offset + (index << 1) * stride];
+					buffer[size - 1 - index] = sign * vector[offset + ((index << 1) + 1) * stride];
+				}
+
+				this.plan.fft(false, buffer);
+
+				// rotate V_k by the twiddles, yielding both X_k and X_(N-k), where sine transforms store X reversed
+				final float first = buffer[0], middle = buffer[1] * this.diagonal;
+				vector[sine ? last : offset] = first;
+				vector[offset + (sine ? half - 1 : half) * stride] = middle;
+				for (int index = 1; index < half; ++index) {
+					final float re = buffer[index << 1], im = buffer[(index << 1) + 1];
+					final float left = cos[index] * re - sin[index] * im, right = sin[index] * re + cos[index] * im;
+					vector[sine ? last - index * stride : offset + index * stride] = left;
+					vector[sine ? offset + (index - 1) * stride : last - (index - 1) * stride] = right;
+				}
+			}
+		}
+	}
+
+
+
+	/**
+	 * Plans for {@code 64-bit} floating-point cosine and sine transforms.
+	 */
+	static public final class DoublePrecision extends DctPlan {
+		private final RealFftPlan.DoublePrecision plan;
+		private final double[] cos, sin;
+		private final double diagonal;
+
+
+		/**
+		 * Creates a new instance.
+		 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+		 * @throws IllegalArgumentException if the given magnitude is not positive, or exceeds
+		 *         {@code 28}
+		 */
+		public DoublePrecision (final int magnitude) throws IllegalArgumentException {
+			super(magnitude);
+
+			final SineTable trigonometricTable = SineTable.getInstance(magnitude + 2);
+			this.plan = new RealFftPlan.DoublePrecision(magnitude);
+			this.cos = new double[1 << magnitude >> 1];
+			this.sin = new double[1 << magnitude >> 1];
+			for (int index = 0; index < this.cos.length; ++index) {
+				this.cos[index] = trigonometricTable.cos(index);
+				this.sin[index] = trigonometricTable.sin(index);
+			}
+			this.diagonal = trigonometricTable.cos(1 << magnitude >> 1);
+		}
+
+
+		/**
+		 * Performs <i>in-place Discrete Cosine Transforms</i> of the given consecutive blocks,
+		 * allocating a temporary buffer.
+		 * @param inverse whether a DCT-III ({@code true}) or a DCT-II ({@code false}) shall be
+		 *        performed
+		 * @param vectors an array of consecutive blocks of <tt>N</tt> values each
+		 * @throws NullPointerException if the given array is {@code null}
+		 * @throws IllegalArgumentException if the given array's length is not a multiple of
+		 *         <tt>N</tt>
+		 */
+		public void dct (final boolean inverse, final double[] vectors) throws NullPointerException, IllegalArgumentException {
+			this.dct(inverse, vectors, new double[1 << this.magnitude]);
+		}
+
+
+		/**
+		 * Performs <i>in-place Discrete Cosine Transforms</i> of the given consecutive blocks,
+		 * using the given buffer. Note that a buffer must not be shared among concurrent
+		 * transforms.
+		 * @param inverse whether a DCT-III ({@code true}) or a DCT-II ({@code false}) shall be
+		 *        performed
+		 * @param vectors an array of consecutive blocks of <tt>N</tt> values each
+		 * @param buffer a buffer of at least <tt>N</tt> values
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IllegalArgumentException if the given array's length is not a multiple of
+		 *         <tt>N</tt>, or if the given buffer is too short
+		 */
+		public void dct (final boolean inverse, final double[] vectors, final double[] buffer) throws NullPointerException, IllegalArgumentException {
+			if ((vectors.length & ((1 << this.magnitude) - 1)) != 0 | buffer.length < 1 << this.magnitude) throw new IllegalArgumentException();
+			for (int offset = 0; offset < vectors.length; offset += 1 << this.magnitude) {
+				this.transform(inverse, false, vectors, offset, 1, buffer);
+			}
+		}
+
+
+		/**
+		 * Performs <i>in-place Discrete Sine Transforms</i> of the given consecutive blocks,
+		 * allocating a temporary buffer.
+		 * @param inverse whether a DST-III ({@code true}) or a DST-II ({@code false}) shall be
+		 *        performed
+		 * @param vectors an array of consecutive blocks of <tt>N</tt> values each
+		 * @throws NullPointerException if the given array is {@code null}
+		 * @throws IllegalArgumentException if the given array's length is not a multiple of
+		 *         <tt>N</tt>
+		 */
+		public void dst (final boolean inverse, final double[] vectors) throws NullPointerException, IllegalArgumentException {
+			this.dst(inverse, vectors, new double[1 << this.magnitude]);
+		}
+
+
+		/**
+		 * Performs <i>in-place Discrete Sine Transforms</i> of the given consecutive blocks,
+		 * using the given buffer. Note that a buffer must not be shared among concurrent
+		 * transforms.
+		 * @param inverse whether a DST-III ({@code true}) or a DST-II ({@code false}) shall be
+		 *        performed
+		 * @param vectors an array of consecutive blocks of <tt>N</tt> values each
+		 * @param buffer a buffer of at least <tt>N</tt> values
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IllegalArgumentException if the given array's length is not a multiple of
+		 *         <tt>N</tt>, or if the given buffer is too short
+		 */
+		public void dst (final boolean inverse, final double[] vectors, final double[] buffer) throws NullPointerException, IllegalArgumentException {
+			if ((vectors.length & ((1 << this.magnitude) - 1)) != 0 | buffer.length < 1 << this.magnitude) throw new IllegalArgumentException();
+			for (int offset = 0; offset < vectors.length; offset += 1 << this.magnitude) {
+				this.transform(inverse, true, vectors, offset, 1, buffer);
+			}
+		}
+
+
+		/**
+		 * Performs <i>in-place two-dimensional Discrete Cosine Transforms</i> of the given
+		 * consecutive tiles of <tt>N&times;N</tt> values in row-major order, using the given
+		 * buffer. Each tile's rows are transformed first, followed by its columns.
+		 * @param inverse whether DCT-III ({@code true}) or DCT-II ({@code false}) transforms shall
+		 *        be performed
+		 * @param tiles an array of consecutive tiles of <tt>N&times;N</tt> values each
+		 * @param buffer a buffer of at least <tt>N</tt> values
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IllegalArgumentException if the given array's length is not a multiple of
+		 *         <tt>N&times;N</tt>, or if the given buffer is too short
+		 */
+		public void dctTiles (final boolean inverse, final double[] tiles, final double[] buffer) throws NullPointerException, IllegalArgumentException {
+			if (this.magnitude > 15 || (tiles.length & ((1 << 2 * this.magnitude) - 1)) != 0 | buffer.length < 1 << this.magnitude) throw new IllegalArgumentException();
+			for (int tile = 0; tile < tiles.length; tile += 1 << 2 * this.magnitude) {
+				for (int row = 0; row < 1 << this.magnitude; ++row) {
+					this.transform(inverse, false, tiles, tile + (row << this.magnitude), 1, buffer);
+				}
+				for (int column = 0; column < 1 << this.magnitude; ++column) {
+					this.transform(inverse, false, tiles, tile + column, 1 << this.magnitude, buffer);
+				}
+			}
+		}
+
+
+		/**
+		 * Performs an <i>in-place</i> cosine or sine transform of the <tt>N</tt> values of the
+		 * given vector that start at the given offset, and are separated by the given stride.
+		 * @param inverse whether a type-III or a type-II transform shall be performed
+		 * @param sine whether a sine or a cosine transform shall be performed
+		 * @param vector the vector
+		 * @param offset the index of the first value
+		 * @param stride the index distance of consecutive values
+		 * @param buffer a buffer of at least <tt>N</tt> values
+		 */
+		private void transform (final boolean inverse, final boolean sine, final double[] vector, final int offset, final int stride, final double[] buffer) {
+			final int size = 1 << this.magnitude, half = size >> 1, last = offset + (size - 1) * stride;
+			final double[] cos = this.cos, sin = this.sin;
+			final double sign = sine ? -1 : 1;
+
+			if (inverse) {
+				// rotate X_k - i*X_(N-k) by the inverse twiddles, where sine transforms read X reversed
+				final double first = sine ? vector[last] : vector[offset], middle = vector[offset + (sine ? half - 1 : half) * stride];
+				buffer[0] = first;
+				buffer[1] = middle / this.diagonal;
+				for (int index = 1; index < half; ++index) {
+					final double left = sine ? vector[last - index * stride] : vector[offset + index * stride];
+					final double right = sine ? vector[offset + (index - 1) * stride] : vector[last - (index - 1) * stride];
+					buffer[index << 1]       = cos[index] * left + sin[index] * right;
+					buffer[(index << 1) + 1] = cos[index] * right - sin[index] * left;
+				}
+
+				this.plan.fft(true, buffer);
+
+				for (int index = 0; index < half; ++index) {
+					vector[offset + (index << 1) * stride] = buffer[index];
+					vector[offset + ((index << 1) + 1) * stride] = sign * buffer[size - 1 - index];
+				}
+			} else {
+				for (int index = 0; index < half; ++index) {
+					buffer[index] = vector[offset + (index << 1) * stride];
+					buffer[size - 1 - index] = sign * vector[offset + ((index << 1) + 1) * stride];
+				}
+
+				this.plan.fft(false, buffer);
+
+				// rotate V_k by the twiddles, yielding both X_k and X_(N-k), where sine transforms store X reversed
+				final double first = buffer[0], middle = buffer[1] * this.diagonal;
+				vector[sine ? last : offset] = first;
+				vector[offset + (sine ? half - 1 : half) * stride] = middle;
+				for (int index = 1; index < half; ++index) {
+					final double re = buffer[index << 1], im = buffer[(index << 1) + 1];
+					final double left = cos[index] * re - sin[index] * im, right = sin[index] * re + cos[index] * im;
+					vector[sine ? last - index * stride : offset + index * stride] = left;
+					vector[sine ? offset + (index - 1) * stride : last - (index - 1) * stride] = right;
+				}
+			}
+		}
+	}
+}
\ No newline at end of file
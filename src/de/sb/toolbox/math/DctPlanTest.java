@@ -0,0 +1,112 @@
+package de.sb.toolbox.math;
+
+import static de.sb.toolbox.math.FftTestSupport.randomDoubleVector;
+import static de.sb.toolbox.math.FftTestSupport.randomFloatVector;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+
+public class DctPlanTest {
+	static private final byte MAGNITUDE = 10;
+	static private final double DOUBLE_PRECISION = 1E-11f;
+	static private final float SINGLE_PRECISION = 1E-4f;
+
+
+	@Test
+	public void testDoubleTransforms() {
+		for (int magnitude = 1; magnitude <= MAGNITUDE; ++magnitude) {
+			final DctPlan.DoublePrecision plan = new DctPlan.DoublePrecision(magnitude);
+			final double[] values = randomDoubleVector(3 << magnitude), buffer = new double[1 << magnitude];
+
+			for (final boolean sine : new boolean[] { false, true }) {
+				final double[] expected = new double[values.length];
+				for (int offset = 0; offset < values.length; offset += 1 << magnitude) {
+					reference(sine, magnitude, values, offset, expected);
+				}
+
+				final double[] result = values.clone();
+				if (sine) plan.dst(false, result, buffer); else plan.dct(false, result, buffer);
+				assertArrayEquals(expected, result, DOUBLE_PRECISION * (1 << magnitude));
+
+				if (sine) plan.dst(true, result); else plan.dct(true, result);
+				assertArrayEquals(values, result, DOUBLE_PRECISION);
+			}
+		}
+	}
+
+
+	@Test
+	public void testFloatTransforms() {
+		for (int magnitude = 1; magnitude <= MAGNITUDE; ++magnitude) {
+			final DctPlan.SinglePrecision plan = new DctPlan.SinglePrecision(magnitude);
+			final float[] values = randomFloatVector(2 << magnitude);
+			final double[] doubleValues = new double[values.length];
+			for (int index = 0; index < values.length; ++index) doubleValues[index] = values[index];
+
+			for (final boolean sine : new boolean[] { false, true }) {
+				final double[] reference = new double[values.length];
+				for (int offset = 0; offset < values.length; offset += 1 << magnitude) {
+					reference(sine, magnitude, doubleValues, offset, reference);
+				}
+				final float[] expected = new float[values.length];
+				for (int index = 0; index < values.length; ++index) expected[index] = (float) reference[index];
+
+				final float[] result = values.clone();
+				if (sine) plan.dst(false, result); else plan.dct(false, result);
+				assertArrayEquals(expected, result, SINGLE_PRECISION * (1 << magnitude));
+
+				if (sine) plan.dst(true, result); else plan.dct(true, result);
+				assertArrayEquals(values, result, SINGLE_PRECISION);
+			}
+		}
+	}
+
+
+	@Test
+	public void testTiles() {
+		final DctPlan.DoublePrecision plan = new DctPlan.DoublePrecision(3);
+		final double[] tiles = randomDoubleVector(5 * 64), buffer = new double[8];
+
+		final double[] expected = tiles.clone();
+		plan.dct(false, expected, buffer);
+		for (int tile = 0; tile < tiles.length; tile += 64) {
+			final double[] columns = new double[64];
+			for (int index = 0; index < 64; ++index) columns[(index & 7) << 3 | index >> 3] = expected[tile + index];
+			plan.dct(false, columns, buffer);
+			for (int index = 0; index < 64; ++index) expected[tile + index] = columns[(index & 7) << 3 | index >> 3];
+		}
+
+		final double[] result = tiles.clone();
+		plan.dctTiles(false, result, buffer);
+		assertArrayEquals(expected, result, DOUBLE_PRECISION);
+
+		plan.dctTiles(true, result, buffer);
+		assertArrayEquals(tiles, result, DOUBLE_PRECISION);
+	}
+
+
+	@Test
+	public void testIllegalArguments() {
+		try { new DctPlan.DoublePrecision(0); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new DctPlan.SinglePrecision(29); fail(); } catch (final IllegalArgumentException exception) {}
+
+		final DctPlan.SinglePrecision plan = new DctPlan.SinglePrecision(3);
+		try { plan.dct(false, new float[12]); fail(); } catch (final IllegalArgumentException exception) {}
+		try { plan.dst(true, new float[16], new float[7]); fail(); } catch (final IllegalArgumentException exception) {}
+		try { plan.dctTiles(false, new float[72], new float[8]); fail(); } catch (final IllegalArgumentException exception) {}
+	}
+
+
+	static private void reference (final boolean sine, final int magnitude, final double[] values, final int offset, final double[] result) {
+		final int size = 1 << magnitude;
+		for (int row = 0; row < size; ++row) {
+			double sum = 0;
+			for (int column = 0; column < size; ++column) {
+				final double angle = Math.PI * (2 * column + 1) * (sine ? row + 1 : row) / (2 * size);
+				sum += values[offset + column] * (sine ? Math.sin(angle) : Math.cos(angle));
+			}
+			result[offset + row] = sum;
+		}
+	}
+}
\ No newline at end of file
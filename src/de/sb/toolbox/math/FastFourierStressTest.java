@@ -10,6 +10,7 @@ public class FastFourierStressTest {
 	static private final int MIN_MAGNITUDE = 1;
 	static private final int MAX_MAGNITUDE = 16;
 	static private final boolean TEST_REFERENCE = false;
+	static private final boolean TEST_KERNELS = true;
 
 
 	@Test
@@ -52,6 +53,10 @@ public class FastFourierStressTest {
 		sum += loopDoubleCartesian(25000, template4);
 		sum += loopPrimitiveCartesian(25000, template5);
 		sum += loopFastFourierTestbed(25000, template2);
+		for (final FftPlan.Kernel kernel : FftPlan.Kernel.values()) {
+			sum += loopFloatPlan(25000, kernel, template1);
+			sum += loopDoublePlan(25000, kernel, template2);
+		}
 
 
 		// test phase
@@ -102,6 +107,12 @@ public class FastFourierStressTest {
 			sum += loopFastFourierTestbed(LOOP_COUNT, template2);
 
 			final long t8 = System.currentTimeMillis();
+			sum += loopFloatPlan(LOOP_COUNT, FftPlan.Kernel.RADIX_2, template1);
+
+			final long t9 = System.currentTimeMillis();
+			sum += loopDoublePlan(LOOP_COUNT, FftPlan.Kernel.RADIX_2, template2);
+
+			final long t10 = System.currentTimeMillis();
 			System.out.format("magnitude=%d/%d, vector-size=%d, loop-count=%d.\n", magnitude, MAX_MAGNITUDE, 1 << magnitude, LOOP_COUNT);
 			System.out.format("Time FFT float (REF):  %sµs.\n", 1000L * (t1 - t0) / (double) LOOP_COUNT);
 			System.out.format("Time FFT double (REF): %sµs.\n", 1000L * (t2 - t1) / (double) LOOP_COUNT);
@@ -111,6 +122,21 @@ public class FastFourierStressTest {
 			System.out.format("Time FFT double (CC):  %sµs.\n", 1000L * (t6 - t5) / (double) LOOP_COUNT);
 			System.out.format("Time FFT float (LC):   %sµs.\n", 1000L * (t7 - t6) / (double) LOOP_COUNT);
 			System.out.format("Time FFT double (TB):  %sµs.\n", 1000L * (t8 - t7) / (double) LOOP_COUNT);
+			System.out.format("Time FFT float (FP):   %sµs.\n", 1000L * (t9 - t8) / (double) LOOP_COUNT);
+			System.out.format("Time FFT double (FP):  %sµs.\n", 1000L * (t10 - t9) / (double) LOOP_COUNT);
+			if (TEST_KERNELS) {
+				for (final FftPlan.Kernel kernel : new FftPlan.Kernel[] { FftPlan.Kernel.RADIX_4, FftPlan.Kernel.SPLIT_RADIX, FftPlan.Kernel.STOCKHAM }) {
+					final long t11 = System.currentTimeMillis();
+					sum += loopFloatPlan(LOOP_COUNT, kernel, template1);
+
+					final long t12 = System.currentTimeMillis();
+					sum += loopDoublePlan(LOOP_COUNT, kernel, template2);
+
+					final long t13 = System.currentTimeMillis();
+					System.out.format("Time FFT float (%s):  %sµs.\n", kernel, 1000L * (t12 - t11) / (double) LOOP_COUNT);
+					System.out.format("Time FFT double (%s): %sµs.\n", kernel, 1000L * (t13 - t12) / (double) LOOP_COUNT);
+				}
+			}
 			System.out.format("checksum: %s\n\n", sum);
 		}
 	}
@@ -225,4 +251,34 @@ public class FastFourierStressTest {
 		}
 		return sum;
 	}
+
+
+	static private double loopFloatPlan (final int loopCount, final FftPlan.Kernel kernel, final float[] template) {
+		final FftPlan.SinglePrecision plan = new FftPlan.SinglePrecision(IntMath.floorLog2(template.length) - 1);
+		final float[] vector = new float[template.length], buffer = new float[template.length];
+		double sum = 0;
+
+		for (int loop = loopCount; loop > 0; --loop) {
+			arraycopy(template, 0, vector, 0, template.length);
+			plan.fft(false, kernel, vector, buffer);
+			plan.fft(true, kernel, vector, buffer);
+			sum += vector[0];
+		}
+		return sum;
+	}
+
+
+	static private double loopDoublePlan (final int loopCount, final FftPlan.Kernel kernel, final double[] template) {
+		final FftPlan.DoublePrecision plan = new FftPlan.DoublePrecision(IntMath.floorLog2(template.length) - 1);
+		final double[] vector = new double[template.length], buffer = new double[template.length];
+		double sum = 0;
+
+		for (int loop = loopCount; loop > 0; --loop) {
+			arraycopy(template, 0, vector, 0, template.length);
+			plan.fft(false, kernel, vector, buffer);
+			plan.fft(true, kernel, vector, buffer);
+			sum += vector[0];
+		}
+		return sum;
+	}
 }
\ No newline at end of file
@@ -77,6 +77,102 @@ public class FastFourierTest {
 	}
 
 
+	@Test
+	public void testFloatFused() {
+		final float[] values = randomFloatVector(MAGNITUDE + 1);
+		final FloatCartesianComplex[] vector = new FloatCartesianComplex[values.length >> 1];
+		for (int index = 0; index < vector.length; ++index) {
+			vector[index] = new FloatCartesianComplex(values[index << 1], values[(index << 1) + 1]);
+		}
+
+		for (final boolean inverse : new boolean[] { false, true }) {
+			final FloatCartesianComplex[] fft1 = ComplexMath.clone(vector);
+			final FloatCartesianComplex[] fft2 = ComplexMath.clone(vector);
+			FastFourierTransform.transform(inverse, fft1);
+			FastFourierTransform.transformFused(inverse, fft2);
+
+			for (int index = 0; index < vector.length; ++index) {
+				assertEquals(fft1[index].re(), fft2[index].re(), SINGLE_PRECISION);
+				assertEquals(fft1[index].im(), fft2[index].im(), SINGLE_PRECISION);
+			}
+		}
+	}
+
+
+	@Test
+	public void testDoubleFused() {
+		final double[] values = randomDoubleVector(MAGNITUDE + 1);
+		final DoubleCartesianComplex[] vector = new DoubleCartesianComplex[values.length >> 1];
+		for (int index = 0; index < vector.length; ++index) {
+			vector[index] = new DoubleCartesianComplex(values[index << 1], values[(index << 1) + 1]);
+		}
+
+		for (final boolean inverse : new boolean[] { false, true }) {
+			final DoubleCartesianComplex[] fft1 = ComplexMath.clone(vector);
+			final DoubleCartesianComplex[] fft2 = ComplexMath.clone(vector);
+			FastFourierTransform.transform(inverse, fft1);
+			FastFourierTransform.transformFused(inverse, fft2);
+
+			for (int index = 0; index < vector.length; ++index) {
+				assertEquals(fft1[index].re(), fft2[index].re(), DOUBLE_PRECISION);
+				assertEquals(fft1[index].im(), fft2[index].im(), DOUBLE_PRECISION);
+			}
+		}
+	}
+
+
+	@Test
+	public void testFloatInPlace() {
+		final float[] values = randomFloatVector(MAGNITUDE + 1);
+		final FloatCartesianComplex[] vector = new FloatCartesianComplex[values.length >> 1];
+		for (int index = 0; index < vector.length; ++index) {
+			vector[index] = new FloatCartesianComplex(values[index << 1], values[(index << 1) + 1]);
+		}
+
+		for (final boolean inverse : new boolean[] { false, true }) {
+			final FloatCartesianComplex[] fft1 = ComplexMath.clone(vector);
+			final FloatCartesianComplex[] fft2 = ComplexMath.clone(vector);
+			final float[] fft3 = values.clone();
+			FastFourierTransform.transform(inverse, fft1);
+			FastFourierTransform.transformInPlace(inverse, fft2);
+			FastFourierTransform.transformInPlace(inverse, fft3);
+
+			for (int index = 0; index < vector.length; ++index) {
+				assertEquals(fft1[index].re(), fft2[index].re(), SINGLE_PRECISION);
+				assertEquals(fft1[index].im(), fft2[index].im(), SINGLE_PRECISION);
+				assertEquals(fft1[index].re(), fft3[index << 1], 1E-3f);
+				assertEquals(fft1[index].im(), fft3[(index << 1) + 1], 1E-3f);
+			}
+		}
+	}
+
+
+	@Test
+	public void testDoubleInPlace() {
+		final double[] values = randomDoubleVector(MAGNITUDE + 1);
+		final DoubleCartesianComplex[] vector = new DoubleCartesianComplex[values.length >> 1];
+		for (int index = 0; index < vector.length; ++index) {
+			vector[index] = new DoubleCartesianComplex(values[index << 1], values[(index << 1) + 1]);
+		}
+
+		for (final boolean inverse : new boolean[] { false, true }) {
+			final DoubleCartesianComplex[] fft1 = ComplexMath.clone(vector);
+			final DoubleCartesianComplex[] fft2 = ComplexMath.clone(vector);
+			final double[] fft3 = values.clone();
+			FastFourierTransform.transform(inverse, fft1);
+			FastFourierTransform.transformInPlace(inverse, fft2);
+			FastFourierTransform.transformInPlace(inverse, fft3);
+
+			for (int index = 0; index < vector.length; ++index) {
+				assertEquals(fft1[index].re(), fft2[index].re(), DOUBLE_PRECISION);
+				assertEquals(fft1[index].im(), fft2[index].im(), DOUBLE_PRECISION);
+				assertEquals(fft1[index].re(), fft3[index << 1], DOUBLE_PRECISION);
+				assertEquals(fft1[index].im(), fft3[(index << 1) + 1], DOUBLE_PRECISION);
+			}
+		}
+	}
+
+
 	@Test
 	public void testFloatVectorMath() {
 		final float[] values = randomFloatVector(MAGNITUDE + 1);
@@ -34,38 +34,22 @@ public final class FastFourierTestbed {
 	 * @throws IllegalArgumentException if the given vector's length is odd or not a power of two
 	 */
 	static public void fft (final boolean inverse, final double[] vector) throws NullPointerException, IllegalArgumentException {
-		if (inverse) {
-			for (int index = 1; index < vector.length; index += 2)
-				vector[index] *= -1;
-		}
-
 		final int magnitude = floorLog2(vector.length) - 1;
-		fft(magnitude, vector);
-
-		if (inverse) {
-			final double norm = 2d / vector.length;
-			for (int index = 0; index < vector.length; index += 2) {
-				vector[index] *= +norm;
-				vector[index + 1] *= -norm;
-			}
-		}
+		fft(magnitude, inverse, vector);
 	}
 
 
 	/**
 	 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of <tt>&half;N</tt> <i>braided</i> complex
-	 * numbers. Note that an <i>inverse</i> transform can be performed in two ways:
-	 * <ul>
-	 * <li>by conjugating both the argument and result of this operation, and additionally norming the result by {@code 2/N}.
-	 * </li>
-	 * <li>by swapping the real and imaginary parts of both the argument and the result.</i>
-	 * </ul>
+	 * numbers. Inverse transforms conjugate the twiddle factors instead of both the argument and the result, and norm
+	 * the result by {@code 2/N} within the last butterfly stage; this spares them three passes over the vector.
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
 	 * @param vector an array of <tt>&half;N</tt> braided complex numbers in Cartesian form, alternating even indexed real parts
 	 *        with odd indexed imaginary ones
 	 * @throws NullPointerException if the given argument is {@code null}
 	 * @throws IllegalArgumentException if the given argument's length is odd or not a power of two
 	 */
-	static private void fft (final int magnitude, final double[] vector) throws NullPointerException, IllegalArgumentException {
+	static private void fft (final int magnitude, final boolean inverse, final double[] vector) throws NullPointerException, IllegalArgumentException {
 		if (vector.length == 0) return;
 		if (vector.length != 2 * pow(2, magnitude)) throw new IllegalArgumentException();
 
@@ -77,16 +61,24 @@ public final class FastFourierTestbed {
 			}
 		}
 
+		final double sign = inverse ? -1 : +1;
 		for (int step = 2; step < vector.length; step *= 2) {
+			final double norm = inverse & 2 * step == vector.length ? 2d / vector.length : 1;
+
 			for (int offset = 0; offset < step / 2; ++offset) {
 				final double angle = 2 * PI * offset / step;
+				final double cos = norm * cos(angle), sin = norm * sign * sin(angle);
 
 				for (int index = 2 * offset; index < vector.length; index += 2*step) {
 					final double re = vector[index + step];
 					final double im = vector[index + step + 1];
-					final double taoRe = cos(angle) * re - sin(angle) * im;
-					final double taoIm = cos(angle) * im + sin(angle) * re;
+					final double taoRe = cos * re - sin * im;
+					final double taoIm = cos * im + sin * re;
 
+					if (norm != 1) {
+						vector[index] *= norm;
+						vector[index + 1] *= norm;
+					}
 					vector[index + step] = vector[index] - taoRe;
 					vector[index + step + 1] = vector[index + 1] - taoIm;
 					vector[index] += taoRe;
@@ -161,13 +153,9 @@ public final class FastFourierTestbed {
 		if (vector.length == 0) return;
 		if (vector.length != 2 << magnitude) throw new IllegalArgumentException();
 
-		for (final FunctionTables.SwapEntry swapEntry : FunctionTables.getPerfectShuffleTable(magnitude)) {
-			final int left = 2 * swapEntry.getLeft(), right = 2 * swapEntry.getRight();
-			swap(vector, left, vector, right);
-			swap(vector, left + 1, vector, right + 1);
-		}
+		BitReversal.getInstance(magnitude).permute(vector);
 
-		final FunctionTables.Trigonometric sineTable = FunctionTables.getTrigonometricTable(magnitude);
+		final SineTable sineTable = SineTable.getInstance(magnitude);
 		for (int depth = 0; depth < magnitude; depth += 1) {
 			for (int offset = 0; offset < 1 << depth; ++offset) {
 				final int angleIndex = offset << magnitude - depth - 1;
@@ -8,8 +8,17 @@ import de.sb.toolbox.util.ArraySupport;
 
 
 /**
- * Recursive FFT operations (Danielson & Lanczos 1942). This implementation is comparatively
- * slow, but suitable for reference purposes as it's kept clean of dependencies.
+ * Recursive FFT operations (Danielson & Lanczos 1942). The {@code transform} operations are
+ * comparatively slow, but suitable for reference purposes as they're kept clean of dependencies;
+ * the {@code transformFused} and {@code transformInPlace} operations take their twiddle factors
+ * from a {@link SineTable}.
+ * <p>
+ * This class defines the normalization convention shared by all FFT implementations of this
+ * package: forward transforms use the twiddle factors <tt>e<sup>+2&pi;ijk/N</sup></tt> and are
+ * unscaled, while inverse transforms use their conjugates and scale the result by <tt>1/N</tt>.
+ * The {@code transform} operations serve as reference, and conjugate both the argument and the
+ * result of inverse transforms; the {@code transformFused} and {@code transformInPlace}
+ * operations conjugate the twiddle factors instead, and apply the norm within a butterfly stage.
  */
 @Copyright(year=2012, holders="Sascha Baumeister")
 public class FastFourierTransform {
@@ -160,6 +169,346 @@ public class FastFourierTransform {
 	}
 
 
+	/**
+	 * This operation performs a {@code fast fourier transform} on the given vector, yielding the
+	 * same results as {@link #transform(boolean, MutableSinglePrecision[])}. Inverse transforms
+	 * conjugate the twiddle factors instead of both the argument and the result, and apply the
+	 * norm while the leaf butterflies combine their elements, which spares them three passes over
+	 * the vector.
+	 * @param <T> the complex component type
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param vector an array of <tt>N = 2<sup>magnitude</sup></tt> complex numbers
+	 * @throws NullPointerException if the given vector is {@code null}
+	 * @throws IllegalArgumentException if the given vector has no power of two length
+	 */
+	static public <T extends MutableSinglePrecision<T>> void transformFused (final boolean inverse, final T[] vector) throws NullPointerException, IllegalArgumentException {
+		if (vector.length < 2) return;
+
+		final int magnitude = Math.getExponent((double) vector.length);
+		if (1 << magnitude != vector.length) throw new IllegalArgumentException();
+
+		final float norm = inverse ? Math.scalb(1f, -magnitude) : 1;
+		final SineTable trigonometricTable = SineTable.getInstance(magnitude);
+		transformFused(magnitude, inverse, norm, trigonometricTable, vector[0].clone(), vector.clone(), 0, 1, vector, 0);
+	}
+
+
+	/**
+	 * Recursive implementation of {@link #transformFused(boolean, MutableSinglePrecision[])}. The
+	 * <tt>N</tt> source elements starting at the given offset with the given stride are transformed
+	 * into the <tt>N</tt> consecutive target elements starting at the given offset; as the even and
+	 * odd indexed parts are strided views of the same source, the recursion requires no temporary
+	 * arrays. The norm is passed down to the leaf butterflies, where it is applied while their
+	 * elements are combined.
+	 * @param <T> the complex component type
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param norm the factor the result is scaled with
+	 * @param trigonometricTable the sine table of the top-level transform
+	 * @param unit the twiddle unit
+	 * @param source the source elements
+	 * @param sourceOffset the source offset
+	 * @param sourceStride the source stride
+	 * @param target the target elements
+	 * @param targetOffset the target offset
+	 * @throws NullPointerException if any of the given arguments is {@code null}
+	 * @throws ArrayIndexOutOfBoundsException if any of the given arrays is too short
+	 */
+	static private <T extends MutableSinglePrecision<T>> void transformFused (final int magnitude, final boolean inverse, final float norm, final SineTable trigonometricTable, final T unit, final T[] source, final int sourceOffset, final int sourceStride, final T[] target, final int targetOffset) throws NullPointerException, ArrayIndexOutOfBoundsException {
+		assert magnitude > 0;
+
+		if (magnitude == 1) {
+			final T left = target[targetOffset] = source[sourceOffset];
+			final T right = target[targetOffset + 1] = source[sourceOffset + sourceStride];
+			if (norm != 1) {
+				left.mul(norm);
+				right.mul(norm);
+			}
+			left.mux(right);
+			return;
+		}
+
+		// divide stage: transform the even and odd indexed parts into the lower and upper target half
+		final int half = 1 << magnitude-1;
+		transformFused(magnitude - 1, inverse, norm, trigonometricTable, unit, source, sourceOffset, sourceStride << 1, target, targetOffset);
+		transformFused(magnitude - 1, inverse, norm, trigonometricTable, unit, source, sourceOffset + sourceStride, sourceStride << 1, target, targetOffset + half);
+
+		// conquer stage: recombine partial results in place
+		final int shift = trigonometricTable.magnitude() - magnitude;
+		for (int index = 0; index < half; ++index) {
+			final int angleIndex = index << shift;
+			unit.setCartesian((float) trigonometricTable.cos(angleIndex), inverse ? (float) -trigonometricTable.sin(angleIndex) : (float) trigonometricTable.sin(angleIndex));
+			mux(target[targetOffset + index], target[targetOffset + index + half].mul(unit));
+		}
+	}
+
+
+	/**
+	 * This operation performs a {@code fast fourier transform} on the given vector, yielding the
+	 * same results as {@link #transform(boolean, MutableDoublePrecision[])}. Inverse transforms
+	 * conjugate the twiddle factors instead of both the argument and the result, and apply the
+	 * norm while the leaf butterflies combine their elements, which spares them three passes over
+	 * the vector.
+	 * @param <T> the complex component type
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param vector an array of <tt>N = 2<sup>magnitude</sup></tt> complex numbers
+	 * @throws NullPointerException if the given vector is {@code null}
+	 * @throws IllegalArgumentException if the given vector has no power of two length
+	 */
+	static public <T extends MutableDoublePrecision<T>> void transformFused (final boolean inverse, final T[] vector) {
+		if (vector.length < 2) return;
+
+		final int magnitude = Math.getExponent((double) vector.length);
+		if (1 << magnitude != vector.length) throw new IllegalArgumentException();
+
+		final double norm = inverse ? Math.scalb(1d, -magnitude) : 1;
+		final SineTable trigonometricTable = SineTable.getInstance(magnitude);
+		transformFused(magnitude, inverse, norm, trigonometricTable, vector[0].clone(), vector.clone(), 0, 1, vector, 0);
+	}
+
+
+	/**
+	 * Recursive implementation of {@link #transformFused(boolean, MutableDoublePrecision[])}. The
+	 * <tt>N</tt> source elements starting at the given offset with the given stride are transformed
+	 * into the <tt>N</tt> consecutive target elements starting at the given offset; as the even and
+	 * odd indexed parts are strided views of the same source, the recursion requires no temporary
+	 * arrays. The norm is passed down to the leaf butterflies, where it is applied while their
+	 * elements are combined.
+	 * @param <T> the complex component type
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param norm the factor the result is scaled with
+	 * @param trigonometricTable the sine table of the top-level transform
+	 * @param unit the twiddle unit
+	 * @param source the source elements
+	 * @param sourceOffset the source offset
+	 * @param sourceStride the source stride
+	 * @param target the target elements
+	 * @param targetOffset the target offset
+	 * @throws NullPointerException if any of the given arguments is {@code null}
+	 * @throws ArrayIndexOutOfBoundsException if any of the given arrays is too short
+	 */
+	static private <T extends MutableDoublePrecision<T>> void transformFused (final int magnitude, final boolean inverse, final double norm, final SineTable trigonometricTable, final T unit, final T[] source, final int sourceOffset, final int sourceStride, final T[] target, final int targetOffset) throws NullPointerException, ArrayIndexOutOfBoundsException {
+		assert magnitude > 0;
+
+		if (magnitude == 1) {
+			final T left = target[targetOffset] = source[sourceOffset];
+			final T right = target[targetOffset + 1] = source[sourceOffset + sourceStride];
+			if (norm != 1) {
+				left.mul(norm);
+				right.mul(norm);
+			}
+			left.mux(right);
+			return;
+		}
+
+		// divide stage: transform the even and odd indexed parts into the lower and upper target half
+		final int half = 1 << magnitude-1;
+		transformFused(magnitude - 1, inverse, norm, trigonometricTable, unit, source, sourceOffset, sourceStride << 1, target, targetOffset);
+		transformFused(magnitude - 1, inverse, norm, trigonometricTable, unit, source, sourceOffset + sourceStride, sourceStride << 1, target, targetOffset + half);
+
+		// conquer stage: recombine partial results in place
+		final int shift = trigonometricTable.magnitude() - magnitude;
+		for (int index = 0; index < half; ++index) {
+			final int angleIndex = index << shift;
+			unit.setCartesian(trigonometricTable.cos(angleIndex), inverse ? -trigonometricTable.sin(angleIndex) : trigonometricTable.sin(angleIndex));
+			mux(target[targetOffset + index], target[targetOffset + index + half].mul(unit));
+		}
+	}
+
+
+	/**
+	 * This operation performs an <i>in-place</i> {@code fast fourier transform} on the given
+	 * vector, yielding the same results as {@link #transform(boolean, MutableSinglePrecision[])}.
+	 * The iterative implementation reorders the vector elements using a {@link BitReversal}, and
+	 * then recombines them bottom-up, taking the twiddle factors from a {@link SineTable}. This
+	 * avoids both the temporary arrays of the recursive variant, and the computation of
+	 * trigonometric functions. A single twiddle unit is cloned per call.
+	 * @param <T> the complex component type
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param vector an array of <tt>N = 2<sup>magnitude</sup></tt> complex numbers
+	 * @throws NullPointerException if the given vector is {@code null}
+	 * @throws IllegalArgumentException if the given vector has no power of two length
+	 */
+	static public <T extends MutableSinglePrecision<T>> void transformInPlace (final boolean inverse, final T[] vector) throws NullPointerException, IllegalArgumentException {
+		if (vector.length < 2) return;
+
+		final int magnitude = Math.getExponent((double) vector.length);
+		if (1 << magnitude != vector.length) throw new IllegalArgumentException();
+
+		// the first stage's twiddle factors are all one, which allows it to apply the norm instead
+		final float norm = inverse ? Math.scalb(1f, -magnitude) : 1;
+		BitReversal.getInstance(magnitude).permute(vector);
+		for (int left = 0; left < vector.length; left += 2) {
+			if (norm != 1) {
+				vector[left].mul(norm);
+				vector[left + 1].mul(norm);
+			}
+			vector[left].mux(vector[left + 1]);
+		}
+
+		final SineTable trigonometricTable = SineTable.getInstance(magnitude);
+		final T unit = vector[0].clone();
+		for (int half = 2, shift = magnitude - 2; half < vector.length; half <<= 1, --shift) {
+			for (int offset = 0; offset < half; ++offset) {
+				final int angleIndex = offset << shift;
+				unit.setCartesian((float) trigonometricTable.cos(angleIndex), inverse ? (float) -trigonometricTable.sin(angleIndex) : (float) trigonometricTable.sin(angleIndex));
+
+				for (int left = offset; left < vector.length; left += half << 1) {
+					mux(vector[left], vector[left + half].mul(unit));
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * This operation performs an <i>in-place</i> {@code fast fourier transform} on the given
+	 * vector, yielding the same results as {@link #transform(boolean, MutableDoublePrecision[])}.
+	 * The iterative implementation reorders the vector elements using a {@link BitReversal}, and
+	 * then recombines them bottom-up, taking the twiddle factors from a {@link SineTable}. This
+	 * avoids both the temporary arrays of the recursive variant, and the computation of
+	 * trigonometric functions. A single twiddle unit is cloned per call.
+	 * @param <T> the complex component type
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param vector an array of <tt>N = 2<sup>magnitude</sup></tt> complex numbers
+	 * @throws NullPointerException if the given vector is {@code null}
+	 * @throws IllegalArgumentException if the given vector has no power of two length
+	 */
+	static public <T extends MutableDoublePrecision<T>> void transformInPlace (final boolean inverse, final T[] vector) throws NullPointerException, IllegalArgumentException {
+		if (vector.length < 2) return;
+
+		final int magnitude = Math.getExponent((double) vector.length);
+		if (1 << magnitude != vector.length) throw new IllegalArgumentException();
+
+		// the first stage's twiddle factors are all one, which allows it to apply the norm instead
+		final double norm = inverse ? Math.scalb(1d, -magnitude) : 1;
+		BitReversal.getInstance(magnitude).permute(vector);
+		for (int left = 0; left < vector.length; left += 2) {
+			if (norm != 1) {
+				vector[left].mul(norm);
+				vector[left + 1].mul(norm);
+			}
+			vector[left].mux(vector[left + 1]);
+		}
+
+		final SineTable trigonometricTable = SineTable.getInstance(magnitude);
+		final T unit = vector[0].clone();
+		for (int half = 2, shift = magnitude - 2; half < vector.length; half <<= 1, --shift) {
+			for (int offset = 0; offset < half; ++offset) {
+				final int angleIndex = offset << shift;
+				unit.setCartesian(trigonometricTable.cos(angleIndex), inverse ? -trigonometricTable.sin(angleIndex) : trigonometricTable.sin(angleIndex));
+
+				for (int left = offset; left < vector.length; left += half << 1) {
+					mux(vector[left], vector[left + half].mul(unit));
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * This operation performs an <i>in-place</i> {@code fast fourier transform} on the given
+	 * braided values, using the same iterative algorithm as
+	 * {@link #transformInPlace(boolean, MutableSinglePrecision[])}, but without wrapping the values
+	 * into complex numbers.
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param values an array of <tt>N = 2*2<sup>magnitude</sup></tt> braided real and imaginary values
+	 * @throws NullPointerException if the given argument is {@code null}
+	 * @throws IllegalArgumentException if the length of the given array is not a power of two
+	 */
+	static public void transformInPlace (final boolean inverse, final float[] values) throws NullPointerException, IllegalArgumentException {
+		if ((values.length & 1) != 0) throw new IllegalArgumentException();
+		if (values.length < 4) return;
+
+		final int magnitude = Math.getExponent((double) values.length) - 1;
+		if (2 << magnitude != values.length) throw new IllegalArgumentException();
+
+		BitReversal.getInstance(magnitude).permute(values);
+
+		// the first stage's twiddle factors are all one, which allows it to apply the norm instead
+		final float norm = inverse ? Math.scalb(1f, -magnitude) : 1;
+		for (int left = 0, right = 2; left < values.length; left += 4, right += 4) {
+			final float re1 = values[left] * norm, im1 = values[left + 1] * norm;
+			final float re2 = values[right] * norm, im2 = values[right + 1] * norm;
+			values[left]      = re1 + re2;
+			values[left + 1]  = im1 + im2;
+			values[right]     = re1 - re2;
+			values[right + 1] = im1 - im2;
+		}
+
+		final SineTable trigonometricTable = SineTable.getInstance(magnitude);
+		for (int half = 4, shift = magnitude - 2; half < values.length; half <<= 1, --shift) {
+			for (int offset = 0; offset < half; offset += 2) {
+				final int angleIndex = offset >> 1 << shift;
+				final float cos = (float) trigonometricTable.cos(angleIndex);
+				final float sin = inverse ? (float) -trigonometricTable.sin(angleIndex) : (float) trigonometricTable.sin(angleIndex);
+
+				for (int left = offset, right = offset + half; left < values.length; left += half << 1, right += half << 1) {
+					final float re1 = values[left], im1 = values[left + 1];
+					final float re2 = values[right] * cos - values[right + 1] * sin;
+					final float im2 = values[right] * sin + values[right + 1] * cos;
+					values[left]      = re1 + re2;
+					values[left + 1]  = im1 + im2;
+					values[right]     = re1 - re2;
+					values[right + 1] = im1 - im2;
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * This operation performs an <i>in-place</i> {@code fast fourier transform} on the given
+	 * braided values, using the same iterative algorithm as
+	 * {@link #transformInPlace(boolean, MutableDoublePrecision[])}, but without wrapping the values
+	 * into complex numbers.
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param values an array of <tt>N = 2*2<sup>magnitude</sup></tt> braided real and imaginary values
+	 * @throws NullPointerException if the given argument is {@code null}
+	 * @throws IllegalArgumentException if the length of the given array is not a power of two
+	 */
+	static public void transformInPlace (final boolean inverse, final double[] values) throws NullPointerException, IllegalArgumentException {
+		if ((values.length & 1) != 0) throw new IllegalArgumentException();
+		if (values.length < 4) return;
+
+		final int magnitude = Math.getExponent((double) values.length) - 1;
+		if (2 << magnitude != values.length) throw new IllegalArgumentException();
+
+		BitReversal.getInstance(magnitude).permute(values);
+
+		// the first stage's twiddle factors are all one, which allows it to apply the norm instead
+		final double norm = inverse ? Math.scalb(1d, -magnitude) : 1;
+		for (int left = 0, right = 2; left < values.length; left += 4, right += 4) {
+			final double re1 = values[left] * norm, im1 = values[left + 1] * norm;
+			final double re2 = values[right] * norm, im2 = values[right + 1] * norm;
+			values[left]      = re1 + re2;
+			values[left + 1]  = im1 + im2;
+			values[right]     = re1 - re2;
+			values[right + 1] = im1 - im2;
+		}
+
+		final SineTable trigonometricTable = SineTable.getInstance(magnitude);
+		for (int half = 4, shift = magnitude - 2; half < values.length; half <<= 1, --shift) {
+			for (int offset = 0; offset < half; offset += 2) {
+				final int angleIndex = offset >> 1 << shift;
+				final double cos = trigonometricTable.cos(angleIndex);
+				final double sin = inverse ? -trigonometricTable.sin(angleIndex) : trigonometricTable.sin(angleIndex);
+
+				for (int left = offset, right = offset + half; left < values.length; left += half << 1, right += half << 1) {
+					final double re1 = values[left], im1 = values[left + 1];
+					final double re2 = values[right] * cos - values[right + 1] * sin;
+					final double im2 = values[right] * sin + values[right + 1] * cos;
+					values[left]      = re1 + re2;
+					values[left + 1]  = im1 + im2;
+					values[right]     = re1 - re2;
+					values[right + 1] = im1 - im2;
+				}
+			}
+		}
+	}
+
+
 	/**
 	 * Adaper for {@link #transform(boolean, MutableSinglePrecision[])}.
 	 * @param values an array of <tt>N = 2*2<sup>magnitude</sup></tt> braided real and imaginary values
@@ -0,0 +1,1298 @@
+package de.sb.toolbox.math;
+
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import de.sb.toolbox.Copyright;
+
+
+/**
+ * Reusable plans for in-place FFTs of <tt>N = 2<sup>magnitude</sup></tt> braided complex
+ * numbers, using radix-2, radix-4 or split-radix butterfly {@linkplain Kernel kernels}. A plan is
+ * built once per magnitude, shares the {@link BitReversal} permutation of its magnitude, and
+ * precomputes the twiddle factors of all butterfly stages into flat primitive arrays. Transforms
+ * performed through a plan therefore require neither table lookups nor memory allocation, except
+ * for the scratch buffer of {@link Kernel#STOCKHAM} transforms when none is passed. Besides arrays,
+ * plans transform {@code FloatBuffer} and {@code DoubleBuffer} instances in place, which allows
+ * direct buffers to be processed off-heap. Plans are immutable, and may be shared among threads.
+ * <p>
+ * Note that plans follow the conventions of {@link FastFourierTransform}: forward transforms are
+ * unscaled, while inverse transforms are scaled by <tt>1/N</tt>.
+ */
+@Copyright(year = 2026, holders = "Sascha Baumeister")
+public abstract class FftPlan {
+	static private final String SCALAR_PROPERTY = FftPlan.class.getName() + ".scalar";
+	static private final String BACKEND_CLASS_NAME = FftPlan.class.getPackage().getName() + ".VectorFftBackend";
+	static private final AtomicReferenceArray<SinglePrecision> SINGLE_PRECISION_PLANS = new AtomicReferenceArray<>(30);
+	static private final AtomicReferenceArray<DoublePrecision> DOUBLE_PRECISION_PLANS = new AtomicReferenceArray<>(30);
+	static final Backend BACKEND = newBackend();
+
+	/**
+	 * The value <tt>log<sub>2</sub>(N)</tt>.
+	 */
+	protected final int magnitude;
+
+	/**
+	 * The shared perfect shuffle permutation.
+	 */
+	final BitReversal bitReversal;
+
+
+	/**
+	 * Initializes a new instance.
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @throws IllegalArgumentException if the given magnitude is negative or exceeds {@code 29}
+	 */
+	protected FftPlan (final int magnitude) throws IllegalArgumentException {
+		if (magnitude < 0 | magnitude > 29) throw new IllegalArgumentException();
+
+		this.magnitude = magnitude;
+		this.bitReversal = BitReversal.getInstance(magnitude);
+	}
+
+
+	/**
+	 * Returns the magnitude.
+	 * @return the value <tt>log<sub>2</sub>(N)</tt>
+	 */
+	public int magnitude () {
+		return this.magnitude;
+	}
+
+
+	/**
+	 * Returns a shared {@code 32-bit} floating-point plan for the given magnitude, which is created
+	 * on first request. This is intended for facades that cannot hold their own plans; callers
+	 * performing many transforms should keep a reference to the plan instead.
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @return the shared plan
+	 * @throws IllegalArgumentException if the given magnitude is negative or exceeds {@code 29}
+	 */
+	static public SinglePrecision getSinglePrecisionPlan (final int magnitude) throws IllegalArgumentException {
+		if (magnitude < 0 | magnitude > 29) throw new IllegalArgumentException();
+
+		SinglePrecision plan = SINGLE_PRECISION_PLANS.get(magnitude);
+		if (plan == null) {
+			SINGLE_PRECISION_PLANS.compareAndSet(magnitude, null, new SinglePrecision(magnitude));
+			plan = SINGLE_PRECISION_PLANS.get(magnitude);
+		}
+		return plan;
+	}
+
+
+	/**
+	 * Returns a shared {@code 64-bit} floating-point plan for the given magnitude, which is created
+	 * on first request. This is intended for facades that cannot hold their own plans; callers
+	 * performing many transforms should keep a reference to the plan instead.
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @return the shared plan
+	 * @throws IllegalArgumentException if the given magnitude is negative or exceeds {@code 29}
+	 */
+	static public DoublePrecision getDoublePrecisionPlan (final int magnitude) throws IllegalArgumentException {
+		if (magnitude < 0 | magnitude > 29) throw new IllegalArgumentException();
+
+		DoublePrecision plan = DOUBLE_PRECISION_PLANS.get(magnitude);
+		if (plan == null) {
+			DOUBLE_PRECISION_PLANS.compareAndSet(magnitude, null, new DoublePrecision(magnitude));
+			plan = DOUBLE_PRECISION_PLANS.get(magnitude);
+		}
+		return plan;
+	}
+
+
+	/**
+	 * Returns whether or not split layout transforms, and the braided transforms of
+	 * {@link ForkJoinFft}, delegate their wider butterfly stages to the SIMD backend. This is the
+	 * case if the class {@code VectorFftBackend} has been compiled from its separate source folder
+	 * {@code src-vector}, the module {@code jdk.incubator.vector} is resolved at runtime, the
+	 * platform offers vector registers, and the system property
+	 * {@code de.sb.toolbox.math.FftPlan.scalar} is not set to {@code true}.
+	 * @return {@code true} if the SIMD backend is used, {@code false} otherwise
+	 */
+	static public boolean isVectorized () {
+		return BACKEND != null;
+	}
+
+
+	/**
+	 * Returns a new SIMD backend, or {@code null} if none is available.
+	 * @return the backend, or {@code null}
+	 */
+	static private Backend newBackend () {
+		if (Boolean.getBoolean(SCALAR_PROPERTY)) return null;
+
+		try {
+			return (Backend) Class.forName(BACKEND_CLASS_NAME).getDeclaredConstructor().newInstance();
+		} catch (final ReflectiveOperationException | LinkageError | RuntimeException exception) {
+			return null;
+		}
+	}
+
+
+	/**
+	 * Returns the twiddle table index for the given butterfly stage and offset. The twiddle factors
+	 * of each stage are stored consecutively, which keeps the innermost loops sequential.
+	 * @param depth the butterfly stage, within range <tt>[0, magnitude[</tt>
+	 * @param offset the butterfly offset, within range <tt>[0, 2<sup>depth</sup>[</tt>
+	 * @return the twiddle table index
+	 */
+	static int twiddleIndex (final int depth, final int offset) {
+		return (1 << depth) + offset;
+	}
+
+
+
+	/**
+	 * The butterfly kernels available for braided transforms. All kernels share a plan's twiddle
+	 * factors and swap indices, and produce the same results except for rounding.
+	 */
+	static public enum Kernel {
+
+		/**
+		 * Radix-2 decimation in time, performing <tt>log<sub>2</sub>(N)</tt> passes over the vector.
+		 */
+		RADIX_2,
+
+		/**
+		 * Radix-4 decimation in time, performing <tt>log<sub>2</sub>(N)/2</tt> passes over the vector
+		 * with 25% fewer complex multiplications.
+		 */
+		RADIX_4,
+
+		/**
+		 * Split-radix decimation in frequency, requiring the lowest operation count of all
+		 * power of two algorithms. The recursive decomposition keeps small blocks cache resident.
+		 */
+		SPLIT_RADIX,
+
+		/**
+		 * Radix-4 self-sorting Stockham decimation in frequency, which avoids the perfect shuffle by
+		 * ping-ponging between the vector and a scratch buffer, with sequential memory access only.
+		 */
+		STOCKHAM
+	}
+
+
+
+	/**
+	 * SIMD backends for the butterfly stages of split layout and braided transforms.
+	 * Implementations are instantiated reflectively, which allows them to depend on APIs beyond
+	 * those of this class.
+	 */
+	static interface Backend {
+
+		/**
+		 * Returns the number of {@code 32-bit} lanes processed per instruction.
+		 * @return the lane count, a power of two
+		 */
+		int floatLanes ();
+
+
+		/**
+		 * Returns the number of {@code 64-bit} lanes processed per instruction.
+		 * @return the lane count, a power of two
+		 */
+		int doubleLanes ();
+
+
+		/**
+		 * Performs the decimation in time butterfly stages beginning with the given depth, whose
+		 * half block length <tt>2<sup>depth</sup></tt> must be a multiple of the lane count.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param depth the first butterfly stage
+		 * @param cos the plan's twiddle cosines
+		 * @param sin the plan's twiddle sines
+		 * @param real an array of <tt>N</tt> real parts
+		 * @param imag an array of <tt>N</tt> imaginary parts
+		 */
+		void butterflies (boolean inverse, int depth, float[] cos, float[] sin, float[] real, float[] imag);
+
+
+		/**
+		 * Performs consecutive decimation in time butterflies on a braided vector, combining the
+		 * complex numbers beginning with the left and right index using consecutive twiddle factors,
+		 * and scaling the results. The butterfly count must be a multiple of the lane count.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param scale the factor the results are scaled with
+		 * @param cos the plan's twiddle cosines
+		 * @param sin the plan's twiddle sines
+		 * @param twiddleIndex the twiddle table index of the first butterfly
+		 * @param vector an array of braided complex numbers
+		 * @param left the braided index of the first left operand
+		 * @param right the braided index of the first right operand
+		 * @param count the number of butterflies
+		 */
+		void butterflies (boolean inverse, float scale, float[] cos, float[] sin, int twiddleIndex, float[] vector, int left, int right, int count);
+
+
+		/**
+		 * Performs the decimation in time butterfly stages beginning with the given depth, whose
+		 * half block length <tt>2<sup>depth</sup></tt> must be a multiple of the lane count.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param depth the first butterfly stage
+		 * @param cos the plan's twiddle cosines
+		 * @param sin the plan's twiddle sines
+		 * @param real an array of <tt>N</tt> real parts
+		 * @param imag an array of <tt>N</tt> imaginary parts
+		 */
+		void butterflies (boolean inverse, int depth, double[] cos, double[] sin, double[] real, double[] imag);
+
+
+		/**
+		 * Performs consecutive decimation in time butterflies on a braided vector, combining the
+		 * complex numbers beginning with the left and right index using consecutive twiddle factors,
+		 * and scaling the results. The butterfly count must be a multiple of the lane count.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param scale the factor the results are scaled with
+		 * @param cos the plan's twiddle cosines
+		 * @param sin the plan's twiddle sines
+		 * @param twiddleIndex the twiddle table index of the first butterfly
+		 * @param vector an array of braided complex numbers
+		 * @param left the braided index of the first left operand
+		 * @param right the braided index of the first right operand
+		 * @param count the number of butterflies
+		 */
+		void butterflies (boolean inverse, double scale, double[] cos, double[] sin, int twiddleIndex, double[] vector, int left, int right, int count);
+	}
+
+
+
+	/**
+	 * Plans for {@code 32-bit} floating-point FFTs.
+	 */
+	static public final class SinglePrecision extends FftPlan {
+		final float[] cos, sin;
+
+
+		/**
+		 * Creates a new instance.
+		 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+		 * @throws IllegalArgumentException if the given magnitude is negative or exceeds {@code 29}
+		 */
+		public SinglePrecision (final int magnitude) throws IllegalArgumentException {
+			super(magnitude);
+
+			this.cos = new float[Math.max(1, 1 << magnitude)];
+			this.sin = new float[Math.max(1, 1 << magnitude)];
+			if (magnitude == 0) return;
+
+			final SineTable trigonometricTable = SineTable.getInstance(magnitude);
+			for (int depth = 0; depth < magnitude; ++depth) {
+				for (int offset = 0; offset < 1 << depth; ++offset) {
+					final int angleIndex = offset << magnitude - depth - 1;
+					this.cos[twiddleIndex(depth, offset)] = (float) trigonometricTable.cos(angleIndex);
+					this.sin[twiddleIndex(depth, offset)] = (float) trigonometricTable.sin(angleIndex);
+				}
+			}
+		}
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of
+		 * <tt>N = 2<sup>magnitude</sup></tt> braided complex numbers, using radix-2 butterflies.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+		 *        indexed real parts with odd indexed imaginary ones
+		 * @throws NullPointerException if the given vector is {@code null}
+		 * @throws IllegalArgumentException if the given vector's length is not <tt>2N</tt>
+		 */
+		public void fft (final boolean inverse, final float[] vector) throws NullPointerException, IllegalArgumentException {
+			this.fft(inverse, Kernel.RADIX_2, vector);
+		}
+
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of
+		 * <tt>N = 2<sup>magnitude</sup></tt> braided complex numbers, using the given butterfly kernel.
+		 * Kernels that require a scratch buffer allocate a temporary one.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param kernel the butterfly kernel
+		 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+		 *        indexed real parts with odd indexed imaginary ones
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IllegalArgumentException if the given vector's length is not <tt>2N</tt>
+		 */
+		public void fft (final boolean inverse, final Kernel kernel, final float[] vector) throws NullPointerException, IllegalArgumentException {
+			this.fft(inverse, kernel, vector, kernel == Kernel.STOCKHAM ? new float[vector.length] : null);
+		}
+
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of
+		 * <tt>N = 2<sup>magnitude</sup></tt> braided complex numbers, using the given butterfly kernel
+		 * and scratch buffer. Note that reusing buffers avoids memory allocation, but that a buffer
+		 * must not be shared among concurrent transforms.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param kernel the butterfly kernel
+		 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+		 *        indexed real parts with odd indexed imaginary ones
+		 * @param buffer an array of <tt>2N</tt> elements if the kernel is {@link Kernel#STOCKHAM},
+		 *        ignored otherwise
+		 * @throws NullPointerException if the given kernel or vector is {@code null}, or if the given
+		 *         buffer is {@code null} but required
+		 * @throws IllegalArgumentException if the given vector's length is not <tt>2N</tt>, or if the
+		 *         given buffer is required but its length is not <tt>2N</tt>
+		 */
+		public void fft (final boolean inverse, final Kernel kernel, final float[] vector, final float[] buffer) throws NullPointerException, IllegalArgumentException {
+			if (vector.length != 2 << this.magnitude) throw new IllegalArgumentException();
+			final float norm = inverse ? Math.scalb(1f, -this.magnitude) : 1f;
+
+			switch (kernel) {
+				case RADIX_2:
+					this.bitReversal.permute(vector);
+					this.radix2(inverse, norm, vector);
+					return;
+				case RADIX_4:
+					this.bitReversal.permute(vector);
+					this.radix4(inverse, norm, vector);
+					return;
+				case SPLIT_RADIX:
+					this.splitRadix(inverse, norm, vector, 0, this.magnitude);
+					this.bitReversal.permute(vector);
+					return;
+				case STOCKHAM:
+					if (buffer.length != vector.length) throw new IllegalArgumentException();
+					if (this.stockham(inverse, norm, vector, buffer) != vector) System.arraycopy(buffer, 0, vector, 0, vector.length);
+					return;
+				default:
+					throw new AssertionError();
+			}
+		}
+
+
+		/**
+		 * Performs the radix-2 butterfly stages of a decimation in time transform. The initial stage
+		 * requires no multiplications except for applying the given norm, which spares inverse
+		 * transforms a separate normalization pass over the vector.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param norm the factor the result is scaled with
+		 * @param vector an array of <tt>N</tt> shuffled braided complex numbers
+		 */
+		private void radix2 (final boolean inverse, final float norm, final float[] vector) {
+			if (this.magnitude == 0) return;
+			for (int left = 0, right = 2; left < vector.length; left += 4, right += 4) {
+				final float re = vector[right], im = vector[right + 1];
+				vector[right]     = (vector[left] - re) * norm;
+				vector[right + 1] = (vector[left + 1] - im) * norm;
+				vector[left]      = (vector[left] + re) * norm;
+				vector[left + 1]  = (vector[left + 1] + im) * norm;
+			}
+
+			// note: inverse transforms conjugate the twiddles instead of both the argument and result
+			final float[] cosTable = this.cos, sinTable = this.sin;
+			for (int depth = 1; depth < this.magnitude; ++depth) {
+				for (int offset = 0; offset < 1 << depth; ++offset) {
+					final float cos = cosTable[twiddleIndex(depth, offset)];
+					final float sin = inverse ? -sinTable[twiddleIndex(depth, offset)] : sinTable[twiddleIndex(depth, offset)];
+
+					for (int left = offset << 1, right = left + (2 << depth); left < vector.length; left += 4 << depth, right += 4 << depth) {
+						float re = vector[right], im = vector[right + 1];
+						final float twidRe = cos * re - sin * im;
+						final float twidIm = cos * im + sin * re;
+						re = vector[left]; im = vector[left + 1];
+						vector[right]     = re - twidRe;
+						vector[right + 1] = im - twidIm;
+						vector[left]      = re + twidRe;
+						vector[left + 1]  = im + twidIm;
+					}
+				}
+			}
+		}
+
+
+		/**
+		 * Performs the butterfly stages of a decimation in time transform, combining every two
+		 * radix-2 stages into a single radix-4 pass that requires three instead of four complex
+		 * multiplications per four values. An odd magnitude is compensated by an initial radix-2
+		 * stage. The initial stage requires no multiplications except for applying the given norm,
+		 * which spares inverse transforms a separate normalization pass over the vector.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param norm the factor the result is scaled with
+		 * @param vector an array of <tt>N</tt> shuffled braided complex numbers
+		 */
+		private void radix4 (final boolean inverse, final float norm, final float[] vector) {
+			final float sign = inverse ? -1 : +1;
+			int depth;
+			if ((this.magnitude & 1) == 1) {
+				for (int left = 0, right = 2; left < vector.length; left += 4, right += 4) {
+					final float re = vector[right], im = vector[right + 1];
+					vector[right]     = (vector[left] - re) * norm;
+					vector[right + 1] = (vector[left + 1] - im) * norm;
+					vector[left]      = (vector[left] + re) * norm;
+					vector[left + 1]  = (vector[left + 1] + im) * norm;
+				}
+				depth = 1;
+			} else if (this.magnitude > 0) {
+				for (int index0 = 0, index1 = 2, index2 = 4, index3 = 6; index0 < vector.length; index0 += 8, index1 += 8, index2 += 8, index3 += 8) {
+					final float sum02Re = vector[index0] + vector[index1], sum02Im = vector[index0 + 1] + vector[index1 + 1];
+					final float dif02Re = vector[index0] - vector[index1], dif02Im = vector[index0 + 1] - vector[index1 + 1];
+					final float sum13Re = vector[index2] + vector[index3], sum13Im = vector[index2 + 1] + vector[index3 + 1];
+					final float dif13Re = sign * (vector[index2] - vector[index3]), dif13Im = sign * (vector[index2 + 1] - vector[index3 + 1]);
+					vector[index0]     = (sum02Re + sum13Re) * norm;
+					vector[index0 + 1] = (sum02Im + sum13Im) * norm;
+					vector[index1]     = (dif02Re - dif13Im) * norm;
+					vector[index1 + 1] = (dif02Im + dif13Re) * norm;
+					vector[index2]     = (sum02Re - sum13Re) * norm;
+					vector[index2 + 1] = (sum02Im - sum13Im) * norm;
+					vector[index3]     = (dif02Re + dif13Im) * norm;
+					vector[index3 + 1] = (dif02Im - dif13Re) * norm;
+				}
+				depth = 2;
+			} else {
+				return;
+			}
+
+			// the twiddles w^3j are derived from w^(3j-2h) = -w^3j once they exceed the stage's table range
+			final float[] cosTable = this.cos, sinTable = this.sin;
+			for (; depth < this.magnitude; depth += 2) {
+				final int half = 1 << depth, twiddleBase1 = twiddleIndex(depth + 1, 0), twiddleBase2 = twiddleIndex(depth, 0);
+
+				for (int offset = 0; offset < half; ++offset) {
+					final float cos1 = cosTable[twiddleBase1 + offset], sin1 = sign * sinTable[twiddleBase1 + offset];
+					final float cos2 = cosTable[twiddleBase2 + offset], sin2 = sign * sinTable[twiddleBase2 + offset];
+					final int offset3 = 3 * offset, twiddle3 = twiddleBase1 + (offset3 < half << 1 ? offset3 : offset3 - (half << 1));
+					final float cos3 = offset3 < half << 1 ? cosTable[twiddle3] : -cosTable[twiddle3];
+					final float sin3 = offset3 < half << 1 ? sign * sinTable[twiddle3] : -sign * sinTable[twiddle3];
+
+					for (int index0 = offset << 1; index0 < vector.length; index0 += 8 << depth) {
+						final int index1 = index0 + (2 << depth), index2 = index1 + (2 << depth), index3 = index2 + (2 << depth);
+						final float re0 = vector[index0], im0 = vector[index0 + 1];
+						final float re1 = cos1 * vector[index2] - sin1 * vector[index2 + 1], im1 = cos1 * vector[index2 + 1] + sin1 * vector[index2];
+						final float re2 = cos2 * vector[index1] - sin2 * vector[index1 + 1], im2 = cos2 * vector[index1 + 1] + sin2 * vector[index1];
+						final float re3 = cos3 * vector[index3] - sin3 * vector[index3 + 1], im3 = cos3 * vector[index3 + 1] + sin3 * vector[index3];
+						final float sum02Re = re0 + re2, sum02Im = im0 + im2, dif02Re = re0 - re2, dif02Im = im0 - im2;
+						final float sum13Re = re1 + re3, sum13Im = im1 + im3, dif13Re = sign * (re1 - re3), dif13Im = sign * (im1 - im3);
+						vector[index0]     = sum02Re + sum13Re;
+						vector[index0 + 1] = sum02Im + sum13Im;
+						vector[index1]     = dif02Re - dif13Im;
+						vector[index1 + 1] = dif02Im + dif13Re;
+						vector[index2]     = sum02Re - sum13Re;
+						vector[index2 + 1] = sum02Im - sum13Im;
+						vector[index3]     = dif02Re + dif13Im;
+						vector[index3 + 1] = dif02Im - dif13Re;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the <tt>N = 2<sup>magnitude</sup></tt>
+		 * braided complex numbers between the given buffer's position and limit, using radix-4
+		 * butterflies and absolute access. The buffer's position and limit remain unchanged. Direct
+		 * buffers are thereby transformed off-heap, without being copied into arrays and without
+		 * allocating memory.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param vector a buffer of <tt>N</tt> remaining complex numbers in Cartesian form,
+		 *        alternating even indexed real parts with odd indexed imaginary ones
+		 * @throws NullPointerException if the given vector is {@code null}
+		 * @throws IllegalArgumentException if the given vector's remaining length is not <tt>2N</tt>
+		 * @throws ReadOnlyBufferException if the given vector is read-only
+		 */
+		public void fft (final boolean inverse, final FloatBuffer vector) throws NullPointerException, IllegalArgumentException, ReadOnlyBufferException {
+			this.bitReversal.permute(vector);
+			this.radix4(inverse, inverse ? Math.scalb(1f, -this.magnitude) : 1f, vector, vector.position());
+		}
+
+
+		/**
+		 * Performs the radix-4 butterfly stages of a decimation in time transform on the given
+		 * buffer, see {@link #radix4(boolean, float, float[])}.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param norm the factor the result is scaled with
+		 * @param vector a buffer of <tt>N</tt> shuffled braided complex numbers
+		 * @param offset the buffer index of the first element
+		 */
+		private void radix4 (final boolean inverse, final float norm, final FloatBuffer vector, final int offset) {
+			final int limit = offset + (2 << this.magnitude);
+			final float sign = inverse ? -1 : +1;
+			int depth;
+			if ((this.magnitude & 1) == 1) {
+				for (int left = offset, right = offset + 2; left < limit; left += 4, right += 4) {
+					final float re = vector.get(right), im = vector.get(right + 1);
+					vector.put(right, (vector.get(left) - re) * norm);
+					vector.put(right + 1, (vector.get(left + 1) - im) * norm);
+					vector.put(left, (vector.get(left) + re) * norm);
+					vector.put(left + 1, (vector.get(left + 1) + im) * norm);
+				}
+				depth = 1;
+			} else if (this.magnitude > 0) {
+				for (int index0 = offset, index1 = offset + 2, index2 = offset + 4, index3 = offset + 6; index0 < limit; index0 += 8, index1 += 8, index2 += 8, index3 += 8) {
+					final float sum02Re = vector.get(index0) + vector.get(index1), sum02Im = vector.get(index0 + 1) + vector.get(index1 + 1);
+					final float dif02Re = vector.get(index0) - vector.get(index1), dif02Im = vector.get(index0 + 1) - vector.get(index1 + 1);
+					final float sum13Re = vector.get(index2) + vector.get(index3), sum13Im = vector.get(index2 + 1) + vector.get(index3 + 1);
+					final float dif13Re = sign * (vector.get(index2) - vector.get(index3)), dif13Im = sign * (vector.get(index2 + 1) - vector.get(index3 + 1));
+					vector.put(index0, (sum02Re + sum13Re) * norm);
+					vector.put(index0 + 1, (sum02Im + sum13Im) * norm);
+					vector.put(index1, (dif02Re - dif13Im) * norm);
+					vector.put(index1 + 1, (dif02Im + dif13Re) * norm);
+					vector.put(index2, (sum02Re - sum13Re) * norm);
+					vector.put(index2 + 1, (sum02Im - sum13Im) * norm);
+					vector.put(index3, (dif02Re + dif13Im) * norm);
+					vector.put(index3 + 1, (dif02Im - dif13Re) * norm);
+				}
+				depth = 2;
+			} else {
+				return;
+			}
+
+			final float[] cosTable = this.cos, sinTable = this.sin;
+			for (; depth < this.magnitude; depth += 2) {
+				final int half = 1 << depth, twiddleBase1 = twiddleIndex(depth + 1, 0), twiddleBase2 = twiddleIndex(depth, 0);
+
+				for (int offset0 = 0; offset0 < half; ++offset0) {
+					final float cos1 = cosTable[twiddleBase1 + offset0], sin1 = sign * sinTable[twiddleBase1 + offset0];
+					final float cos2 = cosTable[twiddleBase2 + offset0], sin2 = sign * sinTable[twiddleBase2 + offset0];
+					final int offset3 = 3 * offset0, twiddle3 = twiddleBase1 + (offset3 < half << 1 ? offset3 : offset3 - (half << 1));
+					final float cos3 = offset3 < half << 1 ? cosTable[twiddle3] : -cosTable[twiddle3];
+					final float sin3 = offset3 < half << 1 ? sign * sinTable[twiddle3] : -sign * sinTable[twiddle3];
+
+					for (int index0 = offset + (offset0 << 1); index0 < limit; index0 += 8 << depth) {
+						final int index1 = index0 + (2 << depth), index2 = index1 + (2 << depth), index3 = index2 + (2 << depth);
+						final float re0 = vector.get(index0), im0 = vector.get(index0 + 1);
+						final float re1 = cos1 * vector.get(index2) - sin1 * vector.get(index2 + 1), im1 = cos1 * vector.get(index2 + 1) + sin1 * vector.get(index2);
+						final float re2 = cos2 * vector.get(index1) - sin2 * vector.get(index1 + 1), im2 = cos2 * vector.get(index1 + 1) + sin2 * vector.get(index1);
+						final float re3 = cos3 * vector.get(index3) - sin3 * vector.get(index3 + 1), im3 = cos3 * vector.get(index3 + 1) + sin3 * vector.get(index3);
+						final float sum02Re = re0 + re2, sum02Im = im0 + im2, dif02Re = re0 - re2, dif02Im = im0 - im2;
+						final float sum13Re = re1 + re3, sum13Im = im1 + im3, dif13Re = sign * (re1 - re3), dif13Im = sign * (im1 - im3);
+						vector.put(index0, sum02Re + sum13Re);
+						vector.put(index0 + 1, sum02Im + sum13Im);
+						vector.put(index1, dif02Re - dif13Im);
+						vector.put(index1 + 1, dif02Im + dif13Re);
+						vector.put(index2, sum02Re - sum13Re);
+						vector.put(index2 + 1, sum02Im - sum13Im);
+						vector.put(index3, dif02Re + dif13Im);
+						vector.put(index3 + 1, dif02Im - dif13Re);
+					}
+				}
+			}
+		}
+
+
+		/**
+		 * Recursively performs the split-radix butterflies of a decimation in frequency transform,
+		 * leaving the result in bit-reversed order. Every block is decomposed into one sub-transform
+		 * of half length for the even frequencies, and two sub-transforms of quarter length for the
+		 * frequencies <tt>4k+1</tt> and <tt>4k+3</tt>. The recursion processes small blocks while they
+		 * are still cache resident. As every value ends up in exactly one leaf block of one or two
+		 * values, the leaves apply the given norm, which spares inverse transforms a separate
+		 * normalization pass over the vector.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param norm the factor the result is scaled with
+		 * @param vector an array of <tt>N</tt> braided complex numbers
+		 * @param base the braided index of the block's first element
+		 * @param magnitude the value <tt>log<sub>2</sub></tt> of the block length
+		 */
+		private void splitRadix (final boolean inverse, final float norm, final float[] vector, final int base, final int magnitude) {
+			if (magnitude == 0) {
+				vector[base]     *= norm;
+				vector[base + 1] *= norm;
+				return;
+			}
+			if (magnitude == 1) {
+				final float re = vector[base + 2], im = vector[base + 3];
+				vector[base + 2] = (vector[base] - re) * norm;
+				vector[base + 3] = (vector[base + 1] - im) * norm;
+				vector[base]     = (vector[base] + re) * norm;
+				vector[base + 1] = (vector[base + 1] + im) * norm;
+				return;
+			}
+
+			// the twiddles w^3j are derived from w^(3j-n/2) = -w^3j once they exceed the stage's table range
+			final float[] cosTable = this.cos, sinTable = this.sin;
+			final float sign = inverse ? -1 : +1;
+			final int quarter = 1 << magnitude - 2, twiddleBase = twiddleIndex(magnitude - 1, 0);
+			for (int offset = 0; offset < quarter; ++offset) {
+				final float cos1 = cosTable[twiddleBase + offset], sin1 = sign * sinTable[twiddleBase + offset];
+				final int offset3 = 3 * offset, twiddle3 = twiddleBase + (offset3 < quarter << 1 ? offset3 : offset3 - (quarter << 1));
+				final float cos3 = offset3 < quarter << 1 ? cosTable[twiddle3] : -cosTable[twiddle3];
+				final float sin3 = offset3 < quarter << 1 ? sign * sinTable[twiddle3] : -sign * sinTable[twiddle3];
+
+				final int index0 = base + (offset << 1), index1 = index0 + (quarter << 1), index2 = index1 + (quarter << 1), index3 = index2 + (quarter << 1);
+				final float dif02Re = vector[index0] - vector[index2], dif02Im = vector[index0 + 1] - vector[index2 + 1];
+				final float dif13Re = sign * (vector[index1] - vector[index3]), dif13Im = sign * (vector[index1 + 1] - vector[index3 + 1]);
+				vector[index0]     += vector[index2];
+				vector[index0 + 1] += vector[index2 + 1];
+				vector[index1]     += vector[index3];
+				vector[index1 + 1] += vector[index3 + 1];
+
+				float re = dif02Re - dif13Im, im = dif02Im + dif13Re;
+				vector[index2]     = cos1 * re - sin1 * im;
+				vector[index2 + 1] = cos1 * im + sin1 * re;
+				re = dif02Re + dif13Im; im = dif02Im - dif13Re;
+				vector[index3]     = cos3 * re - sin3 * im;
+				vector[index3 + 1] = cos3 * im + sin3 * re;
+			}
+
+			this.splitRadix(inverse, norm, vector, base, magnitude - 1);
+			this.splitRadix(inverse, norm, vector, base + (1 << magnitude), magnitude - 2);
+			this.splitRadix(inverse, norm, vector, base + (3 << magnitude - 1), magnitude - 2);
+		}
+
+
+		/**
+		 * Performs the radix-4 butterfly stages of a self-sorting <i>Stockham</i> transform, which
+		 * ping-pongs between the given vector and buffer. Every stage reads and writes its values in
+		 * sequential order, which renders the perfect shuffle unnecessary. An odd magnitude is
+		 * compensated by a final radix-2 stage, which requires no multiplications and is performed in
+		 * place. The final stage applies the given norm, which the last radix-4 stage folds into its
+		 * twiddle factors, sparing inverse transforms a separate normalization pass over the vector.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param norm the factor the result is scaled with
+		 * @param vector an array of <tt>N</tt> braided complex numbers
+		 * @param buffer an array of <tt>2N</tt> elements
+		 * @return the array containing the result, either the given vector or buffer
+		 */
+		private float[] stockham (final boolean inverse, final float norm, final float[] vector, final float[] buffer) {
+			final float[] cosTable = this.cos, sinTable = this.sin;
+			final float sign = inverse ? -1 : +1;
+
+			// the twiddles w^3j are derived from w^(3j-n/2) = -w^3j once they exceed the stage's table range
+			float[] source = vector, target = buffer;
+			int magnitude = this.magnitude, stride = 1;
+			for (; magnitude >= 2; magnitude -= 2, stride <<= 2) {
+				final int quarter = 1 << magnitude - 2, twiddleBase = twiddleIndex(magnitude - 1, 0);
+				final float scale = magnitude == 2 ? norm : 1;
+				for (int offset = 0; offset < quarter; ++offset) {
+					final float cos1 = scale * cosTable[twiddleBase + offset], sin1 = scale * sign * sinTable[twiddleBase + offset];
+					final float cos2 = scale * cosTable[twiddleBase + (offset << 1)], sin2 = scale * sign * sinTable[twiddleBase + (offset << 1)];
+					final int offset3 = 3 * offset, twiddle3 = twiddleBase + (offset3 < quarter << 1 ? offset3 : offset3 - (quarter << 1));
+					final float cos3 = scale * (offset3 < quarter << 1 ? cosTable[twiddle3] : -cosTable[twiddle3]);
+					final float sin3 = scale * (offset3 < quarter << 1 ? sign * sinTable[twiddle3] : -sign * sinTable[twiddle3]);
+
+					final int step = (stride * quarter) << 1;
+					for (int index0 = (stride * offset) << 1, target0 = (stride * offset) << 3, stop = index0 + (stride << 1); index0 < stop; index0 += 2, target0 += 2) {
+						final int index1 = index0 + step, index2 = index1 + step, index3 = index2 + step;
+						final int target1 = target0 + (stride << 1), target2 = target1 + (stride << 1), target3 = target2 + (stride << 1);
+						final float sum02Re = source[index0] + source[index2], sum02Im = source[index0 + 1] + source[index2 + 1];
+						final float dif02Re = source[index0] - source[index2], dif02Im = source[index0 + 1] - source[index2 + 1];
+						final float sum13Re = source[index1] + source[index3], sum13Im = source[index1 + 1] + source[index3 + 1];
+						final float dif13Re = sign * (source[index1] - source[index3]), dif13Im = sign * (source[index1 + 1] - source[index3 + 1]);
+						target[target0]     = scale * (sum02Re + sum13Re);
+						target[target0 + 1] = scale * (sum02Im + sum13Im);
+
+						float re = dif02Re - dif13Im, im = dif02Im + dif13Re;
+						target[target1]     = cos1 * re - sin1 * im;
+						target[target1 + 1] = cos1 * im + sin1 * re;
+						re = sum02Re - sum13Re; im = sum02Im - sum13Im;
+						target[target2]     = cos2 * re - sin2 * im;
+						target[target2 + 1] = cos2 * im + sin2 * re;
+						re = dif02Re + dif13Im; im = dif02Im - dif13Re;
+						target[target3]     = cos3 * re - sin3 * im;
+						target[target3 + 1] = cos3 * im + sin3 * re;
+					}
+				}
+
+				final float[] swap = source;
+				source = target;
+				target = swap;
+			}
+
+			if (magnitude == 1) {
+				for (int left = 0, right = stride << 1; left < stride << 1; left += 2, right += 2) {
+					final float re = source[right], im = source[right + 1];
+					source[right]     = (source[left] - re) * norm;
+					source[right + 1] = (source[left + 1] - im) * norm;
+					source[left]      = (source[left] + re) * norm;
+					source[left + 1]  = (source[left + 1] + im) * norm;
+				}
+			}
+
+			return source;
+		}
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the given vectors of
+		 * <tt>N = 2<sup>magnitude</sup></tt> separated real and imaginary parts. In contrast to
+		 * {@link #fft(boolean, float[])}, the butterfly loops of this variant iterate over consecutive
+		 * offsets within each block, reading both the values and the twiddle factors from unit-stride
+		 * arrays. If the {@linkplain #isVectorized() SIMD backend} is available, it performs all
+		 * stages whose half blocks span whole vectors using explicit vector instructions; otherwise,
+		 * the scalar loops remain eligible for the JIT compiler's auto-vectorization. The norm is
+		 * applied within the initial stage, which requires no multiplications otherwise.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param real an array of <tt>N</tt> real parts
+		 * @param imag an array of <tt>N</tt> imaginary parts
+		 * @throws NullPointerException if any of the given vectors is {@code null}
+		 * @throws IllegalArgumentException if any of the given vector's lengths is not <tt>N</tt>
+		 */
+		public void fft (final boolean inverse, final float[] real, final float[] imag) throws NullPointerException, IllegalArgumentException {
+			this.fft(inverse, inverse ? Math.scalb(1f, -this.magnitude) : 1f, real, imag);
+		}
+
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the given vectors of separated real
+		 * and imaginary parts, scaling the result by the given norm.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param norm the factor the result is scaled with
+		 * @param real an array of <tt>N</tt> real parts
+		 * @param imag an array of <tt>N</tt> imaginary parts
+		 * @throws NullPointerException if any of the given vectors is {@code null}
+		 * @throws IllegalArgumentException if any of the given vector's lengths is not <tt>N</tt>
+		 */
+		void fft (final boolean inverse, final float norm, final float[] real, final float[] imag) throws NullPointerException, IllegalArgumentException {
+			if (real.length != 1 << this.magnitude | imag.length != 1 << this.magnitude) throw new IllegalArgumentException();
+
+			this.bitReversal.permute(real, imag);
+			if (this.magnitude == 0) {
+				real[0] *= norm;
+				imag[0] *= norm;
+				return;
+			}
+
+			// the first stage's twiddle factors are all one, which allows it to apply the norm instead
+			for (int left = 0, right = 1; right < real.length; left += 2, right += 2) {
+				final float re = real[right], im = imag[right];
+				real[right] = (real[left] - re) * norm;
+				imag[right] = (imag[left] - im) * norm;
+				real[left]  = (real[left] + re) * norm;
+				imag[left]  = (imag[left] + im) * norm;
+			}
+
+			// stages whose half blocks span whole vectors are delegated to the SIMD backend, if any
+			final Backend backend = BACKEND;
+			final int limit = backend == null ? this.magnitude : Math.min(this.magnitude, Math.max(1, Integer.numberOfTrailingZeros(backend.floatLanes())));
+			final float[] cosTable = this.cos, sinTable = this.sin;
+			final float sign = inverse ? -1 : +1;
+			for (int depth = 1; depth < limit; ++depth) {
+				final int half = 1 << depth, twiddleBase = twiddleIndex(depth, 0);
+
+				for (int base = 0; base < real.length; base += half << 1) {
+					for (int offset = 0, left = base, right = base + half; offset < half; ++offset, ++left, ++right) {
+						final float cos = cosTable[twiddleBase + offset];
+						final float sin = sign * sinTable[twiddleBase + offset];
+						final float twidRe = cos * real[right] - sin * imag[right];
+						final float twidIm = cos * imag[right] + sin * real[right];
+						final float re = real[left], im = imag[left];
+						real[right] = re - twidRe;
+						imag[right] = im - twidIm;
+						real[left]  = re + twidRe;
+						imag[left]  = im + twidIm;
+					}
+				}
+			}
+
+			if (limit < this.magnitude) backend.butterflies(inverse, limit, cosTable, sinTable, real, imag);
+		}
+	}
+
+
+
+	/**
+	 * Plans for {@code 64-bit} floating-point FFTs.
+	 */
+	static public final class DoublePrecision extends FftPlan {
+		final double[] cos, sin;
+
+
+		/**
+		 * Creates a new instance.
+		 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+		 * @throws IllegalArgumentException if the given magnitude is negative or exceeds {@code 29}
+		 */
+		public DoublePrecision (final int magnitude) throws IllegalArgumentException {
+			super(magnitude);
+
+			this.cos = new double[Math.max(1, 1 << magnitude)];
+			this.sin = new double[Math.max(1, 1 << magnitude)];
+			if (magnitude == 0) return;
+
+			final SineTable trigonometricTable = SineTable.getInstance(magnitude);
+			for (int depth = 0; depth < magnitude; ++depth) {
+				for (int offset = 0; offset < 1 << depth; ++offset) {
+					final int angleIndex = offset << magnitude - depth - 1;
+					this.cos[twiddleIndex(depth, offset)] = trigonometricTable.cos(angleIndex);
+					this.sin[twiddleIndex(depth, offset)] = trigonometricTable.sin(angleIndex);
+				}
+			}
+		}
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of
+		 * <tt>N = 2<sup>magnitude</sup></tt> braided complex numbers, using radix-2 butterflies.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+		 *        indexed real parts with odd indexed imaginary ones
+		 * @throws NullPointerException if the given vector is {@code null}
+		 * @throws IllegalArgumentException if the given vector's length is not <tt>2N</tt>
+		 */
+		public void fft (final boolean inverse, final double[] vector) throws NullPointerException, IllegalArgumentException {
+			this.fft(inverse, Kernel.RADIX_2, vector);
+		}
+
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of
+		 * <tt>N = 2<sup>magnitude</sup></tt> braided complex numbers, using the given butterfly kernel.
+		 * Kernels that require a scratch buffer allocate a temporary one.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param kernel the butterfly kernel
+		 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+		 *        indexed real parts with odd indexed imaginary ones
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IllegalArgumentException if the given vector's length is not <tt>2N</tt>
+		 */
+		public void fft (final boolean inverse, final Kernel kernel, final double[] vector) throws NullPointerException, IllegalArgumentException {
+			this.fft(inverse, kernel, vector, kernel == Kernel.STOCKHAM ? new double[vector.length] : null);
+		}
+
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of
+		 * <tt>N = 2<sup>magnitude</sup></tt> braided complex numbers, using the given butterfly kernel
+		 * and scratch buffer. Note that reusing buffers avoids memory allocation, but that a buffer
+		 * must not be shared among concurrent transforms.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param kernel the butterfly kernel
+		 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+		 *        indexed real parts with odd indexed imaginary ones
+		 * @param buffer an array of <tt>2N</tt> elements if the kernel is {@link Kernel#STOCKHAM},
+		 *        ignored otherwise
+		 * @throws NullPointerException if the given kernel or vector is {@code null}, or if the given
+		 *         buffer is {@code null} but required
+		 * @throws IllegalArgumentException if the given vector's length is not <tt>2N</tt>, or if the
+		 *         given buffer is required but its length is not <tt>2N</tt>
+		 */
+		public void fft (final boolean inverse, final Kernel kernel, final double[] vector, final double[] buffer) throws NullPointerException, IllegalArgumentException {
+			if (vector.length != 2 << this.magnitude) throw new IllegalArgumentException();
+			final double norm = inverse ? Math.scalb(1d, -this.magnitude) : 1d;
+
+			switch (kernel) {
+				case RADIX_2:
+					this.bitReversal.permute(vector);
+					this.radix2(inverse, norm, vector);
+					return;
+				case RADIX_4:
+					this.bitReversal.permute(vector);
+					this.radix4(inverse, norm, vector);
+					return;
+				case SPLIT_RADIX:
+					this.splitRadix(inverse, norm, vector, 0, this.magnitude);
+					this.bitReversal.permute(vector);
+					return;
+				case STOCKHAM:
+					if (buffer.length != vector.length) throw new IllegalArgumentException();
+					if (this.stockham(inverse, norm, vector, buffer) != vector) System.arraycopy(buffer, 0, vector, 0, vector.length);
+					return;
+				default:
+					throw new AssertionError();
+			}
+		}
+
+
+		/**
+		 * Performs the radix-2 butterfly stages of a decimation in time transform. The initial stage
+		 * requires no multiplications except for applying the given norm, which spares inverse
+		 * transforms a separate normalization pass over the vector.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param norm the factor the result is scaled with
+		 * @param vector an array of <tt>N</tt> shuffled braided complex numbers
+		 */
+		private void radix2 (final boolean inverse, final double norm, final double[] vector) {
+			if (this.magnitude == 0) return;
+			for (int left = 0, right = 2; left < vector.length; left += 4, right += 4) {
+				final double re = vector[right], im = vector[right + 1];
+				vector[right]     = (vector[left] - re) * norm;
+				vector[right + 1] = (vector[left + 1] - im) * norm;
+				vector[left]      = (vector[left] + re) * norm;
+				vector[left + 1]  = (vector[left + 1] + im) * norm;
+			}
+
+			// note: inverse transforms conjugate the twiddles instead of both the argument and result
+			final double[] cosTable = this.cos, sinTable = this.sin;
+			for (int depth = 1; depth < this.magnitude; ++depth) {
+				for (int offset = 0; offset < 1 << depth; ++offset) {
+					final double cos = cosTable[twiddleIndex(depth, offset)];
+					final double sin = inverse ? -sinTable[twiddleIndex(depth, offset)] : sinTable[twiddleIndex(depth, offset)];
+
+					for (int left = offset << 1, right = left + (2 << depth); left < vector.length; left += 4 << depth, right += 4 << depth) {
+						double re = vector[right], im = vector[right + 1];
+						final double twidRe = cos * re - sin * im;
+						final double twidIm = cos * im + sin * re;
+						re = vector[left]; im = vector[left + 1];
+						vector[right]     = re - twidRe;
+						vector[right + 1] = im - twidIm;
+						vector[left]      = re + twidRe;
+						vector[left + 1]  = im + twidIm;
+					}
+				}
+			}
+		}
+
+
+		/**
+		 * Performs the butterfly stages of a decimation in time transform, combining every two
+		 * radix-2 stages into a single radix-4 pass that requires three instead of four complex
+		 * multiplications per four values. An odd magnitude is compensated by an initial radix-2
+		 * stage. The initial stage requires no multiplications except for applying the given norm,
+		 * which spares inverse transforms a separate normalization pass over the vector.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param norm the factor the result is scaled with
+		 * @param vector an array of <tt>N</tt> shuffled braided complex numbers
+		 */
+		private void radix4 (final boolean inverse, final double norm, final double[] vector) {
+			final double sign = inverse ? -1 : +1;
+			int depth;
+			if ((this.magnitude & 1) == 1) {
+				for (int left = 0, right = 2; left < vector.length; left += 4, right += 4) {
+					final double re = vector[right], im = vector[right + 1];
+					vector[right]     = (vector[left] - re) * norm;
+					vector[right + 1] = (vector[left + 1] - im) * norm;
+					vector[left]      = (vector[left] + re) * norm;
+					vector[left + 1]  = (vector[left + 1] + im) * norm;
+				}
+				depth = 1;
+			} else if (this.magnitude > 0) {
+				for (int index0 = 0, index1 = 2, index2 = 4, index3 = 6; index0 < vector.length; index0 += 8, index1 += 8, index2 += 8, index3 += 8) {
+					final double sum02Re = vector[index0] + vector[index1], sum02Im = vector[index0 + 1] + vector[index1 + 1];
+					final double dif02Re = vector[index0] - vector[index1], dif02Im = vector[index0 + 1] - vector[index1 + 1];
+					final double sum13Re = vector[index2] + vector[index3], sum13Im = vector[index2 + 1] + vector[index3 + 1];
+					final double dif13Re = sign * (vector[index2] - vector[index3]), dif13Im = sign * (vector[index2 + 1] - vector[index3 + 1]);
+					vector[index0]     = (sum02Re + sum13Re) * norm;
+					vector[index0 + 1] = (sum02Im + sum13Im) * norm;
+					vector[index1]     = (dif02Re - dif13Im) * norm;
+					vector[index1 + 1] = (dif02Im + dif13Re) * norm;
+					vector[index2]     = (sum02Re - sum13Re) * norm;
+					vector[index2 + 1] = (sum02Im - sum13Im) * norm;
+					vector[index3]     = (dif02Re + dif13Im) * norm;
+					vector[index3 + 1] = (dif02Im - dif13Re) * norm;
+				}
+				depth = 2;
+			} else {
+				return;
+			}
+
+			// the twiddles w^3j are derived from w^(3j-2h) = -w^3j once they exceed the stage's table range
+			final double[] cosTable = this.cos, sinTable = this.sin;
+			for (; depth < this.magnitude; depth += 2) {
+				final int half = 1 << depth, twiddleBase1 = twiddleIndex(depth + 1, 0), twiddleBase2 = twiddleIndex(depth, 0);
+
+				for (int offset = 0; offset < half; ++offset) {
+					final double cos1 = cosTable[twiddleBase1 + offset], sin1 = sign * sinTable[twiddleBase1 + offset];
+					final double cos2 = cosTable[twiddleBase2 + offset], sin2 = sign * sinTable[twiddleBase2 + offset];
+					final int offset3 = 3 * offset, twiddle3 = twiddleBase1 + (offset3 < half << 1 ? offset3 : offset3 - (half << 1));
+					final double cos3 = offset3 < half << 1 ? cosTable[twiddle3] : -cosTable[twiddle3];
+					final double sin3 = offset3 < half << 1 ? sign * sinTable[twiddle3] : -sign * sinTable[twiddle3];
+
+					for (int index0 = offset << 1; index0 < vector.length; index0 += 8 << depth) {
+						final int index1 = index0 + (2 << depth), index2 = index1 + (2 << depth), index3 = index2 + (2 << depth);
+						final double re0 = vector[index0], im0 = vector[index0 + 1];
+						final double re1 = cos1 * vector[index2] - sin1 * vector[index2 + 1], im1 = cos1 * vector[index2 + 1] + sin1 * vector[index2];
+						final double re2 = cos2 * vector[index1] - sin2 * vector[index1 + 1], im2 = cos2 * vector[index1 + 1] + sin2 * vector[index1];
+						final double re3 = cos3 * vector[index3] - sin3 * vector[index3 + 1], im3 = cos3 * vector[index3 + 1] + sin3 * vector[index3];
+						final double sum02Re = re0 + re2, sum02Im = im0 + im2, dif02Re = re0 - re2, dif02Im = im0 - im2;
+						final double sum13Re = re1 + re3, sum13Im = im1 + im3, dif13Re = sign * (re1 - re3), dif13Im = sign * (im1 - im3);
+						vector[index0]     = sum02Re + sum13Re;
+						vector[index0 + 1] = sum02Im + sum13Im;
+						vector[index1]     = dif02Re - dif13Im;
+						vector[index1 + 1] = dif02Im + dif13Re;
+						vector[index2]     = sum02Re - sum13Re;
+						vector[index2 + 1] = sum02Im - sum13Im;
+						vector[index3]     = dif02Re + dif13Im;
+						vector[index3 + 1] = dif02Im - dif13Re;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the <tt>N = 2<sup>magnitude</sup></tt>
+		 * braided complex numbers between the given buffer's position and limit, using radix-4
+		 * butterflies and absolute access. The buffer's position and limit remain unchanged. Direct
+		 * buffers are thereby transformed off-heap, without being copied into arrays and without
+		 * allocating memory.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param vector a buffer of <tt>N</tt> remaining complex numbers in Cartesian form,
+		 *        alternating even indexed real parts with odd indexed imaginary ones
+		 * @throws NullPointerException if the given vector is {@code null}
+		 * @throws IllegalArgumentException if the given vector's remaining length is not <tt>2N</tt>
+		 * @throws ReadOnlyBufferException if the given vector is read-only
+		 */
+		public void fft (final boolean inverse, final DoubleBuffer vector) throws NullPointerException, IllegalArgumentException, ReadOnlyBufferException {
+			this.bitReversal.permute(vector);
+			this.radix4(inverse, inverse ? Math.scalb(1d, -this.magnitude) : 1d, vector, vector.position());
+		}
+
+
+		/**
+		 * Performs the radix-4 butterfly stages of a decimation in time transform on the given
+		 * buffer, see {@link #radix4(boolean, double, double[])}.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param norm the factor the result is scaled with
+		 * @param vector a buffer of <tt>N</tt> shuffled braided complex numbers
+		 * @param offset the buffer index of the first element
+		 */
+		private void radix4 (final boolean inverse, final double norm, final DoubleBuffer vector, final int offset) {
+			final int limit = offset + (2 << this.magnitude);
+			final double sign = inverse ? -1 : +1;
+			int depth;
+			if ((this.magnitude & 1) == 1) {
+				for (int left = offset, right = offset + 2; left < limit; left += 4, right += 4) {
+					final double re = vector.get(right), im = vector.get(right + 1);
+					vector.put(right, (vector.get(left) - re) * norm);
+					vector.put(right + 1, (vector.get(left + 1) - im) * norm);
+					vector.put(left, (vector.get(left) + re) * norm);
+					vector.put(left + 1, (vector.get(left + 1) + im) * norm);
+				}
+				depth = 1;
+			} else if (this.magnitude > 0) {
+				for (int index0 = offset, index1 = offset + 2, index2 = offset + 4, index3 = offset + 6; index0 < limit; index0 += 8, index1 += 8, index2 += 8, index3 += 8) {
+					final double sum02Re = vector.get(index0) + vector.get(index1), sum02Im = vector.get(index0 + 1) + vector.get(index1 + 1);
+					final double dif02Re = vector.get(index0) - vector.get(index1), dif02Im = vector.get(index0 + 1) - vector.get(index1 + 1);
+					final double sum13Re = vector.get(index2) + vector.get(index3), sum13Im = vector.get(index2 + 1) + vector.get(index3 + 1);
+					final double dif13Re = sign * (vector.get(index2) - vector.get(index3)), dif13Im = sign * (vector.get(index2 + 1) - vector.get(index3 + 1));
+					vector.put(index0, (sum02Re + sum13Re) * norm);
+					vector.put(index0 + 1, (sum02Im + sum13Im) * norm);
+					vector.put(index1, (dif02Re - dif13Im) * norm);
+					vector.put(index1 + 1, (dif02Im + dif13Re) * norm);
+					vector.put(index2, (sum02Re - sum13Re) * norm);
+					vector.put(index2 + 1, (sum02Im - sum13Im) * norm);
+					vector.put(index3, (dif02Re + dif13Im) * norm);
+					vector.put(index3 + 1, (dif02Im - dif13Re) * norm);
+				}
+				depth = 2;
+			} else {
+				return;
+			}
+
+			final double[] cosTable = this.cos, sinTable = this.sin;
+			for (; depth < this.magnitude; depth += 2) {
+				final int half = 1 << depth, twiddleBase1 = twiddleIndex(depth + 1, 0), twiddleBase2 = twiddleIndex(depth, 0);
+
+				for (int offset0 = 0; offset0 < half; ++offset0) {
+					final double cos1 = cosTable[twiddleBase1 + offset0], sin1 = sign * sinTable[twiddleBase1 + offset0];
+					final double cos2 = cosTable[twiddleBase2 + offset0], sin2 = sign * sinTable[twiddleBase2 + offset0];
+					final int offset3 = 3 * offset0, twiddle3 = twiddleBase1 + (offset3 < half << 1 ? offset3 : offset3 - (half << 1));
+					final double cos3 = offset3 < half << 1 ? cosTable[twiddle3] : -cosTable[twiddle3];
+					final double sin3 = offset3 < half << 1 ? sign * sinTable[twiddle3] : -sign * sinTable[twiddle3];
+
+					for (int index0 = offset + (offset0 << 1); index0 < limit; index0 += 8 << depth) {
+						final int index1 = index0 + (2 << depth), index2 = index1 + (2 << depth), index3 = index2 + (2 << depth);
+						final double re0 = vector.get(index0), im0 = vector.get(index0 + 1);
+						final double re1 = cos1 * vector.get(index2) - sin1 * vector.get(index2 + 1), im1 = cos1 * vector.get(index2 + 1) + sin1 * vector.get(index2);
+						final double re2 = cos2 * vector.get(index1) - sin2 * vector.get(index1 + 1), im2 = cos2 * vector.get(index1 + 1) + sin2 * vector.get(index1);
+						final double re3 = cos3 * vector.get(index3) - sin3 * vector.get(index3 + 1), im3 = cos3 * vector.get(index3 + 1) + sin3 * vector.get(index3);
+						final double sum02Re = re0 + re2, sum02Im = im0 + im2, dif02Re = re0 - re2, dif02Im = im0 - im2;
+						final double sum13Re = re1 + re3, sum13Im = im1 + im3, dif13Re = sign * (re1 - re3), dif13Im = sign * (im1 - im3);
+						vector.put(index0, sum02Re + sum13Re);
+						vector.put(index0 + 1, sum02Im + sum13Im);
+						vector.put(index1, dif02Re - dif13Im);
+						vector.put(index1 + 1, dif02Im + dif13Re);
+						vector.put(index2, sum02Re - sum13Re);
+						vector.put(index2 + 1, sum02Im - sum13Im);
+						vector.put(index3, dif02Re + dif13Im);
+						vector.put(index3 + 1, dif02Im - dif13Re);
+					}
+				}
+			}
+		}
+
+
+		/**
+		 * Recursively performs the split-radix butterflies of a decimation in frequency transform,
+		 * leaving the result in bit-reversed order. Every block is decomposed into one sub-transform
+		 * of half length for the even frequencies, and two sub-transforms of quarter length for the
+		 * frequencies <tt>4k+1</tt> and <tt>4k+3</tt>. The recursion processes small blocks while they
+		 * are still cache resident. As every value ends up in exactly one leaf block of one or two
+		 * values, the leaves apply the given norm, which spares inverse transforms a separate
+		 * normalization pass over the vector.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param norm the factor the result is scaled with
+		 * @param vector an array of <tt>N</tt> braided complex numbers
+		 * @param base the braided index of the block's first element
+		 * @param magnitude the value <tt>log<sub>2</sub></tt> of the block length
+		 */
+		private void splitRadix (final boolean inverse, final double norm, final double[] vector, final int base, final int magnitude) {
+			if (magnitude == 0) {
+				vector[base]     *= norm;
+				vector[base + 1] *= norm;
+				return;
+			}
+			if (magnitude == 1) {
+				final double re = vector[base + 2], im = vector[base + 3];
+				vector[base + 2] = (vector[base] - re) * norm;
+				vector[base + 3] = (vector[base + 1] - im) * norm;
+				vector[base]     = (vector[base] + re) * norm;
+				vector[base + 1] = (vector[base + 1] + im) * norm;
+				return;
+			}
+
+			// the twiddles w^3j are derived from w^(3j-n/2) = -w^3j once they exceed the stage's table range
+			final double[] cosTable = this.cos, sinTable = this.sin;
+			final double sign = inverse ? -1 : +1;
+			final int quarter = 1 << magnitude - 2, twiddleBase = twiddleIndex(magnitude - 1, 0);
+			for (int offset = 0; offset < quarter; ++offset) {
+				final double cos1 = cosTable[twiddleBase + offset], sin1 = sign * sinTable[twiddleBase + offset];
+				final int offset3 = 3 * offset, twiddle3 = twiddleBase + (offset3 < quarter << 1 ? offset3 : offset3 - (quarter << 1));
+				final double cos3 = offset3 < quarter << 1 ? cosTable[twiddle3] : -cosTable[twiddle3];
+				final double sin3 = offset3 < quarter << 1 ? sign * sinTable[twiddle3] : -sign * sinTable[twiddle3];
+
+				final int index0 = base + (offset << 1), index1 = index0 + (quarter << 1), index2 = index1 + (quarter << 1), index3 = index2 + (quarter << 1);
+				final double dif02Re = vector[index0] - vector[index2], dif02Im = vector[index0 + 1] - vector[index2 + 1];
+				final double dif13Re = sign * (vector[index1] - vector[index3]), dif13Im = sign * (vector[index1 + 1] - vector[index3 + 1]);
+				vector[index0]     += vector[index2];
+				vector[index0 + 1] += vector[index2 + 1];
+				vector[index1]     += vector[index3];
+				vector[index1 + 1] += vector[index3 + 1];
+
+				double re = dif02Re - dif13Im, im = dif02Im + dif13Re;
+				vector[index2]     = cos1 * re - sin1 * im;
+				vector[index2 + 1] = cos1 * im + sin1 * re;
+				re = dif02Re + dif13Im; im = dif02Im - dif13Re;
+				vector[index3]     = cos3 * re - sin3 * im;
+				vector[index3 + 1] = cos3 * im + sin3 * re;
+			}
+
+			this.splitRadix(inverse, norm, vector, base, magnitude - 1);
+			this.splitRadix(inverse, norm, vector, base + (1 << magnitude), magnitude - 2);
+			this.splitRadix(inverse, norm, vector, base + (3 << magnitude - 1), magnitude - 2);
+		}
+
+
+		/**
+		 * Performs the radix-4 butterfly stages of a self-sorting <i>Stockham</i> transform, which
+		 * ping-pongs between the given vector and buffer. Every stage reads and writes its values in
+		 * sequential order, which renders the perfect shuffle unnecessary. An odd magnitude is
+		 * compensated by a final radix-2 stage, which requires no multiplications and is performed in
+		 * place. The final stage applies the given norm, which the last radix-4 stage folds into its
+		 * twiddle factors, sparing inverse transforms a separate normalization pass over the vector.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param norm the factor the result is scaled with
+		 * @param vector an array of <tt>N</tt> braided complex numbers
+		 * @param buffer an array of <tt>2N</tt> elements
+		 * @return the array containing the result, either the given vector or buffer
+		 */
+		private double[] stockham (final boolean inverse, final double norm, final double[] vector, final double[] buffer) {
+			final double[] cosTable = this.cos, sinTable = this.sin;
+			final double sign = inverse ? -1 : +1;
+
+			// the twiddles w^3j are derived from w^(3j-n/2) = -w^3j once they exceed the stage's table range
+			double[] source = vector, target = buffer;
+			int magnitude = this.magnitude, stride = 1;
+			for (; magnitude >= 2; magnitude -= 2, stride <<= 2) {
+				final int quarter = 1 << magnitude - 2, twiddleBase = twiddleIndex(magnitude - 1, 0);
+				final double scale = magnitude == 2 ? norm : 1;
+				for (int offset = 0; offset < quarter; ++offset) {
+					final double cos1 = scale * cosTable[twiddleBase + offset], sin1 = scale * sign * sinTable[twiddleBase + offset];
+					final double cos2 = scale * cosTable[twiddleBase + (offset << 1)], sin2 = scale * sign * sinTable[twiddleBase + (offset << 1)];
+					final int offset3 = 3 * offset, twiddle3 = twiddleBase + (offset3 < quarter << 1 ? offset3 : offset3 - (quarter << 1));
+					final double cos3 = scale * (offset3 < quarter << 1 ? cosTable[twiddle3] : -cosTable[twiddle3]);
+					final double sin3 = scale * (offset3 < quarter << 1 ? sign * sinTable[twiddle3] : -sign * sinTable[twiddle3]);
+
+					final int step = (stride * quarter) << 1;
+					for (int index0 = (stride * offset) << 1, target0 = (stride * offset) << 3, stop = index0 + (stride << 1); index0 < stop; index0 += 2, target0 += 2) {
+						final int index1 = index0 + step, index2 = index1 + step, index3 = index2 + step;
+						final int target1 = target0 + (stride << 1), target2 = target1 + (stride << 1), target3 = target2 + (stride << 1);
+						final double sum02Re = source[index0] + source[index2], sum02Im = source[index0 + 1] + source[index2 + 1];
+						final double dif02Re = source[index0] - source[index2], dif02Im = source[index0 + 1] - source[index2 + 1];
+						final double sum13Re = source[index1] + source[index3], sum13Im = source[index1 + 1] + source[index3 + 1];
+						final double dif13Re = sign * (source[index1] - source[index3]), dif13Im = sign * (source[index1 + 1] - source[index3 + 1]);
+						target[target0]     = scale * (sum02Re + sum13Re);
+						target[target0 + 1] = scale * (sum02Im + sum13Im);
+
+						double re = dif02Re - dif13Im, im = dif02Im + dif13Re;
+						target[target1]     = cos1 * re - sin1 * im;
+						target[target1 + 1] = cos1 * im + sin1 * re;
+						re = sum02Re - sum13Re; im = sum02Im - sum13Im;
+						target[target2]     = cos2 * re - sin2 * im;
+						target[target2 + 1] = cos2 * im + sin2 * re;
+						re = dif02Re + dif13Im; im = dif02Im - dif13Re;
+						target[target3]     = cos3 * re - sin3 * im;
+						target[target3 + 1] = cos3 * im + sin3 * re;
+					}
+				}
+
+				final double[] swap = source;
+				source = target;
+				target = swap;
+			}
+
+			if (magnitude == 1) {
+				for (int left = 0, right = stride << 1; left < stride << 1; left += 2, right += 2) {
+					final double re = source[right], im = source[right + 1];
+					source[right]     = (source[left] - re) * norm;
+					source[right + 1] = (source[left + 1] - im) * norm;
+					source[left]      = (source[left] + re) * norm;
+					source[left + 1]  = (source[left + 1] + im) * norm;
+				}
+			}
+
+			return source;
+		}
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the given vectors of
+		 * <tt>N = 2<sup>magnitude</sup></tt> separated real and imaginary parts. In contrast to
+		 * {@link #fft(boolean, double[])}, the butterfly loops of this variant iterate over consecutive
+		 * offsets within each block, reading both the values and the twiddle factors from unit-stride
+		 * arrays. If the {@linkplain #isVectorized() SIMD backend} is available, it performs all
+		 * stages whose half blocks span whole vectors using explicit vector instructions; otherwise,
+		 * the scalar loops remain eligible for the JIT compiler's auto-vectorization. The norm is
+		 * applied within the initial stage, which requires no multiplications otherwise.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param real an array of <tt>N</tt> real parts
+		 * @param imag an array of <tt>N</tt> imaginary parts
+		 * @throws NullPointerException if any of the given vectors is {@code null}
+		 * @throws IllegalArgumentException if any of the given vector's lengths is not <tt>N</tt>
+		 */
+		public void fft (final boolean inverse, final double[] real, final double[] imag) throws NullPointerException, IllegalArgumentException {
+			this.fft(inverse, inverse ? Math.scalb(1d, -this.magnitude) : 1d, real, imag);
+		}
+
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the given vectors of separated real
+		 * and imaginary parts, scaling the result by the given norm.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param norm the factor the result is scaled with
+		 * @param real an array of <tt>N</tt> real parts
+		 * @param imag an array of <tt>N</tt> imaginary parts
+		 * @throws NullPointerException if any of the given vectors is {@code null}
+		 * @throws IllegalArgumentException if any of the given vector's lengths is not <tt>N</tt>
+		 */
+		void fft (final boolean inverse, final double norm, final double[] real, final double[] imag) throws NullPointerException, IllegalArgumentException {
+			if (real.length != 1 << this.magnitude | imag.length != 1 << this.magnitude) throw new IllegalArgumentException();
+
+			this.bitReversal.permute(real, imag);
+			if (this.magnitude == 0) {
+				real[0] *= norm;
+				imag[0] *= norm;
+				return;
+			}
+
+			// the first stage's twiddle factors are all one, which allows it to apply the norm instead
+			for (int left = 0, right = 1; right < real.length; left += 2, right += 2) {
+				final double re = real[right], im = imag[right];
+				real[right] = (real[left] - re) * norm;
+				imag[right] = (imag[left] - im) * norm;
+				real[left]  = (real[left] + re) * norm;
+				imag[left]  = (imag[left] + im) * norm;
+			}
+
+			// stages whose half blocks span whole vectors are delegated to the SIMD backend, if any
+			final Backend backend = BACKEND;
+			final int limit = backend == null ? this.magnitude : Math.min(this.magnitude, Math.max(1, Integer.numberOfTrailingZeros(backend.doubleLanes())));
+			final double[] cosTable = this.cos, sinTable = this.sin;
+			final double sign = inverse ? -1 : +1;
+			for (int depth = 1; depth < limit; ++depth) {
+				final int half = 1 << depth, twiddleBase = twiddleIndex(depth, 0);
+
+				for (int base = 0; base < real.length; base += half << 1) {
+					for (int offset = 0, left = base, right = base + half; offset < half; ++offset, ++left, ++right) {
+						final double cos = cosTable[twiddleBase + offset];
+						final double sin = sign * sinTable[twiddleBase + offset];
+						final double twidRe = cos * real[right] - sin * imag[right];
+						final double twidIm = cos * imag[right] + sin * real[right];
+						final double re = real[left], im = imag[left];
+						real[right] = re - twidRe;
+						imag[right] = im - twidIm;
+						real[left]  = re + twidRe;
+						imag[left]  = im + twidIm;
+					}
+				}
+			}
+
+			if (limit < this.magnitude) backend.butterflies(inverse, limit, cosTable, sinTable, real, imag);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,183 @@
+package de.sb.toolbox.math;
+
+import static de.sb.toolbox.math.FftTestSupport.randomDoubleVector;
+import static de.sb.toolbox.math.FftTestSupport.randomFloatVector;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.ReadOnlyBufferException;
+import org.junit.Test;
+import de.sb.toolbox.util.ArraySupport;
+
+
+public class FftPlanTest {
+	static private final byte MAGNITUDE = 14;
+	static private final double DOUBLE_PRECISION = 1E-11f;
+	static private final float SINGLE_PRECISION = 1E-4f;
+
+
+	@Test
+	public void testFloatPlan() {
+		for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+			final FftPlan.SinglePrecision plan = new FftPlan.SinglePrecision(magnitude);
+			assertEquals(magnitude, plan.magnitude());
+
+			final float[] values = randomFloatVector(2 << magnitude);
+			for (final boolean inverse : new boolean[] { false, true }) {
+				final float[] fft1 = values.clone(), fft2 = values.clone();
+				FastFourierTransform.transform(inverse, fft1);
+				plan.fft(inverse, fft2);
+				assertArrayEquals(fft1, fft2, SINGLE_PRECISION * (magnitude + 1));
+			}
+		}
+	}
+
+
+	@Test
+	public void testDoublePlan() {
+		for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+			final FftPlan.DoublePrecision plan = new FftPlan.DoublePrecision(magnitude);
+			assertEquals(magnitude, plan.magnitude());
+
+			final double[] values = randomDoubleVector(2 << magnitude);
+			for (final boolean inverse : new boolean[] { false, true }) {
+				final double[] fft1 = values.clone(), fft2 = values.clone();
+				FastFourierTransform.transform(inverse, fft1);
+				plan.fft(inverse, fft2);
+				assertArrayEquals(fft1, fft2, DOUBLE_PRECISION);
+			}
+
+			final double[] roundtrip = values.clone();
+			plan.fft(false, roundtrip);
+			plan.fft(true, roundtrip);
+			assertArrayEquals(values, roundtrip, DOUBLE_PRECISION);
+		}
+	}
+
+
+	@Test
+	public void testFloatSplitPlan() {
+		for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+			final FftPlan.SinglePrecision plan = new FftPlan.SinglePrecision(magnitude);
+			final float[] values = randomFloatVector(2 << magnitude), real = new float[1 << magnitude], imag = new float[1 << magnitude];
+
+			for (final boolean inverse : new boolean[] { false, true }) {
+				final float[] fft1 = values.clone(), fft2 = new float[values.length];
+				ArraySupport.unbraid(values, real, imag);
+				plan.fft(inverse, fft1);
+				plan.fft(inverse, real, imag);
+				ArraySupport.braid(real, imag, fft2);
+				assertArrayEquals(fft1, fft2, SINGLE_PRECISION * (magnitude + 1));
+			}
+		}
+	}
+
+
+	@Test
+	public void testDoubleSplitPlan() {
+		for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+			final FftPlan.DoublePrecision plan = new FftPlan.DoublePrecision(magnitude);
+			final double[] values = randomDoubleVector(2 << magnitude), real = new double[1 << magnitude], imag = new double[1 << magnitude];
+
+			for (final boolean inverse : new boolean[] { false, true }) {
+				final double[] fft1 = values.clone(), fft2 = new double[values.length];
+				ArraySupport.unbraid(values, real, imag);
+				plan.fft(inverse, fft1);
+				plan.fft(inverse, real, imag);
+				ArraySupport.braid(real, imag, fft2);
+				assertArrayEquals(fft1, fft2, DOUBLE_PRECISION);
+			}
+		}
+	}
+
+
+	@Test
+	public void testFloatKernels() {
+		for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+			final FftPlan.SinglePrecision plan = new FftPlan.SinglePrecision(magnitude);
+			final float[] values = randomFloatVector(2 << magnitude);
+
+			for (final FftPlan.Kernel kernel : FftPlan.Kernel.values()) {
+				for (final boolean inverse : new boolean[] { false, true }) {
+					final float[] fft1 = values.clone(), fft2 = values.clone();
+					plan.fft(inverse, fft1);
+					plan.fft(inverse, kernel, fft2);
+					assertArrayEquals(fft1, fft2, SINGLE_PRECISION * (magnitude + 1));
+				}
+			}
+		}
+	}
+
+
+	@Test
+	public void testDoubleKernels() {
+		for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+			final FftPlan.DoublePrecision plan = new FftPlan.DoublePrecision(magnitude);
+			final double[] values = randomDoubleVector(2 << magnitude);
+
+			for (final FftPlan.Kernel kernel : FftPlan.Kernel.values()) {
+				for (final boolean inverse : new boolean[] { false, true }) {
+					final double[] fft1 = values.clone(), fft2 = values.clone();
+					FastFourierTransform.transform(inverse, fft1);
+					plan.fft(inverse, kernel, fft2);
+					assertArrayEquals(fft1, fft2, DOUBLE_PRECISION);
+				}
+			}
+		}
+	}
+
+
+	@Test
+	public void testFloatBufferPlan() {
+		for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+			final FftPlan.SinglePrecision plan = FftPlan.getSinglePrecisionPlan(magnitude);
+			final float[] values = randomFloatVector(2 << magnitude);
+
+			for (final boolean inverse : new boolean[] { false, true }) {
+				final float[] fft1 = values.clone(), fft2 = new float[values.length];
+				final FloatBuffer buffer = ByteBuffer.allocateDirect(values.length << 2).order(ByteOrder.nativeOrder()).asFloatBuffer();
+				buffer.put(values).flip();
+				plan.fft(inverse, fft1);
+				plan.fft(inverse, buffer);
+				buffer.get(fft2);
+				assertArrayEquals(fft1, fft2, SINGLE_PRECISION * (magnitude + 1));
+			}
+		}
+	}
+
+
+	@Test
+	public void testDoubleBufferPlan() {
+		for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+			final FftPlan.DoublePrecision plan = FftPlan.getDoublePrecisionPlan(magnitude);
+			final double[] values = randomDoubleVector(2 << magnitude);
+
+			for (final boolean inverse : new boolean[] { false, true }) {
+				final double[] fft1 = values.clone(), fft2 = new double[values.length];
+				final DoubleBuffer buffer = ByteBuffer.allocateDirect((values.length + 4) << 3).asDoubleBuffer();
+				buffer.position(4);
+				buffer.slice().put(values);
+				plan.fft(inverse, fft1);
+				plan.fft(inverse, buffer);
+				assertEquals(4, buffer.position());
+				buffer.get(fft2);
+				assertArrayEquals(fft1, fft2, DOUBLE_PRECISION);
+			}
+		}
+	}
+
+
+	@Test
+	public void testIllegalLength() {
+		try { new FftPlan.DoublePrecision(4).fft(false, new double[16]); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new FftPlan.SinglePrecision(4).fft(false, new float[64]); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new FftPlan.DoublePrecision(4).fft(false, new double[16], new double[8]); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new FftPlan.DoublePrecision(4).fft(false, FftPlan.Kernel.STOCKHAM, new double[32], new double[16]); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new FftPlan.SinglePrecision(4).fft(false, FloatBuffer.allocate(32).asReadOnlyBuffer()); fail(); } catch (final ReadOnlyBufferException exception) {}
+		try { new FftPlan.SinglePrecision(-1); fail(); } catch (final IllegalArgumentException exception) {}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package de.sb.toolbox.math;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+
+/**
+ * Shared fixtures for the transform tests of this package: random braided test vectors, precision conversions, and a naive
+ * discrete fourier transform serving as reference for plans whose size is not a power of two.
+ */
+class FftTestSupport {
+
+	/**
+	 * Prevents instantiation.
+	 */
+	private FftTestSupport () {}
+
+
+	/**
+	 * Returns the naive discrete fourier transform of the given braided vector, unscaled for forward and scaled by
+	 * <tt>1/N</tt> for inverse transforms.
+	 * @param inverse {@code true} for inverse transform, {@code false} for forward transform
+	 * @param vector the braided complex vector of size <tt>N</tt>
+	 * @return the braided spectrum
+	 */
+	static double[] dft (final boolean inverse, final double[] vector) {
+		final int size = vector.length >> 1;
+		final double[] result = new double[vector.length];
+		for (int frequency = 0; frequency < size; ++frequency) {
+			double re = 0, im = 0;
+			for (int index = 0; index < size; ++index) {
+				final double angle = (inverse ? -2 : 2) * Math.PI * (((long) frequency * index) % size) / size;
+				final double cos = Math.cos(angle), sin = Math.sin(angle);
+				re += cos * vector[2 * index] - sin * vector[2 * index + 1];
+				im += cos * vector[2 * index + 1] + sin * vector[2 * index];
+			}
+			result[2 * frequency] = inverse ? re / size : re;
+			result[2 * frequency + 1] = inverse ? im / size : im;
+		}
+		return result;
+	}
+
+
+	/**
+	 * Returns a double precision copy of the given vector.
+	 * @param vector the vector
+	 * @return the copy
+	 */
+	static double[] toDouble (final float[] vector) {
+		final double[] result = new double[vector.length];
+		for (int index = 0; index < vector.length; ++index) result[index] = vector[index];
+		return result;
+	}
+
+
+	/**
+	 * Returns a single precision copy of the given vector.
+	 * @param vector the vector
+	 * @return the copy
+	 */
+	static float[] toFloat (final double[] vector) {
+		final float[] result = new float[vector.length];
+		for (int index = 0; index < vector.length; ++index) result[index] = (float) vector[index];
+		return result;
+	}
+
+
+	/**
+	 * Returns a vector of the given length whose elements are uniformly distributed within <tt>[-1, +1[</tt>.
+	 * @param length the vector length
+	 * @return the random vector
+	 */
+	static double[] randomDoubleVector (final int length) {
+		final double[] vector = new double[length];
+		for (int index = 0; index < vector.length; ++index) {
+			vector[index] = 2 * ThreadLocalRandom.current().nextDouble() - 1;
+		}
+		return vector;
+	}
+
+
+	/**
+	 * Returns a vector of the given length whose elements are uniformly distributed within <tt>[-1, +1[</tt>.
+	 * @param length the vector length
+	 * @return the random vector
+	 */
+	static float[] randomFloatVector (final int length) {
+		final float[] vector = new float[length];
+		for (int index = 0; index < vector.length; ++index) {
+			vector[index] = (float) (2 * ThreadLocalRandom.current().nextDouble() - 1);
+		}
+		return vector;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,467 @@
+package de.sb.toolbox.math;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import de.sb.toolbox.Copyright;
+
+
+/**
+ * FFT dispatcher based on <i>wisdom</i>, i.e. on the knowledge which FFT {@linkplain Algorithm
+ * algorithm} performs best for a given precision and magnitude on the current machine. As the
+ * relative speed of the algorithms changes with both vector size and processor, the wisdom is
+ * gathered by benchmarking all candidate algorithms once using {@link #tune(int, int)}, and may
+ * then be {@linkplain #store(Path) stored} into a small local properties file. The
+ * {@linkplain #getDefault() default wisdom} is loaded from such a file on first request, which
+ * allows production code to always use the fastest path without re-measuring. Magnitudes lacking
+ * wisdom are transformed using the {@link Algorithm#SPLIT_RADIX split-radix} kernel.
+ * <p>
+ * Wisdom files are only accepted if they have been recorded using the same number of available
+ * processors, as this number decides whether parallel transforms pay off. The default wisdom file
+ * is determined by the system property {@code de.sb.toolbox.math.FftWisdom.path}, and defaults to
+ * {@code .fft-wisdom.properties} within the user's home directory.
+ * <p>
+ * All algorithms follow the conventions of {@link FastFourierTransform}: forward transforms are
+ * unscaled, while inverse transforms are scaled by <tt>1/N</tt>. Instances are thread-safe.
+ */
+@Copyright(year = 2026, holders = "Sascha Baumeister")
+public final class FftWisdom {
+	static private final String PATH_PROPERTY = FftWisdom.class.getName() + ".path";
+	static private final String PROCESSORS_KEY = "processors";
+	static private final String SINGLE_PRECISION_KEY = "single.";
+	static private final String DOUBLE_PRECISION_KEY = "double.";
+	static private final Algorithm DEFAULT_ALGORITHM = Algorithm.SPLIT_RADIX;
+	static private final int BENCHMARK_MAGNITUDE = 18;
+	static private final int BENCHMARK_ROUNDS = 3;
+	static private volatile FftWisdom DEFAULT_WISDOM = null;
+
+	private final AtomicReferenceArray<Algorithm> singlePrecisionAlgorithms;
+	private final AtomicReferenceArray<Algorithm> doublePrecisionAlgorithms;
+
+
+	/**
+	 * The algorithms a wisdom dispatcher chooses from.
+	 */
+	static public enum Algorithm {
+
+		/**
+		 * {@link FastFourierTransform#transformInPlace(boolean, double[])}
+		 */
+		REFERENCE(true),
+
+		/**
+		 * {@link FloatMath#fft(boolean, boolean, float[])} and
+		 * {@link DoubleMath#fft(boolean, boolean, double[])}
+		 */
+		VECTOR_MATH(true),
+
+		/**
+		 * {@link FastFourierTestbed#fft(boolean, double[])}, double precision only
+		 */
+		TESTBED(false),
+
+		/**
+		 * {@link FftPlan} using {@link FftPlan.Kernel#RADIX_2}
+		 */
+		RADIX_2(true),
+
+		/**
+		 * {@link FftPlan} using {@link FftPlan.Kernel#RADIX_4}
+		 */
+		RADIX_4(true),
+
+		/**
+		 * {@link FftPlan} using {@link FftPlan.Kernel#SPLIT_RADIX}
+		 */
+		SPLIT_RADIX(true),
+
+		/**
+		 * {@link FftPlan} using {@link FftPlan.Kernel#STOCKHAM}
+		 */
+		STOCKHAM(true),
+
+		/**
+		 * {@link ForkJoinFft} using the common fork/join pool
+		 */
+		FORK_JOIN(true),
+
+		/**
+		 * {@link GpuMath#fft(boolean, float[])} and {@link GpuMath#fft(boolean, double[])}
+		 */
+		GPU_MATH(true);
+
+
+		private final boolean singlePrecision;
+
+
+		/**
+		 * Creates a new instance.
+		 * @param singlePrecision whether or not the algorithm supports single precision
+		 */
+		private Algorithm (final boolean singlePrecision) {
+			this.singlePrecision = singlePrecision;
+		}
+
+
+		/**
+		 * Returns whether or not this algorithm supports single precision vectors.
+		 * @return {@code true} if single precision is supported, {@code false} otherwise
+		 */
+		public boolean supportsSinglePrecision () {
+			return this.singlePrecision;
+		}
+	}
+
+
+
+	/**
+	 * Creates a new instance without any wisdom.
+	 */
+	public FftWisdom () {
+		this.singlePrecisionAlgorithms = new AtomicReferenceArray<>(30);
+		this.doublePrecisionAlgorithms = new AtomicReferenceArray<>(30);
+	}
+
+
+	/**
+	 * Returns the shared default wisdom, which is loaded from the default wisdom file on first
+	 * request. If said file doesn't exist or cannot be read, the default wisdom starts out empty.
+	 * @return the default wisdom
+	 */
+	static public FftWisdom getDefault () {
+		FftWisdom wisdom = DEFAULT_WISDOM;
+		if (wisdom == null) {
+			synchronized (FftWisdom.class) {
+				wisdom = DEFAULT_WISDOM;
+				if (wisdom == null) {
+					wisdom = new FftWisdom();
+					try {
+						final Path path = getDefaultPath();
+						if (Files.isReadable(path)) wisdom.load(path);
+					} catch (final IOException | IllegalArgumentException exception) {
+						// use empty wisdom
+					}
+					DEFAULT_WISDOM = wisdom;
+				}
+			}
+		}
+		return wisdom;
+	}
+
+
+	/**
+	 * Returns the path of the default wisdom file.
+	 * @return the default wisdom file path
+	 */
+	static public Path getDefaultPath () {
+		final String path = System.getProperty(PATH_PROPERTY);
+		return path == null ? Paths.get(System.getProperty("user.home"), ".fft-wisdom.properties") : Paths.get(path);
+	}
+
+
+	/**
+	 * Returns the algorithm used for single precision transforms of the given magnitude.
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @return the algorithm
+	 * @throws IllegalArgumentException if the given magnitude is negative or exceeds {@code 29}
+	 */
+	public Algorithm getSinglePrecisionAlgorithm (final int magnitude) throws IllegalArgumentException {
+		if (magnitude < 0 | magnitude > 29) throw new IllegalArgumentException();
+		final Algorithm algorithm = this.singlePrecisionAlgorithms.get(magnitude);
+		return algorithm == null ? DEFAULT_ALGORITHM : algorithm;
+	}
+
+
+	/**
+	 * Returns the algorithm used for double precision transforms of the given magnitude.
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @return the algorithm
+	 * @throws IllegalArgumentException if the given magnitude is negative or exceeds {@code 29}
+	 */
+	public Algorithm getDoublePrecisionAlgorithm (final int magnitude) throws IllegalArgumentException {
+		if (magnitude < 0 | magnitude > 29) throw new IllegalArgumentException();
+		final Algorithm algorithm = this.doublePrecisionAlgorithms.get(magnitude);
+		return algorithm == null ? DEFAULT_ALGORITHM : algorithm;
+	}
+
+
+	/**
+	 * Sets the algorithm used for single precision transforms of the given magnitude.
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @param algorithm the algorithm, or {@code null} for the default algorithm
+	 * @throws IllegalArgumentException if the given magnitude is negative or exceeds {@code 29}, or
+	 *         if the given algorithm doesn't support single precision
+	 */
+	public void setSinglePrecisionAlgorithm (final int magnitude, final Algorithm algorithm) throws IllegalArgumentException {
+		if (magnitude < 0 | magnitude > 29 || (algorithm != null && !algorithm.supportsSinglePrecision())) throw new IllegalArgumentException();
+		this.singlePrecisionAlgorithms.set(magnitude, algorithm);
+	}
+
+
+	/**
+	 * Sets the algorithm used for double precision transforms of the given magnitude.
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @param algorithm the algorithm, or {@code null} for the default algorithm
+	 * @throws IllegalArgumentException if the given magnitude is negative or exceeds {@code 29}
+	 */
+	public void setDoublePrecisionAlgorithm (final int magnitude, final Algorithm algorithm) throws IllegalArgumentException {
+		if (magnitude < 0 | magnitude > 29) throw new IllegalArgumentException();
+		this.doublePrecisionAlgorithms.set(magnitude, algorithm);
+	}
+
+
+	/**
+	 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of
+	 * <tt>N = 2<sup>magnitude</sup></tt> braided complex numbers, using the algorithm this wisdom
+	 * considers fastest.
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+	 *        indexed real parts with odd indexed imaginary ones
+	 * @throws NullPointerException if the given vector is {@code null}
+	 * @throws IllegalArgumentException if the given vector's length is not a power of two, or
+	 *         exceeds <tt>2<sup>30</sup></tt>
+	 */
+	public void fft (final boolean inverse, final float[] vector) throws NullPointerException, IllegalArgumentException {
+		final int magnitude = magnitude(vector.length);
+		fft(this.getSinglePrecisionAlgorithm(magnitude), inverse, vector);
+	}
+
+
+	/**
+	 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of
+	 * <tt>N = 2<sup>magnitude</sup></tt> braided complex numbers, using the algorithm this wisdom
+	 * considers fastest.
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+	 *        indexed real parts with odd indexed imaginary ones
+	 * @throws NullPointerException if the given vector is {@code null}
+	 * @throws IllegalArgumentException if the given vector's length is not a power of two, or
+	 *         exceeds <tt>2<sup>30</sup></tt>
+	 */
+	public void fft (final boolean inverse, final double[] vector) throws NullPointerException, IllegalArgumentException {
+		final int magnitude = magnitude(vector.length);
+		fft(this.getDoublePrecisionAlgorithm(magnitude), inverse, vector);
+	}
+
+
+	/**
+	 * Benchmarks all candidate algorithms for both precisions and the given range of magnitudes,
+	 * and records the fastest ones as wisdom. Each candidate is warmed up, and then timed
+	 * {@value #BENCHMARK_ROUNDS} times using about <tt>2<sup>18</sup></tt> complex values per
+	 * round, keeping the best round. Note that tuning takes about a second per magnitude, and
+	 * should therefore be performed once per machine, not during production.
+	 * @param fromMagnitude the first magnitude, inclusive
+	 * @param toMagnitude the last magnitude, inclusive
+	 * @throws IllegalArgumentException if the given range is empty, or not within
+	 *         <tt>[0, 29]</tt>
+	 */
+	public void tune (final int fromMagnitude, final int toMagnitude) throws IllegalArgumentException {
+		if (fromMagnitude < 0 | toMagnitude > 29 | fromMagnitude > toMagnitude) throw new IllegalArgumentException();
+
+		for (int magnitude = fromMagnitude; magnitude <= toMagnitude; ++magnitude) {
+			final int loopCount = 1 << Math.max(0, BENCHMARK_MAGNITUDE - magnitude);
+			final double[] template = new double[2 << magnitude];
+			for (int index = 0; index < template.length; ++index) {
+				template[index] = 2 * ThreadLocalRandom.current().nextDouble() - 1;
+			}
+
+			final float[] singleVector = new float[template.length];
+			Algorithm singleWinner = DEFAULT_ALGORITHM;
+			long singleMinimum = Long.MAX_VALUE;
+			for (final Algorithm algorithm : Algorithm.values()) {
+				if (!algorithm.supportsSinglePrecision()) continue;
+
+				long minimum = Long.MAX_VALUE;
+				for (int round = 0; round <= BENCHMARK_ROUNDS; ++round) {
+					for (int index = 0; index < template.length; ++index) singleVector[index] = (float) template[index];
+
+					final long timestamp = System.nanoTime();
+					for (int loop = 0; loop < loopCount; ++loop) {
+						fft(algorithm, false, singleVector);
+						fft(algorithm, true, singleVector);
+					}
+					if (round > 0) minimum = Math.min(minimum, System.nanoTime() - timestamp);
+				}
+
+				if (minimum < singleMinimum) {
+					singleMinimum = minimum;
+					singleWinner = algorithm;
+				}
+			}
+
+			final double[] doubleVector = new double[template.length];
+			Algorithm doubleWinner = DEFAULT_ALGORITHM;
+			long doubleMinimum = Long.MAX_VALUE;
+			for (final Algorithm algorithm : Algorithm.values()) {
+				long minimum = Long.MAX_VALUE;
+				for (int round = 0; round <= BENCHMARK_ROUNDS; ++round) {
+					System.arraycopy(template, 0, doubleVector, 0, template.length);
+
+					final long timestamp = System.nanoTime();
+					for (int loop = 0; loop < loopCount; ++loop) {
+						fft(algorithm, false, doubleVector);
+						fft(algorithm, true, doubleVector);
+					}
+					if (round > 0) minimum = Math.min(minimum, System.nanoTime() - timestamp);
+				}
+
+				if (minimum < doubleMinimum) {
+					doubleMinimum = minimum;
+					doubleWinner = algorithm;
+				}
+			}
+
+			this.setSinglePrecisionAlgorithm(magnitude, singleWinner);
+			this.setDoublePrecisionAlgorithm(magnitude, doubleWinner);
+		}
+	}
+
+
+	/**
+	 * Loads the wisdom stored within the given file, replacing the wisdom of all magnitudes
+	 * contained. Files recorded with a different number of available processors are ignored.
+	 * @param path the wisdom file path
+	 * @throws NullPointerException if the given path is {@code null}
+	 * @throws IllegalArgumentException if the given file contains an unknown algorithm, or an
+	 *         algorithm not supporting the precision it is recorded for
+	 * @throws IOException if there is an I/O related problem
+	 */
+	public void load (final Path path) throws NullPointerException, IllegalArgumentException, IOException {
+		final Properties properties = new Properties();
+		try (InputStream byteSource = Files.newInputStream(path)) {
+			properties.load(byteSource);
+		}
+		if (!Integer.toString(Runtime.getRuntime().availableProcessors()).equals(properties.getProperty(PROCESSORS_KEY))) return;
+
+		for (int magnitude = 0; magnitude <= 29; ++magnitude) {
+			final String singleName = properties.getProperty(SINGLE_PRECISION_KEY + magnitude);
+			if (singleName != null) this.setSinglePrecisionAlgorithm(magnitude, Algorithm.valueOf(singleName));
+
+			final String doubleName = properties.getProperty(DOUBLE_PRECISION_KEY + magnitude);
+			if (doubleName != null) this.setDoublePrecisionAlgorithm(magnitude, Algorithm.valueOf(doubleName));
+		}
+	}
+
+
+	/**
+	 * Stores this wisdom into the given file, which is created or replaced.
+	 * @param path the wisdom file path
+	 * @throws NullPointerException if the given path is {@code null}
+	 * @throws IOException if there is an I/O related problem
+	 */
+	public void store (final Path path) throws NullPointerException, IOException {
+		final Properties properties = new Properties();
+		properties.setProperty(PROCESSORS_KEY, Integer.toString(Runtime.getRuntime().availableProcessors()));
+		for (int magnitude = 0; magnitude <= 29; ++magnitude) {
+			final Algorithm singleAlgorithm = this.singlePrecisionAlgorithms.get(magnitude);
+			if (singleAlgorithm != null) properties.setProperty(SINGLE_PRECISION_KEY + magnitude, singleAlgorithm.name());
+
+			final Algorithm doubleAlgorithm = this.doublePrecisionAlgorithms.get(magnitude);
+			if (doubleAlgorithm != null) properties.setProperty(DOUBLE_PRECISION_KEY + magnitude, doubleAlgorithm.name());
+		}
+
+		try (OutputStream byteSink = Files.newOutputStream(path)) {
+			properties.store(byteSink, "FFT wisdom, os.arch=" + System.getProperty("os.arch"));
+		}
+	}
+
+
+	/**
+	 * Returns the magnitude of the given braided vector length.
+	 * @param length the vector length
+	 * @return the value <tt>log<sub>2</sub>(length/2)</tt>
+	 * @throws IllegalArgumentException if the given length is not a power of two, is smaller
+	 *         than {@code 2}, or exceeds <tt>2<sup>30</sup></tt>
+	 */
+	static private int magnitude (final int length) throws IllegalArgumentException {
+		if (length < 2 | length > 1 << 30 | Integer.bitCount(length) != 1) throw new IllegalArgumentException();
+		return Integer.numberOfTrailingZeros(length) - 1;
+	}
+
+
+	/**
+	 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector using the given
+	 * algorithm.
+	 * @param algorithm the algorithm
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param vector the braided vector
+	 */
+	static private void fft (final Algorithm algorithm, final boolean inverse, final float[] vector) {
+		switch (algorithm) {
+			case REFERENCE:
+				FastFourierTransform.transformInPlace(inverse, vector);
+				break;
+			case VECTOR_MATH:
+				FloatMath.fft(inverse, false, vector);
+				break;
+			case RADIX_2:
+				FftPlan.getSinglePrecisionPlan(magnitude(vector.length)).fft(inverse, FftPlan.Kernel.RADIX_2, vector);
+				break;
+			case RADIX_4:
+				FftPlan.getSinglePrecisionPlan(magnitude(vector.length)).fft(inverse, FftPlan.Kernel.RADIX_4, vector);
+				break;
+			case SPLIT_RADIX:
+				FftPlan.getSinglePrecisionPlan(magnitude(vector.length)).fft(inverse, FftPlan.Kernel.SPLIT_RADIX, vector);
+				break;
+			case STOCKHAM:
+				FftPlan.getSinglePrecisionPlan(magnitude(vector.length)).fft(inverse, FftPlan.Kernel.STOCKHAM, vector);
+				break;
+			case FORK_JOIN:
+				ForkJoinFft.fft(FftPlan.getSinglePrecisionPlan(magnitude(vector.length)), inverse, vector);
+				break;
+			case GPU_MATH:
+				GpuMath.fft(inverse, vector);
+				break;
+			default:
+				throw new AssertionError();
+		}
+	}
+
+
+	/**
+	 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector using the given
+	 * algorithm.
+	 * @param algorithm the algorithm
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param vector the braided vector
+	 */
+	static private void fft (final Algorithm algorithm, final boolean inverse, final double[] vector) {
+		switch (algorithm) {
+			case REFERENCE:
+				FastFourierTransform.transformInPlace(inverse, vector);
+				break;
+			case VECTOR_MATH:
+				DoubleMath.fft(inverse, false, vector);
+				break;
+			case TESTBED:
+				FastFourierTestbed.fft(inverse, vector);
+				break;
+			case RADIX_2:
+				FftPlan.getDoublePrecisionPlan(magnitude(vector.length)).fft(inverse, FftPlan.Kernel.RADIX_2, vector);
+				break;
+			case RADIX_4:
+				FftPlan.getDoublePrecisionPlan(magnitude(vector.length)).fft(inverse, FftPlan.Kernel.RADIX_4, vector);
+				break;
+			case SPLIT_RADIX:
+				FftPlan.getDoublePrecisionPlan(magnitude(vector.length)).fft(inverse, FftPlan.Kernel.SPLIT_RADIX, vector);
+				break;
+			case STOCKHAM:
+				FftPlan.getDoublePrecisionPlan(magnitude(vector.length)).fft(inverse, FftPlan.Kernel.STOCKHAM, vector);
+				break;
+			case FORK_JOIN:
+				ForkJoinFft.fft(FftPlan.getDoublePrecisionPlan(magnitude(vector.length)), inverse, vector);
+				break;
+			case GPU_MATH:
+				GpuMath.fft(inverse, vector);
+				break;
+			default:
+				throw new AssertionError();
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package de.sb.toolbox.math;
+
+import static de.sb.toolbox.math.FftTestSupport.randomDoubleVector;
+import static de.sb.toolbox.math.FftTestSupport.randomFloatVector;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.Test;
+
+
+public class FftWisdomTest {
+	static private final byte MAGNITUDE = 10;
+	static private final double DOUBLE_PRECISION = 1E-11f;
+	static private final float SINGLE_PRECISION = 1E-4f;
+
+
+	@Test
+	public void testFloatAlgorithms() {
+		final FftWisdom wisdom = new FftWisdom();
+		for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+			final float[] values = randomFloatVector(2 << magnitude);
+
+			for (final FftWisdom.Algorithm algorithm : FftWisdom.Algorithm.values()) {
+				if (!algorithm.supportsSinglePrecision()) continue;
+				wisdom.setSinglePrecisionAlgorithm(magnitude, algorithm);
+				assertEquals(algorithm, wisdom.getSinglePrecisionAlgorithm(magnitude));
+
+				for (final boolean inverse : new boolean[] { false, true }) {
+					final float[] fft1 = values.clone(), fft2 = values.clone();
+					FastFourierTransform.transform(inverse, fft1);
+					wisdom.fft(inverse, fft2);
+					assertArrayEquals(fft1, fft2, SINGLE_PRECISION * (magnitude + 1));
+				}
+			}
+		}
+	}
+
+
+	@Test
+	public void testDoubleAlgorithms() {
+		final FftWisdom wisdom = new FftWisdom();
+		for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+			final double[] values = randomDoubleVector(2 << magnitude);
+
+			for (final FftWisdom.Algorithm algorithm : FftWisdom.Algorithm.values()) {
+				wisdom.setDoublePrecisionAlgorithm(magnitude, algorithm);
+				assertEquals(algorithm, wisdom.getDoublePrecisionAlgorithm(magnitude));
+
+				for (final boolean inverse : new boolean[] { false, true }) {
+					final double[] fft1 = values.clone(), fft2 = values.clone();
+					FastFourierTransform.transform(inverse, fft1);
+					wisdom.fft(inverse, fft2);
+					assertArrayEquals(fft1, fft2, DOUBLE_PRECISION);
+				}
+			}
+		}
+	}
+
+
+	@Test
+	public void testTuneAndPersist() throws IOException {
+		final FftWisdom wisdom = new FftWisdom(), copy = new FftWisdom();
+		wisdom.tune(3, 4);
+		assertEquals(FftWisdom.Algorithm.SPLIT_RADIX, wisdom.getDoublePrecisionAlgorithm(5));
+
+		final Path path = Files.createTempFile("fft-wisdom-", ".properties");
+		try {
+			wisdom.store(path);
+			copy.load(path);
+			for (int magnitude = 0; magnitude <= 29; ++magnitude) {
+				assertEquals(wisdom.getSinglePrecisionAlgorithm(magnitude), copy.getSinglePrecisionAlgorithm(magnitude));
+				assertEquals(wisdom.getDoublePrecisionAlgorithm(magnitude), copy.getDoublePrecisionAlgorithm(magnitude));
+			}
+
+			Files.write(path, Arrays.asList("processors=0", "double.3=TESTBED"));
+			copy.setDoublePrecisionAlgorithm(3, FftWisdom.Algorithm.RADIX_2);
+			copy.load(path);
+			assertEquals(FftWisdom.Algorithm.RADIX_2, copy.getDoublePrecisionAlgorithm(3));
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+
+	@Test
+	public void testIllegalArguments() {
+		final FftWisdom wisdom = new FftWisdom();
+		try { wisdom.fft(false, new double[48]); fail(); } catch (final IllegalArgumentException exception) {}
+		try { wisdom.fft(false, new float[0]); fail(); } catch (final IllegalArgumentException exception) {}
+		try { wisdom.setSinglePrecisionAlgorithm(4, FftWisdom.Algorithm.TESTBED); fail(); } catch (final IllegalArgumentException exception) {}
+		try { wisdom.getDoublePrecisionAlgorithm(30); fail(); } catch (final IllegalArgumentException exception) {}
+		try { wisdom.tune(5, 4); fail(); } catch (final IllegalArgumentException exception) {}
+	}
+}
\ No newline at end of file
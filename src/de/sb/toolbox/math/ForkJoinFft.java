@@ -0,0 +1,448 @@
+package de.sb.toolbox.math;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import de.sb.toolbox.Copyright;
+
+
+/**
+ * Fork/join based parallel FFT engine for {@link FftPlan plans}. Instead of submitting parallel
+ * work per butterfly stage and offset, the butterfly stages are grouped into a few passes over
+ * the vector. Each pass decomposes into independent blocks of <tt>2<sup>BLOCK_MAGNITUDE</sup></tt>
+ * complex numbers that fit into the L1/L2 caches, and which are processed through all stages of
+ * the pass before the next block is touched:
+ * <ul>
+ * <li>the first pass covers the lowest stages, whose butterflies stay within consecutive blocks.</li>
+ * <li>every following pass covers further stages, using blocks of
+ * <tt>2<sup>TILE_MAGNITUDE</sup></tt> consecutive columns taken from strided rows, which keeps the
+ * innermost loops sequential.</li>
+ * </ul>
+ * Therefore a transform of <tt>2<sup>24</sup></tt> complex numbers requires one parallel perfect
+ * shuffle and three parallel passes, regardless of the number of threads. Vectors no larger than
+ * a single block are transformed within the calling thread. If the
+ * {@linkplain FftPlan#isVectorized() SIMD backend} is available, every run of consecutive
+ * butterflies that spans whole vector registers is delegated to it.
+ */
+@Copyright(year = 2026, holders = "Sascha Baumeister")
+public final class ForkJoinFft {
+	static private final int BLOCK_MAGNITUDE = 10;
+	static private final int TILE_MAGNITUDE = 4;
+	static private final int SEGMENT_THRESHOLD = 1 << 13 - BitReversal.SEGMENT_MAGNITUDE;
+
+
+	/**
+	 * Prevents external instantiation.
+	 */
+	private ForkJoinFft () {}
+
+
+
+	/**
+	 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of
+	 * <tt>N = 2<sup>magnitude</sup></tt> braided complex numbers, using the common fork/join pool.
+	 * @param plan the FFT plan
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+	 *        indexed real parts with odd indexed imaginary ones
+	 * @throws NullPointerException if any of the given arguments is {@code null}
+	 * @throws IllegalArgumentException if the given vector's length doesn't match the plan
+	 * @see FftPlan.SinglePrecision#fft(boolean, float[])
+	 */
+	static public void fft (final FftPlan.SinglePrecision plan, final boolean inverse, final float[] vector) throws NullPointerException, IllegalArgumentException {
+		fft(ForkJoinPool.commonPool(), plan, inverse, vector);
+	}
+
+
+	/**
+	 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of
+	 * <tt>N = 2<sup>magnitude</sup></tt> braided complex numbers, using the given fork/join pool.
+	 * @param pool the fork/join pool
+	 * @param plan the FFT plan
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+	 *        indexed real parts with odd indexed imaginary ones
+	 * @throws NullPointerException if any of the given arguments is {@code null}
+	 * @throws IllegalArgumentException if the given vector's length doesn't match the plan
+	 * @see FftPlan.SinglePrecision#fft(boolean, float[])
+	 */
+	static public void fft (final ForkJoinPool pool, final FftPlan.SinglePrecision plan, final boolean inverse, final float[] vector) throws NullPointerException, IllegalArgumentException {
+		fft(pool, plan, inverse, inverse ? Math.scalb(1f, -plan.magnitude) : 1f, vector);
+	}
+
+
+	/**
+	 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of
+	 * <tt>N = 2<sup>magnitude</sup></tt> braided complex numbers, using the common fork/join pool.
+	 * @param plan the FFT plan
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+	 *        indexed real parts with odd indexed imaginary ones
+	 * @throws NullPointerException if any of the given arguments is {@code null}
+	 * @throws IllegalArgumentException if the given vector's length doesn't match the plan
+	 * @see FftPlan.DoublePrecision#fft(boolean, double[])
+	 */
+	static public void fft (final FftPlan.DoublePrecision plan, final boolean inverse, final double[] vector) throws NullPointerException, IllegalArgumentException {
+		fft(ForkJoinPool.commonPool(), plan, inverse, vector);
+	}
+
+
+	/**
+	 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of
+	 * <tt>N = 2<sup>magnitude</sup></tt> braided complex numbers, using the given fork/join pool.
+	 * @param pool the fork/join pool
+	 * @param plan the FFT plan
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+	 *        indexed real parts with odd indexed imaginary ones
+	 * @throws NullPointerException if any of the given arguments is {@code null}
+	 * @throws IllegalArgumentException if the given vector's length doesn't match the plan
+	 * @see FftPlan.DoublePrecision#fft(boolean, double[])
+	 */
+	static public void fft (final ForkJoinPool pool, final FftPlan.DoublePrecision plan, final boolean inverse, final double[] vector) throws NullPointerException, IllegalArgumentException {
+		fft(pool, plan, inverse, inverse ? Math.scalb(1d, -plan.magnitude) : 1d, vector);
+	}
+
+
+	/**
+	 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector, scaling the result by
+	 * the given norm.
+	 * @param pool the fork/join pool
+	 * @param plan the FFT plan
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param norm the factor the result is scaled with
+	 * @param vector an array of <tt>N</tt> braided complex numbers
+	 * @throws NullPointerException if any of the given arguments is {@code null}
+	 * @throws IllegalArgumentException if the given vector's length doesn't match the plan
+	 */
+	static void fft (final ForkJoinPool pool, final FftPlan.SinglePrecision plan, final boolean inverse, final float norm, final float[] vector) throws NullPointerException, IllegalArgumentException {
+		final int magnitude = plan.magnitude;
+		if (vector.length != 2 << magnitude) throw new IllegalArgumentException();
+
+		if (magnitude <= BLOCK_MAGNITUDE) {
+			plan.bitReversal.permute(vector);
+			new SinglePrecisionPassAction(plan, inverse, norm, vector, 0, magnitude, 0, 0, 1).compute();
+			return;
+		}
+
+		pool.invoke(new SinglePrecisionShuffleAction(plan.bitReversal, vector, 0, plan.bitReversal.segmentCount));
+		for (int fromDepth = 0, toDepth = BLOCK_MAGNITUDE; fromDepth < magnitude; fromDepth = toDepth, toDepth = Math.min(magnitude, toDepth + BLOCK_MAGNITUDE - TILE_MAGNITUDE)) {
+			final int tileMagnitude = Math.min(fromDepth, BLOCK_MAGNITUDE - (toDepth - fromDepth));
+			final int blockCount = 1 << magnitude - (toDepth - fromDepth) - tileMagnitude;
+			pool.invoke(new SinglePrecisionPassAction(plan, inverse, toDepth == magnitude ? norm : 1f, vector, fromDepth, toDepth, tileMagnitude, 0, blockCount));
+		}
+	}
+
+
+	/**
+	 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector, scaling the result by
+	 * the given norm.
+	 * @param pool the fork/join pool
+	 * @param plan the FFT plan
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param norm the factor the result is scaled with
+	 * @param vector an array of <tt>N</tt> braided complex numbers
+	 * @throws NullPointerException if any of the given arguments is {@code null}
+	 * @throws IllegalArgumentException if the given vector's length doesn't match the plan
+	 */
+	static void fft (final ForkJoinPool pool, final FftPlan.DoublePrecision plan, final boolean inverse, final double norm, final double[] vector) throws NullPointerException, IllegalArgumentException {
+		final int magnitude = plan.magnitude;
+		if (vector.length != 2 << magnitude) throw new IllegalArgumentException();
+
+		if (magnitude <= BLOCK_MAGNITUDE) {
+			plan.bitReversal.permute(vector);
+			new DoublePrecisionPassAction(plan, inverse, norm, vector, 0, magnitude, 0, 0, 1).compute();
+			return;
+		}
+
+		pool.invoke(new DoublePrecisionShuffleAction(plan.bitReversal, vector, 0, plan.bitReversal.segmentCount));
+		for (int fromDepth = 0, toDepth = BLOCK_MAGNITUDE; fromDepth < magnitude; fromDepth = toDepth, toDepth = Math.min(magnitude, toDepth + BLOCK_MAGNITUDE - TILE_MAGNITUDE)) {
+			final int tileMagnitude = Math.min(fromDepth, BLOCK_MAGNITUDE - (toDepth - fromDepth));
+			final int blockCount = 1 << magnitude - (toDepth - fromDepth) - tileMagnitude;
+			pool.invoke(new DoublePrecisionPassAction(plan, inverse, toDepth == magnitude ? norm : 1d, vector, fromDepth, toDepth, tileMagnitude, 0, blockCount));
+		}
+	}
+
+
+
+	/**
+	 * Fork/join action performing the perfect shuffle within a range of independent segments.
+	 */
+	@SuppressWarnings("serial")
+	static private final class SinglePrecisionShuffleAction extends RecursiveAction {
+		private final BitReversal bitReversal;
+		private final float[] vector;
+		private final int fromSegment, toSegment;
+
+		public SinglePrecisionShuffleAction (final BitReversal bitReversal, final float[] vector, final int fromSegment, final int toSegment) {
+			this.bitReversal = bitReversal;
+			this.vector = vector;
+			this.fromSegment = fromSegment;
+			this.toSegment = toSegment;
+		}
+
+		protected void compute () {
+			if (this.toSegment - this.fromSegment > SEGMENT_THRESHOLD) {
+				final int midSegment = (this.fromSegment + this.toSegment) >>> 1;
+				invokeAll(
+					new SinglePrecisionShuffleAction(this.bitReversal, this.vector, this.fromSegment, midSegment),
+					new SinglePrecisionShuffleAction(this.bitReversal, this.vector, midSegment, this.toSegment)
+				);
+				return;
+			}
+
+			this.bitReversal.permute(this.vector, 0, 1, this.fromSegment, this.toSegment);
+		}
+	}
+
+
+
+	/**
+	 * Fork/join action performing the butterfly stages <tt>[fromDepth, toDepth[</tt> within a
+	 * range of blocks. Every block consists of the <tt>2<sup>toDepth-fromDepth</sup></tt> rows
+	 * sharing the same high index bits, and <tt>2<sup>tileMagnitude</sup></tt> consecutive low
+	 * index bit columns. The norm is applied within the last stage, by scaling both the twiddle
+	 * factors and the left butterfly operands.
+	 */
+	@SuppressWarnings("serial")
+	static private final class SinglePrecisionPassAction extends RecursiveAction {
+		private final FftPlan.SinglePrecision plan;
+		private final boolean inverse;
+		private final float norm;
+		private final float[] vector;
+		private final int fromDepth, toDepth, tileMagnitude;
+		private final int fromBlock, toBlock;
+
+		public SinglePrecisionPassAction (final FftPlan.SinglePrecision plan, final boolean inverse, final float norm, final float[] vector, final int fromDepth, final int toDepth, final int tileMagnitude, final int fromBlock, final int toBlock) {
+			this.plan = plan;
+			this.inverse = inverse;
+			this.norm = norm;
+			this.vector = vector;
+			this.fromDepth = fromDepth;
+			this.toDepth = toDepth;
+			this.tileMagnitude = tileMagnitude;
+			this.fromBlock = fromBlock;
+			this.toBlock = toBlock;
+		}
+
+		protected void compute () {
+			if (this.toBlock - this.fromBlock > 1) {
+				final int midBlock = (this.fromBlock + this.toBlock) >>> 1;
+				invokeAll(
+					new SinglePrecisionPassAction(this.plan, this.inverse, this.norm, this.vector, this.fromDepth, this.toDepth, this.tileMagnitude, this.fromBlock, midBlock),
+					new SinglePrecisionPassAction(this.plan, this.inverse, this.norm, this.vector, this.fromDepth, this.toDepth, this.tileMagnitude, midBlock, this.toBlock)
+				);
+				return;
+			}
+
+			final float[] vector = this.vector, cosTable = this.plan.cos, sinTable = this.plan.sin;
+			final int fromDepth = this.fromDepth, toDepth = this.toDepth, rowMagnitude = toDepth - fromDepth;
+			final int high = this.fromBlock >> fromDepth - this.tileMagnitude;
+			final int fromColumn = (this.fromBlock << this.tileMagnitude) & ((1 << fromDepth) - 1), toColumn = fromColumn + (1 << this.tileMagnitude);
+
+			// butterfly sequences spanning whole vectors are delegated to the SIMD backend, if any
+			final FftPlan.Backend backend = FftPlan.BACKEND;
+			final int lanes = backend == null ? Integer.MAX_VALUE : backend.floatLanes();
+
+			if (fromDepth == 0) {
+				final int fromIndex = high << toDepth + 1, toIndex = (high + 1) << toDepth + 1;
+				for (int depth = 0; depth < toDepth; ++depth) {
+					final float scale = depth == toDepth - 1 ? this.norm : 1f;
+					if (1 << depth >= lanes) {
+						for (int left = fromIndex; left < toIndex; left += 4 << depth) {
+							backend.butterflies(this.inverse, scale, cosTable, sinTable, FftPlan.twiddleIndex(depth, 0), vector, left, left + (2 << depth), 1 << depth);
+						}
+						continue;
+					}
+
+					for (int offset = 0; offset < 1 << depth; ++offset) {
+						final float cos = scale * cosTable[FftPlan.twiddleIndex(depth, offset)];
+						final float sin = scale * (this.inverse ? -sinTable[FftPlan.twiddleIndex(depth, offset)] : sinTable[FftPlan.twiddleIndex(depth, offset)]);
+
+						for (int left = fromIndex + (offset << 1), right = left + (2 << depth); left < toIndex; left += 4 << depth, right += 4 << depth) {
+							float re = vector[right], im = vector[right + 1];
+							final float twidRe = cos * re - sin * im;
+							final float twidIm = cos * im + sin * re;
+							re = scale * vector[left]; im = scale * vector[left + 1];
+							vector[right]     = re - twidRe;
+							vector[right + 1] = im - twidIm;
+							vector[left]      = re + twidRe;
+							vector[left + 1]  = im + twidIm;
+						}
+					}
+				}
+			} else {
+				for (int depth = fromDepth; depth < toDepth; ++depth) {
+					final float scale = depth == toDepth - 1 ? this.norm : 1f;
+					final int shift = depth - fromDepth;
+					for (int pair = 0; pair < 1 << rowMagnitude - 1; ++pair) {
+						final int rowOffset = pair & ((1 << shift) - 1);
+						final int row = ((pair >> shift) << shift + 1) | rowOffset;
+						final int base = (high << toDepth) | (row << fromDepth);
+						final int twiddleBase = FftPlan.twiddleIndex(depth, rowOffset << fromDepth);
+						if (toColumn - fromColumn >= lanes) {
+							backend.butterflies(this.inverse, scale, cosTable, sinTable, twiddleBase + fromColumn, vector, (base + fromColumn) << 1, ((base + fromColumn) << 1) + (2 << depth), toColumn - fromColumn);
+							continue;
+						}
+
+						for (int column = fromColumn; column < toColumn; ++column) {
+							final float cos = scale * cosTable[twiddleBase + column];
+							final float sin = scale * (this.inverse ? -sinTable[twiddleBase + column] : sinTable[twiddleBase + column]);
+							final int left = (base + column) << 1, right = left + (2 << depth);
+
+							float re = vector[right], im = vector[right + 1];
+							final float twidRe = cos * re - sin * im;
+							final float twidIm = cos * im + sin * re;
+							re = scale * vector[left]; im = scale * vector[left + 1];
+							vector[right]     = re - twidRe;
+							vector[right + 1] = im - twidIm;
+							vector[left]      = re + twidRe;
+							vector[left + 1]  = im + twidIm;
+						}
+					}
+				}
+			}
+		}
+	}
+
+
+
+	/**
+	 * Fork/join action performing the perfect shuffle within a range of independent segments.
+	 */
+	@SuppressWarnings("serial")
+	static private final class DoublePrecisionShuffleAction extends RecursiveAction {
+		private final BitReversal bitReversal;
+		private final double[] vector;
+		private final int fromSegment, toSegment;
+
+		public DoublePrecisionShuffleAction (final BitReversal bitReversal, final double[] vector, final int fromSegment, final int toSegment) {
+			this.bitReversal = bitReversal;
+			this.vector = vector;
+			this.fromSegment = fromSegment;
+			this.toSegment = toSegment;
+		}
+
+		protected void compute () {
+			if (this.toSegment - this.fromSegment > SEGMENT_THRESHOLD) {
+				final int midSegment = (this.fromSegment + this.toSegment) >>> 1;
+				invokeAll(
+					new DoublePrecisionShuffleAction(this.bitReversal, this.vector, this.fromSegment, midSegment),
+					new DoublePrecisionShuffleAction(this.bitReversal, this.vector, midSegment, this.toSegment)
+				);
+				return;
+			}
+
+			this.bitReversal.permute(this.vector, 0, 1, this.fromSegment, this.toSegment);
+		}
+	}
+
+
+
+	/**
+	 * Fork/join action performing the butterfly stages <tt>[fromDepth, toDepth[</tt> within a
+	 * range of blocks. Every block consists of the <tt>2<sup>toDepth-fromDepth</sup></tt> rows
+	 * sharing the same high index bits, and <tt>2<sup>tileMagnitude</sup></tt> consecutive low
+	 * index bit columns. The norm is applied within the last stage, by scaling both the twiddle
+	 * factors and the left butterfly operands.
+	 */
+	@SuppressWarnings("serial")
+	static private final class DoublePrecisionPassAction extends RecursiveAction {
+		private final FftPlan.DoublePrecision plan;
+		private final boolean inverse;
+		private final double norm;
+		private final double[] vector;
+		private final int fromDepth, toDepth, tileMagnitude;
+		private final int fromBlock, toBlock;
+
+		public DoublePrecisionPassAction (final FftPlan.DoublePrecision plan, final boolean inverse, final double norm, final double[] vector, final int fromDepth, final int toDepth, final int tileMagnitude, final int fromBlock, final int toBlock) {
+			this.plan = plan;
+			this.inverse = inverse;
+			this.norm = norm;
+			this.vector = vector;
+			this.fromDepth = fromDepth;
+			this.toDepth = toDepth;
+			this.tileMagnitude = tileMagnitude;
+			this.fromBlock = fromBlock;
+			this.toBlock = toBlock;
+		}
+
+		protected void compute () {
+			if (this.toBlock - this.fromBlock > 1) {
+				final int midBlock = (this.fromBlock + this.toBlock) >>> 1;
+				invokeAll(
+					new DoublePrecisionPassAction(this.plan, this.inverse, this.norm, this.vector, this.fromDepth, this.toDepth, this.tileMagnitude, this.fromBlock, midBlock),
+					new DoublePrecisionPassAction(this.plan, this.inverse, this.norm, this.vector, this.fromDepth, this.toDepth, this.tileMagnitude, midBlock, this.toBlock)
+				);
+				return;
+			}
+
+			final double[] vector = this.vector, cosTable = this.plan.cos, sinTable = this.plan.sin;
+			final int fromDepth = this.fromDepth, toDepth = this.toDepth, rowMagnitude = toDepth - fromDepth;
+			final int high = this.fromBlock >> fromDepth - this.tileMagnitude;
+			final int fromColumn = (this.fromBlock << this.tileMagnitude) & ((1 << fromDepth) - 1), toColumn = fromColumn + (1 << this.tileMagnitude);
+
+			// butterfly sequences spanning whole vectors are delegated to the SIMD backend, if any
+			final FftPlan.Backend backend = FftPlan.BACKEND;
+			final int lanes = backend == null ? Integer.MAX_VALUE : backend.doubleLanes();
+
+			if (fromDepth == 0) {
+				final int fromIndex = high << toDepth + 1, toIndex = (high + 1) << toDepth + 1;
+				for (int depth = 0; depth < toDepth; ++depth) {
+					final double scale = depth == toDepth - 1 ? this.norm : 1d;
+					if (1 << depth >= lanes) {
+						for (int left = fromIndex; left < toIndex; left += 4 << depth) {
+							backend.butterflies(this.inverse, scale, cosTable, sinTable, FftPlan.twiddleIndex(depth, 0), vector, left, left + (2 << depth), 1 << depth);
+						}
+						continue;
+					}
+
+					for (int offset = 0; offset < 1 << depth; ++offset) {
+						final double cos = scale * cosTable[FftPlan.twiddleIndex(depth, offset)];
+						final double sin = scale * (this.inverse ? -sinTable[FftPlan.twiddleIndex(depth, offset)] : sinTable[FftPlan.twiddleIndex(depth, offset)]);
+
+						for (int left = fromIndex + (offset << 1), right = left + (2 << depth); left < toIndex; left += 4 << depth, right += 4 << depth) {
+							double re = vector[right], im = vector[right + 1];
+							final double twidRe = cos * re - sin * im;
+							final double twidIm = cos * im + sin * re;
+							re = scale * vector[left]; im = scale * vector[left + 1];
+							vector[right]     = re - twidRe;
+							vector[right + 1] = im - twidIm;
+							vector[left]      = re + twidRe;
+							vector[left + 1]  = im + twidIm;
+						}
+					}
+				}
+			} else {
+				for (int depth = fromDepth; depth < toDepth; ++depth) {
+					final double scale = depth == toDepth - 1 ? this.norm : 1d;
+					final int shift = depth - fromDepth;
+					for (int pair = 0; pair < 1 << rowMagnitude - 1; ++pair) {
+						final int rowOffset = pair & ((1 << shift) - 1);
+						final int row = ((pair >> shift) << shift + 1) | rowOffset;
+						final int base = (high << toDepth) | (row << fromDepth);
+						final int twiddleBase = FftPlan.twiddleIndex(depth, rowOffset << fromDepth);
+						if (toColumn - fromColumn >= lanes) {
+							backend.butterflies(this.inverse, scale, cosTable, sinTable, twiddleBase + fromColumn, vector, (base + fromColumn) << 1, ((base + fromColumn) << 1) + (2 << depth), toColumn - fromColumn);
+							continue;
+						}
+
+						for (int column = fromColumn; column < toColumn; ++column) {
+							final double cos = scale * cosTable[twiddleBase + column];
+							final double sin = scale * (this.inverse ? -sinTable[twiddleBase + column] : sinTable[twiddleBase + column]);
+							final int left = (base + column) << 1, right = left + (2 << depth);
+
+							double re = vector[right], im = vector[right + 1];
+							final double twidRe = cos * re - sin * im;
+							final double twidIm = cos * im + sin * re;
+							re = scale * vector[left]; im = scale * vector[left + 1];
+							vector[right]     = re - twidRe;
+							vector[right + 1] = im - twidIm;
+							vector[left]      = re + twidRe;
+							vector[left + 1]  = im + twidIm;
+						}
+					}
+				}
+			}
+		}
+	}
+}
\ No newline at end of file
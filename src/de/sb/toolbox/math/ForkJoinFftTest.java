@@ -0,0 +1,64 @@
+package de.sb.toolbox.math;
+
+import static de.sb.toolbox.math.FftTestSupport.randomDoubleVector;
+import static de.sb.toolbox.math.FftTestSupport.randomFloatVector;
+import static org.junit.Assert.assertArrayEquals;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+
+public class ForkJoinFftTest {
+	static private final byte MAGNITUDE = 20;
+	static private final double DOUBLE_PRECISION = 1E-11f;
+	static private final float SINGLE_PRECISION = 0;
+
+
+	@Test
+	public void testFloatEngine() {
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+				final FftPlan.SinglePrecision plan = new FftPlan.SinglePrecision(magnitude);
+				final float[] values = randomFloatVector(2 << magnitude);
+
+				for (final boolean inverse : new boolean[] { false, true }) {
+					final float[] fft1 = values.clone(), fft2 = values.clone();
+					plan.fft(inverse, fft1);
+					ForkJoinFft.fft(pool, plan, inverse, fft2);
+					assertArrayEquals(fft1, fft2, SINGLE_PRECISION);
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+
+	@Test
+	public void testDoubleEngine() {
+		for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+			final FftPlan.DoublePrecision plan = new FftPlan.DoublePrecision(magnitude);
+			final double[] values = randomDoubleVector(2 << magnitude);
+
+			for (final boolean inverse : new boolean[] { false, true }) {
+				final double[] fft1 = values.clone(), fft2 = values.clone();
+				plan.fft(inverse, fft1);
+				ForkJoinFft.fft(plan, inverse, fft2);
+				assertArrayEquals(fft1, fft2, DOUBLE_PRECISION);
+			}
+		}
+	}
+
+
+	@Test
+	public void testGpuMath() {
+		final double[] values = randomDoubleVector(2 << MAGNITUDE);
+		final double[] fft1 = values.clone(), fft2 = values.clone();
+		FastFourierTransform.transformInPlace(false, fft1);
+		GpuMath.fft(false, fft2);
+		assertArrayEquals(fft1, fft2, DOUBLE_PRECISION);
+
+		GpuMath.fft(true, fft2);
+		assertArrayEquals(values, fft2, DOUBLE_PRECISION);
+	}
+}
\ No newline at end of file
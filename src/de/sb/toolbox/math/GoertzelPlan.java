@@ -0,0 +1,338 @@
+package de.sb.toolbox.math;
+
+import de.sb.toolbox.Copyright;
+
+
+/**
+ * Reusable plans for evaluating selected bins of the <i>Discrete Fourier Transform</i> of <tt>N =
+ * 2<sup>magnitude</sup></tt> real values, following the conventions of
+ * {@link FastFourierTransform}. If only a few bins are required, as is the case for tone detection,
+ * the <i>Goertzel</i> recurrence <tt>s<sub>n</sub> = x<sub>n</sub> + 2cos(&omega;)&middot;s<sub>n-1</sub>
+ * - s<sub>n-2</sub></tt> with <tt>&omega; = 2&pi;k/N</tt> costs a single multiplication per value
+ * and bin, and a final rotation yields <tt>X<sub>k</sub> = cos(&omega;)&middot;s<sub>N-1</sub> -
+ * s<sub>N-2</sub> - i&middot;sin(&omega;)&middot;s<sub>N-1</sub></tt>. The recurrences of four bins
+ * are interleaved within each streaming pass over the values, which keeps their states in registers,
+ * and hides the latency of each recurrence behind the others; they are evaluated in {@code double}
+ * precision regardless of the value type, because their rounding errors grow with <tt>N</tt> for
+ * bins near zero or <tt>N/2</tt>.
+ * <p>
+ * As each pass costs about as much as three butterfly stages of a {@link RealFftPlan} transform,
+ * plans requesting more than <tt>4&middot;floor(log<sub>2</sub>(N)/3)</tt> bins compute a full
+ * real FFT instead, and pick the requested bins from its packed half spectrum. Such plans reuse
+ * an internal frame, and must therefore not be shared among threads without external
+ * synchronization; other plans are immutable.
+ */
+@Copyright(year = 2026, holders = "Sascha Baumeister")
+public abstract class GoertzelPlan {
+
+	/**
+	 * The value <tt>log<sub>2</sub>(N)</tt>.
+	 */
+	protected final int magnitude;
+
+	/**
+	 * The requested bins.
+	 */
+	protected final int[] bins;
+
+	/**
+	 * The Goertzel coefficients <tt>2cos(&omega;)</tt>, padded with zeros to a multiple of four, or
+	 * {@code null} if a full FFT is used instead.
+	 */
+	protected final double[] coefficients;
+
+	/**
+	 * The rotation cosines <tt>cos(&omega;)</tt> and sines <tt>sin(&omega;)</tt>, interleaved.
+	 */
+	protected final double[] rotations;
+
+
+	/**
+	 * Initializes a new instance.
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @param bins the requested bins
+	 * @throws NullPointerException if the given bins are {@code null}
+	 * @throws IllegalArgumentException if the given magnitude is not positive or exceeds {@code 30},
+	 *         or if any of the given bins is not within range <tt>[0, N[</tt>
+	 */
+	protected GoertzelPlan (final int magnitude, final int[] bins) throws NullPointerException, IllegalArgumentException {
+		if (magnitude < 1 | magnitude > 30) throw new IllegalArgumentException();
+		for (final int bin : bins) {
+			if (bin < 0 | bin >= 1 << magnitude) throw new IllegalArgumentException();
+		}
+
+		final SineTable trigonometricTable = SineTable.getInstance(magnitude);
+		this.magnitude = magnitude;
+		this.bins = bins.clone();
+		this.rotations = new double[bins.length << 1];
+		this.coefficients = isGoertzelPreferred(magnitude, bins.length) ? new double[(bins.length + 3) & -4] : null;
+		for (int index = 0; index < bins.length; ++index) {
+			final double cos = trigonometricTable.cos(bins[index]), sin = trigonometricTable.sin(bins[index]);
+			this.rotations[index << 1] = cos;
+			this.rotations[(index << 1) + 1] = sin;
+			if (this.coefficients != null) this.coefficients[index] = 2 * cos;
+		}
+	}
+
+
+	/**
+	 * Returns whether or not the Goertzel recurrence is cheaper than a full real FFT for the given
+	 * number of bins. Each pass evaluates four bins, and costs about as much as three butterfly
+	 * stages of a real FFT.
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @param binCount the number of bins
+	 * @return {@code true} if the Goertzel recurrence should be used, {@code false} otherwise
+	 */
+	static private boolean isGoertzelPreferred (final int magnitude, final int binCount) {
+		return 3 * ((binCount + 3) >> 2) <= magnitude;
+	}
+
+
+	/**
+	 * Returns the magnitude.
+	 * @return the value <tt>log<sub>2</sub>(N)</tt>
+	 */
+	public int magnitude () {
+		return this.magnitude;
+	}
+
+
+	/**
+	 * Returns the requested bins.
+	 * @return the bins, in the order of their evaluation results
+	 */
+	public int[] bins () {
+		return this.bins.clone();
+	}
+
+
+	/**
+	 * Returns whether or not this plan computes a full real FFT instead of using the Goertzel
+	 * recurrence.
+	 * @return {@code true} if a full FFT is used, {@code false} otherwise
+	 */
+	public boolean isFftBased () {
+		return this.coefficients == null;
+	}
+
+
+
+	/**
+	 * Selected bin evaluation for {@code 32-bit} floating-point values.
+	 */
+	static public final class SinglePrecision extends GoertzelPlan {
+		private final RealFftPlan.SinglePrecision plan;
+		private final float[] frame;
+
+
+		/**
+		 * Creates a new instance.
+		 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+		 * @param bins the requested bins
+		 * @throws NullPointerException if the given bins are {@code null}
+		 * @throws IllegalArgumentException if the given magnitude is not positive or exceeds
+		 *         {@code 30}, or if any of the given bins is not within range <tt>[0, N[</tt>
+		 */
+		public SinglePrecision (final int magnitude, final int... bins) throws NullPointerException, IllegalArgumentException {
+			super(magnitude, bins);
+			this.plan = this.coefficients == null ? new RealFftPlan.SinglePrecision(magnitude) : null;
+			this.frame = this.coefficients == null ? new float[1 << magnitude] : null;
+		}
+
+
+		/**
+		 * Evaluates the requested bins of the discrete fourier transform of <tt>N</tt> consecutive
+		 * values, and stores them braided into the given spectrum, i.e. the real and imaginary
+		 * parts of the <tt>i</tt>-th requested bin at indices <tt>2i</tt> and <tt>2i+1</tt>.
+		 * @param values the values
+		 * @param offset the index of the first value
+		 * @param spectrum the spectrum, with twice as many elements as there are requested bins
+		 * @throws NullPointerException if any of the given arrays is {@code null}
+		 * @throws IllegalArgumentException if the given spectrum's length is not twice the number
+		 *         of requested bins
+		 * @throws IndexOutOfBoundsException if the given offset is out of bounds
+		 */
+		public void evaluate (final float[] values, final int offset, final float[] spectrum) throws NullPointerException, IllegalArgumentException, IndexOutOfBoundsException {
+			if (spectrum.length != this.bins.length << 1) throw new IllegalArgumentException();
+			if (offset < 0 | offset > values.length - (1 << this.magnitude)) throw new IndexOutOfBoundsException();
+
+			if (this.coefficients == null) {
+				this.evaluateFft(values, offset, spectrum);
+				return;
+			}
+
+			final int limit = offset + (1 << this.magnitude);
+			for (int bin = 0; bin < this.coefficients.length; bin += 4) {
+				final double c0 = this.coefficients[bin], c1 = this.coefficients[bin + 1], c2 = this.coefficients[bin + 2], c3 = this.coefficients[bin + 3];
+				double s0 = 0, t0 = 0, s1 = 0, t1 = 0, s2 = 0, t2 = 0, s3 = 0, t3 = 0;
+				for (int index = offset; index < limit; ++index) {
+					final double value = values[index];
+					final double u0 = value + c0 * s0 - t0, u1 = value + c1 * s1 - t1, u2 = value + c2 * s2 - t2, u3 = value + c3 * s3 - t3;
+					t0 = s0; s0 = u0;
+					t1 = s1; s1 = u1;
+					t2 = s2; s2 = u2;
+					t3 = s3; s3 = u3;
+				}
+
+				this.rotate(bin, s0, t0, spectrum);
+				this.rotate(bin + 1, s1, t1, spectrum);
+				this.rotate(bin + 2, s2, t2, spectrum);
+				this.rotate(bin + 3, s3, t3, spectrum);
+			}
+		}
+
+
+		/**
+		 * Stores the given bin's value derived from the final two recurrence states, unless the bin
+		 * is padding.
+		 * @param bin the bin index
+		 * @param last the state <tt>s<sub>N-1</sub></tt>
+		 * @param previous the state <tt>s<sub>N-2</sub></tt>
+		 * @param spectrum the spectrum
+		 */
+		private void rotate (final int bin, final double last, final double previous, final float[] spectrum) {
+			if (bin >= this.bins.length) return;
+			spectrum[bin << 1] = (float) (this.rotations[bin << 1] * last - previous);
+			spectrum[(bin << 1) + 1] = (float) (-this.rotations[(bin << 1) + 1] * last);
+		}
+
+
+		/**
+		 * Evaluates the requested bins using a full real FFT, exploiting the conjugate symmetry
+		 * <tt>X<sub>N-k</sub> = X<sub>k</sub><sup>*</sup></tt> for bins beyond <tt>N/2</tt>.
+		 * @param values the values
+		 * @param offset the index of the first value
+		 * @param spectrum the spectrum
+		 */
+		private void evaluateFft (final float[] values, final int offset, final float[] spectrum) {
+			final float[] frame = this.frame;
+			final int half = frame.length >> 1;
+			System.arraycopy(values, offset, frame, 0, frame.length);
+			this.plan.fft(false, frame);
+
+			for (int index = 0; index < this.bins.length; ++index) {
+				final int bin = this.bins[index];
+				if (bin == 0 | bin == half) {
+					spectrum[index << 1] = frame[bin == 0 ? 0 : 1];
+					spectrum[(index << 1) + 1] = 0;
+				} else if (bin < half) {
+					spectrum[index << 1] = frame[bin << 1];
+					spectrum[(index << 1) + 1] = frame[(bin << 1) + 1];
+				} else {
+					spectrum[index << 1] = frame[(frame.length - bin) << 1];
+					spectrum[(index << 1) + 1] = -frame[((frame.length - bin) << 1) + 1];
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Selected bin evaluation for {@code 64-bit} floating-point values.
+	 */
+	static public final class DoublePrecision extends GoertzelPlan {
+		private final RealFftPlan.DoublePrecision plan;
+		private final double[] frame;
+
+
+		/**
+		 * Creates a new instance.
+		 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+		 * @param bins the requested bins
+		 * @throws NullPointerException if the given bins are {@code null}
+		 * @throws IllegalArgumentException if the given magnitude is not positive or exceeds
+		 *         {@code 30}, or if any of the given bins is not within range <tt>[0, N[</tt>
+		 */
+		public DoublePrecision (final int magnitude, final int... bins) throws NullPointerException, IllegalArgumentException {
+			super(magnitude, bins);
+			this.plan = this.coefficients == null ? new RealFftPlan.DoublePrecision(magnitude) : null;
+			this.frame = this.coefficients == null ? new double[1 << magnitude] : null;
+		}
+
+
+		/**
+		 * Evaluates the requested bins of the discrete fourier transform of <tt>N</tt> consecutive
+		 * values, and stores them braided into the given spectrum, i.e. the real and imaginary
+		 * parts of the <tt>i</tt>-th requested bin at indices <tt>2i</tt> and <tt>2i+1</tt>.
+		 * @param values the values
+		 * @param offset the index of the first value
+		 * @param spectrum the spectrum, with twice as many elements as there are requested bins
+		 * @throws NullPointerException if any of the given arrays is {@code null}
+		 * @throws IllegalArgumentException if the given spectrum's length is not twice the number
+		 *         of requested bins
+		 * @throws IndexOutOfBoundsException if the given offset is out of bounds
+		 */
+		public void evaluate (final double[] values, final int offset, final double[] spectrum) throws NullPointerException, IllegalArgumentException, IndexOutOfBoundsException {
+			if (spectrum.length != this.bins.length << 1) throw new IllegalArgumentException();
+			if (offset < 0 | offset > values.length - (1 << this.magnitude)) throw new IndexOutOfBoundsException();
+
+			if (this.coefficients == null) {
+				this.evaluateFft(values, offset, spectrum);
+				return;
+			}
+
+			final int limit = offset + (1 << this.magnitude);
+			for (int bin = 0; bin < this.coefficients.length; bin += 4) {
+				final double c0 = this.coefficients[bin], c1 = this.coefficients[bin + 1], c2 = this.coefficients[bin + 2], c3 = this.coefficients[bin + 3];
+				double s0 = 0, t0 = 0, s1 = 0, t1 = 0, s2 = 0, t2 = 0, s3 = 0, t3 = 0;
+				for (int index = offset; index < limit; ++index) {
+					final double value = values[index];
+					final double u0 = value + c0 * s0 - t0, u1 = value + c1 * s1 - t1, u2 = value + c2 * s2 - t2, u3 = value + c3 * s3 - t3;
+					t0 = s0; s0 = u0;
+					t1 = s1; s1 = u1;
+					t2 = s2; s2 = u2;
+					t3 = s3; s3 = u3;
+				}
+
+				this.rotate(bin, s0, t0, spectrum);
+				this.rotate(bin + 1, s1, t1, spectrum);
+				this.rotate(bin + 2, s2, t2, spectrum);
+				this.rotate(bin + 3, s3, t3, spectrum);
+			}
+		}
+
+
+		/**
+		 * Stores the given bin's value derived from the final two recurrence states, unless the bin
+		 * is padding.
+		 * @param bin the bin index
+		 * @param last the state <tt>s<sub>N-1</sub></tt>
+		 * @param previous the state <tt>s<sub>N-2</sub></tt>
+		 * @param spectrum the spectrum
+		 */
+		private void rotate (final int bin, final double last, final double previous, final double[] spectrum) {
+			if (bin >= this.bins.length) return;
+			spectrum[bin << 1] = this.rotations[bin << 1] * last - previous;
+			spectrum[(bin << 1) + 1] = -this.rotations[(bin << 1) + 1] * last;
+		}
+
+
+		/**
+		 * Evaluates the requested bins using a full real FFT, exploiting the conjugate symmetry
+		 * <tt>X<sub>N-k</sub> = X<sub>k</sub><sup>*</sup></tt> for bins beyond <tt>N/2</tt>.
+		 * @param values the values
+		 * @param offset the index of the first value
+		 * @param spectrum the spectrum
+		 */
+		private void evaluateFft (final double[] values, final int offset, final double[] spectrum) {
+			final double[] frame = this.frame;
+			final int half = frame.length >> 1;
+			System.arraycopy(values, offset, frame, 0, frame.length);
+			this.plan.fft(false, frame);
+
+			for (int index = 0; index < this.bins.length; ++index) {
+				final int bin = this.bins[index];
+				if (bin == 0 | bin == half) {
+					spectrum[index << 1] = frame[bin == 0 ? 0 : 1];
+					spectrum[(index << 1) + 1] = 0;
+				} else if (bin < half) {
+					spectrum[index << 1] = frame[bin << 1];
+					spectrum[(index << 1) + 1] = frame[(bin << 1) + 1];
+				} else {
+					spectrum[index << 1] = frame[(frame.length - bin) << 1];
+					spectrum[(index << 1) + 1] = -frame[((frame.length - bin) << 1) + 1];
+				}
+			}
+		}
+	}
+}
\ No newline at end of file
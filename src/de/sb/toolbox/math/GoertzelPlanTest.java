@@ -0,0 +1,101 @@
+package de.sb.toolbox.math;
+
+import static de.sb.toolbox.math.FftTestSupport.randomDoubleVector;
+import static de.sb.toolbox.math.FftTestSupport.randomFloatVector;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.Test;
+
+
+public class GoertzelPlanTest {
+	static private final byte MAGNITUDE = 12;
+	static private final double DOUBLE_PRECISION = 1E-11f;
+	static private final float SINGLE_PRECISION = 1E-4f;
+
+
+	@Test
+	public void testDoubleEvaluation() {
+		for (int magnitude = 1; magnitude <= MAGNITUDE; ++magnitude) {
+			final double[] values = randomDoubleVector((1 << magnitude) + 3);
+			final double[] reference = new double[2 << magnitude];
+			for (int index = 0; index < 1 << magnitude; ++index) reference[index << 1] = values[index + 3];
+			FftPlan.getDoublePrecisionPlan(magnitude).fft(false, reference);
+
+			for (final int binCount : new int[] { 1, 3, 4, 7, 16, 20, 1 << magnitude }) {
+				final int[] bins = randomBins(magnitude, binCount);
+				final GoertzelPlan.DoublePrecision plan = new GoertzelPlan.DoublePrecision(magnitude, bins);
+				final double[] expected = new double[binCount << 1], result = new double[binCount << 1];
+				for (int index = 0; index < binCount; ++index) {
+					expected[index << 1] = reference[bins[index] << 1];
+					expected[(index << 1) + 1] = reference[(bins[index] << 1) + 1];
+				}
+
+				plan.evaluate(values, 3, result);
+				assertArrayEquals(expected, result, DOUBLE_PRECISION * (1 << magnitude));
+			}
+		}
+	}
+
+
+	@Test
+	public void testFloatEvaluation() {
+		for (int magnitude = 1; magnitude <= MAGNITUDE; ++magnitude) {
+			final float[] values = randomFloatVector(1 << magnitude);
+			final double[] reference = new double[2 << magnitude];
+			for (int index = 0; index < values.length; ++index) reference[index << 1] = values[index];
+			FftPlan.getDoublePrecisionPlan(magnitude).fft(false, reference);
+
+			for (final int binCount : new int[] { 1, 5, 8, 20, 1 << magnitude }) {
+				final int[] bins = randomBins(magnitude, binCount);
+				final GoertzelPlan.SinglePrecision plan = new GoertzelPlan.SinglePrecision(magnitude, bins);
+				final float[] expected = new float[binCount << 1], result = new float[binCount << 1];
+				for (int index = 0; index < binCount; ++index) {
+					expected[index << 1] = (float) reference[bins[index] << 1];
+					expected[(index << 1) + 1] = (float) reference[(bins[index] << 1) + 1];
+				}
+
+				plan.evaluate(values, 0, result);
+				assertArrayEquals(expected, result, SINGLE_PRECISION * (1 << magnitude));
+			}
+		}
+	}
+
+
+	@Test
+	public void testSelection() {
+		assertFalse(new GoertzelPlan.DoublePrecision(12, new int[16]).isFftBased());
+		assertTrue(new GoertzelPlan.DoublePrecision(12, new int[17]).isFftBased());
+		assertFalse(new GoertzelPlan.SinglePrecision(3, 1).isFftBased());
+		assertTrue(new GoertzelPlan.SinglePrecision(2, 1).isFftBased());
+		assertFalse(new GoertzelPlan.SinglePrecision(12).isFftBased());
+	}
+
+
+	@Test
+	public void testIllegalArguments() {
+		try { new GoertzelPlan.DoublePrecision(0, 0); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new GoertzelPlan.DoublePrecision(4, 16); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new GoertzelPlan.SinglePrecision(4, -1); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new GoertzelPlan.SinglePrecision(4, (int[]) null); fail(); } catch (final NullPointerException exception) {}
+
+		final GoertzelPlan.SinglePrecision plan = new GoertzelPlan.SinglePrecision(4, 1, 2);
+		try { plan.evaluate(new float[16], 0, new float[2]); fail(); } catch (final IllegalArgumentException exception) {}
+		try { plan.evaluate(new float[16], 1, new float[4]); fail(); } catch (final IndexOutOfBoundsException exception) {}
+	}
+
+
+	static private int[] randomBins (final int magnitude, final int count) {
+		final int[] bins = new int[count];
+		for (int index = 0; index < bins.length; ++index) {
+			bins[index] = ThreadLocalRandom.current().nextInt(1 << magnitude);
+		}
+		if (count > 2) {
+			bins[0] = 0;
+			bins[1] = 1 << magnitude >> 1;
+		}
+		return bins;
+	}
+}
\ No newline at end of file
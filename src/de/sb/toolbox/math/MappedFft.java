@@ -0,0 +1,382 @@
+package de.sb.toolbox.math;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import de.sb.toolbox.Copyright;
+
+
+/**
+ * Out-of-core FFT engine for vectors of <tt>N = 2<sup>magnitude</sup></tt> braided complex
+ * numbers that reside within files, stored as consecutive {@code 64-bit} floating-point values
+ * starting at file position zero. Files are memory-mapped in segments, which allows vectors
+ * exceeding both the heap and the {@code 2GB} limit of a single mapped region.
+ * <p>
+ * The transforms use the <i>four-step</i> decomposition <tt>N = R&middot;C</tt>, viewing the
+ * vector as a row-major matrix of <tt>R</tt> rows and <tt>C</tt> columns:
+ * <ol>
+ * <li>every column is transformed with length <tt>R</tt>.</li>
+ * <li>every element <tt>(k<sub>1</sub>, c)</tt> is multiplied with the twiddle factor
+ * <tt>w<sub>N</sub><sup>c&middot;k<sub>1</sub></sup></tt>.</li>
+ * <li>every row is transformed with length <tt>C</tt>.</li>
+ * <li>the matrix is transposed, resulting in natural order.</li>
+ * </ol>
+ * Columns are processed in blocks whose rows form sequential runs within the file, and are
+ * gathered into a heap scratch area of at most <tt>2<sup>SCRATCH_MAGNITUDE</sup></tt> complex
+ * numbers, where they are transformed as a {@linkplain BatchFft batch}. Out-of-place transforms
+ * write the first two steps transposed into the target file, and therefore require two passes
+ * over the data. In-place transforms require a third pass for the transposition. Odd magnitudes
+ * result in matrices of <tt>R</tt> rows and <tt>C = 2R</tt> columns, whose left and right halves are
+ * transposed as square matrices, followed by a fourth pass that moves the resulting half rows into
+ * place along the cycles of their permutation.
+ * <p>
+ * Out-of-core transforms follow the conventions of {@link FftPlan}: forward transforms are
+ * unscaled, while inverse transforms are scaled by <tt>1/N</tt>.
+ */
+@Copyright(year = 2026, holders = "Sascha Baumeister")
+public final class MappedFft {
+	static private final int SCRATCH_MAGNITUDE = 22;
+	static private final int SEGMENT_MAGNITUDE = 26;
+	static private final int MAX_MAGNITUDE = 2 * SCRATCH_MAGNITUDE;
+
+
+	/**
+	 * Prevents external instantiation.
+	 */
+	private MappedFft () {}
+
+
+
+	/**
+	 * Performs an <i>out-of-place Fast Fourier Transform</i> of the vector within the given source
+	 * file, storing the result within the given target file. The source file is not modified, and
+	 * the target file is extended if necessary.
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param order the byte order of the floating-point values within both files
+	 * @param source the source file channel, opened for reading
+	 * @param target the target file channel, opened for reading and writing
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @throws NullPointerException if any of the given arguments is {@code null}
+	 * @throws IllegalArgumentException if the given magnitude is negative or exceeds {@code 44}, if
+	 *         the source file is too short, or if both channels are the same
+	 * @throws IOException if there is an I/O related problem
+	 */
+	static public void fft (final boolean inverse, final ByteOrder order, final FileChannel source, final FileChannel target, final int magnitude) throws NullPointerException, IllegalArgumentException, IOException {
+		if (order == null | target == null) throw new NullPointerException();
+		if (magnitude < 0 | magnitude > MAX_MAGNITUDE | source == target || source.size() < 16L << magnitude) throw new IllegalArgumentException();
+
+		final int rowMagnitude = magnitude >> 1, columnMagnitude = magnitude - rowMagnitude;
+		final MappedVector sourceVector = new MappedVector(source, MapMode.READ_ONLY, order, magnitude);
+		final MappedVector targetVector = new MappedVector(target, MapMode.READ_WRITE, order, magnitude);
+
+		columnPass(inverse, sourceVector, targetVector, rowMagnitude, columnMagnitude, true);
+		columnPass(inverse, targetVector, targetVector, columnMagnitude, rowMagnitude, false);
+	}
+
+
+	/**
+	 * Performs an <i>in-place Fast Fourier Transform</i> of the vector within the given file.
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param order the byte order of the floating-point values within the file
+	 * @param channel the file channel, opened for reading and writing
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @throws NullPointerException if any of the given arguments is {@code null}
+	 * @throws IllegalArgumentException if the given magnitude is negative or exceeds {@code 44}, or
+	 *         if the file is too short
+	 * @throws IOException if there is an I/O related problem
+	 */
+	static public void fft (final boolean inverse, final ByteOrder order, final FileChannel channel, final int magnitude) throws NullPointerException, IllegalArgumentException, IOException {
+		if (order == null) throw new NullPointerException();
+		if (magnitude < 0 | magnitude > MAX_MAGNITUDE || channel.size() < 16L << magnitude) throw new IllegalArgumentException();
+
+		final int rowMagnitude = magnitude >> 1, columnMagnitude = magnitude - rowMagnitude;
+		final MappedVector vector = new MappedVector(channel, MapMode.READ_WRITE, order, magnitude);
+
+		columnPass(inverse, vector, vector, rowMagnitude, columnMagnitude, false);
+		rowPass(inverse, vector, rowMagnitude, columnMagnitude);
+		transposePass(vector, rowMagnitude, columnMagnitude, 0);
+		if (columnMagnitude != rowMagnitude) {
+			transposePass(vector, rowMagnitude, columnMagnitude, 1L << rowMagnitude);
+			unshufflePass(vector, rowMagnitude);
+		}
+	}
+
+
+	/**
+	 * Transforms the columns of the given source matrix using blocks of columns, and optionally
+	 * multiplies the results with the four-step twiddle factors. The results are either written
+	 * back into the same positions, or transposed into rows of the given target.
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param source the source vector
+	 * @param target the target vector
+	 * @param rowMagnitude the value <tt>log<sub>2</sub>(R)</tt> of the row count
+	 * @param columnMagnitude the value <tt>log<sub>2</sub>(C)</tt> of the column count
+	 * @param twiddle whether or not the twiddle factors shall be applied, which also causes the
+	 *        results to be written transposed
+	 */
+	static private void columnPass (final boolean inverse, final MappedVector source, final MappedVector target, final int rowMagnitude, final int columnMagnitude, final boolean twiddle) {
+		final int blockMagnitude = Math.min(columnMagnitude, Math.max(0, SCRATCH_MAGNITUDE - rowMagnitude));
+		final int rowCount = 1 << rowMagnitude, blockSize = 1 << blockMagnitude;
+		final FftPlan.DoublePrecision plan = FftPlan.getDoublePrecisionPlan(rowMagnitude);
+		final Twiddles twiddles = twiddle ? new Twiddles(inverse, rowMagnitude + columnMagnitude) : null;
+		final double[] scratch = new double[2 << rowMagnitude + blockMagnitude], run = new double[2 << blockMagnitude];
+
+		for (long fromColumn = 0; fromColumn < 1L << columnMagnitude; fromColumn += blockSize) {
+			for (int row = 0; row < rowCount; ++row) {
+				source.get(((long) row << columnMagnitude) + fromColumn, run);
+				for (int column = 0; column < blockSize; ++column) {
+					scratch[(column << rowMagnitude | row) << 1]     = run[column << 1];
+					scratch[(column << rowMagnitude | row) << 1 | 1] = run[column << 1 | 1];
+				}
+			}
+
+			BatchFft.fft(plan, inverse, scratch);
+
+			if (twiddle) {
+				for (int column = 0; column < blockSize; ++column) {
+					twiddles.multiply(fromColumn + column, scratch, column << rowMagnitude + 1, rowCount);
+					target.put((fromColumn + column) << rowMagnitude, scratch, column << rowMagnitude + 1, rowCount);
+				}
+			} else {
+				for (int row = 0; row < rowCount; ++row) {
+					for (int column = 0; column < blockSize; ++column) {
+						run[column << 1]     = scratch[(column << rowMagnitude | row) << 1];
+						run[column << 1 | 1] = scratch[(column << rowMagnitude | row) << 1 | 1];
+					}
+					target.put(((long) row << columnMagnitude) + fromColumn, run, 0, blockSize);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Transforms the rows of the given matrix, after multiplying them with the four-step twiddle
+	 * factors.
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param vector the vector
+	 * @param rowMagnitude the value <tt>log<sub>2</sub>(R)</tt> of the row count
+	 * @param columnMagnitude the value <tt>log<sub>2</sub>(C)</tt> of the column count
+	 */
+	static private void rowPass (final boolean inverse, final MappedVector vector, final int rowMagnitude, final int columnMagnitude) {
+		final int blockMagnitude = Math.min(rowMagnitude, Math.max(0, SCRATCH_MAGNITUDE - columnMagnitude));
+		final int columnCount = 1 << columnMagnitude, blockSize = 1 << blockMagnitude;
+		final FftPlan.DoublePrecision plan = FftPlan.getDoublePrecisionPlan(columnMagnitude);
+		final Twiddles twiddles = new Twiddles(inverse, rowMagnitude + columnMagnitude);
+		final double[] scratch = new double[2 << columnMagnitude + blockMagnitude];
+
+		for (long fromRow = 0; fromRow < 1L << rowMagnitude; fromRow += blockSize) {
+			vector.get(fromRow << columnMagnitude, scratch);
+			for (int row = 0; row < blockSize; ++row) {
+				twiddles.multiply(fromRow + row, scratch, row << columnMagnitude + 1, columnCount);
+			}
+
+			BatchFft.fft(plan, inverse, scratch);
+			vector.put(fromRow << columnMagnitude, scratch, 0, blockSize << columnMagnitude);
+		}
+	}
+
+
+	/**
+	 * Transposes the given square sub-matrix in place, swapping pairs of tiles that are mirrored at
+	 * the diagonal.
+	 * @param vector the vector
+	 * @param magnitude the value <tt>log<sub>2</sub></tt> of both the row and the column count of
+	 *        the sub-matrix
+	 * @param columnMagnitude the value <tt>log<sub>2</sub>(C)</tt> of the column count of the
+	 *        surrounding matrix
+	 * @param offset the column index of the sub-matrix within the surrounding matrix
+	 */
+	static private void transposePass (final MappedVector vector, final int magnitude, final int columnMagnitude, final long offset) {
+		final int tileMagnitude = Math.min(magnitude, (SCRATCH_MAGNITUDE >> 1) - 1), tileSize = 1 << tileMagnitude;
+		final double[] leftTile = new double[2 << 2 * tileMagnitude], rightTile = new double[leftTile.length], run = new double[2 << tileMagnitude];
+
+		for (long tileRow = 0; tileRow < 1L << magnitude; tileRow += tileSize) {
+			for (long tileColumn = tileRow; tileColumn < 1L << magnitude; tileColumn += tileSize) {
+				for (int row = 0; row < tileSize; ++row) {
+					vector.get(((tileRow + row) << columnMagnitude) + offset + tileColumn, run);
+					System.arraycopy(run, 0, leftTile, row << tileMagnitude + 1, run.length);
+					vector.get(((tileColumn + row) << columnMagnitude) + offset + tileRow, run);
+					System.arraycopy(run, 0, rightTile, row << tileMagnitude + 1, run.length);
+				}
+
+				for (int row = 0; row < tileSize; ++row) {
+					for (int column = 0; column < tileSize; ++column) {
+						run[column << 1]     = rightTile[(column << tileMagnitude | row) << 1];
+						run[column << 1 | 1] = rightTile[(column << tileMagnitude | row) << 1 | 1];
+					}
+					vector.put(((tileRow + row) << columnMagnitude) + offset + tileColumn, run, 0, tileSize);
+
+					for (int column = 0; column < tileSize; ++column) {
+						run[column << 1]     = leftTile[(column << tileMagnitude | row) << 1];
+						run[column << 1 | 1] = leftTile[(column << tileMagnitude | row) << 1 | 1];
+					}
+					vector.put(((tileColumn + row) << columnMagnitude) + offset + tileRow, run, 0, tileSize);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Rearranges a matrix of <tt>R</tt> rows and <tt>2R</tt> columns, whose left and right halves
+	 * have already been transposed in place, into the transposed matrix of <tt>2R</tt> rows and
+	 * <tt>R</tt> columns. This moves the half row with index <tt>h</tt> to row
+	 * <tt>(h&gt;&gt;1) | (h&amp;1)&middot;R</tt>, which rotates the bits of <tt>h</tt> right by one.
+	 * Each cycle of this permutation is identified by its smallest half row index, and is followed
+	 * using runs of at most a tile's length, holding the displaced run in memory.
+	 * @param vector the vector
+	 * @param magnitude the value <tt>log<sub>2</sub>(R)</tt>
+	 */
+	static private void unshufflePass (final MappedVector vector, final int magnitude) {
+		final int runMagnitude = Math.min(magnitude, (SCRATCH_MAGNITUDE >> 1) - 1), runSize = 1 << runMagnitude;
+		double[] run = new double[2 << runMagnitude], swap = new double[run.length];
+
+		for (long leader = 1; leader < (2L << magnitude) - 1; ++leader) {
+			boolean isLeader = true;
+			for (long half = rotate(leader, magnitude); isLeader & half != leader; half = rotate(half, magnitude)) {
+				isLeader = half > leader;
+			}
+			if (!isLeader) continue;
+
+			for (long column = 0; column < 1L << magnitude; column += runSize) {
+				vector.get((leader << magnitude) + column, run);
+				for (long half = rotate(leader, magnitude); half != leader; half = rotate(half, magnitude)) {
+					vector.get((half << magnitude) + column, swap);
+					vector.put((half << magnitude) + column, run, 0, runSize);
+					final double[] displaced = swap;
+					swap = run;
+					run = displaced;
+				}
+				vector.put((leader << magnitude) + column, run, 0, runSize);
+			}
+		}
+	}
+
+
+	/**
+	 * Returns the target index of the given half row index during {@link #unshufflePass}.
+	 * @param half the half row index, with <tt>magnitude + 1</tt> significant bits
+	 * @param magnitude the value <tt>log<sub>2</sub>(R)</tt>
+	 * @return the target half row index
+	 */
+	static private long rotate (final long half, final int magnitude) {
+		return half >>> 1 | (half & 1) << magnitude;
+	}
+
+
+
+	/**
+	 * Vector of braided complex numbers within a file, which is mapped using segments of
+	 * <tt>2<sup>SEGMENT_MAGNITUDE</sup></tt> complex numbers. As all runs accessed are aligned
+	 * powers of two not exceeding a segment, no run ever crosses a segment border.
+	 */
+	static private final class MappedVector {
+		private final DoubleBuffer[] segments;
+
+
+		/**
+		 * Creates a new instance.
+		 * @param channel the file channel
+		 * @param mode the map mode
+		 * @param order the byte order
+		 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+		 * @throws IOException if there is an I/O related problem
+		 */
+		public MappedVector (final FileChannel channel, final MapMode mode, final ByteOrder order, final int magnitude) throws IOException {
+			final int segmentMagnitude = Math.min(magnitude, SEGMENT_MAGNITUDE);
+			this.segments = new DoubleBuffer[1 << magnitude - segmentMagnitude];
+			for (int index = 0; index < this.segments.length; ++index) {
+				this.segments[index] = channel.map(mode, (long) index << segmentMagnitude + 4, 16L << segmentMagnitude).order(order).asDoubleBuffer();
+			}
+		}
+
+
+		/**
+		 * Reads the given array's length in braided values, starting with the given complex index.
+		 * @param index the complex index
+		 * @param values the array to fill
+		 */
+		public void get (final long index, final double[] values) {
+			final DoubleBuffer segment = this.segments[(int) (index >>> SEGMENT_MAGNITUDE)];
+			segment.position((int) (index & (1 << SEGMENT_MAGNITUDE) - 1) << 1);
+			segment.get(values, 0, values.length);
+		}
+
+
+		/**
+		 * Writes the given number of complex values, starting with the given complex index.
+		 * @param index the complex index
+		 * @param values the braided values
+		 * @param offset the array offset
+		 * @param count the number of complex values
+		 */
+		public void put (final long index, final double[] values, final int offset, final int count) {
+			final DoubleBuffer segment = this.segments[(int) (index >>> SEGMENT_MAGNITUDE)];
+			segment.position((int) (index & (1 << SEGMENT_MAGNITUDE) - 1) << 1);
+			segment.put(values, offset, count << 1);
+		}
+	}
+
+
+
+	/**
+	 * Twiddle factors <tt>w<sub>N</sub><sup>j</sup></tt> of the four-step decomposition, which are
+	 * composed from a coarse and a fine table of about <tt>&radic;N</tt> entries each, using
+	 * <tt>w<sup>j</sup> = w<sup>(j&gt;&gt;h)&lt;&lt;h</sup> &middot; w<sup>j&amp;(2<sup>h</sup>-1)</sup></tt>.
+	 */
+	static private final class Twiddles {
+		private final int magnitude, fineMagnitude;
+		private final double[] coarse, fine;
+
+
+		/**
+		 * Creates a new instance.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+		 */
+		public Twiddles (final boolean inverse, final int magnitude) {
+			this.magnitude = magnitude;
+			this.fineMagnitude = magnitude >> 1;
+			this.coarse = new double[2 << magnitude - this.fineMagnitude];
+			this.fine = new double[2 << this.fineMagnitude];
+
+			final double sign = inverse ? -1 : +1;
+			for (int index = 0; index < this.coarse.length >> 1; ++index) {
+				final double angle = 2 * Math.PI * Math.scalb((double) index, this.fineMagnitude - magnitude);
+				this.coarse[index << 1]     = Math.cos(angle);
+				this.coarse[index << 1 | 1] = sign * Math.sin(angle);
+			}
+			for (int index = 0; index < this.fine.length >> 1; ++index) {
+				final double angle = 2 * Math.PI * Math.scalb((double) index, -magnitude);
+				this.fine[index << 1]     = Math.cos(angle);
+				this.fine[index << 1 | 1] = sign * Math.sin(angle);
+			}
+		}
+
+
+		/**
+		 * Multiplies the given braided complex values <tt>v<sub>k</sub></tt> with the twiddle
+		 * factors <tt>w<sup>factor&middot;k</sup></tt>.
+		 * @param factor the factor
+		 * @param values the braided values
+		 * @param offset the array offset
+		 * @param count the number of complex values
+		 */
+		public void multiply (final long factor, final double[] values, final int offset, final int count) {
+			final long mask = (1L << this.magnitude) - 1;
+			final int fineMask = (1 << this.fineMagnitude) - 1;
+			for (int index = 0; index < count; ++index) {
+				final long exponent = (factor * index) & mask;
+				final int coarseIndex = (int) (exponent >>> this.fineMagnitude) << 1, fineIndex = (int) (exponent & fineMask) << 1;
+				final double cos = this.coarse[coarseIndex] * this.fine[fineIndex] - this.coarse[coarseIndex + 1] * this.fine[fineIndex + 1];
+				final double sin = this.coarse[coarseIndex] * this.fine[fineIndex + 1] + this.coarse[coarseIndex + 1] * this.fine[fineIndex];
+				final double re = values[offset + (index << 1)], im = values[offset + (index << 1) + 1];
+				values[offset + (index << 1)]     = cos * re - sin * im;
+				values[offset + (index << 1) + 1] = cos * im + sin * re;
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+package de.sb.toolbox.math;
+
+import static de.sb.toolbox.math.FftTestSupport.randomDoubleVector;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.fail;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.Test;
+
+
+public class MappedFftTest {
+	static private final int MAGNITUDE = 14;
+	static private final double DOUBLE_PRECISION = 1E-10;
+
+
+	@Test
+	public void testOutOfPlace() throws IOException {
+		final Path sourcePath = Files.createTempFile("fft-source-", ".bin"), targetPath = Files.createTempFile("fft-target-", ".bin");
+		try {
+			for (final ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+				for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+					final double[] values = randomDoubleVector(2 << magnitude);
+
+					for (final boolean inverse : new boolean[] { false, true }) {
+						final double[] expected = values.clone();
+						FftPlan.getDoublePrecisionPlan(magnitude).fft(inverse, expected);
+
+						write(sourcePath, order, values);
+						try (FileChannel source = FileChannel.open(sourcePath, StandardOpenOption.READ)) {
+							try (FileChannel target = FileChannel.open(targetPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+								MappedFft.fft(inverse, order, source, target, magnitude);
+							}
+						}
+						assertArrayEquals(values, read(sourcePath, order, values.length), 0);
+						assertArrayEquals(expected, read(targetPath, order, values.length), DOUBLE_PRECISION);
+					}
+				}
+			}
+		} finally {
+			Files.delete(sourcePath);
+			Files.delete(targetPath);
+		}
+	}
+
+
+	@Test
+	public void testInPlace() throws IOException {
+		final Path path = Files.createTempFile("fft-", ".bin");
+		try {
+			for (int magnitude = 0; magnitude <= MAGNITUDE + 1; ++magnitude) {
+				final double[] values = randomDoubleVector(2 << magnitude);
+
+				for (final boolean inverse : new boolean[] { false, true }) {
+					final double[] expected = values.clone();
+					FftPlan.getDoublePrecisionPlan(magnitude).fft(inverse, expected);
+
+					write(path, ByteOrder.nativeOrder(), values);
+					try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+						MappedFft.fft(inverse, ByteOrder.nativeOrder(), channel, magnitude);
+					}
+					assertArrayEquals(expected, read(path, ByteOrder.nativeOrder(), values.length), DOUBLE_PRECISION);
+				}
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+
+	@Test
+	public void testIllegalArguments() throws IOException {
+		final Path path = Files.createTempFile("fft-", ".bin");
+		try {
+			write(path, ByteOrder.nativeOrder(), new double[2 << 4]);
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				try { MappedFft.fft(false, ByteOrder.nativeOrder(), channel, -1); fail(); } catch (final IllegalArgumentException exception) {}
+				try { MappedFft.fft(false, ByteOrder.nativeOrder(), channel, 6); fail(); } catch (final IllegalArgumentException exception) {}
+				try { MappedFft.fft(false, ByteOrder.nativeOrder(), channel, channel, 4); fail(); } catch (final IllegalArgumentException exception) {}
+				try { MappedFft.fft(false, null, channel, 4); fail(); } catch (final NullPointerException exception) {}
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+
+	static private void write (final Path path, final ByteOrder order, final double[] values) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(values.length << 3).order(order);
+		buffer.asDoubleBuffer().put(values);
+		Files.write(path, buffer.array());
+	}
+
+
+	static private double[] read (final Path path, final ByteOrder order, final int length) throws IOException {
+		final double[] values = new double[length];
+		ByteBuffer.wrap(Files.readAllBytes(path)).order(order).asDoubleBuffer().get(values);
+		return values;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,760 @@
+package de.sb.toolbox.math;
+
+import de.sb.toolbox.Copyright;
+
+
+/**
+ * Reusable plans for FFTs of <tt>N</tt> braided complex numbers, where <tt>N</tt> is a product of
+ * the prime factors {@code 2}, {@code 3}, {@code 5} and {@code 7}; this covers frame sizes like
+ * {@code 960}, {@code 1920} or {@code 2880} which would otherwise have to be zero-padded to the
+ * next power of two. Plans decompose <tt>N</tt> into radix {@code 4}, {@code 2}, {@code 3},
+ * {@code 5} and {@code 7} stages, and use the self-sorting <i>Stockham</i> scheme that ping-pongs
+ * between the vector and a buffer of the same length, which renders a perfect shuffle pass
+ * unnecessary. The twiddle factors of all stages are precomputed once per plan.
+ * <p>
+ * Plans are immutable, and may be shared among threads. They follow the conventions of
+ * {@link FftPlan}: forward transforms are unscaled, while inverse transforms are scaled by
+ * <tt>1/N</tt>.
+ */
+@Copyright(year = 2026, holders = "Sascha Baumeister")
+public abstract class MixedRadixFftPlan {
+
+	/**
+	 * The number <tt>N</tt> of complex numbers to be transformed.
+	 */
+	protected final int size;
+
+	/**
+	 * The radices of the butterfly stages, in processing order.
+	 */
+	final int[] radices;
+
+
+	/**
+	 * Initializes a new instance.
+	 * @param size the number <tt>N</tt> of complex numbers to be transformed
+	 * @throws IllegalArgumentException if the given size is not positive, or contains prime
+	 *         factors other than {@code 2}, {@code 3}, {@code 5} and {@code 7}
+	 */
+	protected MixedRadixFftPlan (final int size) throws IllegalArgumentException {
+		if (!isSupported(size)) throw new IllegalArgumentException();
+
+		int stageCount = 0;
+		for (int remainder = size; remainder > 1; remainder /= radix(remainder)) stageCount += 1;
+
+		this.size = size;
+		this.radices = new int[stageCount];
+		for (int remainder = size, stage = 0; remainder > 1; remainder /= this.radices[stage++]) {
+			this.radices[stage] = radix(remainder);
+		}
+	}
+
+
+	/**
+	 * Returns the size.
+	 * @return the number <tt>N</tt> of complex numbers to be transformed
+	 */
+	public int size () {
+		return this.size;
+	}
+
+
+	/**
+	 * Returns whether or not the given size can be transformed by mixed radix plans.
+	 * @param size the number <tt>N</tt> of complex numbers to be transformed
+	 * @return {@code true} if the given size is positive, and contains no prime factors other than
+	 *         {@code 2}, {@code 3}, {@code 5} and {@code 7}, {@code false} otherwise
+	 */
+	static public boolean isSupported (final int size) {
+		if (size <= 0) return false;
+
+		int remainder = size;
+		for (final int factor : new int[] { 2, 3, 5, 7 }) {
+			while (remainder % factor == 0) remainder /= factor;
+		}
+		return remainder == 1;
+	}
+
+
+	/**
+	 * Returns the radix of the next stage for the given remaining size, preferring radix {@code 4}
+	 * over radix {@code 2}.
+	 * @param remainder the remaining size
+	 * @return the radix
+	 */
+	static private int radix (final int remainder) {
+		if ((remainder & 3) == 0) return 4;
+		for (final int factor : new int[] { 2, 3, 5, 7 }) {
+			if (remainder % factor == 0) return factor;
+		}
+		throw new AssertionError();
+	}
+
+
+
+	/**
+	 * Plans for {@code 32-bit} floating-point mixed radix FFTs.
+	 */
+	static public final class SinglePrecision extends MixedRadixFftPlan {
+		private final float[] cos, sin;
+		private final float[] unitCos, unitSin;
+		private final float sin3, cos5a, cos5b, sin5a, sin5b;
+
+
+		/**
+		 * Creates a new instance.
+		 * @param size the number <tt>N</tt> of complex numbers to be transformed
+		 * @throws IllegalArgumentException if the given size is not positive, or contains prime
+		 *         factors other than {@code 2}, {@code 3}, {@code 5} and {@code 7}
+		 */
+		public SinglePrecision (final int size) throws IllegalArgumentException {
+			super(size);
+
+			int twiddleCount = 0;
+			for (int stage = 0, length = size; stage < this.radices.length; length /= this.radices[stage++]) {
+				twiddleCount += length - length / this.radices[stage];
+			}
+
+			this.cos = new float[twiddleCount];
+			this.sin = new float[twiddleCount];
+			for (int stage = 0, length = size, position = 0; stage < this.radices.length; length /= this.radices[stage++]) {
+				final int radix = this.radices[stage];
+				for (int offset = 0; offset < length / radix; ++offset) {
+					for (int term = 1; term < radix; ++term, ++position) {
+						final double angle = 2 * Math.PI * offset * term / length;
+						this.cos[position] = (float) Math.cos(angle);
+						this.sin[position] = (float) Math.sin(angle);
+					}
+				}
+			}
+
+			this.unitCos = new float[7];
+			this.unitSin = new float[7];
+			for (int index = 0; index < 7; ++index) {
+				this.unitCos[index] = (float) Math.cos(2 * Math.PI * index / 7);
+				this.unitSin[index] = (float) Math.sin(2 * Math.PI * index / 7);
+			}
+
+			this.sin3 = (float) Math.sin(2 * Math.PI / 3);
+			this.cos5a = (float) Math.cos(2 * Math.PI / 5);
+			this.cos5b = (float) Math.cos(4 * Math.PI / 5);
+			this.sin5a = (float) Math.sin(2 * Math.PI / 5);
+			this.sin5b = (float) Math.sin(4 * Math.PI / 5);
+		}
+
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of <tt>N</tt>
+		 * braided complex numbers, using a temporary buffer.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+		 *        indexed real parts with odd indexed imaginary ones
+		 * @throws NullPointerException if the given vector is {@code null}
+		 * @throws IllegalArgumentException if the given vector's length is not <tt>2N</tt>
+		 */
+		public void fft (final boolean inverse, final float[] vector) throws NullPointerException, IllegalArgumentException {
+			if (vector.length != this.size << 1) throw new IllegalArgumentException();
+			this.fft(inverse, vector, new float[vector.length]);
+		}
+
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of <tt>N</tt>
+		 * braided complex numbers, using the given buffer for intermediate results. Note that
+		 * reusing buffers avoids memory allocation, but that a buffer must not be shared among
+		 * concurrent transforms.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+		 *        indexed real parts with odd indexed imaginary ones
+		 * @param buffer an array of at least <tt>2N</tt> elements
+		 * @throws NullPointerException if any of the given arrays is {@code null}
+		 * @throws IllegalArgumentException if the given vector's length is not <tt>2N</tt>, or the
+		 *         given buffer is too short
+		 */
+		public void fft (final boolean inverse, final float[] vector, final float[] buffer) throws NullPointerException, IllegalArgumentException {
+			if (vector.length != this.size << 1 | buffer.length < vector.length) throw new IllegalArgumentException();
+
+			final float norm = inverse ? 1f / this.size : 1f;
+			float[] source = vector, target = buffer;
+			for (int stage = 0, length = this.size, stride = 1, position = 0; stage < this.radices.length; ++stage) {
+				final int radix = this.radices[stage];
+				final float scale = stage == this.radices.length - 1 ? norm : 1f;
+				switch (radix) {
+					case 2:
+						this.butterfly2(inverse, scale, source, target, length, stride, position);
+						break;
+					case 3:
+						this.butterfly3(inverse, scale, source, target, length, stride, position);
+						break;
+					case 4:
+						this.butterfly4(inverse, scale, source, target, length, stride, position);
+						break;
+					case 5:
+						this.butterfly5(inverse, scale, source, target, length, stride, position);
+						break;
+					default:
+						this.butterfly(inverse, scale, radix, source, target, length, stride, position);
+						break;
+				}
+
+				position += length - length / radix;
+				length /= radix;
+				stride *= radix;
+				final float[] swap = source;
+				source = target;
+				target = swap;
+			}
+
+			if (source != vector) System.arraycopy(source, 0, vector, 0, vector.length);
+		}
+
+
+		/**
+		 * Performs a radix-2 Stockham stage, reading <tt>x[q + s(j + rm)]</tt> and writing
+		 * <tt>y[q + s(pj + t)]</tt> for every offset <tt>j &lt; m</tt> and column <tt>q &lt; s</tt>.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param scale the factor applied to every output, which is <tt>1/N</tt> for the last
+		 *        stage of an inverse transform, and {@code 1} otherwise
+		 * @param source the source vector
+		 * @param target the target vector
+		 * @param length the length <tt>n = pm</tt> of the sub-transforms
+		 * @param stride the stride <tt>s</tt>
+		 * @param position the index of the first twiddle factor of this stage
+		 */
+		private void butterfly2 (final boolean inverse, final float scale, final float[] source, final float[] target, final int length, final int stride, final int position) {
+			final int span = length >> 1;
+			for (int offset = 0; offset < span; ++offset) {
+				final float cos = scale * this.cos[position + offset];
+				final float sin = scale * (inverse ? -this.sin[position + offset] : this.sin[position + offset]);
+
+				for (int column = 0; column < stride; ++column) {
+					final int in0 = (column + stride * offset) << 1, in1 = in0 + ((stride * span) << 1);
+					final int out0 = (column + stride * (offset << 1)) << 1, out1 = out0 + (stride << 1);
+					final float re0 = source[in0], im0 = source[in0 + 1], re1 = source[in1], im1 = source[in1 + 1];
+					final float re = re0 - re1, im = im0 - im1;
+					target[out0]     = scale * (re0 + re1);
+					target[out0 + 1] = scale * (im0 + im1);
+					target[out1]     = cos * re - sin * im;
+					target[out1 + 1] = cos * im + sin * re;
+				}
+			}
+		}
+
+
+		/**
+		 * Performs a radix-3 Stockham stage.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param scale the factor applied to every output, which is <tt>1/N</tt> for the last
+		 *        stage of an inverse transform, and {@code 1} otherwise
+		 * @param source the source vector
+		 * @param target the target vector
+		 * @param length the length <tt>n = pm</tt> of the sub-transforms
+		 * @param stride the stride <tt>s</tt>
+		 * @param position the index of the first twiddle factor of this stage
+		 */
+		private void butterfly3 (final boolean inverse, final float scale, final float[] source, final float[] target, final int length, final int stride, final int position) {
+			final int span = length / 3;
+			final float sin3 = inverse ? -this.sin3 : this.sin3;
+			for (int offset = 0; offset < span; ++offset) {
+				final int twiddle = position + (offset << 1);
+				final float cos1 = scale * this.cos[twiddle], sin1 = scale * (inverse ? -this.sin[twiddle] : this.sin[twiddle]);
+				final float cos2 = scale * this.cos[twiddle + 1], sin2 = scale * (inverse ? -this.sin[twiddle + 1] : this.sin[twiddle + 1]);
+
+				for (int column = 0; column < stride; ++column) {
+					final int in0 = (column + stride * offset) << 1, in1 = in0 + ((stride * span) << 1), in2 = in1 + ((stride * span) << 1);
+					final int out0 = (column + stride * 3 * offset) << 1, out1 = out0 + (stride << 1), out2 = out1 + (stride << 1);
+					final float sumRe = source[in1] + source[in2], sumIm = source[in1 + 1] + source[in2 + 1];
+					final float midRe = source[in0] - .5f * sumRe, midIm = source[in0 + 1] - .5f * sumIm;
+					final float difRe = sin3 * (source[in1] - source[in2]), difIm = sin3 * (source[in1 + 1] - source[in2 + 1]);
+					target[out0]     = scale * (source[in0] + sumRe);
+					target[out0 + 1] = scale * (source[in0 + 1] + sumIm);
+
+					float re = midRe - difIm, im = midIm + difRe;
+					target[out1]     = cos1 * re - sin1 * im;
+					target[out1 + 1] = cos1 * im + sin1 * re;
+					re = midRe + difIm; im = midIm - difRe;
+					target[out2]     = cos2 * re - sin2 * im;
+					target[out2 + 1] = cos2 * im + sin2 * re;
+				}
+			}
+		}
+
+
+		/**
+		 * Performs a radix-4 Stockham stage.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param scale the factor applied to every output, which is <tt>1/N</tt> for the last
+		 *        stage of an inverse transform, and {@code 1} otherwise
+		 * @param source the source vector
+		 * @param target the target vector
+		 * @param length the length <tt>n = pm</tt> of the sub-transforms
+		 * @param stride the stride <tt>s</tt>
+		 * @param position the index of the first twiddle factor of this stage
+		 */
+		private void butterfly4 (final boolean inverse, final float scale, final float[] source, final float[] target, final int length, final int stride, final int position) {
+			final int span = length >> 2;
+			for (int offset = 0; offset < span; ++offset) {
+				final int twiddle = position + 3 * offset;
+				final float cos1 = scale * this.cos[twiddle], sin1 = scale * (inverse ? -this.sin[twiddle] : this.sin[twiddle]);
+				final float cos2 = scale * this.cos[twiddle + 1], sin2 = scale * (inverse ? -this.sin[twiddle + 1] : this.sin[twiddle + 1]);
+				final float cos3 = scale * this.cos[twiddle + 2], sin3 = scale * (inverse ? -this.sin[twiddle + 2] : this.sin[twiddle + 2]);
+
+				for (int column = 0; column < stride; ++column) {
+					final int in0 = (column + stride * offset) << 1, in1 = in0 + ((stride * span) << 1), in2 = in1 + ((stride * span) << 1), in3 = in2 + ((stride * span) << 1);
+					final int out0 = (column + stride * (offset << 2)) << 1, out1 = out0 + (stride << 1), out2 = out1 + (stride << 1), out3 = out2 + (stride << 1);
+					final float sum02Re = source[in0] + source[in2], sum02Im = source[in0 + 1] + source[in2 + 1];
+					final float dif02Re = source[in0] - source[in2], dif02Im = source[in0 + 1] - source[in2 + 1];
+					final float sum13Re = source[in1] + source[in3], sum13Im = source[in1 + 1] + source[in3 + 1];
+					final float dif13Re = inverse ? source[in3] - source[in1] : source[in1] - source[in3];
+					final float dif13Im = inverse ? source[in3 + 1] - source[in1 + 1] : source[in1 + 1] - source[in3 + 1];
+					target[out0]     = scale * (sum02Re + sum13Re);
+					target[out0 + 1] = scale * (sum02Im + sum13Im);
+
+					float re = dif02Re - dif13Im, im = dif02Im + dif13Re;
+					target[out1]     = cos1 * re - sin1 * im;
+					target[out1 + 1] = cos1 * im + sin1 * re;
+					re = sum02Re - sum13Re; im = sum02Im - sum13Im;
+					target[out2]     = cos2 * re - sin2 * im;
+					target[out2 + 1] = cos2 * im + sin2 * re;
+					re = dif02Re + dif13Im; im = dif02Im - dif13Re;
+					target[out3]     = cos3 * re - sin3 * im;
+					target[out3 + 1] = cos3 * im + sin3 * re;
+				}
+			}
+		}
+
+
+		/**
+		 * Performs a radix-5 Stockham stage.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param scale the factor applied to every output, which is <tt>1/N</tt> for the last
+		 *        stage of an inverse transform, and {@code 1} otherwise
+		 * @param source the source vector
+		 * @param target the target vector
+		 * @param length the length <tt>n = pm</tt> of the sub-transforms
+		 * @param stride the stride <tt>s</tt>
+		 * @param position the index of the first twiddle factor of this stage
+		 */
+		private void butterfly5 (final boolean inverse, final float scale, final float[] source, final float[] target, final int length, final int stride, final int position) {
+			final int span = length / 5;
+			final float cos5a = this.cos5a, cos5b = this.cos5b;
+			final float sin5a = inverse ? -this.sin5a : this.sin5a, sin5b = inverse ? -this.sin5b : this.sin5b;
+			for (int offset = 0; offset < span; ++offset) {
+				final int twiddle = position + (offset << 2);
+
+				for (int column = 0; column < stride; ++column) {
+					final int in0 = (column + stride * offset) << 1, step = (stride * span) << 1;
+					final int out0 = (column + stride * 5 * offset) << 1;
+					final float re0 = source[in0], im0 = source[in0 + 1];
+					final float sum14Re = source[in0 + step] + source[in0 + 4 * step], sum14Im = source[in0 + step + 1] + source[in0 + 4 * step + 1];
+					final float dif14Re = source[in0 + step] - source[in0 + 4 * step], dif14Im = source[in0 + step + 1] - source[in0 + 4 * step + 1];
+					final float sum23Re = source[in0 + 2 * step] + source[in0 + 3 * step], sum23Im = source[in0 + 2 * step + 1] + source[in0 + 3 * step + 1];
+					final float dif23Re = source[in0 + 2 * step] - source[in0 + 3 * step], dif23Im = source[in0 + 2 * step + 1] - source[in0 + 3 * step + 1];
+					target[out0]     = scale * (re0 + sum14Re + sum23Re);
+					target[out0 + 1] = scale * (im0 + sum14Im + sum23Im);
+
+					final float midaRe = re0 + cos5a * sum14Re + cos5b * sum23Re, midaIm = im0 + cos5a * sum14Im + cos5b * sum23Im;
+					final float midbRe = re0 + cos5b * sum14Re + cos5a * sum23Re, midbIm = im0 + cos5b * sum14Im + cos5a * sum23Im;
+					final float difaRe = sin5a * dif14Re + sin5b * dif23Re, difaIm = sin5a * dif14Im + sin5b * dif23Im;
+					final float difbRe = sin5b * dif14Re - sin5a * dif23Re, difbIm = sin5b * dif14Im - sin5a * dif23Im;
+					this.store(inverse, scale, target, out0 + (stride << 1), twiddle,     midaRe - difaIm, midaIm + difaRe);
+					this.store(inverse, scale, target, out0 + (stride << 2), twiddle + 1, midbRe - difbIm, midbIm + difbRe);
+					this.store(inverse, scale, target, out0 + 6 * stride,    twiddle + 2, midbRe + difbIm, midbIm - difbRe);
+					this.store(inverse, scale, target, out0 + (stride << 3), twiddle + 3, midaRe + difaIm, midaIm - difaRe);
+				}
+			}
+		}
+
+
+		/**
+		 * Performs a generic odd radix Stockham stage, which evaluates every sub-transform directly.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param scale the factor applied to every output, which is <tt>1/N</tt> for the last
+		 *        stage of an inverse transform, and {@code 1} otherwise
+		 * @param radix the radix <tt>p</tt>
+		 * @param source the source vector
+		 * @param target the target vector
+		 * @param length the length <tt>n = pm</tt> of the sub-transforms
+		 * @param stride the stride <tt>s</tt>
+		 * @param position the index of the first twiddle factor of this stage
+		 */
+		private void butterfly (final boolean inverse, final float scale, final int radix, final float[] source, final float[] target, final int length, final int stride, final int position) {
+			final int span = length / radix, unitStep = 7 / radix;
+			for (int offset = 0; offset < span; ++offset) {
+				for (int column = 0; column < stride; ++column) {
+					final int in0 = (column + stride * offset) << 1, step = (stride * span) << 1;
+					final int out0 = (column + stride * radix * offset) << 1;
+
+					for (int term = 0; term < radix; ++term) {
+						float re = 0, im = 0;
+						for (int index = 0, unit = 0; index < radix; ++index, unit = (unit + term) % radix) {
+							final float cos = this.unitCos[unit * unitStep];
+							final float sin = inverse ? -this.unitSin[unit * unitStep] : this.unitSin[unit * unitStep];
+							final float valueRe = source[in0 + index * step], valueIm = source[in0 + index * step + 1];
+							re += cos * valueRe - sin * valueIm;
+							im += cos * valueIm + sin * valueRe;
+						}
+
+						if (term == 0) {
+							target[out0] = scale * re;
+							target[out0 + 1] = scale * im;
+						} else {
+							this.store(inverse, scale, target, out0 + ((stride * term) << 1), position + offset * (radix - 1) + term - 1, re, im);
+						}
+					}
+				}
+			}
+		}
+
+
+		/**
+		 * Stores the given complex value multiplied with the given twiddle factor and scale.
+		 * @param inverse whether or not the twiddle factor shall be conjugated
+		 * @param scale the factor applied to the output
+		 * @param target the target vector
+		 * @param index the braided target index
+		 * @param twiddle the twiddle factor index
+		 * @param re the real part
+		 * @param im the imaginary part
+		 */
+		private void store (final boolean inverse, final float scale, final float[] target, final int index, final int twiddle, final float re, final float im) {
+			final float cos = scale * this.cos[twiddle], sin = scale * (inverse ? -this.sin[twiddle] : this.sin[twiddle]);
+			target[index]     = cos * re - sin * im;
+			target[index + 1] = cos * im + sin * re;
+		}
+	}
+
+
+
+	/**
+	 * Plans for {@code 64-bit} floating-point mixed radix FFTs.
+	 */
+	static public final class DoublePrecision extends MixedRadixFftPlan {
+		private final double[] cos, sin;
+		private final double[] unitCos, unitSin;
+		private final double sin3, cos5a, cos5b, sin5a, sin5b;
+
+
+		/**
+		 * Creates a new instance.
+		 * @param size the number <tt>N</tt> of complex numbers to be transformed
+		 * @throws IllegalArgumentException if the given size is not positive, or contains prime
+		 *         factors other than {@code 2}, {@code 3}, {@code 5} and {@code 7}
+		 */
+		public DoublePrecision (final int size) throws IllegalArgumentException {
+			super(size);
+
+			int twiddleCount = 0;
+			for (int stage = 0, length = size; stage < this.radices.length; length /= this.radices[stage++]) {
+				twiddleCount += length - length / this.radices[stage];
+			}
+
+			this.cos = new double[twiddleCount];
+			this.sin = new double[twiddleCount];
+			for (int stage = 0, length = size, position = 0; stage < this.radices.length; length /= this.radices[stage++]) {
+				final int radix = this.radices[stage];
+				for (int offset = 0; offset < length / radix; ++offset) {
+					for (int term = 1; term < radix; ++term, ++position) {
+						final double angle = 2 * Math.PI * offset * term / length;
+						this.cos[position] = Math.cos(angle);
+						this.sin[position] = Math.sin(angle);
+					}
+				}
+			}
+
+			this.unitCos = new double[7];
+			this.unitSin = new double[7];
+			for (int index = 0; index < 7; ++index) {
+				this.unitCos[index] = Math.cos(2 * Math.PI * index / 7);
+				this.unitSin[index] = Math.sin(2 * Math.PI * index / 7);
+			}
+
+			this.sin3 = Math.sin(2 * Math.PI / 3);
+			this.cos5a = Math.cos(2 * Math.PI / 5);
+			this.cos5b = Math.cos(4 * Math.PI / 5);
+			this.sin5a = Math.sin(2 * Math.PI / 5);
+			this.sin5b = Math.sin(4 * Math.PI / 5);
+		}
+
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of <tt>N</tt>
+		 * braided complex numbers, using a temporary buffer.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+		 *        indexed real parts with odd indexed imaginary ones
+		 * @throws NullPointerException if the given vector is {@code null}
+		 * @throws IllegalArgumentException if the given vector's length is not <tt>2N</tt>
+		 */
+		public void fft (final boolean inverse, final double[] vector) throws NullPointerException, IllegalArgumentException {
+			if (vector.length != this.size << 1) throw new IllegalArgumentException();
+			this.fft(inverse, vector, new double[vector.length]);
+		}
+
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector of <tt>N</tt>
+		 * braided complex numbers, using the given buffer for intermediate results. Note that
+		 * reusing buffers avoids memory allocation, but that a buffer must not be shared among
+		 * concurrent transforms.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+		 *        indexed real parts with odd indexed imaginary ones
+		 * @param buffer an array of at least <tt>2N</tt> elements
+		 * @throws NullPointerException if any of the given arrays is {@code null}
+		 * @throws IllegalArgumentException if the given vector's length is not <tt>2N</tt>, or the
+		 *         given buffer is too short
+		 */
+		public void fft (final boolean inverse, final double[] vector, final double[] buffer) throws NullPointerException, IllegalArgumentException {
+			if (vector.length != this.size << 1 | buffer.length < vector.length) throw new IllegalArgumentException();
+
+			final double norm = inverse ? 1d / this.size : 1d;
+			double[] source = vector, target = buffer;
+			for (int stage = 0, length = this.size, stride = 1, position = 0; stage < this.radices.length; ++stage) {
+				final int radix = this.radices[stage];
+				final double scale = stage == this.radices.length - 1 ? norm : 1d;
+				switch (radix) {
+					case 2:
+						this.butterfly2(inverse, scale, source, target, length, stride, position);
+						break;
+					case 3:
+						this.butterfly3(inverse, scale, source, target, length, stride, position);
+						break;
+					case 4:
+						this.butterfly4(inverse, scale, source, target, length, stride, position);
+						break;
+					case 5:
+						this.butterfly5(inverse, scale, source, target, length, stride, position);
+						break;
+					default:
+						this.butterfly(inverse, scale, radix, source, target, length, stride, position);
+						break;
+				}
+
+				position += length - length / radix;
+				length /= radix;
+				stride *= radix;
+				final double[] swap = source;
+				source = target;
+				target = swap;
+			}
+
+			if (source != vector) System.arraycopy(source, 0, vector, 0, vector.length);
+		}
+
+
+		/**
+		 * Performs a radix-2 Stockham stage, reading <tt>x[q + s(j + rm)]</tt> and writing
+		 * <tt>y[q + s(pj + t)]</tt> for every offset <tt>j &lt; m</tt> and column <tt>q &lt; s</tt>.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param scale the factor applied to every output, which is <tt>1/N</tt> for the last
+		 *        stage of an inverse transform, and {@code 1} otherwise
+		 * @param source the source vector
+		 * @param target the target vector
+		 * @param length the length <tt>n = pm</tt> of the sub-transforms
+		 * @param stride the stride <tt>s</tt>
+		 * @param position the index of the first twiddle factor of this stage
+		 */
+		private void butterfly2 (final boolean inverse, final double scale, final double[] source, final double[] target, final int length, final int stride, final int position) {
+			final int span = length >> 1;
+			for (int offset = 0; offset < span; ++offset) {
+				final double cos = scale * this.cos[position + offset];
+				final double sin = scale * (inverse ? -this.sin[position + offset] : this.sin[position + offset]);
+
+				for (int column = 0; column < stride; ++column) {
+					final int in0 = (column + stride * offset) << 1, in1 = in0 + ((stride * span) << 1);
+					final int out0 = (column + stride * (offset << 1)) << 1, out1 = out0 + (stride << 1);
+					final double re0 = source[in0], im0 = source[in0 + 1], re1 = source[in1], im1 = source[in1 + 1];
+					final double re = re0 - re1, im = im0 - im1;
+					target[out0]     = scale * (re0 + re1);
+					target[out0 + 1] = scale * (im0 + im1);
+					target[out1]     = cos * re - sin * im;
+					target[out1 + 1] = cos * im + sin * re;
+				}
+			}
+		}
+
+
+		/**
+		 * Performs a radix-3 Stockham stage.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param scale the factor applied to every output, which is <tt>1/N</tt> for the last
+		 *        stage of an inverse transform, and {@code 1} otherwise
+		 * @param source the source vector
+		 * @param target the target vector
+		 * @param length the length <tt>n = pm</tt> of the sub-transforms
+		 * @param stride the stride <tt>s</tt>
+		 * @param position the index of the first twiddle factor of this stage
+		 */
+		private void butterfly3 (final boolean inverse, final double scale, final double[] source, final double[] target, final int length, final int stride, final int position) {
+			final int span = length / 3;
+			final double sin3 = inverse ? -this.sin3 : this.sin3;
+			for (int offset = 0; offset < span; ++offset) {
+				final int twiddle = position + (offset << 1);
+				final double cos1 = scale * this.cos[twiddle], sin1 = scale * (inverse ? -this.sin[twiddle] : this.sin[twiddle]);
+				final double cos2 = scale * this.cos[twiddle + 1], sin2 = scale * (inverse ? -this.sin[twiddle + 1] : this.sin[twiddle + 1]);
+
+				for (int column = 0; column < stride; ++column) {
+					final int in0 = (column + stride * offset) << 1, in1 = in0 + ((stride * span) << 1), in2 = in1 + ((stride * span) << 1);
+					final int out0 = (column + stride * 3 * offset) << 1, out1 = out0 + (stride << 1), out2 = out1 + (stride << 1);
+					final double sumRe = source[in1] + source[in2], sumIm = source[in1 + 1] + source[in2 + 1];
+					final double midRe = source[in0] - .5 * sumRe, midIm = source[in0 + 1] - .5 * sumIm;
+					final double difRe = sin3 * (source[in1] - source[in2]), difIm = sin3 * (source[in1 + 1] - source[in2 + 1]);
+					target[out0]     = scale * (source[in0] + sumRe);
+					target[out0 + 1] = scale * (source[in0 + 1] + sumIm);
+
+					double re = midRe - difIm, im = midIm + difRe;
+					target[out1]     = cos1 * re - sin1 * im;
+					target[out1 + 1] = cos1 * im + sin1 * re;
+					re = midRe + difIm; im = midIm - difRe;
+					target[out2]     = cos2 * re - sin2 * im;
+					target[out2 + 1] = cos2 * im + sin2 * re;
+				}
+			}
+		}
+
+
+		/**
+		 * Performs a radix-4 Stockham stage.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param scale the factor applied to every output, which is <tt>1/N</tt> for the last
+		 *        stage of an inverse transform, and {@code 1} otherwise
+		 * @param source the source vector
+		 * @param target the target vector
+		 * @param length the length <tt>n = pm</tt> of the sub-transforms
+		 * @param stride the stride <tt>s</tt>
+		 * @param position the index of the first twiddle factor of this stage
+		 */
+		private void butterfly4 (final boolean inverse, final double scale, final double[] source, final double[] target, final int length, final int stride, final int position) {
+			final int span = length >> 2;
+			for (int offset = 0; offset < span; ++offset) {
+				final int twiddle = position + 3 * offset;
+				final double cos1 = scale * this.cos[twiddle], sin1 = scale * (inverse ? -this.sin[twiddle] : this.sin[twiddle]);
+				final double cos2 = scale * this.cos[twiddle + 1], sin2 = scale * (inverse ? -this.sin[twiddle + 1] : this.sin[twiddle + 1]);
+				final double cos3 = scale * this.cos[twiddle + 2], sin3 = scale * (inverse ? -this.sin[twiddle + 2] : this.sin[twiddle + 2]);
+
+				for (int column = 0; column < stride; ++column) {
+					final int in0 = (column + stride * offset) << 1, in1 = in0 + ((stride * span) << 1), in2 = in1 + ((stride * span) << 1), in3 = in2 + ((stride * span) << 1);
+					final int out0 = (column + stride * (offset << 2)) << 1, out1 = out0 + (stride << 1), out2 = out1 + (stride << 1), out3 = out2 + (stride << 1);
+					final double sum02Re = source[in0] + source[in2], sum02Im = source[in0 + 1] + source[in2 + 1];
+					final double dif02Re = source[in0] - source[in2], dif02Im = source[in0 + 1] - source[in2 + 1];
+					final double sum13Re = source[in1] + source[in3], sum13Im = source[in1 + 1] + source[in3 + 1];
+					final double dif13Re = inverse ? source[in3] - source[in1] : source[in1] - source[in3];
+					final double dif13Im = inverse ? source[in3 + 1] - source[in1 + 1] : source[in1 + 1] - source[in3 + 1];
+					target[out0]     = scale * (sum02Re + sum13Re);
+					target[out0 + 1] = scale * (sum02Im + sum13Im);
+
+					double re = dif02Re - dif13Im, im = dif02Im + dif13Re;
+					target[out1]     = cos1 * re - sin1 * im;
+					target[out1 + 1] = cos1 * im + sin1 * re;
+					re = sum02Re - sum13Re; im = sum02Im - sum13Im;
+					target[out2]     = cos2 * re - sin2 * im;
+					target[out2 + 1] = cos2 * im + sin2 * re;
+					re = dif02Re + dif13Im; im = dif02Im - dif13Re;
+					target[out3]     = cos3 * re - sin3 * im;
+					target[out3 + 1] = cos3 * im + sin3 * re;
+				}
+			}
+		}
+
+
+		/**
+		 * Performs a radix-5 Stockham stage.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param scale the factor applied to every output, which is <tt>1/N</tt> for the last
+		 *        stage of an inverse transform, and {@code 1} otherwise
+		 * @param source the source vector
+		 * @param target the target vector
+		 * @param length the length <tt>n = pm</tt> of the sub-transforms
+		 * @param stride the stride <tt>s</tt>
+		 * @param position the index of the first twiddle factor of this stage
+		 */
+		private void butterfly5 (final boolean inverse, final double scale, final double[] source, final double[] target, final int length, final int stride, final int position) {
+			final int span = length / 5;
+			final double cos5a = this.cos5a, cos5b = this.cos5b;
+			final double sin5a = inverse ? -this.sin5a : this.sin5a, sin5b = inverse ? -this.sin5b : this.sin5b;
+			for (int offset = 0; offset < span; ++offset) {
+				final int twiddle = position + (offset << 2);
+
+				for (int column = 0; column < stride; ++column) {
+					final int in0 = (column + stride * offset) << 1, step = (stride * span) << 1;
+					final int out0 = (column + stride * 5 * offset) << 1;
+					final double re0 = source[in0], im0 = source[in0 + 1];
+					final double sum14Re = source[in0 + step] + source[in0 + 4 * step], sum14Im = source[in0 + step + 1] + source[in0 + 4 * step + 1];
+					final double dif14Re = source[in0 + step] - source[in0 + 4 * step], dif14Im = source[in0 + step + 1] - source[in0 + 4 * step + 1];
+					final double sum23Re = source[in0 + 2 * step] + source[in0 + 3 * step], sum23Im = source[in0 + 2 * step + 1] + source[in0 + 3 * step + 1];
+					final double dif23Re = source[in0 + 2 * step] - source[in0 + 3 * step], dif23Im = source[in0 + 2 * step + 1] - source[in0 + 3 * step + 1];
+					target[out0]     = scale * (re0 + sum14Re + sum23Re);
+					target[out0 + 1] = scale * (im0 + sum14Im + sum23Im);
+
+					final double midaRe = re0 + cos5a * sum14Re + cos5b * sum23Re, midaIm = im0 + cos5a * sum14Im + cos5b * sum23Im;
+					final double midbRe = re0 + cos5b * sum14Re + cos5a * sum23Re, midbIm = im0 + cos5b * sum14Im + cos5a * sum23Im;
+					final double difaRe = sin5a * dif14Re + sin5b * dif23Re, difaIm = sin5a * dif14Im + sin5b * dif23Im;
+					final double difbRe = sin5b * dif14Re - sin5a * dif23Re, difbIm = sin5b * dif14Im - sin5a * dif23Im;
+					this.store(inverse, scale, target, out0 + (stride << 1), twiddle,     midaRe - difaIm, midaIm + difaRe);
+					this.store(inverse, scale, target, out0 + (stride << 2), twiddle + 1, midbRe - difbIm, midbIm + difbRe);
+					this.store(inverse, scale, target, out0 + 6 * stride,    twiddle + 2, midbRe + difbIm, midbIm - difbRe);
+					this.store(inverse, scale, target, out0 + (stride << 3), twiddle + 3, midaRe + difaIm, midaIm - difaRe);
+				}
+			}
+		}
+
+
+		/**
+		 * Performs a generic odd radix Stockham stage, which evaluates every sub-transform directly.
+		 * @param inverse whether or not the twiddle factors shall be conjugated
+		 * @param scale the factor applied to every output, which is <tt>1/N</tt> for the last
+		 *        stage of an inverse transform, and {@code 1} otherwise
+		 * @param radix the radix <tt>p</tt>
+		 * @param source the source vector
+		 * @param target the target vector
+		 * @param length the length <tt>n = pm</tt> of the sub-transforms
+		 * @param stride the stride <tt>s</tt>
+		 * @param position the index of the first twiddle factor of this stage
+		 */
+		private void butterfly (final boolean inverse, final double scale, final int radix, final double[] source, final double[] target, final int length, final int stride, final int position) {
+			final int span = length / radix, unitStep = 7 / radix;
+			for (int offset = 0; offset < span; ++offset) {
+				for (int column = 0; column < stride; ++column) {
+					final int in0 = (column + stride * offset) << 1, step = (stride * span) << 1;
+					final int out0 = (column + stride * radix * offset) << 1;
+
+					for (int term = 0; term < radix; ++term) {
+						double re = 0, im = 0;
+						for (int index = 0, unit = 0; index < radix; ++index, unit = (unit + term) % radix) {
+							final double cos = this.unitCos[unit * unitStep];
+							final double sin = inverse ? -this.unitSin[unit * unitStep] : this.unitSin[unit * unitStep];
+							final double valueRe = source[in0 + index * step], valueIm = source[in0 + index * step + 1];
+							re += cos * valueRe - sin * valueIm;
+							im += cos * valueIm + sin * valueRe;
+						}
+
+						if (term == 0) {
+							target[out0] = scale * re;
+							target[out0 + 1] = scale * im;
+						} else {
+							this.store(inverse, scale, target, out0 + ((stride * term) << 1), position + offset * (radix - 1) + term - 1, re, im);
+						}
+					}
+				}
+			}
+		}
+
+
+		/**
+		 * Stores the given complex value multiplied with the given twiddle factor and scale.
+		 * @param inverse whether or not the twiddle factor shall be conjugated
+		 * @param scale the factor applied to the output
+		 * @param target the target vector
+		 * @param index the braided target index
+		 * @param twiddle the twiddle factor index
+		 * @param re the real part
+		 * @param im the imaginary part
+		 */
+		private void store (final boolean inverse, final double scale, final double[] target, final int index, final int twiddle, final double re, final double im) {
+			final double cos = scale * this.cos[twiddle], sin = scale * (inverse ? -this.sin[twiddle] : this.sin[twiddle]);
+			target[index]     = cos * re - sin * im;
+			target[index + 1] = cos * im + sin * re;
+		}
+	}
+}
\ No newline at end of file
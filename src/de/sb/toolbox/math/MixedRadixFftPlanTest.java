@@ -0,0 +1,81 @@
+package de.sb.toolbox.math;
+
+import static de.sb.toolbox.math.FftTestSupport.dft;
+import static de.sb.toolbox.math.FftTestSupport.randomDoubleVector;
+import static de.sb.toolbox.math.FftTestSupport.randomFloatVector;
+import static de.sb.toolbox.math.FftTestSupport.toDouble;
+import static de.sb.toolbox.math.FftTestSupport.toFloat;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+
+public class MixedRadixFftPlanTest {
+	static private final int[] SIZES = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 12, 14, 15, 21, 25, 35, 49, 60, 64, 105, 343, 960, 1920, 2880 };
+	static private final double DOUBLE_PRECISION = 1E-11f;
+	static private final float SINGLE_PRECISION = 1E-4f;
+
+
+	@Test
+	public void testFloatPlan() {
+		for (final int size : SIZES) {
+			final MixedRadixFftPlan.SinglePrecision plan = new MixedRadixFftPlan.SinglePrecision(size);
+			assertEquals(size, plan.size());
+
+			final float[] values = randomFloatVector(size << 1);
+			for (final boolean inverse : new boolean[] { false, true }) {
+				final double[] dft = dft(inverse, toDouble(values));
+				final float[] fft = values.clone();
+				plan.fft(inverse, fft, new float[fft.length]);
+				assertArrayEquals(toFloat(dft), fft, SINGLE_PRECISION * (inverse ? 1 : (float) Math.sqrt(size)));
+			}
+		}
+	}
+
+
+	@Test
+	public void testDoublePlan() {
+		for (final int size : SIZES) {
+			final MixedRadixFftPlan.DoublePrecision plan = new MixedRadixFftPlan.DoublePrecision(size);
+			assertEquals(size, plan.size());
+
+			final double[] values = randomDoubleVector(size << 1);
+			for (final boolean inverse : new boolean[] { false, true }) {
+				final double[] dft = dft(inverse, values);
+				final double[] fft = values.clone();
+				plan.fft(inverse, fft);
+				assertArrayEquals(dft, fft, DOUBLE_PRECISION * size);
+			}
+
+			final double[] roundtrip = values.clone();
+			plan.fft(false, roundtrip);
+			plan.fft(true, roundtrip);
+			assertArrayEquals(values, roundtrip, DOUBLE_PRECISION);
+		}
+	}
+
+
+	@Test
+	public void testPowerOfTwo() {
+		for (int magnitude = 0; magnitude <= 12; ++magnitude) {
+			final double[] values = randomDoubleVector(2 << magnitude);
+			final double[] fft1 = values.clone(), fft2 = values.clone();
+			FftPlan.getDoublePrecisionPlan(magnitude).fft(false, fft1);
+			new MixedRadixFftPlan.DoublePrecision(1 << magnitude).fft(false, fft2);
+			assertArrayEquals(fft1, fft2, DOUBLE_PRECISION * (1 << magnitude));
+		}
+	}
+
+
+	@Test
+	public void testIllegalSize() {
+		assertFalse(MixedRadixFftPlan.isSupported(11));
+		assertFalse(MixedRadixFftPlan.isSupported(0));
+		try { new MixedRadixFftPlan.DoublePrecision(22); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new MixedRadixFftPlan.SinglePrecision(-3); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new MixedRadixFftPlan.DoublePrecision(960).fft(false, new double[1920 + 2]); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new MixedRadixFftPlan.SinglePrecision(960).fft(false, new float[1920], new float[960]); fail(); } catch (final IllegalArgumentException exception) {}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,269 @@
+package de.sb.toolbox.math;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import de.sb.toolbox.Copyright;
+
+
+/**
+ * Multidimensional FFT engine for flat row-major arrays of braided complex numbers, like images or
+ * volumes with power of two dimension lengths. Each dimension is transformed as the contiguous
+ * last dimension, using a {@linkplain BatchFft batched} transform of all its rows in parallel.
+ * Afterwards, the array is viewed as a matrix whose columns are formed by that dimension, and is
+ * transposed into a buffer using a parallel, cache oblivious divide and conquer algorithm. This
+ * rotates the next dimension into the last position, and restores the original dimension order
+ * once every dimension has been transformed.
+ * <p>
+ * Multidimensional transforms follow the conventions of {@link FftPlan}: forward transforms are
+ * unscaled, while inverse transforms are scaled by the reciprocal of the total element count.
+ */
+@Copyright(year = 2026, holders = "Sascha Baumeister")
+public final class MultidimensionalFft {
+	static private final int TILE_MAGNITUDE = 10;
+
+
+	/**
+	 * Prevents external instantiation.
+	 */
+	private MultidimensionalFft () {}
+
+
+
+	/**
+	 * Returns the total magnitude of the given dimension magnitudes.
+	 * @param magnitudes the values <tt>log<sub>2</sub></tt> of the dimension lengths
+	 * @return the value <tt>log<sub>2</sub></tt> of the total element count
+	 * @throws NullPointerException if the given array is {@code null}
+	 * @throws IllegalArgumentException if no magnitude is given, if any magnitude is negative, or
+	 *         if the magnitude sum exceeds {@code 29}
+	 */
+	static private int magnitude (final int[] magnitudes) throws NullPointerException, IllegalArgumentException {
+		if (magnitudes.length == 0) throw new IllegalArgumentException();
+
+		int sum = 0;
+		for (final int magnitude : magnitudes) {
+			if (magnitude < 0 | magnitude > 29) throw new IllegalArgumentException();
+			sum += magnitude;
+		}
+		if (sum > 29) throw new IllegalArgumentException();
+		return sum;
+	}
+
+
+	/**
+	 * Performs an <i>in-place multidimensional Fast Fourier Transform</i> of the given vector,
+	 * using the common fork/join pool and a temporary buffer.
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param vector a flat row-major array of braided complex numbers in Cartesian form, with the
+	 *        last dimension being contiguous
+	 * @param magnitudes the values <tt>log<sub>2</sub></tt> of the dimension lengths
+	 * @throws NullPointerException if any of the given arrays is {@code null}
+	 * @throws IllegalArgumentException if no magnitude is given, if any magnitude is negative, if
+	 *         the magnitude sum exceeds {@code 29}, or if the vector's length doesn't match it
+	 */
+	static public void fft (final boolean inverse, final float[] vector, final int... magnitudes) throws NullPointerException, IllegalArgumentException {
+		fft(ForkJoinPool.commonPool(), inverse, vector, new float[vector.length], magnitudes);
+	}
+
+
+	/**
+	 * Performs an <i>in-place multidimensional Fast Fourier Transform</i> of the given vector,
+	 * using the given fork/join pool and buffer. Note that reusing buffers avoids memory
+	 * allocation, but that a buffer must not be shared among concurrent transforms.
+	 * @param pool the fork/join pool
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param vector a flat row-major array of braided complex numbers in Cartesian form, with the
+	 *        last dimension being contiguous
+	 * @param buffer an array of the same length as the vector
+	 * @param magnitudes the values <tt>log<sub>2</sub></tt> of the dimension lengths
+	 * @throws NullPointerException if any of the given arguments is {@code null}
+	 * @throws IllegalArgumentException if no magnitude is given, if any magnitude is negative, if
+	 *         the magnitude sum exceeds {@code 29}, or if the vector's or buffer's length doesn't
+	 *         match it
+	 */
+	static public void fft (final ForkJoinPool pool, final boolean inverse, final float[] vector, final float[] buffer, final int... magnitudes) throws NullPointerException, IllegalArgumentException {
+		final int magnitude = magnitude(magnitudes);
+		if (vector.length != 2 << magnitude | buffer.length != vector.length) throw new IllegalArgumentException();
+
+		if (magnitudes.length == 1) {
+			BatchFft.fft(pool, FftPlan.getSinglePrecisionPlan(magnitude), inverse, vector);
+			return;
+		}
+
+		float[] source = vector, target = buffer;
+		for (int dimension = magnitudes.length - 1; dimension >= 0; --dimension) {
+			final int columnMagnitude = magnitudes[dimension], rowMagnitude = magnitude - columnMagnitude;
+			BatchFft.fft(pool, FftPlan.getSinglePrecisionPlan(columnMagnitude), inverse, source);
+			pool.invoke(new SinglePrecisionTransposeAction(source, target, rowMagnitude, columnMagnitude, 0, 1 << rowMagnitude, 0, 1 << columnMagnitude));
+
+			final float[] swap = source;
+			source = target;
+			target = swap;
+		}
+
+		if (source != vector) System.arraycopy(source, 0, vector, 0, vector.length);
+	}
+
+
+	/**
+	 * Performs an <i>in-place multidimensional Fast Fourier Transform</i> of the given vector,
+	 * using the common fork/join pool and a temporary buffer.
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param vector a flat row-major array of braided complex numbers in Cartesian form, with the
+	 *        last dimension being contiguous
+	 * @param magnitudes the values <tt>log<sub>2</sub></tt> of the dimension lengths
+	 * @throws NullPointerException if any of the given arrays is {@code null}
+	 * @throws IllegalArgumentException if no magnitude is given, if any magnitude is negative, if
+	 *         the magnitude sum exceeds {@code 29}, or if the vector's length doesn't match it
+	 */
+	static public void fft (final boolean inverse, final double[] vector, final int... magnitudes) throws NullPointerException, IllegalArgumentException {
+		fft(ForkJoinPool.commonPool(), inverse, vector, new double[vector.length], magnitudes);
+	}
+
+
+	/**
+	 * Performs an <i>in-place multidimensional Fast Fourier Transform</i> of the given vector,
+	 * using the given fork/join pool and buffer. Note that reusing buffers avoids memory
+	 * allocation, but that a buffer must not be shared among concurrent transforms.
+	 * @param pool the fork/join pool
+	 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+	 * @param vector a flat row-major array of braided complex numbers in Cartesian form, with the
+	 *        last dimension being contiguous
+	 * @param buffer an array of the same length as the vector
+	 * @param magnitudes the values <tt>log<sub>2</sub></tt> of the dimension lengths
+	 * @throws NullPointerException if any of the given arguments is {@code null}
+	 * @throws IllegalArgumentException if no magnitude is given, if any magnitude is negative, if
+	 *         the magnitude sum exceeds {@code 29}, or if the vector's or buffer's length doesn't
+	 *         match it
+	 */
+	static public void fft (final ForkJoinPool pool, final boolean inverse, final double[] vector, final double[] buffer, final int... magnitudes) throws NullPointerException, IllegalArgumentException {
+		final int magnitude = magnitude(magnitudes);
+		if (vector.length != 2 << magnitude | buffer.length != vector.length) throw new IllegalArgumentException();
+
+		if (magnitudes.length == 1) {
+			BatchFft.fft(pool, FftPlan.getDoublePrecisionPlan(magnitude), inverse, vector);
+			return;
+		}
+
+		double[] source = vector, target = buffer;
+		for (int dimension = magnitudes.length - 1; dimension >= 0; --dimension) {
+			final int columnMagnitude = magnitudes[dimension], rowMagnitude = magnitude - columnMagnitude;
+			BatchFft.fft(pool, FftPlan.getDoublePrecisionPlan(columnMagnitude), inverse, source);
+			pool.invoke(new DoublePrecisionTransposeAction(source, target, rowMagnitude, columnMagnitude, 0, 1 << rowMagnitude, 0, 1 << columnMagnitude));
+
+			final double[] swap = source;
+			source = target;
+			target = swap;
+		}
+
+		if (source != vector) System.arraycopy(source, 0, vector, 0, vector.length);
+	}
+
+
+
+
+	/**
+	 * Fork/join action transposing a block of a matrix of braided complex numbers, which
+	 * recursively halves the larger block extent until the block fits into the L1 cache.
+	 */
+	@SuppressWarnings("serial")
+	static private final class SinglePrecisionTransposeAction extends RecursiveAction {
+		private final float[] source, target;
+		private final int rowMagnitude, columnMagnitude;
+		private final int fromRow, toRow, fromColumn, toColumn;
+
+		public SinglePrecisionTransposeAction (final float[] source, final float[] target, final int rowMagnitude, final int columnMagnitude, final int fromRow, final int toRow, final int fromColumn, final int toColumn) {
+			this.source = source;
+			this.target = target;
+			this.rowMagnitude = rowMagnitude;
+			this.columnMagnitude = columnMagnitude;
+			this.fromRow = fromRow;
+			this.toRow = toRow;
+			this.fromColumn = fromColumn;
+			this.toColumn = toColumn;
+		}
+
+		protected void compute () {
+			final int rowCount = this.toRow - this.fromRow, columnCount = this.toColumn - this.fromColumn;
+			if (rowCount * columnCount > 1 << TILE_MAGNITUDE) {
+				if (rowCount >= columnCount) {
+					final int midRow = (this.fromRow + this.toRow) >>> 1;
+					invokeAll(
+						new SinglePrecisionTransposeAction(this.source, this.target, this.rowMagnitude, this.columnMagnitude, this.fromRow, midRow, this.fromColumn, this.toColumn),
+						new SinglePrecisionTransposeAction(this.source, this.target, this.rowMagnitude, this.columnMagnitude, midRow, this.toRow, this.fromColumn, this.toColumn)
+					);
+				} else {
+					final int midColumn = (this.fromColumn + this.toColumn) >>> 1;
+					invokeAll(
+						new SinglePrecisionTransposeAction(this.source, this.target, this.rowMagnitude, this.columnMagnitude, this.fromRow, this.toRow, this.fromColumn, midColumn),
+						new SinglePrecisionTransposeAction(this.source, this.target, this.rowMagnitude, this.columnMagnitude, this.fromRow, this.toRow, midColumn, this.toColumn)
+					);
+				}
+				return;
+			}
+
+			final float[] source = this.source, target = this.target;
+			for (int row = this.fromRow; row < this.toRow; ++row) {
+				for (int column = this.fromColumn, sourceIndex = (row << this.columnMagnitude | column) << 1; column < this.toColumn; ++column, sourceIndex += 2) {
+					final int targetIndex = (column << this.rowMagnitude | row) << 1;
+					target[targetIndex]     = source[sourceIndex];
+					target[targetIndex + 1] = source[sourceIndex + 1];
+				}
+			}
+		}
+	}
+
+
+
+
+	/**
+	 * Fork/join action transposing a block of a matrix of braided complex numbers, which
+	 * recursively halves the larger block extent until the block fits into the L1 cache.
+	 */
+	@SuppressWarnings("serial")
+	static private final class DoublePrecisionTransposeAction extends RecursiveAction {
+		private final double[] source, target;
+		private final int rowMagnitude, columnMagnitude;
+		private final int fromRow, toRow, fromColumn, toColumn;
+
+		public DoublePrecisionTransposeAction (final double[] source, final double[] target, final int rowMagnitude, final int columnMagnitude, final int fromRow, final int toRow, final int fromColumn, final int toColumn) {
+			this.source = source;
+			this.target = target;
+			this.rowMagnitude = rowMagnitude;
+			this.columnMagnitude = columnMagnitude;
+			this.fromRow = fromRow;
+			this.toRow = toRow;
+			this.fromColumn = fromColumn;
+			this.toColumn = toColumn;
+		}
+
+		protected void compute () {
+			final int rowCount = this.toRow - this.fromRow, columnCount = this.toColumn - this.fromColumn;
+			if (rowCount * columnCount > 1 << TILE_MAGNITUDE) {
+				if (rowCount >= columnCount) {
+					final int midRow = (this.fromRow + this.toRow) >>> 1;
+					invokeAll(
+						new DoublePrecisionTransposeAction(this.source, this.target, this.rowMagnitude, this.columnMagnitude, this.fromRow, midRow, this.fromColumn, this.toColumn),
+						new DoublePrecisionTransposeAction(this.source, this.target, this.rowMagnitude, this.columnMagnitude, midRow, this.toRow, this.fromColumn, this.toColumn)
+					);
+				} else {
+					final int midColumn = (this.fromColumn + this.toColumn) >>> 1;
+					invokeAll(
+						new DoublePrecisionTransposeAction(this.source, this.target, this.rowMagnitude, this.columnMagnitude, this.fromRow, this.toRow, this.fromColumn, midColumn),
+						new DoublePrecisionTransposeAction(this.source, this.target, this.rowMagnitude, this.columnMagnitude, this.fromRow, this.toRow, midColumn, this.toColumn)
+					);
+				}
+				return;
+			}
+
+			final double[] source = this.source, target = this.target;
+			for (int row = this.fromRow; row < this.toRow; ++row) {
+				for (int column = this.fromColumn, sourceIndex = (row << this.columnMagnitude | column) << 1; column < this.toColumn; ++column, sourceIndex += 2) {
+					final int targetIndex = (column << this.rowMagnitude | row) << 1;
+					target[targetIndex]     = source[sourceIndex];
+					target[targetIndex + 1] = source[sourceIndex + 1];
+				}
+			}
+		}
+	}
+}
\ No newline at end of file
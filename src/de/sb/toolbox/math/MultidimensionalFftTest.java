@@ -0,0 +1,100 @@
+package de.sb.toolbox.math;
+
+import static de.sb.toolbox.math.FftTestSupport.randomDoubleVector;
+import static de.sb.toolbox.math.FftTestSupport.randomFloatVector;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.fail;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+
+public class MultidimensionalFftTest {
+	static private final int[][] SHAPES = { { 5 }, { 3, 4 }, { 0, 6 }, { 7, 2 }, { 6, 6 }, { 2, 3, 4 }, { 5, 0, 5 }, { 1, 2, 3, 4 } };
+	static private final double DOUBLE_PRECISION = 1E-11f;
+	static private final float SINGLE_PRECISION = 1E-4f;
+
+
+	@Test
+	public void testFloatTransform() {
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for (final int[] magnitudes : SHAPES) {
+				final float[] values = randomFloatVector(2 << sum(magnitudes));
+
+				for (final boolean inverse : new boolean[] { false, true }) {
+					final double[] fft1 = new double[values.length];
+					for (int index = 0; index < values.length; ++index) fft1[index] = values[index];
+					separableFft(inverse, fft1, magnitudes);
+
+					final float[] expected = new float[values.length], fft2 = values.clone();
+					for (int index = 0; index < values.length; ++index) expected[index] = (float) fft1[index];
+					MultidimensionalFft.fft(pool, inverse, fft2, new float[fft2.length], magnitudes);
+					assertArrayEquals(expected, fft2, SINGLE_PRECISION * (sum(magnitudes) + 1));
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+
+	@Test
+	public void testDoubleTransform() {
+		for (final int[] magnitudes : SHAPES) {
+			final double[] values = randomDoubleVector(2 << sum(magnitudes));
+
+			for (final boolean inverse : new boolean[] { false, true }) {
+				final double[] fft1 = values.clone(), fft2 = values.clone();
+				separableFft(inverse, fft1, magnitudes);
+				MultidimensionalFft.fft(inverse, fft2, magnitudes);
+				assertArrayEquals(fft1, fft2, DOUBLE_PRECISION);
+			}
+
+			final double[] roundtrip = values.clone();
+			MultidimensionalFft.fft(false, roundtrip, magnitudes);
+			MultidimensionalFft.fft(true, roundtrip, magnitudes);
+			assertArrayEquals(values, roundtrip, DOUBLE_PRECISION);
+		}
+	}
+
+
+	@Test
+	public void testIllegalShape() {
+		try { MultidimensionalFft.fft(false, new double[2]); fail(); } catch (final IllegalArgumentException exception) {}
+		try { MultidimensionalFft.fft(false, new double[64], 3, 3); fail(); } catch (final IllegalArgumentException exception) {}
+		try { MultidimensionalFft.fft(false, new float[32], 5, -1); fail(); } catch (final IllegalArgumentException exception) {}
+		try { MultidimensionalFft.fft(ForkJoinPool.commonPool(), false, new double[32], new double[16], 2, 2); fail(); } catch (final IllegalArgumentException exception) {}
+	}
+
+
+	static private void separableFft (final boolean inverse, final double[] vector, final int[] magnitudes) {
+		final int length = vector.length >> 1;
+		int stride = 1;
+		for (int dimension = magnitudes.length - 1; dimension >= 0; --dimension) {
+			final FftPlan.DoublePrecision plan = new FftPlan.DoublePrecision(magnitudes[dimension]);
+			final int count = 1 << magnitudes[dimension];
+			final double[] line = new double[2 * count];
+
+			for (int start = 0; start < length; ++start) {
+				if ((start / stride) % count != 0) continue;
+				for (int index = 0; index < count; ++index) {
+					line[2 * index] = vector[2 * (start + index * stride)];
+					line[2 * index + 1] = vector[2 * (start + index * stride) + 1];
+				}
+				plan.fft(inverse, line);
+				for (int index = 0; index < count; ++index) {
+					vector[2 * (start + index * stride)] = line[2 * index];
+					vector[2 * (start + index * stride) + 1] = line[2 * index + 1];
+				}
+			}
+			stride *= count;
+		}
+	}
+
+
+	static private int sum (final int[] magnitudes) {
+		int sum = 0;
+		for (final int magnitude : magnitudes) sum += magnitude;
+		return sum;
+	}
+}
\ No newline at end of file
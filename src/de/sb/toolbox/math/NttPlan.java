@@ -0,0 +1,428 @@
+package de.sb.toolbox.math;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import de.sb.toolbox.Copyright;
+
+
+/**
+ * Reusable plans for in-place <i>Number-Theoretic Transforms</i> (NTT) of <tt>N =
+ * 2<sup>magnitude</sup></tt> integer residues modulo a prime <tt>p</tt>. The NTT is the analog of
+ * the FFT within the finite field <tt>Z<sub>p</sub></tt>: it replaces the complex roots of unity
+ * with a primitive <tt>N</tt>-th root of unity <tt>&omega;</tt> modulo <tt>p</tt>, which exists
+ * because every supported prime has the form <tt>c&middot;2<sup>k</sup>+1</tt> with <tt>k &ge;
+ * 54</tt>. As all operations are exact, convolutions of integer vectors suffer no rounding errors.
+ * <p>
+ * Plans share the structure of {@link FftPlan}: the vector is permuted using a shared
+ * {@link BitReversal}, and then recombined by radix-2 butterflies using precomputed twiddle factors
+ * stored in the same layout. Modular products are computed using <i>Montgomery</i> multiplication,
+ * which replaces the division by <tt>p</tt> with two multiplications; the twiddle factors are
+ * therefore stored in Montgomery form, which keeps the residues themselves in standard form. Plans
+ * follow the conventions of {@link FastFourierTransform}: forward transforms use the twiddle
+ * factors <tt>&omega;<sup>+jk</sup></tt> and are unscaled, while inverse transforms use
+ * <tt>&omega;<sup>-jk</sup></tt>, and are scaled by <tt>N<sup>-1</sup> mod p</tt>.
+ * <p>
+ * Exact products of integer polynomials are computed by transforming modulo up to three primes
+ * above <tt>2<sup>61</sup></tt>, as many as required by the coefficient bounds, and combining the
+ * results using the <i>Chinese Remainder Theorem</i>. Plans are immutable, and may be shared among
+ * threads.
+ */
+@Copyright(year = 2026, holders = "Sascha Baumeister")
+public final class NttPlan {
+	static private final long[] MODULI = { 29L << 57 | 1, 69L << 55 | 1, 163L << 54 | 1 };
+	static private final long[] MODULUS_INVERSES = { inverse(MODULI[0]), inverse(MODULI[1]), inverse(MODULI[2]) };
+	static private final long[] GENERATORS = { 3, 5, 3 };
+	static private final AtomicReferenceArray<NttPlan> PLANS = new AtomicReferenceArray<>(MODULI.length * 30);
+	static private final int MODULUS_BITS = 61;
+	static private final int LIMB_BITS = 16;
+
+	// Montgomery forms of the constants required by Garner's algorithm
+	static private final long CRT_INVERSE_1 = montgomery(BigInteger.valueOf(MODULI[0]).modInverse(BigInteger.valueOf(MODULI[1])), MODULI[1]);
+	static private final long CRT_MODULUS_0 = montgomery(BigInteger.valueOf(MODULI[0]), MODULI[2]);
+	static private final long CRT_INVERSE_2 = montgomery(BigInteger.valueOf(MODULI[0]).multiply(BigInteger.valueOf(MODULI[1])).modInverse(BigInteger.valueOf(MODULI[2])), MODULI[2]);
+
+	private final int magnitude;
+	private final long modulus, modulusInverse, one, norm, convolutionNorm;
+	private final long[] twiddles, inverseTwiddles;
+	private final BitReversal bitReversal;
+
+
+	/**
+	 * Creates a new instance.
+	 * @param modulusIndex the index of the prime modulus, within range <tt>[0, 2]</tt>
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @throws IllegalArgumentException if the given modulus index is out of range, or if the given
+	 *         magnitude is negative or exceeds {@code 29}
+	 */
+	public NttPlan (final int modulusIndex, final int magnitude) throws IllegalArgumentException {
+		if (modulusIndex < 0 | modulusIndex >= MODULI.length | magnitude < 0 | magnitude > 29) throw new IllegalArgumentException();
+
+		final long modulus = MODULI[modulusIndex];
+		final BigInteger bigModulus = BigInteger.valueOf(modulus);
+		final BigInteger root = BigInteger.valueOf(GENERATORS[modulusIndex]).modPow(BigInteger.valueOf((modulus - 1) >> magnitude), bigModulus);
+		final BigInteger inverseSize = BigInteger.ONE.shiftLeft(magnitude).modInverse(bigModulus);
+
+		this.magnitude = magnitude;
+		this.modulus = modulus;
+		this.modulusInverse = MODULUS_INVERSES[modulusIndex];
+		this.one = montgomery(BigInteger.ONE, modulus);
+		this.norm = montgomery(inverseSize, modulus);
+		this.convolutionNorm = montgomery(inverseSize.shiftLeft(Long.SIZE), modulus);
+		this.twiddles = this.twiddles(montgomery(root, modulus));
+		this.inverseTwiddles = this.twiddles(montgomery(root.modInverse(bigModulus), modulus));
+		this.bitReversal = BitReversal.getInstance(magnitude);
+	}
+
+
+	/**
+	 * Returns a shared instance for the given modulus index and magnitude, which is created on
+	 * first request.
+	 * @param modulusIndex the index of the prime modulus, within range <tt>[0, 2]</tt>
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @return the shared instance
+	 * @throws IllegalArgumentException if the given modulus index is out of range, or if the given
+	 *         magnitude is negative or exceeds {@code 29}
+	 */
+	static public NttPlan getInstance (final int modulusIndex, final int magnitude) throws IllegalArgumentException {
+		if (modulusIndex < 0 | modulusIndex >= MODULI.length | magnitude < 0 | magnitude > 29) throw new IllegalArgumentException();
+
+		final int index = modulusIndex * 30 + magnitude;
+		NttPlan plan = PLANS.get(index);
+		if (plan == null) {
+			PLANS.compareAndSet(index, null, new NttPlan(modulusIndex, magnitude));
+			plan = PLANS.get(index);
+		}
+		return plan;
+	}
+
+
+	/**
+	 * Returns the magnitude.
+	 * @return the value <tt>log<sub>2</sub>(N)</tt>
+	 */
+	public int magnitude () {
+		return this.magnitude;
+	}
+
+
+	/**
+	 * Returns the prime modulus.
+	 * @return the modulus <tt>p</tt>
+	 */
+	public long modulus () {
+		return this.modulus;
+	}
+
+
+	/**
+	 * Performs an <i>in-place Number-Theoretic Transform</i> of the given vector.
+	 * @param inverse whether or not an {@code inverse} transform shall be performed
+	 * @param vector an array of <tt>N</tt> residues within range <tt>[0, p[</tt>
+	 * @throws NullPointerException if the given vector is {@code null}
+	 * @throws IllegalArgumentException if the given vector's length is not <tt>N</tt>
+	 */
+	public void ntt (final boolean inverse, final long[] vector) throws NullPointerException, IllegalArgumentException {
+		if (vector.length != 1 << this.magnitude) throw new IllegalArgumentException();
+		this.transform(inverse ? this.inverseTwiddles : this.twiddles, inverse ? this.norm : this.one, vector);
+	}
+
+
+	/**
+	 * Replaces the given left vector with the cyclic convolution of both vectors modulo
+	 * <tt>p</tt>, and the given right vector with its transform. The Montgomery factor
+	 * <tt>R<sup>-1</sup></tt> introduced by the element-wise products is compensated within the
+	 * norm of the inverse transform.
+	 * @param left an array of <tt>N</tt> residues within range <tt>[0, p[</tt>
+	 * @param right an array of <tt>N</tt> residues within range <tt>[0, p[</tt>
+	 */
+	private void convolve (final long[] left, final long[] right) {
+		this.transform(this.twiddles, this.one, left);
+		this.transform(this.twiddles, this.one, right);
+		for (int index = 0; index < left.length; ++index) {
+			left[index] = multiply(left[index], right[index], this.modulus, this.modulusInverse);
+		}
+		this.transform(this.inverseTwiddles, this.convolutionNorm, left);
+	}
+
+
+	/**
+	 * Performs an <i>in-place Number-Theoretic Transform</i> of the given vector, using radix-2
+	 * butterflies.
+	 * @param twiddles the twiddle factors in Montgomery form
+	 * @param norm the Montgomery form of the factor the result is scaled with
+	 * @param vector an array of <tt>N</tt> residues within range <tt>[0, p[</tt>
+	 */
+	private void transform (final long[] twiddles, final long norm, final long[] vector) {
+		this.bitReversal.permute(vector);
+		if (this.magnitude == 0) {
+			if (norm != this.one) vector[0] = multiply(vector[0], norm, this.modulus, this.modulusInverse);
+			return;
+		}
+
+		final long modulus = this.modulus, modulusInverse = this.modulusInverse;
+
+		// the first stage's twiddle factors are all one, which allows it to apply the norm instead
+		for (int left = 0; left < vector.length; left += 2) {
+			final long value = vector[left], other = vector[left + 1];
+			long sum = value + other - modulus, difference = value - other;
+			if (sum < 0) sum += modulus;
+			if (difference < 0) difference += modulus;
+			if (norm != this.one) {
+				sum = multiply(sum, norm, modulus, modulusInverse);
+				difference = multiply(difference, norm, modulus, modulusInverse);
+			}
+			vector[left] = sum;
+			vector[left + 1] = difference;
+		}
+
+		// blocks are iterated in the outer loop, which keeps both vector and twiddle access sequential
+		for (int depth = 1; depth < this.magnitude; ++depth) {
+			final int twiddleBase = FftPlan.twiddleIndex(depth, 0);
+			for (int block = 0; block < vector.length; block += 2 << depth) {
+				for (int offset = 0; offset < 1 << depth; ++offset) {
+					final int left = block + offset, right = left + (1 << depth);
+					final long value = vector[left], product = multiply(vector[right], twiddles[twiddleBase + offset], modulus, modulusInverse);
+					long sum = value + product - modulus, difference = value - product;
+					if (sum < 0) sum += modulus;
+					if (difference < 0) difference += modulus;
+					vector[left] = sum;
+					vector[right] = difference;
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Returns the twiddle factors for the given root of unity, using the layout of
+	 * {@link FftPlan#twiddleIndex(int, int)}.
+	 * @param root the Montgomery form of a primitive <tt>N</tt>-th root of unity
+	 * @return the twiddle factors in Montgomery form
+	 */
+	private long[] twiddles (final long root) {
+		final int half = 1 << this.magnitude >> 1;
+		final long[] twiddles = new long[Math.max(1, 1 << this.magnitude)];
+		if (half == 0) return twiddles;
+
+		twiddles[half] = this.one;
+		for (int offset = 1; offset < half; ++offset) {
+			twiddles[half + offset] = multiply(twiddles[half + offset - 1], root, this.modulus, this.modulusInverse);
+		}
+
+		for (int depth = 0; depth < this.magnitude - 1; ++depth) {
+			for (int offset = 0; offset < 1 << depth; ++offset) {
+				twiddles[FftPlan.twiddleIndex(depth, offset)] = twiddles[half + (offset << this.magnitude - depth - 1)];
+			}
+		}
+		return twiddles;
+	}
+
+
+	/**
+	 * Returns the exact product of the given polynomials, i.e. the linear convolution of their
+	 * coefficients. The product is computed modulo as many primes as are required to cover the
+	 * range of the product's coefficients, which is estimated from the coefficient bounds of both
+	 * factors, and reconstructed by the Chinese Remainder Theorem.
+	 * @param left the coefficients of the first polynomial, in ascending order of powers
+	 * @param right the coefficients of the second polynomial, in ascending order of powers
+	 * @return the <tt>|left|+|right|-1</tt> coefficients of the product, or an empty array if any
+	 *         of the given polynomials is empty
+	 * @throws NullPointerException if any of the given arguments is {@code null}
+	 * @throws IllegalArgumentException if the product has more than <tt>2<sup>29</sup></tt>
+	 *         coefficients
+	 * @throws ArithmeticException if any of the product's coefficients overflows the range of
+	 *         {@code long}
+	 */
+	static public long[] multiply (final long[] left, final long[] right) throws NullPointerException, IllegalArgumentException, ArithmeticException {
+		if (left.length == 0 | right.length == 0) return new long[0];
+		final int length = left.length + right.length - 1;
+		final int magnitude = IntMath.ceilLog2(length);
+		if (magnitude > 29) throw new IllegalArgumentException();
+
+		// note that the bitwise disjunction of all absolute values has the bit length of their maximum,
+		// even for Long.MIN_VALUE whose absolute value remains negative
+		long leftBits = 0, rightBits = 0;
+		for (final long value : left) leftBits |= LongMath.abs(value);
+		for (final long value : right) rightBits |= LongMath.abs(value);
+		if (leftBits == 0 | rightBits == 0) return new long[length];
+
+		final int bits = 2 * Long.SIZE - Long.numberOfLeadingZeros(leftBits) - Long.numberOfLeadingZeros(rightBits) + IntMath.ceilLog2(Math.min(left.length, right.length)) + 1;
+		final int modulusCount = Math.min(MODULI.length, (bits + MODULUS_BITS - 1) / MODULUS_BITS);
+		final long[][] residues = new long[modulusCount][];
+		for (int modulusIndex = 0; modulusIndex < modulusCount; ++modulusIndex) {
+			final NttPlan plan = getInstance(modulusIndex, magnitude);
+			final long[] leftResidues = new long[1 << magnitude], rightResidues = new long[1 << magnitude];
+			for (int index = 0; index < left.length; ++index) leftResidues[index] = LongMath.mod(left[index], plan.modulus);
+			for (int index = 0; index < right.length; ++index) rightResidues[index] = LongMath.mod(right[index], plan.modulus);
+			plan.convolve(leftResidues, rightResidues);
+			residues[modulusIndex] = leftResidues;
+		}
+
+		final long[] result = new long[length];
+		for (int index = 0; index < length; ++index) {
+			result[index] = reconstruct(modulusCount, residues, index);
+		}
+		return result;
+	}
+
+
+	/**
+	 * Returns the exact product of the given integers. Their magnitudes are split into
+	 * {@code 16-bit} limbs, whose polynomial product is computed modulo a single prime, as the
+	 * product's coefficients never exceed <tt>2<sup>61</sup></tt>. Note that
+	 * {@link BigInteger#multiply(BigInteger)} remains faster for operands of less than about
+	 * <tt>2&middot;10<sup>5</sup></tt> decimal digits.
+	 * @param left the first integer
+	 * @param right the second integer
+	 * @return the product
+	 * @throws NullPointerException if any of the given arguments is {@code null}
+	 * @throws IllegalArgumentException if the product has more than <tt>2<sup>33</sup></tt> bits
+	 */
+	static public BigInteger multiply (final BigInteger left, final BigInteger right) throws NullPointerException, IllegalArgumentException {
+		if (left.signum() == 0 | right.signum() == 0) return BigInteger.ZERO;
+
+		final long[] leftLimbs = limbs(left), rightLimbs = limbs(right);
+		final int magnitude = IntMath.ceilLog2(leftLimbs.length + rightLimbs.length - 1);
+		if (magnitude > 29) throw new IllegalArgumentException();
+
+		final NttPlan plan = getInstance(0, magnitude);
+		final long[] product = Arrays.copyOf(leftLimbs, 1 << magnitude);
+		plan.convolve(product, Arrays.copyOf(rightLimbs, 1 << magnitude));
+
+		final byte[] bytes = new byte[(product.length << 1) + Long.BYTES];
+		long carry = 0;
+		for (int index = 0, position = bytes.length - 1; index < product.length; ++index, position -= 2) {
+			carry += product[index];
+			bytes[position] = (byte) carry;
+			bytes[position - 1] = (byte) (carry >>> 8);
+			carry >>>= LIMB_BITS;
+		}
+		for (int position = Long.BYTES - 1; position >= 0; --position, carry >>>= 8) {
+			bytes[position] = (byte) carry;
+		}
+		return new BigInteger(left.signum() * right.signum(), bytes);
+	}
+
+
+	/**
+	 * Returns the {@code 16-bit} limbs of the given integer's magnitude, in ascending order of
+	 * significance.
+	 * @param value the integer
+	 * @return the limbs
+	 */
+	static private long[] limbs (final BigInteger value) {
+		final byte[] bytes = value.abs().toByteArray();
+		final long[] limbs = new long[(bytes.length + 1) >> 1];
+		for (int index = 0, position = bytes.length - 1; index < limbs.length; ++index, position -= 2) {
+			limbs[index] = (bytes[position] & 0xFF) | (position == 0 ? 0 : (bytes[position - 1] & 0xFF) << 8);
+		}
+		return limbs;
+	}
+
+
+	/**
+	 * Returns the signed value within range <tt>]-P/2, P/2[</tt> that is congruent to the given
+	 * residues, with <tt>P</tt> being the product of the first given number of moduli. Garner's
+	 * algorithm first determines the mixed radix digits <tt>d<sub>i</sub></tt> of the value
+	 * <tt>d<sub>0</sub> + d<sub>1</sub>&middot;p<sub>0</sub> +
+	 * d<sub>2</sub>&middot;p<sub>0</sub>&middot;p<sub>1</sub></tt> within range <tt>[0, P[</tt>. As
+	 * <tt>(P-1)/2</tt> has the mixed radix digits <tt>(p<sub>i</sub>-1)/2</tt>, the value is then
+	 * compared to it digit by digit, and <tt>P</tt> is subtracted by replacing each digit with
+	 * <tt>d<sub>i</sub>-p<sub>i</sub>+1</tt> and subtracting one. Within either case, all terms
+	 * share the same sign, which causes intermediate results to overflow only if the final result
+	 * overflows.
+	 * @param modulusCount the number of moduli, within range <tt>[1, 3]</tt>
+	 * @param residues the residues modulo each modulus
+	 * @param index the index of the residues
+	 * @return the signed value
+	 * @throws ArithmeticException if the value overflows the range of {@code long}
+	 */
+	static private long reconstruct (final int modulusCount, final long[][] residues, final int index) throws ArithmeticException {
+		final long digit0 = residues[0][index];
+		long digit1 = 0, digit2 = 0;
+		if (modulusCount > 1) {
+			digit1 = multiply(LongMath.mod(residues[1][index] - digit0 % MODULI[1], MODULI[1]), CRT_INVERSE_1, MODULI[1], MODULUS_INVERSES[1]);
+		}
+		if (modulusCount > 2) {
+			final long partial = (digit0 % MODULI[2] + multiply(digit1, CRT_MODULUS_0, MODULI[2], MODULUS_INVERSES[2])) % MODULI[2];
+			digit2 = multiply(LongMath.mod(residues[2][index] - partial, MODULI[2]), CRT_INVERSE_2, MODULI[2], MODULUS_INVERSES[2]);
+		}
+
+		final long[] digits = { digit0, digit1, digit2 };
+		int order = 0;
+		for (int position = modulusCount - 1; position >= 0 & order == 0; --position) {
+			order = Long.compare(digits[position], MODULI[position] >> 1);
+		}
+
+		long result = order > 0 ? -1 : 0;
+		for (int position = modulusCount - 1; position >= 0; --position) {
+			long term = order > 0 ? digits[position] - MODULI[position] + 1 : digits[position];
+			for (int factor = 0; factor < position & term != 0; ++factor) {
+				term = Math.multiplyExact(term, MODULI[factor]);
+			}
+			result = Math.addExact(result, term);
+		}
+		return result;
+	}
+
+
+	/**
+	 * Returns the Montgomery reduction <tt>a&middot;b&middot;R<sup>-1</sup> mod p</tt> of the
+	 * given factors, with <tt>R = 2<sup>64</sup></tt>. Choosing <tt>m = a&middot;b&middot;p'
+	 * mod R</tt> with <tt>p&middot;p' &equiv; 1 (mod R)</tt> causes the low halves of the products
+	 * <tt>a&middot;b</tt> and <tt>m&middot;p</tt> to cancel, which leaves the difference of their
+	 * high halves within range <tt>]-p, p[</tt>.
+	 * @param left the first factor, within range <tt>[0, p[</tt>
+	 * @param right the second factor, within range <tt>[0, p[</tt>
+	 * @param modulus the odd modulus <tt>p &lt; 2<sup>62</sup></tt>
+	 * @param modulusInverse the inverse <tt>p'</tt> of the modulus modulo <tt>R</tt>
+	 * @return the reduced product, within range <tt>[0, p[</tt>
+	 */
+	static private long multiply (final long left, final long right, final long modulus, final long modulusInverse) {
+		final long result = unsignedMultiplyHigh(left, right) - unsignedMultiplyHigh(left * right * modulusInverse, modulus);
+		return result < 0 ? result + modulus : result;
+	}
+
+
+	/**
+	 * Returns the high half of the unsigned {@code 128-bit} product of the given values.
+	 * @param left the first factor
+	 * @param right the second factor
+	 * @return the high {@code 64} bits of the product
+	 */
+	static private long unsignedMultiplyHigh (final long left, final long right) {
+		final long leftLow = left & 0xFFFFFFFFL, leftHigh = left >>> 32;
+		final long rightLow = right & 0xFFFFFFFFL, rightHigh = right >>> 32;
+		final long lowLow = leftLow * rightLow, lowHigh = leftLow * rightHigh, highLow = leftHigh * rightLow;
+		final long middle = (lowLow >>> 32) + (lowHigh & 0xFFFFFFFFL) + (highLow & 0xFFFFFFFFL);
+		return leftHigh * rightHigh + (lowHigh >>> 32) + (highLow >>> 32) + (middle >>> 32);
+	}
+
+
+	/**
+	 * Returns the inverse of the given odd value modulo <tt>2<sup>64</sup></tt>. Every Newton
+	 * iteration doubles the number of correct low bits, starting with three correct ones.
+	 * @param value the odd value
+	 * @return the inverse
+	 */
+	static private long inverse (final long value) {
+		long inverse = value;
+		for (int iteration = 0; iteration < 5; ++iteration) {
+			inverse *= 2 - value * inverse;
+		}
+		return inverse;
+	}
+
+
+	/**
+	 * Returns the Montgomery form <tt>v&middot;R mod p</tt> of the given value, with <tt>R =
+	 * 2<sup>64</sup></tt>.
+	 * @param value the value <tt>v</tt>
+	 * @param modulus the modulus <tt>p</tt>
+	 * @return the Montgomery form
+	 */
+	static private long montgomery (final BigInteger value, final long modulus) {
+		return value.shiftLeft(Long.SIZE).mod(BigInteger.valueOf(modulus)).longValue();
+	}
+}
\ No newline at end of file
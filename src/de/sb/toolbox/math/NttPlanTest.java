@@ -0,0 +1,126 @@
+package de.sb.toolbox.math;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.Test;
+
+
+public class NttPlanTest {
+	static private final byte MAGNITUDE = 12;
+
+
+	@Test
+	public void testTransform() {
+		for (int modulusIndex = 0; modulusIndex < 3; ++modulusIndex) {
+			for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+				final NttPlan plan = NttPlan.getInstance(modulusIndex, magnitude);
+				final BigInteger modulus = BigInteger.valueOf(plan.modulus());
+				final long[] values = new long[1 << magnitude];
+				for (int index = 0; index < values.length; ++index) values[index] = ThreadLocalRandom.current().nextLong(plan.modulus());
+
+				// the transform of a unit impulse at index one consists of the powers of the root of unity
+				final long[] impulse = new long[values.length];
+				impulse[values.length > 1 ? 1 : 0] = 1;
+				plan.ntt(false, impulse);
+				final BigInteger root = BigInteger.valueOf(impulse[1 % values.length]);
+				assertEquals(BigInteger.ONE, root.modPow(BigInteger.valueOf(values.length), modulus));
+				if (magnitude > 0) assertEquals(modulus.subtract(BigInteger.ONE), root.modPow(BigInteger.valueOf(values.length >> 1), modulus));
+				for (int index = 0; index < values.length; ++index) {
+					assertEquals(root.modPow(BigInteger.valueOf(index), modulus).longValue(), impulse[index]);
+				}
+
+				final long[] transform = values.clone();
+				plan.ntt(false, transform);
+				for (int row = 0; row < Math.min(values.length, 8); ++row) {
+					BigInteger sum = BigInteger.ZERO;
+					for (int column = 0; column < values.length; ++column) {
+						sum = sum.add(BigInteger.valueOf(values[column]).multiply(root.modPow(BigInteger.valueOf((long) row * column), modulus)));
+					}
+					assertEquals(sum.mod(modulus).longValue(), transform[row]);
+				}
+
+				plan.ntt(true, transform);
+				assertArrayEquals(values, transform);
+			}
+		}
+	}
+
+
+	@Test
+	public void testPolynomialProduct() {
+		final int[] bits = { 1, 8, 20, 30, 40, 50, 60, 63 };
+		for (final int leftBits : bits) {
+			for (final int rightBits : bits) {
+				for (final int[] lengths : new int[][] { {1, 1}, {1, 9}, {17, 4}, {300, 500}, {1000, 1} }) {
+					final long[] left = randomVector(lengths[0], leftBits), right = randomVector(lengths[1], rightBits);
+					final BigInteger[] product = product(left, right);
+
+					boolean overflow = false;
+					for (final BigInteger value : product) overflow |= value.bitLength() >= Long.SIZE;
+					try {
+						final long[] result = NttPlan.multiply(left, right);
+						if (overflow) fail();
+						for (int index = 0; index < product.length; ++index) assertEquals(product[index].longValue(), result[index]);
+					} catch (final ArithmeticException exception) {
+						if (!overflow) throw exception;
+					}
+				}
+			}
+		}
+
+		final long[] left = randomVector(100, 63), right = new long[50];
+		left[0] = Long.MIN_VALUE;
+		right[0] = 1;
+		assertArrayEquals(left, Arrays.copyOf(NttPlan.multiply(left, right), left.length));
+		right[0] = -1;
+		try { NttPlan.multiply(left, right); fail(); } catch (final ArithmeticException exception) {}
+
+		assertArrayEquals(new long[3], NttPlan.multiply(new long[2], new long[] { 5, 7 }));
+		assertEquals(0, NttPlan.multiply(new long[0], new long[5]).length);
+	}
+
+
+	@Test
+	public void testIntegerProduct() {
+		for (final int bits : new int[] { 1, 15, 16, 17, 100, 1000, 40000 }) {
+			for (int loop = 0; loop < 5; ++loop) {
+				final BigInteger left = new BigInteger(bits, ThreadLocalRandom.current()), right = new BigInteger(bits + loop * 7, ThreadLocalRandom.current()).negate();
+				assertEquals(left.multiply(right), NttPlan.multiply(left, right));
+				assertEquals(right.multiply(right), NttPlan.multiply(right, right));
+			}
+		}
+	}
+
+
+	@Test
+	public void testIllegalArguments() {
+		try { new NttPlan(3, 4); fail(); } catch (final IllegalArgumentException exception) {}
+		try { NttPlan.getInstance(0, 30); fail(); } catch (final IllegalArgumentException exception) {}
+		try { NttPlan.getInstance(1, 4).ntt(false, new long[8]); fail(); } catch (final IllegalArgumentException exception) {}
+	}
+
+
+	static private BigInteger[] product (final long[] left, final long[] right) {
+		final BigInteger[] result = new BigInteger[left.length + right.length - 1];
+		Arrays.fill(result, BigInteger.ZERO);
+		for (int leftIndex = 0; leftIndex < left.length; ++leftIndex) {
+			for (int rightIndex = 0; rightIndex < right.length; ++rightIndex) {
+				result[leftIndex + rightIndex] = result[leftIndex + rightIndex].add(BigInteger.valueOf(left[leftIndex]).multiply(BigInteger.valueOf(right[rightIndex])));
+			}
+		}
+		return result;
+	}
+
+
+	static private long[] randomVector (final int length, final int bits) {
+		final long[] vector = new long[length];
+		for (int index = 0; index < vector.length; ++index) {
+			vector[index] = ThreadLocalRandom.current().nextLong() >> Long.SIZE - bits;
+		}
+		return vector;
+	}
+}
\ No newline at end of file
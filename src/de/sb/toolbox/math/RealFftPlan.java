@@ -0,0 +1,269 @@
+package de.sb.toolbox.math;
+
+import de.sb.toolbox.Copyright;
+
+
+/**
+ * Reusable plans for in-place FFTs of <tt>N = 2<sup>magnitude</sup></tt> real numbers. A forward
+ * transform interprets the real values as <tt>N/2</tt> braided complex numbers, performs a
+ * complex FFT of half length, and separates the even and odd indexed spectra within a post-twiddle
+ * pass. Compared to a complex transform of zero-padded imaginary parts, this halves both the
+ * computational effort and the memory footprint.
+ * <p>
+ * As the spectrum <tt>X</tt> of real values is Hermitian, i.e. <tt>X<sub>N-k</sub> =
+ * conj(X<sub>k</sub>)</tt>, only the half spectrum is stored, using the following packed layout
+ * that fits exactly into the <tt>N</tt> real values:
+ * <ul>
+ * <li>index {@code 0} contains the real value <tt>X<sub>0</sub></tt></li>
+ * <li>index {@code 1} contains the real value <tt>X<sub>N/2</sub></tt></li>
+ * <li>indices {@code 2k} and {@code 2k+1} contain the real and imaginary parts of
+ * <tt>X<sub>k</sub></tt>, with <tt>0 &lt; k &lt; N/2</tt></li>
+ * </ul>
+ * Plans follow the conventions of {@link FftPlan}: forward transforms are unscaled, while inverse
+ * transforms are scaled by <tt>1/N</tt>.
+ */
+@Copyright(year = 2026, holders = "Sascha Baumeister")
+public abstract class RealFftPlan {
+
+	/**
+	 * The value <tt>log<sub>2</sub>(N)</tt>.
+	 */
+	protected final int magnitude;
+
+
+	/**
+	 * Initializes a new instance.
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @throws IllegalArgumentException if the given magnitude is not positive, or exceeds {@code 30}
+	 */
+	protected RealFftPlan (final int magnitude) throws IllegalArgumentException {
+		if (magnitude < 1 | magnitude > 30) throw new IllegalArgumentException();
+		this.magnitude = magnitude;
+	}
+
+
+	/**
+	 * Returns the magnitude.
+	 * @return the value <tt>log<sub>2</sub>(N)</tt>
+	 */
+	public int magnitude () {
+		return this.magnitude;
+	}
+
+
+
+	/**
+	 * Plans for {@code 32-bit} floating-point real FFTs.
+	 */
+	static public final class SinglePrecision extends RealFftPlan {
+		private final FftPlan.SinglePrecision plan;
+		private final float[] cos, sin;
+
+
+		/**
+		 * Creates a new instance.
+		 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+		 * @throws IllegalArgumentException if the given magnitude is not positive, or exceeds
+		 *         {@code 30}
+		 */
+		public SinglePrecision (final int magnitude) throws IllegalArgumentException {
+			super(magnitude);
+
+			final SineTable trigonometricTable = SineTable.getInstance(magnitude);
+			this.plan = FftPlan.getSinglePrecisionPlan(magnitude - 1);
+			this.cos = new float[(1 << magnitude >> 2) + 1];
+			this.sin = new float[(1 << magnitude >> 2) + 1];
+			for (int index = 0; index < this.cos.length; ++index) {
+				this.cos[index] = (float) trigonometricTable.cos(index);
+				this.sin[index] = (float) trigonometricTable.sin(index);
+			}
+		}
+
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector. A forward
+		 * transform replaces <tt>N</tt> real values with their packed half spectrum, while an
+		 * inverse transform replaces a packed half spectrum with <tt>N</tt> real values.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param vector an array of <tt>N</tt> real values, or a packed half spectrum
+		 * @throws NullPointerException if the given vector is {@code null}
+		 * @throws IllegalArgumentException if the given vector's length is not <tt>N</tt>
+		 */
+		public void fft (final boolean inverse, final float[] vector) throws NullPointerException, IllegalArgumentException {
+			if (vector.length != 1 << this.magnitude) throw new IllegalArgumentException();
+			final int half = vector.length >> 1;
+
+			if (inverse) {
+				final float re = vector[0], im = vector[1];
+				vector[0] = .5f * (re + im);
+				vector[1] = .5f * (re - im);
+				for (int index = 1; index <= half >> 1; ++index) {
+					merge(vector, index << 1, (half - index) << 1, this.cos[index], -this.sin[index]);
+				}
+				this.plan.fft(true, vector);
+			} else {
+				this.plan.fft(false, vector);
+				final float re = vector[0], im = vector[1];
+				vector[0] = re + im;
+				vector[1] = re - im;
+				for (int index = 1; index <= half >> 1; ++index) {
+					split(vector, index << 1, (half - index) << 1, this.cos[index], this.sin[index]);
+				}
+			}
+		}
+
+
+		/**
+		 * Separates the even and odd indexed spectra <tt>E</tt> and <tt>O</tt> within the complex
+		 * half length spectrum values <tt>Z<sub>k</sub> = E<sub>k</sub> + i&middot;O<sub>k</sub></tt>
+		 * and <tt>Z<sub>N/2-k</sub></tt>, and replaces them with <tt>X<sub>k</sub> = E<sub>k</sub> +
+		 * W<sup>k</sup>&middot;O<sub>k</sub></tt> and <tt>X<sub>N/2-k</sub> = conj(E<sub>k</sub> -
+		 * W<sup>k</sup>&middot;O<sub>k</sub>)</tt>.
+		 * @param vector the vector
+		 * @param left the braided index of <tt>Z<sub>k</sub></tt>
+		 * @param right the braided index of <tt>Z<sub>N/2-k</sub></tt>
+		 * @param cos the real part of the twiddle factor <tt>W<sup>k</sup></tt>
+		 * @param sin the imaginary part of the twiddle factor <tt>W<sup>k</sup></tt>
+		 */
+		static private void split (final float[] vector, final int left, final int right, final float cos, final float sin) {
+			final float evenRe = .5f * (vector[left] + vector[right]), evenIm = .5f * (vector[left + 1] - vector[right + 1]);
+			final float diffRe = .5f * (vector[left] - vector[right]), diffIm = .5f * (vector[left + 1] + vector[right + 1]);
+			final float twidRe = cos * diffIm + sin * diffRe;
+			final float twidIm = sin * diffIm - cos * diffRe;
+			vector[left]      = evenRe + twidRe;
+			vector[left + 1]  = evenIm + twidIm;
+			vector[right]     = evenRe - twidRe;
+			vector[right + 1] = twidIm - evenIm;
+		}
+
+
+		/**
+		 * Reverses {@link #split(float[], int, int, float, float)}, replacing <tt>X<sub>k</sub></tt>
+		 * and <tt>X<sub>N/2-k</sub></tt> with <tt>Z<sub>k</sub></tt> and <tt>Z<sub>N/2-k</sub></tt>.
+		 * @param vector the vector
+		 * @param left the braided index of <tt>X<sub>k</sub></tt>
+		 * @param right the braided index of <tt>X<sub>N/2-k</sub></tt>
+		 * @param cos the real part of the twiddle factor <tt>W<sup>-k</sup></tt>
+		 * @param sin the imaginary part of the twiddle factor <tt>W<sup>-k</sup></tt>
+		 */
+		static private void merge (final float[] vector, final int left, final int right, final float cos, final float sin) {
+			final float evenRe = .5f * (vector[left] + vector[right]), evenIm = .5f * (vector[left + 1] - vector[right + 1]);
+			final float twidRe = .5f * (vector[left] - vector[right]), twidIm = .5f * (vector[left + 1] + vector[right + 1]);
+			final float oddRe = cos * twidRe - sin * twidIm;
+			final float oddIm = cos * twidIm + sin * twidRe;
+			vector[left]      = evenRe - oddIm;
+			vector[left + 1]  = evenIm + oddRe;
+			vector[right]     = evenRe + oddIm;
+			vector[right + 1] = oddRe - evenIm;
+		}
+	}
+
+
+
+	/**
+	 * Plans for {@code 64-bit} floating-point real FFTs.
+	 */
+	static public final class DoublePrecision extends RealFftPlan {
+		private final FftPlan.DoublePrecision plan;
+		private final double[] cos, sin;
+
+
+		/**
+		 * Creates a new instance.
+		 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+		 * @throws IllegalArgumentException if the given magnitude is not positive, or exceeds
+		 *         {@code 30}
+		 */
+		public DoublePrecision (final int magnitude) throws IllegalArgumentException {
+			super(magnitude);
+
+			final SineTable trigonometricTable = SineTable.getInstance(magnitude);
+			this.plan = FftPlan.getDoublePrecisionPlan(magnitude - 1);
+			this.cos = new double[(1 << magnitude >> 2) + 1];
+			this.sin = new double[(1 << magnitude >> 2) + 1];
+			for (int index = 0; index < this.cos.length; ++index) {
+				this.cos[index] = trigonometricTable.cos(index);
+				this.sin[index] = trigonometricTable.sin(index);
+			}
+		}
+
+
+		/**
+		 * Performs an <i>in-place Fast Fourier Transform</i> of the given vector. A forward
+		 * transform replaces <tt>N</tt> real values with their packed half spectrum, while an
+		 * inverse transform replaces a packed half spectrum with <tt>N</tt> real values.
+		 * @param inverse whether or not an {@code inverse} fourier transform shall be performed
+		 * @param vector an array of <tt>N</tt> real values, or a packed half spectrum
+		 * @throws NullPointerException if the given vector is {@code null}
+		 * @throws IllegalArgumentException if the given vector's length is not <tt>N</tt>
+		 */
+		public void fft (final boolean inverse, final double[] vector) throws NullPointerException, IllegalArgumentException {
+			if (vector.length != 1 << this.magnitude) throw new IllegalArgumentException();
+			final int half = vector.length >> 1;
+
+			if (inverse) {
+				final double re = vector[0], im = vector[1];
+				vector[0] = .5 * (re + im);
+				vector[1] = .5 * (re - im);
+				for (int index = 1; index <= half >> 1; ++index) {
+					merge(vector, index << 1, (half - index) << 1, this.cos[index], -this.sin[index]);
+				}
+				this.plan.fft(true, vector);
+			} else {
+				this.plan.fft(false, vector);
+				final double re = vector[0], im = vector[1];
+				vector[0] = re + im;
+				vector[1] = re - im;
+				for (int index = 1; index <= half >> 1; ++index) {
+					split(vector, index << 1, (half - index) << 1, this.cos[index], this.sin[index]);
+				}
+			}
+		}
+
+
+		/**
+		 * Separates the even and odd indexed spectra <tt>E</tt> and <tt>O</tt> within the complex
+		 * half length spectrum values <tt>Z<sub>k</sub> = E<sub>k</sub> + i&middot;O<sub>k</sub></tt>
+		 * and <tt>Z<sub>N/2-k</sub></tt>, and replaces them with <tt>X<sub>k</sub> = E<sub>k</sub> +
+		 * W<sup>k</sup>&middot;O<sub>k</sub></tt> and <tt>X<sub>N/2-k</sub> = conj(E<sub>k</sub> -
+		 * W<sup>k</sup>&middot;O<sub>k</sub>)</tt>.
+		 * @param vector the vector
+		 * @param left the braided index of <tt>Z<sub>k</sub></tt>
+		 * @param right the braided index of <tt>Z<sub>N/2-k</sub></tt>
+		 * @param cos the real part of the twiddle factor <tt>W<sup>k</sup></tt>
+		 * @param sin the imaginary part of the twiddle factor <tt>W<sup>k</sup></tt>
+		 */
+		static private void split (final double[] vector, final int left, final int right, final double cos, final double sin) {
+			final double evenRe = .5 * (vector[left] + vector[right]), evenIm = .5 * (vector[left + 1] - vector[right + 1]);
+			final double diffRe = .5 * (vector[left] - vector[right]), diffIm = .5 * (vector[left + 1] + vector[right + 1]);
+			final double twidRe = cos * diffIm + sin * diffRe;
+			final double twidIm = sin * diffIm - cos * diffRe;
+			vector[left]      = evenRe + twidRe;
+			vector[left + 1]  = evenIm + twidIm;
+			vector[right]     = evenRe - twidRe;
+			vector[right + 1] = twidIm - evenIm;
+		}
+
+
+		/**
+		 * Reverses {@link #split(double[], int, int, double, double)}, replacing
+		 * <tt>X<sub>k</sub></tt> and <tt>X<sub>N/2-k</sub></tt> with <tt>Z<sub>k</sub></tt> and
+		 * <tt>Z<sub>N/2-k</sub></tt>.
+		 * @param vector the vector
+		 * @param left the braided index of <tt>X<sub>k</sub></tt>
+		 * @param right the braided index of <tt>X<sub>N/2-k</sub></tt>
+		 * @param cos the real part of the twiddle factor <tt>W<sup>-k</sup></tt>
+		 * @param sin the imaginary part of the twiddle factor <tt>W<sup>-k</sup></tt>
+		 */
+		static private void merge (final double[] vector, final int left, final int right, final double cos, final double sin) {
+			final double evenRe = .5 * (vector[left] + vector[right]), evenIm = .5 * (vector[left + 1] - vector[right + 1]);
+			final double twidRe = .5 * (vector[left] - vector[right]), twidIm = .5 * (vector[left + 1] + vector[right + 1]);
+			final double oddRe = cos * twidRe - sin * twidIm;
+			final double oddIm = cos * twidIm + sin * twidRe;
+			vector[left]      = evenRe - oddIm;
+			vector[left + 1]  = evenIm + oddRe;
+			vector[right]     = evenRe + oddIm;
+			vector[right + 1] = oddRe - evenIm;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package de.sb.toolbox.math;
+
+import static de.sb.toolbox.math.FftTestSupport.randomDoubleVector;
+import static de.sb.toolbox.math.FftTestSupport.randomFloatVector;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+
+public class RealFftPlanTest {
+	static private final byte MAGNITUDE = 16;
+	static private final double DOUBLE_PRECISION = 1E-11f;
+	static private final float SINGLE_PRECISION = 1E-4f;
+
+
+	@Test
+	public void testFloatPlan() {
+		for (int magnitude = 1; magnitude <= MAGNITUDE; ++magnitude) {
+			final RealFftPlan.SinglePrecision plan = new RealFftPlan.SinglePrecision(magnitude);
+			final float[] values = randomFloatVector(1 << magnitude), spectrum = values.clone(), complex = new float[2 << magnitude];
+			for (int index = 0; index < values.length; ++index) complex[index << 1] = values[index];
+
+			new FftPlan.SinglePrecision(magnitude).fft(false, complex);
+			plan.fft(false, spectrum);
+			assertEquals(complex[0], spectrum[0], SINGLE_PRECISION * (magnitude + 1));
+			assertEquals(complex[values.length], spectrum[1], SINGLE_PRECISION * (magnitude + 1));
+			for (int index = 2; index < values.length; ++index) {
+				assertEquals(complex[index], spectrum[index], SINGLE_PRECISION * (magnitude + 1));
+			}
+
+			plan.fft(true, spectrum);
+			assertArrayEquals(values, spectrum, SINGLE_PRECISION);
+		}
+	}
+
+
+	@Test
+	public void testDoublePlan() {
+		for (int magnitude = 1; magnitude <= MAGNITUDE; ++magnitude) {
+			final RealFftPlan.DoublePrecision plan = new RealFftPlan.DoublePrecision(magnitude);
+			final double[] values = randomDoubleVector(1 << magnitude), spectrum = values.clone(), complex = new double[2 << magnitude];
+			for (int index = 0; index < values.length; ++index) complex[index << 1] = values[index];
+
+			new FftPlan.DoublePrecision(magnitude).fft(false, complex);
+			plan.fft(false, spectrum);
+			assertEquals(complex[0], spectrum[0], DOUBLE_PRECISION);
+			assertEquals(complex[values.length], spectrum[1], DOUBLE_PRECISION);
+			for (int index = 2; index < values.length; ++index) {
+				assertEquals(complex[index], spectrum[index], DOUBLE_PRECISION);
+			}
+
+			plan.fft(true, spectrum);
+			assertArrayEquals(values, spectrum, DOUBLE_PRECISION);
+		}
+	}
+}
\ No newline at end of file
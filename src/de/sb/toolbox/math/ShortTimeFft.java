@@ -0,0 +1,396 @@
+package de.sb.toolbox.math;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import de.sb.toolbox.Copyright;
+
+
+/**
+ * Streaming <i>Short-Time Fourier Transforms</i> (STFT) of continuous real sample streams. The
+ * analysis path accepts samples in chunks of arbitrary size, and keeps the latest <tt>N =
+ * 2<sup>magnitude</sup></tt> of them within a ring buffer. Every <tt>H</tt> samples, the ring
+ * buffer's content is unwrapped into a reusable frame, multiplied with a precomputed analysis
+ * window within the same pass, and transformed by a {@link RealFftPlan}. The resulting packed half
+ * spectrum is passed to a consumer, and remains valid only until the consumer returns. The
+ * synthesis path reverses this by weighted overlap-add: it inverse transforms a spectrum, multiplies
+ * it with a synthesis window derived from the analysis window, adds it into an overlap ring buffer,
+ * and emits the next <tt>H</tt> completed samples.
+ * <p>
+ * Both paths operate without allocating memory once created. Note that instances are stateful,
+ * and must therefore not be shared among threads without external synchronization.
+ */
+@Copyright(year = 2026, holders = "Sascha Baumeister")
+public abstract class ShortTimeFft {
+
+	/**
+	 * The value <tt>log<sub>2</sub>(N)</tt>.
+	 */
+	protected final int magnitude;
+
+	/**
+	 * The hop size <tt>H</tt>, i.e. the number of samples between consecutive frames.
+	 */
+	protected final int hop;
+
+
+	/**
+	 * Initializes a new instance.
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @param hop the hop size <tt>H</tt>
+	 * @throws IllegalArgumentException if the given magnitude is not positive or exceeds {@code 30},
+	 *         or if the given hop size is not within range <tt>[1, N]</tt>
+	 */
+	protected ShortTimeFft (final int magnitude, final int hop) throws IllegalArgumentException {
+		if (magnitude < 1 | magnitude > 30 || hop < 1 | hop > 1 << magnitude) throw new IllegalArgumentException();
+		this.magnitude = magnitude;
+		this.hop = hop;
+	}
+
+
+	/**
+	 * Returns the magnitude.
+	 * @return the value <tt>log<sub>2</sub>(N)</tt>
+	 */
+	public int magnitude () {
+		return this.magnitude;
+	}
+
+
+	/**
+	 * Returns the hop size.
+	 * @return the number of samples <tt>H</tt> between consecutive frames
+	 */
+	public int hop () {
+		return this.hop;
+	}
+
+
+	/**
+	 * Discards all buffered analysis and synthesis samples.
+	 */
+	public abstract void reset ();
+
+
+
+	/**
+	 * Streaming STFT for {@code 32-bit} floating-point samples.
+	 */
+	static public final class SinglePrecision extends ShortTimeFft {
+		private final RealFftPlan.SinglePrecision plan;
+		private final float[] analysisWindow, synthesisWindow;
+		private final float[] samples, overlap, frame;
+		private int samplePosition, pendingCount, overlapPosition;
+
+
+		/**
+		 * Creates a new instance.
+		 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+		 * @param hop the hop size <tt>H</tt>
+		 * @param window the analysis window of <tt>N</tt> values
+		 * @throws NullPointerException if the given window is {@code null}
+		 * @throws IllegalArgumentException if the given magnitude is not positive or exceeds
+		 *         {@code 30}, if the given hop size is not within range <tt>[1, N]</tt>, or if the
+		 *         given window's length is not <tt>N</tt>
+		 */
+		public SinglePrecision (final int magnitude, final int hop, final float[] window) throws NullPointerException, IllegalArgumentException {
+			super(magnitude, hop);
+			if (window.length != 1 << magnitude) throw new IllegalArgumentException();
+
+			this.plan = new RealFftPlan.SinglePrecision(magnitude);
+			this.analysisWindow = window.clone();
+			this.synthesisWindow = new float[window.length];
+			this.samples = new float[window.length];
+			this.overlap = new float[window.length];
+			this.frame = new float[window.length];
+			this.pendingCount = window.length;
+
+			// the frames overlapping any given sample sum up to the same weight for all samples
+			// with the same position modulo H; dividing by it allows perfect reconstruction
+			for (int offset = 0; offset < hop; ++offset) {
+				double weight = 0;
+				for (int index = offset; index < window.length; index += hop) {
+					weight += (double) window[index] * window[index];
+				}
+
+				final double norm = weight == 0 ? 0 : 1 / weight;
+				for (int index = offset; index < window.length; index += hop) {
+					this.synthesisWindow[index] = (float) (window[index] * norm);
+				}
+			}
+		}
+
+
+		/**
+		 * Returns a new periodic <i>Hann</i> window of <tt>N</tt> values, which allows perfect
+		 * reconstruction for all hop sizes below <tt>N</tt>.
+		 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+		 * @return the window
+		 * @throws IllegalArgumentException if the given magnitude is negative, or exceeds {@code 30}
+		 */
+		static public float[] newHannWindow (final int magnitude) throws IllegalArgumentException {
+			final SineTable trigonometricTable = SineTable.getInstance(magnitude);
+			final float[] window = new float[1 << magnitude];
+			for (int index = 0; index < window.length; ++index) {
+				window[index] = (float) (.5 - .5 * trigonometricTable.cos(index));
+			}
+			return window;
+		}
+
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void reset () {
+			Arrays.fill(this.samples, 0);
+			Arrays.fill(this.overlap, 0);
+			this.samplePosition = 0;
+			this.overlapPosition = 0;
+			this.pendingCount = this.samples.length;
+		}
+
+
+		/**
+		 * Appends the given chunk of samples to the analysis ring buffer. Whenever <tt>N</tt>
+		 * samples have been accumulated for the first time, and every <tt>H</tt> samples
+		 * thereafter, the latest <tt>N</tt> samples are windowed and transformed, and their packed
+		 * half spectrum is passed to the given consumer; see {@link RealFftPlan} for the layout. The
+		 * spectrum array is reused for subsequent frames, and must therefore neither be modified nor
+		 * retained by the consumer beyond its invocation.
+		 * @param chunk the sample chunk
+		 * @param offset the index of the first sample within the given chunk
+		 * @param length the number of samples
+		 * @param consumer the spectrum consumer
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IndexOutOfBoundsException if the given offset or length is out of bounds
+		 */
+		public void analyze (final float[] chunk, int offset, int length, final Consumer<float[]> consumer) throws NullPointerException, IndexOutOfBoundsException {
+			if (consumer == null) throw new NullPointerException();
+			if (offset < 0 | length < 0 | offset > chunk.length - length) throw new IndexOutOfBoundsException();
+			final int mask = this.samples.length - 1;
+
+			while (length > 0) {
+				final int count = Math.min(Math.min(length, this.pendingCount), this.samples.length - this.samplePosition);
+				System.arraycopy(chunk, offset, this.samples, this.samplePosition, count);
+				this.samplePosition = (this.samplePosition + count) & mask;
+				this.pendingCount -= count;
+				offset += count;
+				length -= count;
+
+				if (this.pendingCount == 0) {
+					final int split = this.samples.length - this.samplePosition;
+					for (int index = 0; index < split; ++index) {
+						this.frame[index] = this.samples[this.samplePosition + index] * this.analysisWindow[index];
+					}
+					for (int index = split; index < this.samples.length; ++index) {
+						this.frame[index] = this.samples[index - split] * this.analysisWindow[index];
+					}
+
+					this.plan.fft(false, this.frame);
+					consumer.accept(this.frame);
+					this.pendingCount = this.hop;
+				}
+			}
+		}
+
+
+		/**
+		 * Inverse transforms the given packed half spectrum, adds the result weighted by the
+		 * synthesis window into the overlap ring buffer, and stores the next <tt>H</tt> completed
+		 * samples into the given chunk. Passing the spectra of consecutive analysis frames
+		 * reconstructs the analyzed samples, except for the first <tt>N-H</tt> ones which lack the
+		 * contributions of preceding frames; the given spectrum is left unmodified.
+		 * @param spectrum the packed half spectrum of <tt>N</tt> values
+		 * @param chunk the sample chunk
+		 * @param offset the index of the first sample within the given chunk
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IllegalArgumentException if the given spectrum's length is not <tt>N</tt>
+		 * @throws IndexOutOfBoundsException if the given offset is out of bounds
+		 */
+		public void synthesize (final float[] spectrum, final float[] chunk, final int offset) throws NullPointerException, IllegalArgumentException, IndexOutOfBoundsException {
+			if (spectrum.length != this.frame.length) throw new IllegalArgumentException();
+			if (offset < 0 | offset > chunk.length - this.hop) throw new IndexOutOfBoundsException();
+			final int mask = this.overlap.length - 1;
+
+			System.arraycopy(spectrum, 0, this.frame, 0, this.frame.length);
+			this.plan.fft(true, this.frame);
+
+			final int split = this.overlap.length - this.overlapPosition;
+			for (int index = 0; index < split; ++index) {
+				this.overlap[this.overlapPosition + index] += this.frame[index] * this.synthesisWindow[index];
+			}
+			for (int index = split; index < this.overlap.length; ++index) {
+				this.overlap[index - split] += this.frame[index] * this.synthesisWindow[index];
+			}
+
+			for (int index = 0; index < this.hop; ++index) {
+				final int position = (this.overlapPosition + index) & mask;
+				chunk[offset + index] = this.overlap[position];
+				this.overlap[position] = 0;
+			}
+			this.overlapPosition = (this.overlapPosition + this.hop) & mask;
+		}
+	}
+
+
+
+	/**
+	 * Streaming STFT for {@code 64-bit} floating-point samples.
+	 */
+	static public final class DoublePrecision extends ShortTimeFft {
+		private final RealFftPlan.DoublePrecision plan;
+		private final double[] analysisWindow, synthesisWindow;
+		private final double[] samples, overlap, frame;
+		private int samplePosition, pendingCount, overlapPosition;
+
+
+		/**
+		 * Creates a new instance.
+		 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+		 * @param hop the hop size <tt>H</tt>
+		 * @param window the analysis window of <tt>N</tt> values
+		 * @throws NullPointerException if the given window is {@code null}
+		 * @throws IllegalArgumentException if the given magnitude is not positive or exceeds
+		 *         {@code 30}, if the given hop size is not within range <tt>[1, N]</tt>, or if the
+		 *         given window's length is not <tt>N</tt>
+		 */
+		public DoublePrecision (final int magnitude, final int hop, final double[] window) throws NullPointerException, IllegalArgumentException {
+			super(magnitude, hop);
+			if (window.length != 1 << magnitude) throw new IllegalArgumentException();
+
+			this.plan = new RealFftPlan.DoublePrecision(magnitude);
+			this.analysisWindow = window.clone();
+			this.synthesisWindow = new double[window.length];
+			this.samples = new double[window.length];
+			this.overlap = new double[window.length];
+			this.frame = new double[window.length];
+			this.pendingCount = window.length;
+
+			// the frames overlapping any given sample sum up to the same weight for all samples
+			// with the same position modulo H; dividing by it allows perfect reconstruction
+			for (int offset = 0; offset < hop; ++offset) {
+				double weight = 0;
+				for (int index = offset; index < window.length; index += hop) {
+					weight += window[index] * window[index];
+				}
+
+				final double norm = weight == 0 ? 0 : 1 / weight;
+				for (int index = offset; index < window.length; index += hop) {
+					this.synthesisWindow[index] = window[index] * norm;
+				}
+			}
+		}
+
+
+		/**
+		 * Returns a new periodic <i>Hann</i> window of <tt>N</tt> values, which allows perfect
+		 * reconstruction for all hop sizes below <tt>N</tt>.
+		 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+		 * @return the window
+		 * @throws IllegalArgumentException if the given magnitude is negative, or exceeds {@code 30}
+		 */
+		static public double[] newHannWindow (final int magnitude) throws IllegalArgumentException {
+			final SineTable trigonometricTable = SineTable.getInstance(magnitude);
+			final double[] window = new double[1 << magnitude];
+			for (int index = 0; index < window.length; ++index) {
+				window[index] = .5 - .5 * trigonometricTable.cos(index);
+			}
+			return window;
+		}
+
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void reset () {
+			Arrays.fill(this.samples, 0);
+			Arrays.fill(this.overlap, 0);
+			this.samplePosition = 0;
+			this.overlapPosition = 0;
+			this.pendingCount = this.samples.length;
+		}
+
+
+		/**
+		 * Appends the given chunk of samples to the analysis ring buffer. Whenever <tt>N</tt>
+		 * samples have been accumulated for the first time, and every <tt>H</tt> samples
+		 * thereafter, the latest <tt>N</tt> samples are windowed and transformed, and their packed
+		 * half spectrum is passed to the given consumer; see {@link RealFftPlan} for the layout. The
+		 * spectrum array is reused for subsequent frames, and must therefore neither be modified nor
+		 * retained by the consumer beyond its invocation.
+		 * @param chunk the sample chunk
+		 * @param offset the index of the first sample within the given chunk
+		 * @param length the number of samples
+		 * @param consumer the spectrum consumer
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IndexOutOfBoundsException if the given offset or length is out of bounds
+		 */
+		public void analyze (final double[] chunk, int offset, int length, final Consumer<double[]> consumer) throws NullPointerException, IndexOutOfBoundsException {
+			if (consumer == null) throw new NullPointerException();
+			if (offset < 0 | length < 0 | offset > chunk.length - length) throw new IndexOutOfBoundsException();
+			final int mask = this.samples.length - 1;
+
+			while (length > 0) {
+				final int count = Math.min(Math.min(length, this.pendingCount), this.samples.length - this.samplePosition);
+				System.arraycopy(chunk, offset, this.samples, this.samplePosition, count);
+				this.samplePosition = (this.samplePosition + count) & mask;
+				this.pendingCount -= count;
+				offset += count;
+				length -= count;
+
+				if (this.pendingCount == 0) {
+					final int split = this.samples.length - this.samplePosition;
+					for (int index = 0; index < split; ++index) {
+						this.frame[index] = this.samples[this.samplePosition + index] * this.analysisWindow[index];
+					}
+					for (int index = split; index < this.samples.length; ++index) {
+						this.frame[index] = this.samples[index - split] * this.analysisWindow[index];
+					}
+
+					this.plan.fft(false, this.frame);
+					consumer.accept(this.frame);
+					this.pendingCount = this.hop;
+				}
+			}
+		}
+
+
+		/**
+		 * Inverse transforms the given packed half spectrum, adds the result weighted by the
+		 * synthesis window into the overlap ring buffer, and stores the next <tt>H</tt> completed
+		 * samples into the given chunk. Passing the spectra of consecutive analysis frames
+		 * reconstructs the analyzed samples, except for the first <tt>N-H</tt> ones which lack the
+		 * contributions of preceding frames; the given spectrum is left unmodified.
+		 * @param spectrum the packed half spectrum of <tt>N</tt> values
+		 * @param chunk the sample chunk
+		 * @param offset the index of the first sample within the given chunk
+		 * @throws NullPointerException if any of the given arguments is {@code null}
+		 * @throws IllegalArgumentException if the given spectrum's length is not <tt>N</tt>
+		 * @throws IndexOutOfBoundsException if the given offset is out of bounds
+		 */
+		public void synthesize (final double[] spectrum, final double[] chunk, final int offset) throws NullPointerException, IllegalArgumentException, IndexOutOfBoundsException {
+			if (spectrum.length != this.frame.length) throw new IllegalArgumentException();
+			if (offset < 0 | offset > chunk.length - this.hop) throw new IndexOutOfBoundsException();
+			final int mask = this.overlap.length - 1;
+
+			System.arraycopy(spectrum, 0, this.frame, 0, this.frame.length);
+			this.plan.fft(true, this.frame);
+
+			final int split = this.overlap.length - this.overlapPosition;
+			for (int index = 0; index < split; ++index) {
+				this.overlap[this.overlapPosition + index] += this.frame[index] * this.synthesisWindow[index];
+			}
+			for (int index = split; index < this.overlap.length; ++index) {
+				this.overlap[index - split] += this.frame[index] * this.synthesisWindow[index];
+			}
+
+			for (int index = 0; index < this.hop; ++index) {
+				final int position = (this.overlapPosition + index) & mask;
+				chunk[offset + index] = this.overlap[position];
+				this.overlap[position] = 0;
+			}
+			this.overlapPosition = (this.overlapPosition + this.hop) & mask;
+		}
+	}
+}
\ No newline at end of file
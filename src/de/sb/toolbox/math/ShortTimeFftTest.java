@@ -0,0 +1,136 @@
+package de.sb.toolbox.math;
+
+import static de.sb.toolbox.math.FftTestSupport.randomDoubleVector;
+import static de.sb.toolbox.math.FftTestSupport.randomFloatVector;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.Test;
+
+
+public class ShortTimeFftTest {
+	static private final byte MAGNITUDE = 8;
+	static private final int SAMPLE_COUNT = 5000;
+	static private final double DOUBLE_PRECISION = 1E-11f;
+	static private final float SINGLE_PRECISION = 1E-4f;
+
+
+	@Test
+	public void testFloatAnalysis() {
+		final int[] hops = { 1 << MAGNITUDE, 100, 64, 1 };
+		final float[] values = randomFloatVector(SAMPLE_COUNT);
+		final RealFftPlan.SinglePrecision plan = new RealFftPlan.SinglePrecision(MAGNITUDE);
+
+		for (final int hop : hops) {
+			final float[] window = ShortTimeFft.SinglePrecision.newHannWindow(MAGNITUDE);
+			final ShortTimeFft.SinglePrecision stft = new ShortTimeFft.SinglePrecision(MAGNITUDE, hop, window);
+			final List<float[]> spectra = new ArrayList<>();
+			for (int offset = 0, length; offset < values.length; offset += length) {
+				length = Math.min(values.length - offset, ThreadLocalRandom.current().nextInt(3 << MAGNITUDE));
+				stft.analyze(values, offset, length, spectrum -> spectra.add(spectrum.clone()));
+			}
+
+			assertEquals((values.length - window.length) / hop + 1, spectra.size());
+			for (int frame = 0; frame < spectra.size(); ++frame) {
+				final float[] expected = new float[window.length];
+				for (int index = 0; index < expected.length; ++index) expected[index] = values[frame * hop + index] * window[index];
+				plan.fft(false, expected);
+				assertArrayEquals(expected, spectra.get(frame), SINGLE_PRECISION * (MAGNITUDE + 1));
+			}
+		}
+	}
+
+
+	@Test
+	public void testDoubleAnalysis() {
+		final int[] hops = { 1 << MAGNITUDE, 100, 64, 1 };
+		final double[] values = randomDoubleVector(SAMPLE_COUNT);
+		final RealFftPlan.DoublePrecision plan = new RealFftPlan.DoublePrecision(MAGNITUDE);
+
+		for (final int hop : hops) {
+			final double[] window = ShortTimeFft.DoublePrecision.newHannWindow(MAGNITUDE);
+			final ShortTimeFft.DoublePrecision stft = new ShortTimeFft.DoublePrecision(MAGNITUDE, hop, window);
+			final List<double[]> spectra = new ArrayList<>();
+			for (int offset = 0, length; offset < values.length; offset += length) {
+				length = Math.min(values.length - offset, ThreadLocalRandom.current().nextInt(3 << MAGNITUDE));
+				stft.analyze(values, offset, length, spectrum -> spectra.add(spectrum.clone()));
+			}
+
+			assertEquals((values.length - window.length) / hop + 1, spectra.size());
+			for (int frame = 0; frame < spectra.size(); ++frame) {
+				final double[] expected = new double[window.length];
+				for (int index = 0; index < expected.length; ++index) expected[index] = values[frame * hop + index] * window[index];
+				plan.fft(false, expected);
+				assertArrayEquals(expected, spectra.get(frame), DOUBLE_PRECISION);
+			}
+		}
+	}
+
+
+	@Test
+	public void testFloatResynthesis() {
+		final int[] hops = { 128, 100, 64, 37 };
+		final float[] values = randomFloatVector(SAMPLE_COUNT);
+
+		for (final int hop : hops) {
+			final ShortTimeFft.SinglePrecision stft = new ShortTimeFft.SinglePrecision(MAGNITUDE, hop, ShortTimeFft.SinglePrecision.newHannWindow(MAGNITUDE));
+			final float[] result = new float[values.length + hop];
+			final int[] position = { 0 };
+			stft.analyze(values, 0, values.length, spectrum -> {
+				stft.synthesize(spectrum, result, position[0]);
+				position[0] += hop;
+			});
+
+			final int from = (1 << MAGNITUDE) - hop;
+			for (int index = from; index < position[0]; ++index) {
+				assertEquals(values[index], result[index], SINGLE_PRECISION);
+			}
+		}
+	}
+
+
+	@Test
+	public void testDoubleResynthesis() {
+		final int[] hops = { 128, 100, 64, 37 };
+		final double[] values = randomDoubleVector(SAMPLE_COUNT);
+
+		for (final int hop : hops) {
+			final ShortTimeFft.DoublePrecision stft = new ShortTimeFft.DoublePrecision(MAGNITUDE, hop, ShortTimeFft.DoublePrecision.newHannWindow(MAGNITUDE));
+			final double[] result = new double[values.length + hop];
+			final int[] position = { 0 };
+			stft.analyze(values, 0, values.length, spectrum -> {
+				stft.synthesize(spectrum, result, position[0]);
+				position[0] += hop;
+			});
+
+			final int from = (1 << MAGNITUDE) - hop;
+			for (int index = from; index < position[0]; ++index) {
+				assertEquals(values[index], result[index], DOUBLE_PRECISION);
+			}
+
+			stft.reset();
+			final List<double[]> spectra = new ArrayList<>();
+			stft.analyze(values, 0, 1 << MAGNITUDE, spectrum -> spectra.add(spectrum.clone()));
+			assertEquals(1, spectra.size());
+		}
+	}
+
+
+	@Test
+	public void testIllegalArguments() {
+		final float[] window = new float[16];
+		try { new ShortTimeFft.SinglePrecision(0, 1, new float[1]); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new ShortTimeFft.SinglePrecision(4, 0, window); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new ShortTimeFft.SinglePrecision(4, 17, window); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new ShortTimeFft.SinglePrecision(4, 4, new float[8]); fail(); } catch (final IllegalArgumentException exception) {}
+
+		final ShortTimeFft.SinglePrecision stft = new ShortTimeFft.SinglePrecision(4, 4, window);
+		try { stft.analyze(window, 8, 9, spectrum -> {}); fail(); } catch (final IndexOutOfBoundsException exception) {}
+		try { stft.analyze(window, 0, 8, null); fail(); } catch (final NullPointerException exception) {}
+		try { stft.synthesize(new float[8], window, 0); fail(); } catch (final IllegalArgumentException exception) {}
+		try { stft.synthesize(window, window, 13); fail(); } catch (final IndexOutOfBoundsException exception) {}
+	}
+}
\ No newline at end of file
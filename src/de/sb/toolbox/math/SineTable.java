@@ -0,0 +1,372 @@
+package de.sb.toolbox.math;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import de.sb.toolbox.Copyright;
+
+
+/**
+ * Compact tables of the values <tt>sin(2&pi;&middot;index/2<sup>magnitude</sup>)</tt> and
+ * <tt>cos(2&pi;&middot;index/2<sup>magnitude</sup>)</tt>. In contrast to
+ * {@link FunctionTables#getTrigonometricTable(int)}, which keeps a separate table per magnitude,
+ * all instances share a single <i>quarter-wave</i> sine table of <tt>2<sup>M-2</sup>+1</tt>
+ * values, with <tt>M</tt> being the largest magnitude requested so far. Smaller magnitudes are
+ * derived from it by striding, and the remaining three quarters of both functions by symmetry.
+ * <p>
+ * Magnitudes whose quarter-wave table would exceed the memory limit are served in <i>factored</i>
+ * mode instead, composing each value accurately from a coarse and a fine table of about
+ * <tt>&radic;N</tt> entries each, using the angle sum identities. The memory limit is determined
+ * by the system property {@code de.sb.toolbox.math.SineTable.memoryLimit} in bytes, and defaults
+ * to <tt>64MB</tt>.
+ * <p>
+ * The shared quarter-wave table is referenced softly, and therefore evicted under memory pressure
+ * once no instance uses it anymore. It may also be persisted into a binary file, which allows
+ * short-lived JVMs to skip its computation: such a file starts with a header of magic number,
+ * version and magnitude, followed by the big-endian table values and a CRC-32 checksum of all
+ * preceding bytes. It is loaded using a memory-mapped file channel, and lazily rebuilt if it is
+ * missing, corrupt, outdated, or too small. The system property
+ * {@code de.sb.toolbox.math.SineTable.path} causes {@link #getInstance(int)} to use such a file.
+ * Instances are immutable, and may be shared among threads.
+ */
+@Copyright(year = 2026, holders = "Sascha Baumeister")
+public final class SineTable {
+	static private volatile long MEMORY_LIMIT = Long.getLong(SineTable.class.getName() + ".memoryLimit", 1L << 26);
+	static private final String PATH_PROPERTY = SineTable.class.getName() + ".path";
+	static private final int FILE_MAGIC = 0x53494E45;
+	static private final int FILE_VERSION = 1;
+	static private final int HEADER_SIZE = 3 * Integer.BYTES;
+	static private SoftReference<double[]> QUARTER_WAVE = new SoftReference<>(null);
+
+	private final int magnitude;
+	private final int stride;
+	private final double[] quarterWave;
+	private final double[] coarse, fine;
+
+
+	/**
+	 * Creates a new instance.
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @param quarterWave the shared quarter-wave sine table, or {@code null} for factored mode
+	 */
+	private SineTable (final int magnitude, final double[] quarterWave) {
+		this.magnitude = magnitude;
+		this.quarterWave = quarterWave;
+
+		if (quarterWave != null) {
+			this.stride = Integer.numberOfTrailingZeros(quarterWave.length - 1) + 2 - magnitude;
+			this.coarse = null;
+			this.fine = null;
+		} else {
+			final int fineMagnitude = magnitude >> 1;
+			this.stride = fineMagnitude;
+			this.coarse = new double[2 << magnitude - fineMagnitude];
+			this.fine = new double[2 << fineMagnitude];
+
+			for (int index = 0; index < this.coarse.length >> 1; ++index) {
+				this.coarse[index << 1] = octantSin(((long) index << 2) + (1L << magnitude - fineMagnitude), magnitude - fineMagnitude + 2);
+				this.coarse[index << 1 | 1] = octantSin(index, magnitude - fineMagnitude);
+			}
+			for (int index = 0; index < this.fine.length >> 1; ++index) {
+				this.fine[index << 1] = octantSin(((long) index << 2) + (1L << magnitude), magnitude + 2);
+				this.fine[index << 1 | 1] = octantSin(index, magnitude);
+			}
+		}
+	}
+
+
+	/**
+	 * Returns a table for the given magnitude. If the magnitude is within the memory limit and
+	 * exceeds the magnitude of the shared quarter-wave table, the latter is replaced by a larger
+	 * one; instances obtained before keep using the smaller table. If the system property
+	 * {@code de.sb.toolbox.math.SineTable.path} is set, the larger table is loaded from, or
+	 * persisted into, the file it denotes; I/O problems cause the table to be computed instead.
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @return the table
+	 * @throws IllegalArgumentException if the given magnitude is negative or exceeds {@code 30}
+	 */
+	static public SineTable getInstance (final int magnitude) throws IllegalArgumentException {
+		if (magnitude < 0 | magnitude > 30) throw new IllegalArgumentException();
+		if (quarterWaveSize(magnitude) > MEMORY_LIMIT) return new SineTable(magnitude, null);
+
+		final String path = System.getProperty(PATH_PROPERTY);
+		if (path != null) {
+			try {
+				return new SineTable(magnitude, quarterWave(Paths.get(path), magnitude));
+			} catch (final IOException exception) {
+				// compute the table instead
+			}
+		}
+
+		return new SineTable(magnitude, quarterWave(magnitude));
+	}
+
+
+	/**
+	 * Returns a table for the given magnitude, see {@link #getInstance(int)}. If the shared
+	 * quarter-wave table must be replaced, the larger table is loaded from the given file; if the
+	 * latter is missing, or contains an invalid or too small table, the table is computed and
+	 * persisted into the given file.
+	 * @param path the table file path
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @return the table
+	 * @throws NullPointerException if the given path is {@code null}
+	 * @throws IllegalArgumentException if the given magnitude is negative or exceeds {@code 30}
+	 * @throws IOException if there is an I/O related problem
+	 */
+	static public SineTable getInstance (final Path path, final int magnitude) throws NullPointerException, IllegalArgumentException, IOException {
+		if (path == null) throw new NullPointerException();
+		if (magnitude < 0 | magnitude > 30) throw new IllegalArgumentException();
+		if (quarterWaveSize(magnitude) > MEMORY_LIMIT) return new SineTable(magnitude, null);
+
+		return new SineTable(magnitude, quarterWave(path, magnitude));
+	}
+
+
+	/**
+	 * Returns the memory limit for the shared quarter-wave table.
+	 * @return the memory limit in bytes
+	 */
+	static public long getMemoryLimit () {
+		return MEMORY_LIMIT;
+	}
+
+
+	/**
+	 * Sets the memory limit for the shared quarter-wave table, which affects instances created
+	 * afterwards. This allows tests to force factored mode for small magnitudes.
+	 * @param memoryLimit the memory limit in bytes
+	 * @throws IllegalArgumentException if the given memory limit is negative
+	 */
+	static void setMemoryLimit (final long memoryLimit) throws IllegalArgumentException {
+		if (memoryLimit < 0) throw new IllegalArgumentException();
+		MEMORY_LIMIT = memoryLimit;
+	}
+
+
+	/**
+	 * Returns the magnitude.
+	 * @return the value <tt>log<sub>2</sub>(N)</tt>
+	 */
+	public int magnitude () {
+		return this.magnitude;
+	}
+
+
+	/**
+	 * Returns whether or not this table operates in factored mode.
+	 * @return {@code true} if the values are composed from coarse and fine tables, {@code false}
+	 *         if they are looked up within the shared quarter-wave table
+	 */
+	public boolean isFactored () {
+		return this.quarterWave == null;
+	}
+
+
+	/**
+	 * Returns the value <tt>sin(2&pi;&middot;index/2<sup>magnitude</sup>)</tt>.
+	 * @param index the angle index, taken modulo <tt>2<sup>magnitude</sup></tt>
+	 * @return the sine value
+	 */
+	public double sin (final int index) {
+		final int angleIndex = index & (1 << this.magnitude) - 1;
+		if (this.quarterWave != null) return this.quarterSin(angleIndex << this.stride);
+
+		final int coarseIndex = (angleIndex >>> this.stride) << 1, fineIndex = (angleIndex & (1 << this.stride) - 1) << 1;
+		return this.coarse[coarseIndex + 1] * this.fine[fineIndex] + this.coarse[coarseIndex] * this.fine[fineIndex + 1];
+	}
+
+
+	/**
+	 * Returns the value <tt>cos(2&pi;&middot;index/2<sup>magnitude</sup>)</tt>.
+	 * @param index the angle index, taken modulo <tt>2<sup>magnitude</sup></tt>
+	 * @return the cosine value
+	 */
+	public double cos (final int index) {
+		final int angleIndex = index & (1 << this.magnitude) - 1;
+		if (this.quarterWave != null) return this.quarterSin((angleIndex << this.stride) + this.quarterWave.length - 1);
+
+		final int coarseIndex = (angleIndex >>> this.stride) << 1, fineIndex = (angleIndex & (1 << this.stride) - 1) << 1;
+		return this.coarse[coarseIndex] * this.fine[fineIndex] - this.coarse[coarseIndex + 1] * this.fine[fineIndex + 1];
+	}
+
+
+	/**
+	 * Returns the sine of the given index of the shared quarter-wave table's full period, using
+	 * the symmetries <tt>sin(&pi;-x) = sin(x)</tt> and <tt>sin(&pi;+x) = -sin(x)</tt>.
+	 * @param index the full period index, taken modulo four times the quarter length
+	 * @return the sine value
+	 */
+	private double quarterSin (final int index) {
+		final double[] quarterWave = this.quarterWave;
+		final int quarterLength = quarterWave.length - 1;
+		final int quadrant = (index >>> Integer.numberOfTrailingZeros(quarterLength)) & 3, remainder = index & quarterLength - 1;
+
+		switch (quadrant) {
+			case 0:
+				return +quarterWave[remainder];
+			case 1:
+				return +quarterWave[quarterLength - remainder];
+			case 2:
+				return -quarterWave[remainder];
+			default:
+				return -quarterWave[quarterLength - remainder];
+		}
+	}
+
+
+	/**
+	 * Returns the shared quarter-wave table, which is replaced by a newly computed one if it
+	 * doesn't cover the given magnitude.
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @return the shared quarter-wave table
+	 */
+	static private synchronized double[] quarterWave (final int magnitude) {
+		double[] quarterWave = QUARTER_WAVE.get();
+		if (quarterWave == null || quarterWave.length - 1 < 1 << Math.max(0, magnitude - 2)) {
+			quarterWave = newQuarterWave(Math.max(2, magnitude));
+			QUARTER_WAVE = new SoftReference<>(quarterWave);
+		}
+		return quarterWave;
+	}
+
+
+	/**
+	 * Returns the shared quarter-wave table, which is replaced by one loaded from the given file if
+	 * it doesn't cover the given magnitude. If said file doesn't contain a valid table covering the
+	 * given magnitude, a new table is computed and persisted instead.
+	 * @param path the table file path
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @return the shared quarter-wave table
+	 * @throws IOException if there is an I/O related problem
+	 */
+	static private synchronized double[] quarterWave (final Path path, final int magnitude) throws IOException {
+		double[] quarterWave = QUARTER_WAVE.get();
+		if (quarterWave == null || quarterWave.length - 1 < 1 << Math.max(0, magnitude - 2)) {
+			quarterWave = readQuarterWave(path, Math.max(2, magnitude));
+			if (quarterWave == null) {
+				quarterWave = newQuarterWave(Math.max(2, magnitude));
+				writeQuarterWave(path, quarterWave);
+			}
+			QUARTER_WAVE = new SoftReference<>(quarterWave);
+		}
+		return quarterWave;
+	}
+
+
+	/**
+	 * Returns the value <tt>sin(2&pi;&middot;index/2<sup>magnitude</sup>)</tt>, after reducing the
+	 * angle into the first octant using symmetries. This matters for factored mode, as rounding an
+	 * angle close to <tt>2&pi;</tt> alone costs several units in the last place; cosines are obtained
+	 * using <tt>cos(x) = sin(x + &pi;/2)</tt>, i.e. the index <tt>4&middot;index + 2<sup>magnitude</sup></tt>
+	 * at <tt>magnitude + 2</tt>.
+	 * @param index the angle index, taken modulo <tt>2<sup>magnitude</sup></tt>
+	 * @param magnitude the value <tt>log<sub>2</sub></tt> of the full period length
+	 * @return the sine value
+	 */
+	static private double octantSin (final long index, final int magnitude) {
+		final long size = 1L << magnitude;
+		long angleIndex = index & size - 1;
+		final boolean negative = magnitude > 0 & angleIndex >= size >> 1;
+		if (negative) angleIndex -= size >> 1;
+		if (angleIndex > size >> 2) angleIndex = (size >> 1) - angleIndex;
+
+		final double value = angleIndex > size >> 3
+			? Math.cos(2 * Math.PI * Math.scalb((double) ((size >> 2) - angleIndex), -magnitude))
+			: Math.sin(2 * Math.PI * Math.scalb((double) angleIndex, -magnitude));
+		return negative ? -value : value;
+	}
+
+
+	/**
+	 * Returns the size of a quarter-wave table.
+	 * @param magnitude the value <tt>log<sub>2</sub></tt> of the full period length
+	 * @return the table size in bytes
+	 */
+	static private long quarterWaveSize (final int magnitude) {
+		return ((1L << Math.max(0, magnitude - 2)) + 1) * Double.BYTES;
+	}
+
+
+	/**
+	 * Returns a new quarter-wave sine table.
+	 * @param magnitude the value <tt>log<sub>2</sub></tt> of the full period length, at least
+	 *        {@code 2}
+	 * @return the values <tt>sin(2&pi;&middot;index/2<sup>magnitude</sup>)</tt> for all indices
+	 *         within range <tt>[0, 2<sup>magnitude-2</sup>]</tt>
+	 */
+	static private double[] newQuarterWave (final int magnitude) {
+		final double[] quarterWave = new double[(1 << magnitude - 2) + 1];
+		for (int index = 0; index < quarterWave.length; ++index) {
+			quarterWave[index] = Math.sin(0.5 * Math.PI * Math.scalb((double) index, 2 - magnitude));
+		}
+		quarterWave[quarterWave.length - 1] = 1;
+		return quarterWave;
+	}
+
+
+	/**
+	 * Reads a quarter-wave sine table from the given file, which is memory-mapped for this purpose.
+	 * @param path the table file path
+	 * @param magnitude the minimum value <tt>log<sub>2</sub></tt> of the full period length
+	 * @return the table read, or {@code null} if the file doesn't exist, is corrupt or outdated, or
+	 *         if its table is smaller than requested or exceeds the memory limit
+	 * @throws IOException if there is an I/O related problem
+	 */
+	static double[] readQuarterWave (final Path path, final int magnitude) throws IOException {
+		if (!Files.isRegularFile(path)) return null;
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() < HEADER_SIZE) return null;
+			final MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+			final int fileMagnitude = buffer.getInt(2 * Integer.BYTES);
+			if (buffer.getInt(0) != FILE_MAGIC | buffer.getInt(Integer.BYTES) != FILE_VERSION | fileMagnitude < magnitude | fileMagnitude > 30) return null;
+			if (quarterWaveSize(fileMagnitude) > MEMORY_LIMIT || channel.size() != HEADER_SIZE + quarterWaveSize(fileMagnitude) + Long.BYTES) return null;
+
+			final int checksumOffset = buffer.capacity() - Long.BYTES;
+			final CRC32 checksum = new CRC32();
+			checksum.update((ByteBuffer) buffer.duplicate().limit(checksumOffset));
+			if (checksum.getValue() != buffer.getLong(checksumOffset)) return null;
+
+			final double[] quarterWave = new double[(1 << fileMagnitude - 2) + 1];
+			((ByteBuffer) buffer.position(HEADER_SIZE)).asDoubleBuffer().get(quarterWave);
+			return quarterWave;
+		}
+	}
+
+
+	/**
+	 * Writes the given quarter-wave sine table into the given file. The file is replaced
+	 * atomically, which prevents concurrent JVMs from reading partially written tables.
+	 * @param path the table file path
+	 * @param quarterWave the quarter-wave table
+	 * @throws IOException if there is an I/O related problem
+	 */
+	static void writeQuarterWave (final Path path, final double[] quarterWave) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + quarterWave.length * Double.BYTES + Long.BYTES);
+		buffer.putInt(FILE_MAGIC).putInt(FILE_VERSION).putInt(Integer.numberOfTrailingZeros(quarterWave.length - 1) + 2);
+		buffer.asDoubleBuffer().put(quarterWave);
+
+		final int checksumOffset = buffer.capacity() - Long.BYTES;
+		final CRC32 checksum = new CRC32();
+		checksum.update(buffer.array(), 0, checksumOffset);
+		buffer.putLong(checksumOffset, checksum.getValue());
+
+		final Path tempPath = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+		try {
+			Files.write(tempPath, buffer.array());
+			Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tempPath);
+		}
+	}
+}
\ No newline at end of file
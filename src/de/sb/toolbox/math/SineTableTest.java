@@ -0,0 +1,167 @@
+package de.sb.toolbox.math;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
+import org.junit.Test;
+
+
+public class SineTableTest {
+	static private final byte MAGNITUDE = 16;
+	static private final byte PLAN_MAGNITUDE = 20;
+	static private final double DOUBLE_PRECISION = 1E-14;
+	static private final double TABLE_ULPS = 1, PLAN_ULPS = 4;
+
+
+	@Test
+	public void testQuarterWave() {
+		for (int magnitude = 0; magnitude <= MAGNITUDE; ++magnitude) {
+			final SineTable table = SineTable.getInstance(magnitude);
+			assertEquals(magnitude, table.magnitude());
+			assertFalse(table.isFactored());
+
+			for (int index = -(1 << magnitude); index < 2 << magnitude; ++index) {
+				final double angle = 2 * Math.PI * Math.scalb((double) index, -magnitude);
+				assertEquals(Math.sin(angle), table.sin(index), DOUBLE_PRECISION);
+				assertEquals(Math.cos(angle), table.cos(index), DOUBLE_PRECISION);
+			}
+		}
+
+		final SineTable table = SineTable.getInstance(3);
+		assertEquals(1, table.sin(2), 0);
+		assertEquals(-1, table.cos(4), 0);
+		assertEquals(0, table.sin(0), 0);
+	}
+
+
+	@Test
+	public void testFactored() {
+		final int magnitude = Math.max(MAGNITUDE, Long.numberOfTrailingZeros(Long.highestOneBit(SineTable.getMemoryLimit())) - 1);
+		assertTrue(magnitude <= 30);
+
+		final SineTable table = SineTable.getInstance(magnitude);
+		assertTrue(table.isFactored());
+		for (int loop = 0; loop < 100000; ++loop) {
+			final int index = ThreadLocalRandom.current().nextInt(1 << magnitude);
+			final double angle = 2 * Math.PI * Math.scalb((double) index, -magnitude);
+			assertEquals(Math.sin(angle), table.sin(index), DOUBLE_PRECISION);
+			assertEquals(Math.cos(angle), table.cos(index), DOUBLE_PRECISION);
+		}
+	}
+
+
+	@Test
+	public void testFactoredPlan() {
+		final long memoryLimit = SineTable.getMemoryLimit();
+		SineTable.setMemoryLimit(0);
+		try {
+			final SineTable table = SineTable.getInstance(PLAN_MAGNITUDE);
+			assertTrue(table.isFactored());
+			for (int index = 0; index < 1 << PLAN_MAGNITUDE; ++index) {
+				assertEquals(0, ulps(table.sin(index), sin(index, PLAN_MAGNITUDE)), TABLE_ULPS);
+				assertEquals(0, ulps(table.cos(index), sin(index + (1 << PLAN_MAGNITUDE - 2), PLAN_MAGNITUDE)), TABLE_ULPS);
+			}
+
+			// the transform of a unit impulse at index one passes the roots of unity through all stages
+			final FftPlan.DoublePrecision plan = new FftPlan.DoublePrecision(PLAN_MAGNITUDE);
+			for (final FftPlan.Kernel kernel : FftPlan.Kernel.values()) {
+				final double[] vector = new double[2 << PLAN_MAGNITUDE];
+				vector[2] = 1;
+				plan.fft(false, kernel, vector);
+
+				for (int index = 0; index < 1 << PLAN_MAGNITUDE; ++index) {
+					assertEquals(0, ulps(vector[2 * index], sin(index + (1 << PLAN_MAGNITUDE - 2), PLAN_MAGNITUDE)), PLAN_ULPS);
+					assertEquals(0, ulps(vector[2 * index + 1], sin(index, PLAN_MAGNITUDE)), PLAN_ULPS);
+				}
+			}
+		} finally {
+			SineTable.setMemoryLimit(memoryLimit);
+		}
+	}
+
+
+	@Test
+	public void testPersistence() throws IOException {
+		final Path path = Files.createTempFile("sine-", ".bin");
+		try {
+			Files.delete(path);
+			assertNull(SineTable.readQuarterWave(path, 12));
+
+			final double[] values = new double[(1 << 10) + 1];
+			for (int index = 0; index < values.length; ++index) values[index] = sin(index, 12);
+			SineTable.writeQuarterWave(path, values);
+			assertEquals(12 + 8 * values.length + 8, Files.size(path));
+			assertArrayEquals(values, SineTable.readQuarterWave(path, 12), 0);
+			assertArrayEquals(values, SineTable.readQuarterWave(path, 10), 0);
+			assertNull(SineTable.readQuarterWave(path, 13));
+
+			Arrays.fill(values, 0.5);
+			writeTable(path, 12, values, false);
+			assertArrayEquals(values, SineTable.readQuarterWave(path, 12), 0);
+			writeTable(path, 12, values, true);
+			assertNull(SineTable.readQuarterWave(path, 12));
+			writeTable(path, 13, values, false);
+			assertNull(SineTable.readQuarterWave(path, 12));
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+
+	@Test
+	public void testIllegalMagnitude() {
+		try { SineTable.getInstance(-1); fail(); } catch (final IllegalArgumentException exception) {}
+		try { SineTable.getInstance(31); fail(); } catch (final IllegalArgumentException exception) {}
+	}
+
+
+	/**
+	 * Returns the reference value <tt>sin(2&pi;&middot;index/2<sup>magnitude</sup>)</tt>, using
+	 * {@link Math#sin(double)} or {@link Math#cos(double)} of an angle within <tt>[0, &pi;/4]</tt>,
+	 * as rounding larger angles would already cost several units in the last place.
+	 * @param index the angle index
+	 * @param magnitude the value <tt>log<sub>2</sub></tt> of the full period length, at least {@code 3}
+	 * @return the sine value
+	 */
+	static private double sin (final int index, final int magnitude) {
+		final int size = 1 << magnitude, angleIndex = index & size - 1;
+		if (angleIndex >= size >> 1) return -sin(angleIndex - (size >> 1), magnitude);
+		if (angleIndex > size >> 2) return sin((size >> 1) - angleIndex, magnitude);
+		if (angleIndex > size >> 3) return Math.cos(2 * Math.PI * ((size >> 2) - angleIndex) / size);
+		return Math.sin(2 * Math.PI * angleIndex / size);
+	}
+
+
+	/**
+	 * Returns the difference between the given values in units of the last place of one, which
+	 * remains meaningful for values close to the zeros of sine and cosine.
+	 * @param actual the actual value
+	 * @param expected the expected value
+	 * @return the absolute difference in units of <tt>ulp(1)</tt>
+	 */
+	static private double ulps (final double actual, final double expected) {
+		return Math.abs(actual - expected) / Math.ulp(1d);
+	}
+
+
+	static private void writeTable (final Path path, final int magnitude, final double[] values, final boolean corrupt) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(12 + 8 * values.length + 8);
+		buffer.putInt(0x53494E45).putInt(1).putInt(magnitude);
+		buffer.asDoubleBuffer().put(values);
+
+		final CRC32 checksum = new CRC32();
+		checksum.update(buffer.array(), 0, buffer.capacity() - 8);
+		buffer.putLong(buffer.capacity() - 8, checksum.getValue() + (corrupt ? 1 : 0));
+		Files.write(path, buffer.array());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,406 @@
+package de.sb.toolbox.math;
+
+import java.util.Arrays;
+import de.sb.toolbox.Copyright;
+
+
+/**
+ * <i>Sliding Discrete Fourier Transforms</i> over the latest <tt>N = 2<sup>magnitude</sup></tt>
+ * values of a continuous real sample stream, following the conventions of
+ * {@link FastFourierTransform}. Every incoming sample <tt>x<sub>new</sub></tt> replaces the oldest
+ * sample <tt>x<sub>old</sub></tt> of the window, which changes each tracked bin by
+ * <tt>X<sub>k</sub>' = (X<sub>k</sub> + x<sub>new</sub> - x<sub>old</sub>)&middot;e<sup>-2&pi;ik/N</sup></tt>;
+ * this costs <tt>O(k)</tt> operations per sample for <tt>k</tt> tracked bins, instead of the
+ * <tt>O(N&middot;log(N))</tt> operations of a full transform.
+ * <p>
+ * As rounding errors accumulate within the recurrence, the tracked bins are resynchronized after a
+ * given number of samples by evaluating them anew from the window contents, using a
+ * {@link GoertzelPlan} which in turn computes a full real FFT if many bins are tracked. Choosing a
+ * resynchronization interval of at least <tt>N</tt> samples keeps the amortized cost of this
+ * within <tt>O(log(N))</tt> operations per sample. Note that instances are stateful, and must
+ * therefore not be shared among threads without external synchronization.
+ */
+@Copyright(year = 2026, holders = "Sascha Baumeister")
+public abstract class SlidingDft {
+
+	/**
+	 * The value <tt>log<sub>2</sub>(N)</tt>.
+	 */
+	protected final int magnitude;
+
+	/**
+	 * The number of samples between resynchronizations.
+	 */
+	protected final int interval;
+
+
+	/**
+	 * Initializes a new instance.
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @param interval the number of samples between resynchronizations
+	 * @throws IllegalArgumentException if the given magnitude is not positive or exceeds {@code 30},
+	 *         or if the given interval is not positive
+	 */
+	protected SlidingDft (final int magnitude, final int interval) throws IllegalArgumentException {
+		if (magnitude < 1 | magnitude > 30 | interval < 1) throw new IllegalArgumentException();
+		this.magnitude = magnitude;
+		this.interval = interval;
+	}
+
+
+	/**
+	 * Returns all <tt>N</tt> bins in ascending order.
+	 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+	 * @return the bins
+	 * @throws IllegalArgumentException if the given magnitude is not positive or exceeds {@code 30}
+	 */
+	static protected int[] allBins (final int magnitude) throws IllegalArgumentException {
+		if (magnitude < 1 | magnitude > 30) throw new IllegalArgumentException();
+		final int[] bins = new int[1 << magnitude];
+		for (int index = 0; index < bins.length; ++index) bins[index] = index;
+		return bins;
+	}
+
+
+	/**
+	 * Returns the magnitude.
+	 * @return the value <tt>log<sub>2</sub>(N)</tt>
+	 */
+	public int magnitude () {
+		return this.magnitude;
+	}
+
+
+	/**
+	 * Returns the resynchronization interval.
+	 * @return the number of samples between resynchronizations
+	 */
+	public int interval () {
+		return this.interval;
+	}
+
+
+	/**
+	 * Returns the tracked bins.
+	 * @return the bins, in the order of their spectrum values
+	 */
+	public abstract int[] bins ();
+
+
+	/**
+	 * Discards all buffered samples, and resets the spectrum to zero.
+	 */
+	public abstract void reset ();
+
+
+	/**
+	 * Evaluates the tracked bins anew from the current window contents, which discards the
+	 * rounding errors accumulated since the last resynchronization.
+	 */
+	public abstract void resynchronize ();
+
+
+
+	/**
+	 * Sliding DFT for {@code 32-bit} floating-point samples.
+	 */
+	static public final class SinglePrecision extends SlidingDft {
+		private final GoertzelPlan.SinglePrecision plan;
+		private final float[] cos, sin;
+		private final float[] samples, frame, spectrum;
+		private int samplePosition, pendingCount;
+
+
+		/**
+		 * Creates a new instance tracking all <tt>N</tt> bins.
+		 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+		 * @param interval the number of samples between resynchronizations
+		 * @throws IllegalArgumentException if the given magnitude is not positive or exceeds
+		 *         {@code 30}, or if the given interval is not positive
+		 */
+		public SinglePrecision (final int magnitude, final int interval) throws IllegalArgumentException {
+			this(magnitude, interval, allBins(magnitude));
+		}
+
+
+		/**
+		 * Creates a new instance tracking the given bins.
+		 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+		 * @param interval the number of samples between resynchronizations
+		 * @param bins the tracked bins
+		 * @throws NullPointerException if the given bins are {@code null}
+		 * @throws IllegalArgumentException if the given magnitude is not positive or exceeds
+		 *         {@code 30}, if the given interval is not positive, or if any of the given bins is
+		 *         not within range <tt>[0, N[</tt>
+		 */
+		public SinglePrecision (final int magnitude, final int interval, final int[] bins) throws NullPointerException, IllegalArgumentException {
+			super(magnitude, interval);
+
+			final SineTable trigonometricTable = SineTable.getInstance(magnitude);
+			this.plan = new GoertzelPlan.SinglePrecision(magnitude, bins);
+			this.cos = new float[bins.length];
+			this.sin = new float[bins.length];
+			for (int index = 0; index < bins.length; ++index) {
+				this.cos[index] = (float) trigonometricTable.cos(bins[index]);
+				this.sin[index] = (float) trigonometricTable.sin(bins[index]);
+			}
+
+			this.samples = new float[1 << magnitude];
+			this.frame = new float[1 << magnitude];
+			this.spectrum = new float[bins.length << 1];
+			this.pendingCount = interval;
+		}
+
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int[] bins () {
+			return this.plan.bins();
+		}
+
+
+		/**
+		 * Returns the current spectrum, which contains the real and imaginary parts of the
+		 * <tt>i</tt>-th tracked bin at indices <tt>2i</tt> and <tt>2i+1</tt>. The spectrum array is
+		 * updated in place by subsequent operations, and must therefore not be modified.
+		 * @return the spectrum
+		 */
+		public float[] spectrum () {
+			return this.spectrum;
+		}
+
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void reset () {
+			Arrays.fill(this.samples, 0);
+			Arrays.fill(this.spectrum, 0);
+			this.samplePosition = 0;
+			this.pendingCount = this.interval;
+		}
+
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void resynchronize () {
+			final int split = this.samples.length - this.samplePosition;
+			System.arraycopy(this.samples, this.samplePosition, this.frame, 0, split);
+			System.arraycopy(this.samples, 0, this.frame, split, this.samplePosition);
+			this.plan.evaluate(this.frame, 0, this.spectrum);
+			this.pendingCount = this.interval;
+		}
+
+
+		/**
+		 * Slides the window by the given sample, and updates the tracked bins accordingly. If the
+		 * resynchronization interval has passed, the tracked bins are evaluated anew instead.
+		 * @param sample the sample
+		 */
+		public void update (final float sample) {
+			final float delta = sample - this.samples[this.samplePosition];
+			this.samples[this.samplePosition] = sample;
+			this.samplePosition = (this.samplePosition + 1) & (this.samples.length - 1);
+
+			if (--this.pendingCount == 0) {
+				this.resynchronize();
+				return;
+			}
+
+			final float[] spectrum = this.spectrum, cos = this.cos, sin = this.sin;
+			for (int index = 0; index < cos.length; ++index) {
+				final float re = spectrum[index << 1] + delta, im = spectrum[(index << 1) + 1];
+				spectrum[index << 1] = re * cos[index] + im * sin[index];
+				spectrum[(index << 1) + 1] = im * cos[index] - re * sin[index];
+			}
+		}
+
+
+		/**
+		 * Slides the window by the given chunk of samples. This is equivalent to updating each
+		 * sample in turn, but skips the recurrence for samples which are followed by a
+		 * resynchronization within the same chunk.
+		 * @param chunk the sample chunk
+		 * @param offset the index of the first sample within the given chunk
+		 * @param length the number of samples
+		 * @throws NullPointerException if the given chunk is {@code null}
+		 * @throws IndexOutOfBoundsException if the given offset or length is out of bounds
+		 */
+		public void update (final float[] chunk, int offset, int length) throws NullPointerException, IndexOutOfBoundsException {
+			if (offset < 0 | length < 0 | offset > chunk.length - length) throw new IndexOutOfBoundsException();
+			final int mask = this.samples.length - 1;
+
+			if (length >= this.pendingCount) {
+				final int skipCount = this.pendingCount + (length - this.pendingCount) / this.interval * this.interval;
+				for (int index = 0, tail = Math.min(skipCount, this.samples.length); index < tail; ++index) {
+					this.samples[(this.samplePosition + skipCount - tail + index) & mask] = chunk[offset + skipCount - tail + index];
+				}
+				this.samplePosition = (this.samplePosition + skipCount) & mask;
+				this.resynchronize();
+				offset += skipCount;
+				length -= skipCount;
+			}
+
+			for (final int limit = offset + length; offset < limit; ++offset) {
+				this.update(chunk[offset]);
+			}
+		}
+	}
+
+
+	/**
+	 * Sliding DFT for {@code 64-bit} floating-point samples.
+	 */
+	static public final class DoublePrecision extends SlidingDft {
+		private final GoertzelPlan.DoublePrecision plan;
+		private final double[] cos, sin;
+		private final double[] samples, frame, spectrum;
+		private int samplePosition, pendingCount;
+
+
+		/**
+		 * Creates a new instance tracking all <tt>N</tt> bins.
+		 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+		 * @param interval the number of samples between resynchronizations
+		 * @throws IllegalArgumentException if the given magnitude is not positive or exceeds
+		 *         {@code 30}, or if the given interval is not positive
+		 */
+		public DoublePrecision (final int magnitude, final int interval) throws IllegalArgumentException {
+			this(magnitude, interval, allBins(magnitude));
+		}
+
+
+		/**
+		 * Creates a new instance tracking the given bins.
+		 * @param magnitude the value <tt>log<sub>2</sub>(N)</tt>
+		 * @param interval the number of samples between resynchronizations
+		 * @param bins the tracked bins
+		 * @throws NullPointerException if the given bins are {@code null}
+		 * @throws IllegalArgumentException if the given magnitude is not positive or exceeds
+		 *         {@code 30}, if the given interval is not positive, or if any of the given bins is
+		 *         not within range <tt>[0, N[</tt>
+		 */
+		public DoublePrecision (final int magnitude, final int interval, final int[] bins) throws NullPointerException, IllegalArgumentException {
+			super(magnitude, interval);
+
+			final SineTable trigonometricTable = SineTable.getInstance(magnitude);
+			this.plan = new GoertzelPlan.DoublePrecision(magnitude, bins);
+			this.cos = new double[bins.length];
+			this.sin = new double[bins.length];
+			for (int index = 0; index < bins.length; ++index) {
+				this.cos[index] = trigonometricTable.cos(bins[index]);
+				this.sin[index] = trigonometricTable.sin(bins[index]);
+			}
+
+			this.samples = new double[1 << magnitude];
+			this.frame = new double[1 << magnitude];
+			this.spectrum = new double[bins.length << 1];
+			this.pendingCount = interval;
+		}
+
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int[] bins () {
+			return this.plan.bins();
+		}
+
+
+		/**
+		 * Returns the current spectrum, which contains the real and imaginary parts of the
+		 * <tt>i</tt>-th tracked bin at indices <tt>2i</tt> and <tt>2i+1</tt>. The spectrum array is
+		 * updated in place by subsequent operations, and must therefore not be modified.
+		 * @return the spectrum
+		 */
+		public double[] spectrum () {
+			return this.spectrum;
+		}
+
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void reset () {
+			Arrays.fill(this.samples, 0);
+			Arrays.fill(this.spectrum, 0);
+			this.samplePosition = 0;
+			this.pendingCount = this.interval;
+		}
+
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void resynchronize () {
+			final int split = this.samples.length - this.samplePosition;
+			System.arraycopy(this.samples, this.samplePosition, this.frame, 0, split);
+			System.arraycopy(this.samples, 0, this.frame, split, this.samplePosition);
+			this.plan.evaluate(this.frame, 0, this.spectrum);
+			this.pendingCount = this.interval;
+		}
+
+
+		/**
+		 * Slides the window by the given sample, and updates the tracked bins accordingly. If the
+		 * resynchronization interval has passed, the tracked bins are evaluated anew instead.
+		 * @param sample the sample
+		 */
+		public void update (final double sample) {
+			final double delta = sample - this.samples[this.samplePosition];
+			this.samples[this.samplePosition] = sample;
+			this.samplePosition = (this.samplePosition + 1) & (this.samples.length - 1);
+
+			if (--this.pendingCount == 0) {
+				this.resynchronize();
+				return;
+			}
+
+			final double[] spectrum = this.spectrum, cos = this.cos, sin = this.sin;
+			for (int index = 0; index < cos.length; ++index) {
+				final double re = spectrum[index << 1] + delta, im = spectrum[(index << 1) + 1];
+				spectrum[index << 1] = re * cos[index] + im * sin[index];
+				spectrum[(index << 1) + 1] = im * cos[index] - re * sin[index];
+			}
+		}
+
+
+		/**
+		 * Slides the window by the given chunk of samples. This is equivalent to updating each
+		 * sample in turn, but skips the recurrence for samples which are followed by a
+		 * resynchronization within the same chunk.
+		 * @param chunk the sample chunk
+		 * @param offset the index of the first sample within the given chunk
+		 * @param length the number of samples
+		 * @throws NullPointerException if the given chunk is {@code null}
+		 * @throws IndexOutOfBoundsException if the given offset or length is out of bounds
+		 */
+		public void update (final double[] chunk, int offset, int length) throws NullPointerException, IndexOutOfBoundsException {
+			if (offset < 0 | length < 0 | offset > chunk.length - length) throw new IndexOutOfBoundsException();
+			final int mask = this.samples.length - 1;
+
+			if (length >= this.pendingCount) {
+				final int skipCount = this.pendingCount + (length - this.pendingCount) / this.interval * this.interval;
+				for (int index = 0, tail = Math.min(skipCount, this.samples.length); index < tail; ++index) {
+					this.samples[(this.samplePosition + skipCount - tail + index) & mask] = chunk[offset + skipCount - tail + index];
+				}
+				this.samplePosition = (this.samplePosition + skipCount) & mask;
+				this.resynchronize();
+				offset += skipCount;
+				length -= skipCount;
+			}
+
+			for (final int limit = offset + length; offset < limit; ++offset) {
+				this.update(chunk[offset]);
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package de.sb.toolbox.math;
+
+import static de.sb.toolbox.math.FftTestSupport.randomDoubleVector;
+import static de.sb.toolbox.math.FftTestSupport.randomFloatVector;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.Test;
+
+
+public class SlidingDftTest {
+	static private final byte MAGNITUDE = 8;
+	static private final int SAMPLE_COUNT = 5000;
+	static private final double DOUBLE_PRECISION = 1E-11f;
+	static private final float SINGLE_PRECISION = 1E-4f;
+
+
+	@Test
+	public void testDoubleUpdate() {
+		final double[] values = randomDoubleVector(SAMPLE_COUNT);
+		final int[] bins = { 0, 1, 17, 128, 200, 255 };
+
+		for (final int interval : new int[] { 1, 100, 1 << MAGNITUDE, Integer.MAX_VALUE }) {
+			final SlidingDft.DoublePrecision all = new SlidingDft.DoublePrecision(MAGNITUDE, interval);
+			final SlidingDft.DoublePrecision some = new SlidingDft.DoublePrecision(MAGNITUDE, interval, bins);
+			for (int index = 0; index < values.length; ++index) {
+				all.update(values[index]);
+				some.update(values[index]);
+
+				if (index % 97 == 0 | index == values.length - 1) {
+					final double[] expected = reference(values, index + 1);
+					assertArrayEquals(expected, all.spectrum(), DOUBLE_PRECISION * (1 << MAGNITUDE));
+					for (int bin = 0; bin < bins.length; ++bin) {
+						assertEquals(expected[bins[bin] << 1], some.spectrum()[bin << 1], DOUBLE_PRECISION * (1 << MAGNITUDE));
+						assertEquals(expected[(bins[bin] << 1) + 1], some.spectrum()[(bin << 1) + 1], DOUBLE_PRECISION * (1 << MAGNITUDE));
+					}
+				}
+			}
+		}
+	}
+
+
+	@Test
+	public void testFloatUpdate() {
+		final float[] values = randomFloatVector(SAMPLE_COUNT);
+		final double[] doubleValues = new double[values.length];
+		for (int index = 0; index < values.length; ++index) doubleValues[index] = values[index];
+
+		final SlidingDft.SinglePrecision sdft = new SlidingDft.SinglePrecision(MAGNITUDE, 1 << MAGNITUDE);
+		for (int index = 0; index < values.length; ++index) {
+			sdft.update(values[index]);
+
+			if (index % 97 == 0) {
+				final double[] reference = reference(doubleValues, index + 1);
+				final float[] expected = new float[reference.length];
+				for (int bin = 0; bin < expected.length; ++bin) expected[bin] = (float) reference[bin];
+				assertArrayEquals(expected, sdft.spectrum(), SINGLE_PRECISION * (1 << MAGNITUDE));
+			}
+		}
+	}
+
+
+	@Test
+	public void testChunkUpdate() {
+		final double[] values = randomDoubleVector(SAMPLE_COUNT);
+		for (final int interval : new int[] { 1, 37, 1 << MAGNITUDE, 1000 }) {
+			final SlidingDft.DoublePrecision sdft = new SlidingDft.DoublePrecision(MAGNITUDE, interval, new int[] { 3, 5, 250 });
+			final SlidingDft.DoublePrecision chunked = new SlidingDft.DoublePrecision(MAGNITUDE, interval, new int[] { 3, 5, 250 });
+			for (int offset = 0, length; offset < values.length; offset += length) {
+				length = Math.min(values.length - offset, ThreadLocalRandom.current().nextInt(3 << MAGNITUDE));
+				chunked.update(values, offset, length);
+				for (int index = offset; index < offset + length; ++index) sdft.update(values[index]);
+				assertArrayEquals(sdft.spectrum(), chunked.spectrum(), DOUBLE_PRECISION * (1 << MAGNITUDE));
+			}
+
+			sdft.reset();
+			assertArrayEquals(new double[6], sdft.spectrum(), 0);
+			sdft.update(values, 0, 1);
+			assertEquals(values[0] * Math.cos(2 * Math.PI * 3 / (1 << MAGNITUDE)), sdft.spectrum()[0], DOUBLE_PRECISION);
+		}
+	}
+
+
+	@Test
+	public void testIllegalArguments() {
+		try { new SlidingDft.SinglePrecision(0, 1); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new SlidingDft.SinglePrecision(4, 0); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new SlidingDft.DoublePrecision(4, 1, new int[] { 16 }); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new SlidingDft.DoublePrecision(4, 1, null); fail(); } catch (final NullPointerException exception) {}
+
+		final SlidingDft.SinglePrecision sdft = new SlidingDft.SinglePrecision(4, 16);
+		try { sdft.update(new float[8], 4, 5); fail(); } catch (final IndexOutOfBoundsException exception) {}
+	}
+
+
+	static private double[] reference (final double[] values, final int limit) {
+		final double[] spectrum = new double[2 << MAGNITUDE];
+		for (int index = Math.max(0, limit - (1 << MAGNITUDE)); index < limit; ++index) {
+			spectrum[(index - limit + (1 << MAGNITUDE)) << 1] = values[index];
+		}
+		FftPlan.getDoublePrecisionPlan(MAGNITUDE).fft(false, spectrum);
+		return spectrum;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,349 @@
+package de.sb.toolbox.math;
+
+import de.sb.toolbox.Copyright;
+
+
+/**
+ * Reusable plans for <i>zoom transforms</i>, which evaluate the spectrum of <tt>N</tt> braided
+ * complex numbers at <tt>M</tt> equidistant frequencies <tt>f<sub>k</sub> = f<sub>0</sub> +
+ * k&middot;&Delta;f</tt> within an arbitrary band, given in cycles per sample:
+ * <tt>X<sub>k</sub> = &sum;<sub>n</sub> x<sub>n</sub>&middot;e<sup>2&pi;i&middot;f<sub>k</sub>n</sup></tt>.
+ * The sign of the exponent follows the conventions of {@link FftPlan}; a band from <tt>47.5</tt> to
+ * <tt>48.5kHz</tt> within a signal sampled at <tt>96kHz</tt> corresponds to <tt>f<sub>0</sub> =
+ * 47.5/96</tt> and <tt>&Delta;f = 1/(96&middot;M)</tt>.
+ * <p>
+ * Like {@link BluesteinFftPlan}, plans use the <i>chirp-z</i> algorithm, which rewrites the products
+ * <tt>nk = (n<sup>2</sup> + k<sup>2</sup> - (k-n)<sup>2</sup>)/2</tt> within the exponents, and
+ * therefore turns the transform into a convolution with the chirp sequence
+ * <tt>c<sub>n</sub> = e<sup>i&pi;&Delta;f&middot;n<sup>2</sup></sup></tt>. The convolution is
+ * evaluated using power of two FFTs of length <tt>L &ge; N+M-1</tt>, which makes the cost
+ * <tt>O((N+M)&middot;log(N+M))</tt> independent of the frequency resolution; a zero padded FFT
+ * achieving the same resolution requires <tt>1/&Delta;f</tt> values instead. The modulated input
+ * chirp, the spectrum of the convolution chirp, and the output chirp are precomputed once per plan,
+ * which reduces each transform to two power of two FFTs and three pointwise multiplications. Plans
+ * are immutable, and may be shared among threads.
+ */
+@Copyright(year = 2026, holders = "Sascha Baumeister")
+public abstract class ZoomFftPlan {
+
+	/**
+	 * The number <tt>N</tt> of complex numbers to be transformed.
+	 */
+	protected final int size;
+
+	/**
+	 * The number <tt>M</tt> of frequencies to be evaluated.
+	 */
+	protected final int count;
+
+	/**
+	 * The frequency <tt>f<sub>0</sub></tt> in cycles per sample.
+	 */
+	protected final double start;
+
+	/**
+	 * The frequency step <tt>&Delta;f</tt> in cycles per sample.
+	 */
+	protected final double step;
+
+	/**
+	 * The value <tt>log<sub>2</sub>(L)</tt>.
+	 */
+	protected final int magnitude;
+
+
+	/**
+	 * Initializes a new instance.
+	 * @param size the number <tt>N</tt> of complex numbers to be transformed
+	 * @param count the number <tt>M</tt> of frequencies to be evaluated
+	 * @param start the frequency <tt>f<sub>0</sub></tt> in cycles per sample
+	 * @param step the frequency step <tt>&Delta;f</tt> in cycles per sample
+	 * @throws IllegalArgumentException if the given size or count is not positive, if <tt>N+M-1</tt>
+	 *         exceeds <tt>2<sup>28</sup></tt>, or if the given start or step is not finite
+	 */
+	protected ZoomFftPlan (final int size, final int count, final double start, final double step) throws IllegalArgumentException {
+		if (size <= 0 | count <= 0 | size > (1 << 28) - count + 1) throw new IllegalArgumentException();
+		if (Double.isNaN(start) | Double.isInfinite(start) | Double.isNaN(step) | Double.isInfinite(step)) throw new IllegalArgumentException();
+
+		this.size = size;
+		this.count = count;
+		this.start = start;
+		this.step = step;
+		this.magnitude = IntMath.ceilLog2(size + count - 1);
+	}
+
+
+	/**
+	 * Returns the size.
+	 * @return the number <tt>N</tt> of complex numbers to be transformed
+	 */
+	public int size () {
+		return this.size;
+	}
+
+
+	/**
+	 * Returns the frequency count.
+	 * @return the number <tt>M</tt> of frequencies to be evaluated
+	 */
+	public int count () {
+		return this.count;
+	}
+
+
+	/**
+	 * Returns the start frequency.
+	 * @return the frequency <tt>f<sub>0</sub></tt> in cycles per sample
+	 */
+	public double start () {
+		return this.start;
+	}
+
+
+	/**
+	 * Returns the frequency step.
+	 * @return the frequency step <tt>&Delta;f</tt> in cycles per sample
+	 */
+	public double step () {
+		return this.step;
+	}
+
+
+	/**
+	 * Returns the padded size.
+	 * @return the number <tt>L</tt> of complex numbers processed by the inner power of two FFTs
+	 */
+	public int paddedSize () {
+		return 1 << this.magnitude;
+	}
+
+
+	/**
+	 * Returns the sequence <tt>e<sup>2&pi;i(f&middot;n + &Delta;f&middot;n<sup>2</sup>/2)</sup></tt>
+	 * of the given length as braided complex numbers. Note that the phases are reduced to single
+	 * cycles before being multiplied with <tt>2&pi;</tt>, in order to limit the loss of precision
+	 * for large indices.
+	 * @param length the number of complex numbers
+	 * @param frequency the frequency <tt>f</tt> in cycles per sample
+	 * @param step the frequency step <tt>&Delta;f</tt> in cycles per sample
+	 * @return the chirp sequence
+	 */
+	static private double[] chirp (final int length, final double frequency, final double step) {
+		final double[] chirp = new double[length << 1];
+		for (int index = 0; index < length; ++index) {
+			final double cycles = frequency * index + .5 * step * ((long) index * index);
+			final double angle = 2 * Math.PI * (cycles - Math.floor(cycles));
+			chirp[(index << 1)]     = Math.cos(angle);
+			chirp[(index << 1) + 1] = Math.sin(angle);
+		}
+		return chirp;
+	}
+
+
+	/**
+	 * Returns the spectrum of the conjugated chirp sequence for indices within range
+	 * <tt>]-N, M[</tt>, which is arranged cyclically so that negative indices <tt>-n</tt> map to
+	 * <tt>L-n</tt>.
+	 * @param magnitude the value <tt>log<sub>2</sub>(L)</tt>
+	 * @param size the number <tt>N</tt> of complex numbers to be transformed
+	 * @param count the number <tt>M</tt> of frequencies to be evaluated
+	 * @param step the frequency step <tt>&Delta;f</tt> in cycles per sample
+	 * @return the spectrum as braided complex numbers
+	 */
+	static private double[] spectrum (final int magnitude, final int size, final int count, final double step) {
+		final double[] chirp = chirp(Math.max(size, count), 0, step);
+		final double[] spectrum = new double[2 << magnitude];
+		for (int index = 0; index < count; ++index) {
+			spectrum[(index << 1)]     = chirp[(index << 1)];
+			spectrum[(index << 1) + 1] = -chirp[(index << 1) + 1];
+		}
+		for (int index = 1; index < size; ++index) {
+			spectrum[spectrum.length - (index << 1)]     = chirp[(index << 1)];
+			spectrum[spectrum.length - (index << 1) + 1] = -chirp[(index << 1) + 1];
+		}
+
+		FftPlan.getDoublePrecisionPlan(magnitude).fft(false, spectrum);
+		return spectrum;
+	}
+
+
+
+	/**
+	 * Plans for {@code 32-bit} floating-point zoom transforms.
+	 */
+	static public final class SinglePrecision extends ZoomFftPlan {
+		private final FftPlan.SinglePrecision plan;
+		private final float[] inputChirp, spectrum, outputChirp;
+
+
+		/**
+		 * Creates a new instance.
+		 * @param size the number <tt>N</tt> of complex numbers to be transformed
+		 * @param count the number <tt>M</tt> of frequencies to be evaluated
+		 * @param start the frequency <tt>f<sub>0</sub></tt> in cycles per sample
+		 * @param step the frequency step <tt>&Delta;f</tt> in cycles per sample
+		 * @throws IllegalArgumentException if the given size or count is not positive, if
+		 *         <tt>N+M-1</tt> exceeds <tt>2<sup>28</sup></tt>, or if the given start or step is not
+		 *         finite
+		 */
+		public SinglePrecision (final int size, final int count, final double start, final double step) throws IllegalArgumentException {
+			super(size, count, start, step);
+
+			this.plan = FftPlan.getSinglePrecisionPlan(this.magnitude);
+			final double[] inputChirp = chirp(size, start, step), spectrum = spectrum(this.magnitude, size, count, step), outputChirp = chirp(count, 0, step);
+			this.inputChirp = new float[inputChirp.length];
+			this.spectrum = new float[spectrum.length];
+			this.outputChirp = new float[outputChirp.length];
+			for (int index = 0; index < inputChirp.length; ++index) this.inputChirp[index] = (float) inputChirp[index];
+			for (int index = 0; index < spectrum.length; ++index) this.spectrum[index] = (float) spectrum[index];
+			for (int index = 0; index < outputChirp.length; ++index) this.outputChirp[index] = (float) outputChirp[index];
+		}
+
+
+		/**
+		 * Evaluates the spectrum of the given vector of <tt>N</tt> braided complex numbers at the
+		 * <tt>M</tt> frequencies of this plan, using a temporary buffer.
+		 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+		 *        indexed real parts with odd indexed imaginary ones
+		 * @param spectrum an array of <tt>M</tt> braided complex numbers, which is overwritten with
+		 *        the result
+		 * @throws NullPointerException if any of the given arrays is {@code null}
+		 * @throws IllegalArgumentException if the given vector's length is not <tt>2N</tt>, or the
+		 *         given spectrum's length is not <tt>2M</tt>
+		 */
+		public void fft (final float[] vector, final float[] spectrum) throws NullPointerException, IllegalArgumentException {
+			if (vector.length != this.size << 1 | spectrum.length != this.count << 1) throw new IllegalArgumentException();
+			this.fft(vector, spectrum, new float[2 << this.magnitude]);
+		}
+
+
+		/**
+		 * Evaluates the spectrum of the given vector of <tt>N</tt> braided complex numbers at the
+		 * <tt>M</tt> frequencies of this plan, using the given buffer for the convolution. Note
+		 * that reusing buffers avoids memory allocation, but that a buffer must not be shared
+		 * among concurrent transforms.
+		 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+		 *        indexed real parts with odd indexed imaginary ones
+		 * @param spectrum an array of <tt>M</tt> braided complex numbers, which is overwritten with
+		 *        the result
+		 * @param buffer an array of <tt>2L</tt> elements
+		 * @throws NullPointerException if any of the given arrays is {@code null}
+		 * @throws IllegalArgumentException if the given vector's length is not <tt>2N</tt>, the
+		 *         given spectrum's length is not <tt>2M</tt>, or the given buffer's length is not
+		 *         <tt>2L</tt>
+		 */
+		public void fft (final float[] vector, final float[] spectrum, final float[] buffer) throws NullPointerException, IllegalArgumentException {
+			if (vector.length != this.size << 1 | spectrum.length != this.count << 1 | buffer.length != this.spectrum.length) throw new IllegalArgumentException();
+			final float[] inputChirp = this.inputChirp, outputChirp = this.outputChirp, chirpSpectrum = this.spectrum;
+
+			for (int index = 0; index < vector.length; index += 2) {
+				final float re = vector[index], im = vector[index + 1];
+				buffer[index]     = re * inputChirp[index] - im * inputChirp[index + 1];
+				buffer[index + 1] = re * inputChirp[index + 1] + im * inputChirp[index];
+			}
+			for (int index = vector.length; index < buffer.length; ++index) buffer[index] = 0;
+
+			this.plan.fft(false, buffer);
+			for (int index = 0; index < buffer.length; index += 2) {
+				final float re = buffer[index], im = buffer[index + 1];
+				buffer[index]     = re * chirpSpectrum[index] - im * chirpSpectrum[index + 1];
+				buffer[index + 1] = re * chirpSpectrum[index + 1] + im * chirpSpectrum[index];
+			}
+			this.plan.fft(true, buffer);
+
+			for (int index = 0; index < spectrum.length; index += 2) {
+				final float re = buffer[index], im = buffer[index + 1];
+				spectrum[index]     = re * outputChirp[index] - im * outputChirp[index + 1];
+				spectrum[index + 1] = re * outputChirp[index + 1] + im * outputChirp[index];
+			}
+		}
+	}
+
+
+	/**
+	 * Plans for {@code 64-bit} floating-point zoom transforms.
+	 */
+	static public final class DoublePrecision extends ZoomFftPlan {
+		private final FftPlan.DoublePrecision plan;
+		private final double[] inputChirp, spectrum, outputChirp;
+
+
+		/**
+		 * Creates a new instance.
+		 * @param size the number <tt>N</tt> of complex numbers to be transformed
+		 * @param count the number <tt>M</tt> of frequencies to be evaluated
+		 * @param start the frequency <tt>f<sub>0</sub></tt> in cycles per sample
+		 * @param step the frequency step <tt>&Delta;f</tt> in cycles per sample
+		 * @throws IllegalArgumentException if the given size or count is not positive, if
+		 *         <tt>N+M-1</tt> exceeds <tt>2<sup>28</sup></tt>, or if the given start or step is not
+		 *         finite
+		 */
+		public DoublePrecision (final int size, final int count, final double start, final double step) throws IllegalArgumentException {
+			super(size, count, start, step);
+
+			this.plan = FftPlan.getDoublePrecisionPlan(this.magnitude);
+			this.inputChirp = chirp(size, start, step);
+			this.spectrum = spectrum(this.magnitude, size, count, step);
+			this.outputChirp = chirp(count, 0, step);
+		}
+
+
+		/**
+		 * Evaluates the spectrum of the given vector of <tt>N</tt> braided complex numbers at the
+		 * <tt>M</tt> frequencies of this plan, using a temporary buffer.
+		 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+		 *        indexed real parts with odd indexed imaginary ones
+		 * @param spectrum an array of <tt>M</tt> braided complex numbers, which is overwritten with
+		 *        the result
+		 * @throws NullPointerException if any of the given arrays is {@code null}
+		 * @throws IllegalArgumentException if the given vector's length is not <tt>2N</tt>, or the
+		 *         given spectrum's length is not <tt>2M</tt>
+		 */
+		public void fft (final double[] vector, final double[] spectrum) throws NullPointerException, IllegalArgumentException {
+			if (vector.length != this.size << 1 | spectrum.length != this.count << 1) throw new IllegalArgumentException();
+			this.fft(vector, spectrum, new double[2 << this.magnitude]);
+		}
+
+
+		/**
+		 * Evaluates the spectrum of the given vector of <tt>N</tt> braided complex numbers at the
+		 * <tt>M</tt> frequencies of this plan, using the given buffer for the convolution. Note
+		 * that reusing buffers avoids memory allocation, but that a buffer must not be shared
+		 * among concurrent transforms.
+		 * @param vector an array of <tt>N</tt> complex numbers in Cartesian form, alternating even
+		 *        indexed real parts with odd indexed imaginary ones
+		 * @param spectrum an array of <tt>M</tt> braided complex numbers, which is overwritten with
+		 *        the result
+		 * @param buffer an array of <tt>2L</tt> elements
+		 * @throws NullPointerException if any of the given arrays is {@code null}
+		 * @throws IllegalArgumentException if the given vector's length is not <tt>2N</tt>, the
+		 *         given spectrum's length is not <tt>2M</tt>, or the given buffer's length is not
+		 *         <tt>2L</tt>
+		 */
+		public void fft (final double[] vector, final double[] spectrum, final double[] buffer) throws NullPointerException, IllegalArgumentException {
+			if (vector.length != this.size << 1 | spectrum.length != this.count << 1 | buffer.length != this.spectrum.length) throw new IllegalArgumentException();
+			final double[] inputChirp = this.inputChirp, outputChirp = this.outputChirp, chirpSpectrum = this.spectrum;
+
+			for (int index = 0; index < vector.length; index += 2) {
+				final double re = vector[index], im = vector[index + 1];
+				buffer[index]     = re * inputChirp[index] - im * inputChirp[index + 1];
+				buffer[index + 1] = re * inputChirp[index + 1] + im * inputChirp[index];
+			}
+			for (int index = vector.length; index < buffer.length; ++index) buffer[index] = 0;
+
+			this.plan.fft(false, buffer);
+			for (int index = 0; index < buffer.length; index += 2) {
+				final double re = buffer[index], im = buffer[index + 1];
+				buffer[index]     = re * chirpSpectrum[index] - im * chirpSpectrum[index + 1];
+				buffer[index + 1] = re * chirpSpectrum[index + 1] + im * chirpSpectrum[index];
+			}
+			this.plan.fft(true, buffer);
+
+			for (int index = 0; index < spectrum.length; index += 2) {
+				final double re = buffer[index], im = buffer[index + 1];
+				spectrum[index]     = re * outputChirp[index] - im * outputChirp[index + 1];
+				spectrum[index + 1] = re * outputChirp[index + 1] + im * outputChirp[index];
+			}
+		}
+	}
+}
\ No newline at end of file
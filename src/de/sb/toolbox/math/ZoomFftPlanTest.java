@@ -0,0 +1,94 @@
+package de.sb.toolbox.math;
+
+import static de.sb.toolbox.math.FftTestSupport.randomDoubleVector;
+import static de.sb.toolbox.math.FftTestSupport.randomFloatVector;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.Test;
+
+
+public class ZoomFftPlanTest {
+	static private final int[][] SIZES = { {1, 1}, {1, 9}, {7, 1}, {100, 13}, {13, 100}, {1000, 257}, {4096, 64} };
+	static private final double DOUBLE_PRECISION = 1E-11f;
+	static private final float SINGLE_PRECISION = 1E-4f;
+
+
+	@Test
+	public void testDoubleTransform() {
+		for (final int[] sizes : SIZES) {
+			final double start = ThreadLocalRandom.current().nextDouble(), step = ThreadLocalRandom.current().nextDouble(1E-2) / sizes[1];
+			final double[] vector = randomDoubleVector(sizes[0] << 1);
+			final double[] expected = reference(vector, sizes[1], start, step), result = new double[sizes[1] << 1];
+
+			final ZoomFftPlan.DoublePrecision plan = new ZoomFftPlan.DoublePrecision(sizes[0], sizes[1], start, step);
+			plan.fft(vector, result);
+			assertArrayEquals(expected, result, DOUBLE_PRECISION * sizes[0]);
+		}
+	}
+
+
+	@Test
+	public void testFloatTransform() {
+		for (final int[] sizes : SIZES) {
+			final double start = ThreadLocalRandom.current().nextDouble(), step = ThreadLocalRandom.current().nextDouble(1E-2) / sizes[1];
+			final float[] vector = randomFloatVector(sizes[0] << 1);
+			final double[] doubleVector = new double[vector.length];
+			for (int index = 0; index < vector.length; ++index) doubleVector[index] = vector[index];
+
+			final double[] reference = reference(doubleVector, sizes[1], start, step);
+			final float[] expected = new float[reference.length], result = new float[reference.length];
+			for (int index = 0; index < reference.length; ++index) expected[index] = (float) reference[index];
+
+			final ZoomFftPlan.SinglePrecision plan = new ZoomFftPlan.SinglePrecision(sizes[0], sizes[1], start, step);
+			plan.fft(vector, result, new float[plan.paddedSize() << 1]);
+			assertArrayEquals(expected, result, SINGLE_PRECISION * sizes[0]);
+		}
+	}
+
+
+	@Test
+	public void testFullSpectrum() {
+		for (int magnitude = 0; magnitude <= 10; ++magnitude) {
+			final double[] vector = randomDoubleVector(2 << magnitude), expected = vector.clone(), result = new double[vector.length];
+			FftPlan.getDoublePrecisionPlan(magnitude).fft(false, expected);
+
+			final ZoomFftPlan.DoublePrecision plan = new ZoomFftPlan.DoublePrecision(1 << magnitude, 1 << magnitude, 0, 1d / (1 << magnitude));
+			assertEquals(IntMath.ceilLog2((2 << magnitude) - 1), IntMath.floorLog2(plan.paddedSize()));
+			plan.fft(vector, result);
+			assertArrayEquals(expected, result, DOUBLE_PRECISION * (1 << magnitude));
+		}
+	}
+
+
+	@Test
+	public void testIllegalArguments() {
+		try { new ZoomFftPlan.DoublePrecision(0, 1, 0, 0); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new ZoomFftPlan.DoublePrecision(1, 0, 0, 0); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new ZoomFftPlan.DoublePrecision(1 << 28, 2, 0, 0); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new ZoomFftPlan.SinglePrecision(4, 4, Double.NaN, 0); fail(); } catch (final IllegalArgumentException exception) {}
+		try { new ZoomFftPlan.SinglePrecision(4, 4, 0, Double.POSITIVE_INFINITY); fail(); } catch (final IllegalArgumentException exception) {}
+
+		final ZoomFftPlan.SinglePrecision plan = new ZoomFftPlan.SinglePrecision(4, 3, .25, .01);
+		try { plan.fft(new float[6], new float[6]); fail(); } catch (final IllegalArgumentException exception) {}
+		try { plan.fft(new float[8], new float[8]); fail(); } catch (final IllegalArgumentException exception) {}
+		try { plan.fft(new float[8], new float[6], new float[8]); fail(); } catch (final IllegalArgumentException exception) {}
+	}
+
+
+	static private double[] reference (final double[] vector, final int count, final double start, final double step) {
+		final double[] spectrum = new double[count << 1];
+		for (int row = 0; row < count; ++row) {
+			double re = 0, im = 0;
+			for (int column = 0; column < vector.length >> 1; ++column) {
+				final double angle = 2 * Math.PI * (start + row * step) * column;
+				re += vector[column << 1] * Math.cos(angle) - vector[(column << 1) + 1] * Math.sin(angle);
+				im += vector[column << 1] * Math.sin(angle) + vector[(column << 1) + 1] * Math.cos(angle);
+			}
+			spectrum[row << 1] = re;
+			spectrum[(row << 1) + 1] = im;
+		}
+		return spectrum;
+	}
+}
\ No newline at end of file